@@ -71,6 +71,15 @@ export const owners_404 = new Counter('owners_404');
 export const owners_409 = new Counter('owners_409');
 export const owners_429 = new Counter('owners_429');
 export const owners_5xx = new Counter('owners_5xx');
+// Decomposição da latência via header Server-Timing (habilitar no backend com SERVER_TIMING_STAGES)
+export const server_parse = new Trend('server_parse', true);
+export const server_validate = new Trend('server_validate', true);
+export const server_db = new Trend('server_db', true);
+export const server_service = new Trend('server_service', true);
+export const server_serialize = new Trend('server_serialize', true);
+export const server_total = new Trend('server_total', true);
+export const client_overhead = new Trend('client_overhead', true); // duração no cliente - total no servidor (rede, API GW, runtime)
+const SERVER_TIMING_TRENDS = { parse: server_parse, validate: server_validate, service: server_service, serialize: server_serialize, total: server_total };
 
 // Pesos CRUD padrão (em %)
 const DEFAULT_WEIGHTS = [
@@ -186,6 +195,28 @@ function resilientRequest(req) {
   return res;
 }
 
+// "parse;dur=0.4, db;dur=2.1;desc=\"SELECT owners#..\", total;dur=3.2" -> Trends (db somado por requisição)
+function recordServerTiming(res, tags) {
+  const header = res && res.headers ? (res.headers['Server-Timing'] || res.headers['server-timing']) : null;
+  if (!header) return;
+  let db = 0;
+  let total = null;
+  for (const entry of String(header).split(',')) {
+    const parts = entry.trim().split(';');
+    const name = parts[0];
+    const dur = parts.map((p) => p.trim()).find((p) => p.startsWith('dur='));
+    if (!dur) continue;
+    const ms = Number(dur.slice(4));
+    if (Number.isNaN(ms)) continue;
+    if (name === 'db') { db += ms; continue; }
+    if (name === 'total') total = ms;
+    const trend = SERVER_TIMING_TRENDS[name];
+    if (trend) trend.add(ms, tags);
+  }
+  if (db > 0) server_db.add(db, tags);
+  if (total !== null && res.timings) client_overhead.add(Math.max(0, res.timings.duration - total), tags);
+}
+
 function request(method, path, body, tags = {}) {
   const url = `${BASE_URL}${path}`;
   const params = { headers: { 'Content-Type': 'application/json', 'Accept': 'application/json' }, tags: { method, endpoint: path, scenario: SCENARIO, ...tags } };
@@ -233,6 +264,7 @@ function request(method, path, body, tags = {}) {
     }
   } catch (_) {}
   owners_latency.add(res.timings.duration);
+  recordServerTiming(res, params.tags);
   return res;
 }
 
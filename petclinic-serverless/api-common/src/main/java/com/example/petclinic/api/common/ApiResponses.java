@@ -10,5 +10,7 @@ public final class ApiResponses {
     public static <T> ApiResponse<T> badRequest(String msg) { return new ApiResponse<>(400, null, new ErrorResponse("BAD_REQUEST", msg)); }
     public static <T> ApiResponse<T> notFound(String msg) { return new ApiResponse<>(404, null, new ErrorResponse("NOT_FOUND", msg)); }
     public static <T> ApiResponse<T> conflict(String msg) { return new ApiResponse<>(409, null, new ErrorResponse("CONFLICT", msg)); }
+    public static <T> ApiResponse<T> serviceUnavailable(String msg) { return new ApiResponse<>(503, null, new ErrorResponse("SERVICE_UNAVAILABLE", msg)); }
+    public static <T> ApiResponse<T> gatewayTimeout(String msg) { return new ApiResponse<>(504, null, new ErrorResponse("GATEWAY_TIMEOUT", msg)); }
     public static <T> ApiResponse<T> serverError(String msg) { return new ApiResponse<>(500, null, new ErrorResponse("SERVER_ERROR", msg)); }
 }
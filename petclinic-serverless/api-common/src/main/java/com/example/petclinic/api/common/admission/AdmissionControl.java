@@ -0,0 +1,169 @@
+package com.example.petclinic.api.common.admission;
+
+import com.amazonaws.services.lambda.runtime.events.APIGatewayV2HTTPResponse;
+import com.example.petclinic.api.common.http.ApiResponses;
+import com.example.petclinic.observability.metrics.MetricsSupport;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Handler-level admission control / load shedding. Before doing database work a handler asks for a permit:
+ * a token from the route's bucket (rate limit) and a slot in the route's and the process-wide in-flight counters.
+ * When either is exhausted the request is rejected immediately (503 + Retry-After) instead of queueing on the
+ * pool / RDS Proxy, so admitted requests keep a low tail latency.
+ * <p>
+ * Counters are shared by every thread of the process: in the container deployment they measure real concurrent
+ * database work; on Lambda (one request per container) they are a local estimate and the effective global bound
+ * is {@code limit x concurrent containers}.
+ * <p>
+ * Configuration (env): {@code ADMISSION_LIMITS} (see {@link AdmissionLimits}) and {@code ADMISSION_MAX_IN_FLIGHT}
+ * (process-wide cap, usually the Hikari pool size). Nothing configured = everything admitted.
+ */
+public final class AdmissionControl {
+
+    private static final Map<String, AdmissionLimits> LIMITS = AdmissionLimits.parse(System.getenv("ADMISSION_LIMITS"));
+    private static final AdmissionLimits DEFAULT_LIMITS = LIMITS.getOrDefault("*", AdmissionLimits.UNLIMITED);
+    private static final int MAX_IN_FLIGHT = parseInt(System.getenv("ADMISSION_MAX_IN_FLIGHT"));
+    private static final AtomicInteger TOTAL_IN_FLIGHT = new AtomicInteger();
+    private static final Map<String, RouteLimiter> ROUTES = new ConcurrentHashMap<>();
+
+    private AdmissionControl() {}
+
+    /** Tries to admit one request for the endpoint. Always {@link Permit#release()} admitted permits. */
+    public static Permit tryAcquire(String endpoint) {
+        RouteLimiter route = ROUTES.computeIfAbsent(endpoint,
+                e -> new RouteLimiter(e, LIMITS.getOrDefault(e, DEFAULT_LIMITS)));
+        if (route.limits.unlimited() && MAX_IN_FLIGHT <= 0) return Permit.UNLIMITED;
+        return route.tryAcquire();
+    }
+
+    /** 503 response for a rejected permit; Retry-After tells the client when a token is expected back. */
+    public static APIGatewayV2HTTPResponse rejection(Permit permit) {
+        return ApiResponses.serviceUnavailable("OVERLOADED", "Too many requests, retry later", permit.retryAfterSeconds());
+    }
+
+    /** Current in-flight admitted requests for the endpoint (0 when the route is untracked). */
+    public static int inFlight(String endpoint) {
+        RouteLimiter r = ROUTES.get(endpoint);
+        return r == null ? 0 : r.inFlight.get();
+    }
+
+    public static int totalInFlight() { return TOTAL_IN_FLIGHT.get(); }
+
+    /** Whole seconds until a token is back, at least 1 (Retry-After has no sub-second form). */
+    static int retryAfterSeconds(long waitNanos) {
+        return (int) Math.max(1, Math.ceil(waitNanos / 1_000_000_000.0));
+    }
+
+    private static int parseInt(String v) {
+        if (v == null || v.isBlank()) return 0;
+        return Integer.parseInt(v.trim());
+    }
+
+    /** Outcome of an admission attempt. Admitted permits hold in-flight slots until released. */
+    public static final class Permit {
+        static final Permit UNLIMITED = new Permit(null, true, 0);
+
+        private final RouteLimiter route;
+        private final boolean admitted;
+        private final int retryAfterSeconds;
+
+        private Permit(RouteLimiter route, boolean admitted, int retryAfterSeconds) {
+            this.route = route;
+            this.admitted = admitted;
+            this.retryAfterSeconds = retryAfterSeconds;
+        }
+
+        public boolean admitted() { return admitted; }
+
+        public int retryAfterSeconds() { return retryAfterSeconds; }
+
+        public void release() {
+            if (admitted && route != null) route.release();
+        }
+    }
+
+    static final class RouteLimiter {
+        private final String endpoint;
+        private final AdmissionLimits limits;
+        private final TokenBucket bucket;
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final Permit admittedPermit;
+
+        RouteLimiter(String endpoint, AdmissionLimits limits) {
+            this.endpoint = endpoint;
+            this.limits = limits;
+            this.bucket = limits.ratePerSecond() > 0 ? new TokenBucket(limits.ratePerSecond(), limits.burst()) : null;
+            this.admittedPermit = new Permit(this, true, 0);
+        }
+
+        Permit tryAcquire() {
+            // in-flight slots first: a request turned away for concurrency must not spend a rate token
+            if (!increment(inFlight, limits.maxInFlight())) {
+                return reject("AdmissionInFlightRejectedCount", 1);
+            }
+            if (!increment(TOTAL_IN_FLIGHT, MAX_IN_FLIGHT)) {
+                inFlight.decrementAndGet();
+                return reject("AdmissionInFlightRejectedCount", 1);
+            }
+            if (bucket != null) {
+                long waitNanos = bucket.tryTake(System.nanoTime());
+                if (waitNanos > 0) {
+                    release();
+                    return reject("AdmissionRateLimitedCount", retryAfterSeconds(waitNanos));
+                }
+            }
+            return admittedPermit;
+        }
+
+        void release() {
+            inFlight.decrementAndGet();
+            TOTAL_IN_FLIGHT.decrementAndGet();
+        }
+
+        private Permit reject(String metric, int retryAfterSeconds) {
+            MetricsSupport.increment(metric, "Admission", endpoint);
+            return new Permit(this, false, retryAfterSeconds);
+        }
+
+        private static boolean increment(AtomicInteger counter, int max) {
+            if (max <= 0) {
+                counter.incrementAndGet();
+                return true;
+            }
+            while (true) {
+                int current = counter.get();
+                if (current >= max) return false;
+                if (counter.compareAndSet(current, current + 1)) return true;
+            }
+        }
+    }
+
+    /** Classic token bucket refilled lazily on each attempt. */
+    static final class TokenBucket {
+        private final double tokensPerNano;
+        private final double capacity;
+        private double tokens;
+        private long lastRefill;
+
+        TokenBucket(double ratePerSecond, int burst) {
+            this.tokensPerNano = ratePerSecond / 1_000_000_000.0;
+            this.capacity = Math.max(1, burst);
+            this.tokens = capacity;
+            this.lastRefill = System.nanoTime();
+        }
+
+        /** Takes a token and returns 0, or returns the nanos until one becomes available. */
+        synchronized long tryTake(long now) {
+            tokens = Math.min(capacity, tokens + (now - lastRefill) * tokensPerNano);
+            lastRefill = now;
+            if (tokens >= 1) {
+                tokens -= 1;
+                return 0;
+            }
+            return (long) Math.ceil((1 - tokens) / tokensPerNano);
+        }
+    }
+}
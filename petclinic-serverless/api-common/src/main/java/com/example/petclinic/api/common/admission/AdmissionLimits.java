@@ -0,0 +1,46 @@
+package com.example.petclinic.api.common.admission;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Per-route admission limits parsed from {@code ADMISSION_LIMITS}.
+ * Format: {@code <endpoint>=rate:<req/s>,burst:<tokens>,inflight:<n>;...} where endpoint is the metrics
+ * Endpoint dimension (e.g. {@code GET_/owners}) and {@code *} sets the default for unlisted routes.
+ * Omitted or zero values mean "no limit" for that dimension.
+ * Example: {@code GET_/owners=rate:200,burst:50;POST_/owners=inflight:4;*=inflight:8}
+ */
+public record AdmissionLimits(double ratePerSecond, int burst, int maxInFlight) {
+
+    public static final AdmissionLimits UNLIMITED = new AdmissionLimits(0, 0, 0);
+
+    public boolean unlimited() { return ratePerSecond <= 0 && maxInFlight <= 0; }
+
+    static Map<String, AdmissionLimits> parse(String spec) {
+        Map<String, AdmissionLimits> out = new HashMap<>();
+        if (spec == null || spec.isBlank()) return out;
+        for (String entry : spec.split(";")) {
+            int eq = entry.indexOf('=');
+            if (eq <= 0) continue;
+            String route = entry.substring(0, eq).trim();
+            double rate = 0; int burst = 0; int inflight = 0;
+            for (String kv : entry.substring(eq + 1).split(",")) {
+                int c = kv.indexOf(':');
+                if (c <= 0) continue;
+                String k = kv.substring(0, c).trim().toLowerCase(Locale.ROOT);
+                String v = kv.substring(c + 1).trim();
+                switch (k) {
+                    case "rate" -> rate = Double.parseDouble(v);
+                    case "burst" -> burst = Integer.parseInt(v);
+                    case "inflight" -> inflight = Integer.parseInt(v);
+                    default -> throw new IllegalArgumentException("Unknown admission limit '" + k + "' for " + route);
+                }
+            }
+            // A rate without an explicit burst allows one second worth of requests
+            if (rate > 0 && burst <= 0) burst = (int) Math.max(1, Math.ceil(rate));
+            out.put(route, new AdmissionLimits(rate, burst, inflight));
+        }
+        return out;
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.petclinic.api.common.cost;
+
+/**
+ * The Lambda pricing formulas of {@code docs/cost-estimate.md} in one place, shared by the per-invocation metrics
+ * ({@link InvocationCost}) and the power-tuning harness.
+ * <ul>
+ *   <li>billed duration = wall time rounded up to 1 ms;</li>
+ *   <li>GB-s = (MemoryMB / 1024) * (BilledMs / 1000);</li>
+ *   <li>Lambda cost = GB-s * {@code COST_GB_SECOND_USD} + {@code COST_REQUEST_USD} per invocation;</li>
+ *   <li>API Gateway HTTP = {@code COST_API_REQUEST_USD} per request (reported separately).</li>
+ * </ul>
+ * Prices default to us-east-1 x86 on-demand; override through the env vars for arm64 or other regions.
+ */
+public final class CostModel {
+
+    public static final double GB_SECOND_USD = doubleEnv("COST_GB_SECOND_USD", 0.0000166667);
+    public static final double REQUEST_USD = doubleEnv("COST_REQUEST_USD", 0.0000002);
+    public static final double API_REQUEST_USD = doubleEnv("COST_API_REQUEST_USD", 0.000001);
+
+    /** Memory MB that 1 full vCPU is allocated at; Lambda CPU share grows linearly with memory. */
+    public static final int MB_PER_VCPU = 1769;
+
+    private CostModel() {}
+
+    public static double billedMillis(double wallMillis) {
+        return Math.max(1, Math.ceil(wallMillis));
+    }
+
+    public static double gbSeconds(double memoryMb, double billedMillis) {
+        return memoryMb / 1024.0 * billedMillis / 1000.0;
+    }
+
+    /** Lambda price of one invocation (compute + request), without API Gateway. */
+    public static double invocationUsd(double memoryMb, double billedMillis) {
+        return gbSeconds(memoryMb, billedMillis) * GB_SECOND_USD + REQUEST_USD;
+    }
+
+    /** vCPU share Lambda allocates at that memory size (0.07 at 128 MB, 1.0 at 1769 MB, 6 at 10240 MB). */
+    public static double vcpus(double memoryMb) {
+        return memoryMb / MB_PER_VCPU;
+    }
+
+    private static double doubleEnv(String name, double def) {
+        String v = System.getenv(name);
+        return v == null || v.isBlank() ? def : Double.parseDouble(v.trim());
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.petclinic.api.common.cost;
+
+import com.example.petclinic.observability.metrics.MetricsSupport;
+import software.amazon.lambda.powertools.metrics.model.MetricUnit;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Per-invocation cost accounting, the measured counterpart of {@code docs/cost-estimate.md} (formulas in
+ * {@link CostModel}). At the end of each
+ * handler one EMF blob (Operation / Endpoint / Stage, like every other metric) carries:
+ * <ul>
+ *   <li>{@code InvocationBilledDurationMs}: handler wall time rounded up to the 1 ms billing granularity;</li>
+ *   <li>{@code InvocationGbSeconds}: {@code memoryMB / 1024 * billedMs / 1000};</li>
+ *   <li>{@code InvocationCostMicroUsd}: GB-s x price + the per-request price;</li>
+ *   <li>{@code InvocationResponseBytes}: UTF-8 size of the response body.</li>
+ * </ul>
+ * The first invocation of a container also publishes {@code InvocationInitGbSeconds} (JVM start to first request),
+ * since the INIT phase is billed as well. Only for on-demand initialization ({@code AWS_LAMBDA_INITIALIZATION_TYPE}
+ * {@code on-demand}, or unset outside Lambda): a SnapStart container resumes a JVM started when the version was
+ * published, so its uptime says nothing about the restore, and provisioned concurrency is initialized ahead of
+ * time and billed apart. Wall time is measured inside the handler, so runtime and event
+ * (de)serialization outside it are not included: expect the Lambda {@code Billed Duration} to be a few ms higher.
+ * <p>
+ * Memory comes from {@code AWS_LAMBDA_FUNCTION_MEMORY_SIZE} (set by Lambda) or {@code COST_MEMORY_MB} (container
+ * deployment, to compare modes on the same scale); prices as in {@link CostModel}.
+ * {@code COST_METRICS_ENABLED=false} turns it off.
+ */
+public final class InvocationCost {
+
+    private static final boolean ENABLED = !"false".equalsIgnoreCase(System.getenv("COST_METRICS_ENABLED"));
+    private static final double MEMORY_MB = memoryMb();
+    private static final boolean ON_DEMAND_INIT = onDemandInit();
+    private static final ThreadLocal<long[]> RESPONSE_BYTES = ThreadLocal.withInitial(() -> new long[1]);
+    private static volatile boolean initReported;
+
+    private InvocationCost() {}
+
+    /** Called by {@code ApiResponses} with the serialized body of the response being returned. */
+    public static void recordResponse(String body) {
+        if (ENABLED) RESPONSE_BYTES.get()[0] = body == null ? 0 : utf8Length(body);
+    }
+
+    /** Called by {@code ResponseStream} with the size of a streamed body, which never exists as one String. */
+    public static void recordResponseBytes(long bytes) {
+        if (ENABLED) RESPONSE_BYTES.get()[0] = bytes;
+    }
+
+    /** Publishes the cost metrics of the invocation that started at {@code handlerStartNanos}. */
+    public static void publish(String operation, String endpoint, long handlerStartNanos) {
+        if (!ENABLED) return;
+        long[] bytes = RESPONSE_BYTES.get();
+        long responseBytes = bytes[0];
+        bytes[0] = 0;
+        double billedMs = CostModel.billedMillis((System.nanoTime() - handlerStartNanos) / 1_000_000.0);
+        double gbSeconds = CostModel.gbSeconds(MEMORY_MB, billedMs);
+        boolean first = ON_DEMAND_INIT && !initReported;
+        initReported = true;
+        double initGbSeconds = first ? CostModel.gbSeconds(MEMORY_MB, ManagementFactory.getRuntimeMXBean().getUptime()) : 0;
+        MetricsSupport.publishAll(operation, endpoint, m -> {
+            m.addMetric("InvocationBilledDurationMs", billedMs, MetricUnit.MILLISECONDS);
+            m.addMetric("InvocationResponseBytes", responseBytes, MetricUnit.BYTES);
+            if (MEMORY_MB > 0) {
+                m.addMetric("InvocationGbSeconds", gbSeconds, MetricUnit.NONE);
+                m.addMetric("InvocationCostMicroUsd", CostModel.invocationUsd(MEMORY_MB, billedMs) * 1_000_000, MetricUnit.NONE);
+                if (first) m.addMetric("InvocationInitGbSeconds", initGbSeconds, MetricUnit.NONE);
+            }
+        });
+    }
+
+    static long utf8Length(String s) {
+        long n = 0;
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c < 0x80) n++;
+            else if (c < 0x800) n += 2;
+            else if (Character.isHighSurrogate(c) && i + 1 < s.length() && Character.isLowSurrogate(s.charAt(i + 1))) {
+                n += 4;
+                i++;
+            } else n += 3;
+        }
+        return n;
+    }
+
+    private static boolean onDemandInit() {
+        String v = System.getenv("AWS_LAMBDA_INITIALIZATION_TYPE");
+        return v == null || v.isBlank() || "on-demand".equals(v.trim());
+    }
+
+    private static double memoryMb() {
+        String v = System.getenv("AWS_LAMBDA_FUNCTION_MEMORY_SIZE");
+        if (v == null || v.isBlank()) v = System.getenv("COST_MEMORY_MB");
+        return v == null || v.isBlank() ? 0 : Double.parseDouble(v.trim());
+    }
+}
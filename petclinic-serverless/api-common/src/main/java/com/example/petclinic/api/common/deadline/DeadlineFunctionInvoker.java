@@ -0,0 +1,27 @@
+package com.example.petclinic.api.common.deadline;
+
+import com.amazonaws.services.lambda.runtime.Context;
+import com.example.petclinic.observability.deadline.RequestDeadline;
+import org.springframework.cloud.function.adapter.aws.FunctionInvoker;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Lambda entry point ({@code handler: ...DeadlineFunctionInvoker::handleRequest}) that records the invocation's
+ * remaining time before delegating to Spring Cloud Function. Handlers stay plain {@code Function}s and never
+ * see the {@code Context}; {@link RequestDeadline} carries the budget for them.
+ */
+public class DeadlineFunctionInvoker extends FunctionInvoker {
+
+    @Override
+    public void handleRequest(InputStream input, OutputStream output, Context context) throws IOException {
+        if (context != null) RequestDeadline.startInvocation(context.getRemainingTimeInMillis());
+        try {
+            super.handleRequest(input, output, context);
+        } finally {
+            RequestDeadline.endInvocation();
+        }
+    }
+}
@@ -1,9 +1,13 @@
 package com.example.petclinic.api.common.errors;
 
+import com.amazonaws.services.lambda.runtime.events.APIGatewayV2HTTPResponse;
 import com.example.petclinic.api.common.ApiResponse;
 import com.example.petclinic.api.common.ApiResponses;
 import com.example.petclinic.api.common.validation.ValidationSupportException;
+import com.example.petclinic.domain.DatabaseUnavailableException;
 import com.example.petclinic.domain.owner.OwnerNotFoundException;
+import com.example.petclinic.observability.deadline.DeadlineExceededException;
+import com.example.petclinic.observability.trace.Tracer;
 
 import java.util.function.Supplier;
 
@@ -18,6 +22,12 @@ public final class ExceptionMapper {
         if (t instanceof OwnerNotFoundException) {
             return ApiResponses.notFound("Owner not found");
         }
+        if (t instanceof DatabaseUnavailableException) {
+            return ApiResponses.serviceUnavailable("Database temporarily unavailable");
+        }
+        if (t instanceof DeadlineExceededException) {
+            return ApiResponses.gatewayTimeout("Request deadline exceeded");
+        }
         return ApiResponses.serverError("Internal error");
     }
 
@@ -25,4 +35,25 @@ public final class ExceptionMapper {
         try { return supplier.get(); }
         catch (Throwable t) { return map(t); }
     }
+
+    /**
+     * Same mapping for the API Gateway handlers' catch-all; 503s carry Retry-After, deadlines become 504.
+     * (Fully qualified: the HTTP factory shares its simple name with the envelope ApiResponses.)
+     */
+    public static APIGatewayV2HTTPResponse toHttpResponse(Throwable t) {
+        Tracer.recordError(t);
+        if (t instanceof DatabaseUnavailableException d) {
+            return com.example.petclinic.api.common.http.ApiResponses.serviceUnavailable("DATABASE_UNAVAILABLE", "Database temporarily unavailable", d.getRetryAfterSeconds());
+        }
+        if (t instanceof DeadlineExceededException) {
+            return com.example.petclinic.api.common.http.ApiResponses.gatewayTimeout("DEADLINE_EXCEEDED", "Request deadline exceeded");
+        }
+        if (t instanceof ValidationSupportException v) {
+            return com.example.petclinic.api.common.http.ApiResponses.badRequest("VALIDATION_ERROR", v.getMessage());
+        }
+        if (t instanceof OwnerNotFoundException) {
+            return com.example.petclinic.api.common.http.ApiResponses.notFound("OWNER_NOT_FOUND", "Owner not found");
+        }
+        return com.example.petclinic.api.common.http.ApiResponses.serverError("SERVER_ERROR", "Internal error");
+    }
 }
@@ -1,8 +1,13 @@
 package com.example.petclinic.api.common.http;
 
 import com.amazonaws.services.lambda.runtime.events.APIGatewayV2HTTPResponse;
+import com.example.petclinic.api.common.cost.InvocationCost;
+import com.example.petclinic.observability.timing.RequestTiming;
+import com.example.petclinic.observability.trace.Tracer;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import java.util.Base64;
+import java.util.HashMap;
 import java.util.Map;
 
 public final class ApiResponses {
@@ -11,6 +16,8 @@ public final class ApiResponses {
   public static APIGatewayV2HTTPResponse ok(Object body) { return build(200, body); }
   public static APIGatewayV2HTTPResponse created(Object body) { return build(201, body); }
   public static APIGatewayV2HTTPResponse noContent() { return build(204, null); }
+  /** 207 for batch requests whose items did not all succeed; the body carries the status of each item. */
+  public static APIGatewayV2HTTPResponse multiStatus(Object body) { return build(207, body); }
   public static APIGatewayV2HTTPResponse badRequest(String code, String message) {
     return build(400, Map.of("code", code, "message", message));
   }
@@ -23,20 +30,61 @@ public final class ApiResponses {
   public static APIGatewayV2HTTPResponse serverError(String code, String message) {
     return build(500, Map.of("code", code, "message", message));
   }
+  /** 503 with Retry-After (seconds) so well-behaved clients back off instead of retrying immediately. */
+  public static APIGatewayV2HTTPResponse serviceUnavailable(String code, String message, int retryAfterSeconds) {
+    return build(503, Map.of("code", code, "message", message), Map.of("Retry-After", Integer.toString(retryAfterSeconds)));
+  }
+
+  public static APIGatewayV2HTTPResponse gatewayTimeout(String code, String message) {
+    return build(504, Map.of("code", code, "message", message));
+  }
+
+  /** 200 with a non-JSON body (CSV, NDJSON, gzip), base64-encoded as API Gateway expects for binary payloads. */
+  public static APIGatewayV2HTTPResponse okBytes(byte[] body, Map<String, String> headers) {
+    Tracer.responseStatus(200);
+    InvocationCost.recordResponseBytes(body.length);
+    Map<String, String> all = new HashMap<>(headers);
+    String serverTiming = RequestTiming.headerValue();
+    if (serverTiming != null) all.put(RequestTiming.HEADER, serverTiming);
+    return APIGatewayV2HTTPResponse.builder()
+        .withStatusCode(200)
+        .withHeaders(all)
+        .withBody(Base64.getEncoder().encodeToString(body))
+        .withIsBase64Encoded(true)
+        .build();
+  }
 
   private static APIGatewayV2HTTPResponse build(int status, Object bodyObj) {
+    return build(status, bodyObj, Map.of());
+  }
+
+  private static APIGatewayV2HTTPResponse build(int status, Object bodyObj, Map<String, String> extraHeaders) {
     try {
+      Tracer.responseStatus(status);
+      long serializeStart = System.nanoTime();
       String body = (bodyObj instanceof String) ? (String) bodyObj : MAPPER.writeValueAsString(bodyObj);
+      RequestTiming.record("serialize", serializeStart);
+      InvocationCost.recordResponse(body);
+      Map<String, String> headers = Map.of("Content-Type", "application/json");
+      String serverTiming = RequestTiming.headerValue();
+      if (!extraHeaders.isEmpty() || serverTiming != null) {
+        headers = new HashMap<>(headers);
+        headers.putAll(extraHeaders);
+        if (serverTiming != null) headers.put(RequestTiming.HEADER, serverTiming);
+      }
       return APIGatewayV2HTTPResponse.builder()
           .withStatusCode(status)
-          .withHeaders(Map.of("Content-Type", "application/json"))
+          .withHeaders(headers)
           .withBody(body)
           .build();
     } catch (Exception e) {
+      Tracer.responseStatus(500);
+      String body = "{\"code\":\"SERIALIZATION_ERROR\",\"message\":\"Failed to serialize body\"}";
+      InvocationCost.recordResponse(body);
       return APIGatewayV2HTTPResponse.builder()
           .withStatusCode(500)
           .withHeaders(Map.of("Content-Type", "application/json"))
-          .withBody("{\"code\":\"SERIALIZATION_ERROR\",\"message\":\"Failed to serialize body\"}")
+          .withBody(body)
           .build();
     }
   }
@@ -0,0 +1,62 @@
+package com.example.petclinic.api.common.http;
+
+import com.example.petclinic.api.common.Json;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Response bodies written straight into a {@link JsonGenerator}, for handlers that produce JSON from a cursor
+ * instead of serializing a DTO list. The generator writes into a per-thread buffer that is reused across
+ * invocations (Lambda runs one invocation per thread at a time); the only copy is the final {@code String} that
+ * goes into the response. Buffers that grew past {@link #MAX_RETAINED_CHARS} are dropped after use so one huge
+ * page does not stay pinned for the life of the container.
+ * <p>
+ * Pass the result to {@link ApiResponses#ok(Object)}: a {@code String} body is used as is.
+ */
+public final class JsonBodyWriter {
+
+    @FunctionalInterface
+    public interface Body {
+        void write(JsonGenerator gen) throws IOException;
+    }
+
+    static final int INITIAL_CHARS = 8 * 1024;
+    static final int MAX_RETAINED_CHARS = 256 * 1024;
+
+    private static final JsonFactory FACTORY = Json.mapper().getFactory();
+    private static final ThreadLocal<BufferWriter> BUFFER = ThreadLocal.withInitial(() -> new BufferWriter(INITIAL_CHARS));
+
+    private JsonBodyWriter() {}
+
+    public static String write(Body body) throws IOException {
+        BufferWriter out = BUFFER.get();
+        out.reset();
+        try (JsonGenerator gen = FACTORY.createGenerator(out)) {
+            body.write(gen);
+        }
+        String json = out.toString();
+        if (out.capacity() > MAX_RETAINED_CHARS) BUFFER.remove();
+        return json;
+    }
+
+    /** Unsynchronized writer over a StringBuilder; closing it keeps the contents (the generator closes its target). */
+    private static final class BufferWriter extends Writer {
+        private final StringBuilder buf;
+
+        BufferWriter(int initialChars) { this.buf = new StringBuilder(initialChars); }
+
+        void reset() { buf.setLength(0); }
+
+        int capacity() { return buf.capacity(); }
+
+        @Override public void write(char[] cbuf, int off, int len) { buf.append(cbuf, off, len); }
+        @Override public void write(String str, int off, int len) { buf.append(str, off, off + len); }
+        @Override public void write(int c) { buf.append((char) c); }
+        @Override public void flush() {}
+        @Override public void close() {}
+        @Override public String toString() { return buf.toString(); }
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.petclinic.api.common.invocation;
+
+import com.amazonaws.services.lambda.runtime.events.APIGatewayV2HTTPEvent;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayV2HTTPResponse;
+import com.example.petclinic.api.common.admission.AdmissionControl;
+import com.example.petclinic.api.common.cost.InvocationCost;
+import com.example.petclinic.api.common.profiling.SlowInvocationProfiler;
+import com.example.petclinic.observability.deadline.RequestDeadline;
+import com.example.petclinic.observability.jfr.JfrEvents;
+import com.example.petclinic.observability.metrics.MetricsSupport;
+import com.example.petclinic.observability.timing.RequestTiming;
+import com.example.petclinic.observability.trace.Tracer;
+
+/**
+ * Per-request setup and teardown shared by every endpoint handler, in one place:
+ * <pre>
+ * try (InvocationScope scope = InvocationScope.open("Owners", "GET_/owners/{id}", "OwnersGetLatencyMs", event)) {
+ *     if (!scope.admitted()) return scope.rejection();
+ *     ...
+ * }
+ * </pre>
+ * {@link #open} takes the admission permit and, when admitted, starts the deadline, Server-Timing, JFR, trace and
+ * profiler state of the thread; {@link #close} releases the permit first, then ends all of them and publishes the
+ * handler latency timer and the invocation cost. Should any begin step throw, what was started is undone before the
+ * exception leaves {@code open}, so a permit can never leak.
+ */
+public final class InvocationScope implements AutoCloseable {
+
+    private final String operation;
+    private final String endpoint;
+    private final String latencyMetric;
+    private final AdmissionControl.Permit permit;
+    private final long handlerStart = MetricsSupport.startTimer();
+    private boolean closed;
+
+    private InvocationScope(String operation, String endpoint, String latencyMetric, AdmissionControl.Permit permit) {
+        this.operation = operation;
+        this.endpoint = endpoint;
+        this.latencyMetric = latencyMetric;
+        this.permit = permit;
+    }
+
+    /**
+     * Opens the scope of one request. Check {@link #admitted()} before doing any work.
+     *
+     * @param latencyMetric timer published on close with the handler's total latency, e.g. {@code OwnersGetLatencyMs}
+     */
+    public static InvocationScope open(String operation, String endpoint, String latencyMetric,
+                                       APIGatewayV2HTTPEvent event) {
+        InvocationScope scope = new InvocationScope(operation, endpoint, latencyMetric, AdmissionControl.tryAcquire(endpoint));
+        if (!scope.admitted()) return scope;
+        try {
+            RequestDeadline.begin(endpoint);
+            RequestTiming.begin();
+            JfrEvents.beginHandler(operation, endpoint);
+            Tracer.beginRequest(operation, endpoint, event == null ? null : event.getHeaders());
+            SlowInvocationProfiler.begin(endpoint);
+        } catch (RuntimeException | Error e) {
+            scope.close();
+            throw e;
+        }
+        return scope;
+    }
+
+    public boolean admitted() {
+        return permit.admitted();
+    }
+
+    /** 503 for a request that was not admitted. */
+    public APIGatewayV2HTTPResponse rejection() {
+        return AdmissionControl.rejection(permit);
+    }
+
+    @Override
+    public void close() {
+        if (closed || !permit.admitted()) return;
+        closed = true;
+        permit.release();
+        RequestDeadline.end();
+        RequestTiming.end();
+        JfrEvents.endHandler();
+        Tracer.endRequest();
+        SlowInvocationProfiler.end();
+        MetricsSupport.publishTimer(latencyMetric, MetricsSupport.endTimer(handlerStart), operation, endpoint);
+        InvocationCost.publish(operation, endpoint, handlerStart);
+    }
+}
@@ -0,0 +1,172 @@
+package com.example.petclinic.api.common.profiling;
+
+import com.example.petclinic.observability.metrics.MetricsSupport;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Opt-in sampling profiler for slow invocations. While a handler runs, a daemon thread takes a stack sample of the
+ * handler thread every {@code PROFILE_INTERVAL_MS}; when the invocation ends above {@code PROFILE_SLOW_MS} the
+ * aggregated samples are written in the collapsed-stack format ({@code frame;frame;frame count} per line, root
+ * first) that {@code flamegraph.pl}, speedscope and async-profiler's converters read. The endpoint is the root frame,
+ * so files from different routes can be concatenated.
+ * <p>
+ * Fast invocations pay a map put/remove plus at most one stack walk per interval; the sampler thread keeps ticking
+ * while requests keep coming and parks after about a second without any, so only the first request after a quiet
+ * period pays for waking it. Dumps are limited to {@code PROFILE_MAX_PER_MINUTE} per process.
+ * <p>
+ * Configuration (env): {@code PROFILE_SLOW_MS} (enables the profiler when &gt; 0), {@code PROFILE_INTERVAL_MS}
+ * (default 10), {@code PROFILE_OUTPUT} ({@code file} default, or {@code log}), {@code PROFILE_DIR} (default
+ * {@code /tmp}) and {@code PROFILE_MAX_PER_MINUTE} (default 2).
+ */
+@Slf4j
+public final class SlowInvocationProfiler {
+
+    private static final long SLOW_MILLIS = longEnv("PROFILE_SLOW_MS", 0);
+    private static final long INTERVAL_MILLIS = Math.max(1, longEnv("PROFILE_INTERVAL_MS", 10));
+    private static final boolean TO_LOG = "log".equalsIgnoreCase(System.getenv("PROFILE_OUTPUT"));
+    private static final Path DIR = Path.of(System.getenv().getOrDefault("PROFILE_DIR", "/tmp"));
+    private static final int MAX_PER_MINUTE = (int) longEnv("PROFILE_MAX_PER_MINUTE", 2);
+    private static final int MAX_SAMPLES = 5_000;
+    private static final int MAX_DEPTH = 256;
+    private static final int IDLE_TICKS_BEFORE_PARK = (int) Math.max(1, 1000 / INTERVAL_MILLIS);
+
+    private static final Map<Thread, Session> SESSIONS = new ConcurrentHashMap<>();
+    private static final Thread SAMPLER = SLOW_MILLIS > 0 ? startSampler() : null;
+    private static volatile boolean samplerParked;
+
+    private static long dumpWindowStart;
+    private static int dumpsInWindow;
+
+    private SlowInvocationProfiler() {}
+
+    public static boolean enabled() { return SAMPLER != null; }
+
+    public static void begin(String endpoint) {
+        if (SAMPLER == null) return;
+        SESSIONS.put(Thread.currentThread(), new Session(endpoint));
+        if (samplerParked) LockSupport.unpark(SAMPLER);
+    }
+
+    public static void end() {
+        if (SAMPLER == null) return;
+        Session session = SESSIONS.remove(Thread.currentThread());
+        if (session == null) return;
+        long elapsedMillis = (System.nanoTime() - session.start) / 1_000_000;
+        if (elapsedMillis < SLOW_MILLIS) return;
+        String collapsed;
+        synchronized (session) {
+            if (session.samples == 0 || !takeDumpSlot()) return;
+            collapsed = session.collapsed();
+        }
+        MetricsSupport.increment("SlowInvocationProfiledCount", "Profiler", session.endpoint);
+        write(session, elapsedMillis, collapsed);
+    }
+
+    private static void write(Session session, long elapsedMillis, String collapsed) {
+        if (TO_LOG) {
+            log.warn("[Profiler] {} took {} ms, {} samples every {} ms (collapsed stacks):\n{}",
+                    session.endpoint, elapsedMillis, session.samples, INTERVAL_MILLIS, collapsed);
+            return;
+        }
+        Path file = DIR.resolve("profile-" + sanitize(session.endpoint) + "-" + System.currentTimeMillis() + ".collapsed");
+        try {
+            Files.writeString(file, collapsed, StandardCharsets.UTF_8);
+            log.warn("[Profiler] {} took {} ms, {} samples every {} ms written to {}",
+                    session.endpoint, elapsedMillis, session.samples, INTERVAL_MILLIS, file);
+        } catch (IOException e) {
+            log.warn("[Profiler] Could not write {}: {}", file, e.getMessage());
+        }
+    }
+
+    private static synchronized boolean takeDumpSlot() {
+        long now = System.currentTimeMillis();
+        if (now - dumpWindowStart >= 60_000) {
+            dumpWindowStart = now;
+            dumpsInWindow = 0;
+        }
+        if (dumpsInWindow >= MAX_PER_MINUTE) return false;
+        dumpsInWindow++;
+        return true;
+    }
+
+    private static Thread startSampler() {
+        Thread t = new Thread(SlowInvocationProfiler::sampleLoop, "slow-invocation-profiler");
+        t.setDaemon(true);
+        t.start();
+        log.info("[Profiler] Enabled: slow >= {} ms, interval {} ms, output {}", SLOW_MILLIS, INTERVAL_MILLIS,
+                TO_LOG ? "log" : DIR);
+        return t;
+    }
+
+    private static void sampleLoop() {
+        int idleTicks = 0;
+        while (true) {
+            if (SESSIONS.isEmpty() && ++idleTicks >= IDLE_TICKS_BEFORE_PARK) {
+                samplerParked = true;
+                // re-check after publishing the flag: a begin() in between may have missed it
+                if (SESSIONS.isEmpty()) LockSupport.park();
+                samplerParked = false;
+                idleTicks = 0;
+                continue;
+            }
+            if (!SESSIONS.isEmpty()) idleTicks = 0;
+            LockSupport.parkNanos(INTERVAL_MILLIS * 1_000_000L);
+            for (Map.Entry<Thread, Session> e : SESSIONS.entrySet()) {
+                StackTraceElement[] stack = e.getKey().getStackTrace();
+                Session session = e.getValue();
+                synchronized (session) {
+                    // the handler may have moved on to the next invocation while we walked its stack
+                    if (SESSIONS.get(e.getKey()) == session) session.add(stack);
+                }
+            }
+        }
+    }
+
+    private static String sanitize(String endpoint) {
+        return endpoint.replaceAll("[^A-Za-z0-9]+", "_").replaceAll("^_|_$", "");
+    }
+
+    private static long longEnv(String name, long def) {
+        String v = System.getenv(name);
+        if (v == null || v.isBlank()) return def;
+        return Long.parseLong(v.trim());
+    }
+
+    private static final class Session {
+        final String endpoint;
+        final long start = System.nanoTime();
+        Map<String, Integer> stacks;
+        int samples;
+
+        Session(String endpoint) {
+            this.endpoint = endpoint;
+        }
+
+        void add(StackTraceElement[] stack) {
+            if (samples >= MAX_SAMPLES || stack.length == 0) return;
+            if (stacks == null) stacks = new HashMap<>();
+            samples++;
+            StringBuilder sb = new StringBuilder(64 * Math.min(stack.length, MAX_DEPTH));
+            sb.append(endpoint.replace(';', ':'));
+            for (int i = Math.min(stack.length, MAX_DEPTH) - 1; i >= 0; i--) {
+                sb.append(';').append(stack[i].getClassName()).append('.').append(stack[i].getMethodName());
+            }
+            stacks.merge(sb.toString(), 1, Integer::sum);
+        }
+
+        String collapsed() {
+            StringBuilder sb = new StringBuilder();
+            stacks.forEach((stack, count) -> sb.append(stack).append(' ').append(count).append('\n'));
+            return sb.toString();
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.petclinic.api.common.streaming;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * Chunked HTTP/1.1 POST to the Runtime API, written over a plain socket because {@link java.net.HttpURLConnection}
+ * cannot send trailers, and trailers are how Lambda learns that a streamed response failed after its first byte
+ * ({@code Lambda-Runtime-Function-Error-Type} / {@code -Body}). The connection opens on the first write, so a
+ * failure before the response starts can still be posted to {@code /error}.
+ */
+final class ChunkedPost extends OutputStream {
+
+    private static final byte[] CRLF = {'\r', '\n'};
+
+    private final URI target;
+    private final Map<String, String> headers;
+    private final byte[] buffer;
+    private int count;
+    private Socket socket;
+    private OutputStream out;
+
+    ChunkedPost(URI target, Map<String, String> headers, int chunkBytes) {
+        this.target = target;
+        this.headers = headers;
+        this.buffer = new byte[chunkBytes];
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        if (count == buffer.length) writeChunk();
+        buffer[count++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        while (len > 0) {
+            if (count == buffer.length) writeChunk();
+            int n = Math.min(len, buffer.length - count);
+            System.arraycopy(b, off, buffer, count, n);
+            count += n;
+            off += n;
+            len -= n;
+        }
+    }
+
+    /** Sends what was written so far as one chunk. */
+    @Override
+    public void flush() throws IOException {
+        writeChunk();
+        connection().flush();
+    }
+
+    /**
+     * Ends the body with the last chunk and {@code trailers} (empty for a response that completed) and returns the
+     * Runtime API's status code.
+     */
+    int finish(Map<String, String> trailers) throws IOException {
+        writeChunk();
+        StringBuilder end = new StringBuilder("0\r\n");
+        trailers.forEach((name, value) -> end.append(name).append(": ").append(value).append("\r\n"));
+        end.append("\r\n");
+        OutputStream o = connection();
+        o.write(end.toString().getBytes(StandardCharsets.US_ASCII));
+        o.flush();
+        try (Socket s = socket) {
+            return readStatus(new BufferedInputStream(s.getInputStream()));
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (socket != null) socket.close();
+    }
+
+    private void writeChunk() throws IOException {
+        if (count == 0) return;
+        OutputStream o = connection();
+        o.write(Integer.toHexString(count).getBytes(StandardCharsets.US_ASCII));
+        o.write(CRLF);
+        o.write(buffer, 0, count);
+        o.write(CRLF);
+        count = 0;
+    }
+
+    private OutputStream connection() throws IOException {
+        if (out != null) return out;
+        socket = new Socket();
+        socket.connect(new InetSocketAddress(target.getHost(), target.getPort()));
+        out = socket.getOutputStream();
+        StringBuilder head = new StringBuilder()
+                .append("POST ").append(target.getRawPath()).append(" HTTP/1.1\r\n")
+                .append("Host: ").append(target.getHost()).append(':').append(target.getPort()).append("\r\n")
+                .append("Transfer-Encoding: chunked\r\n")
+                .append("Trailer: ").append(StreamingRuntime.ERROR_TYPE_HEADER).append(", ")
+                .append(StreamingRuntime.ERROR_BODY_HEADER).append("\r\n")
+                .append("Connection: close\r\n");
+        headers.forEach((name, value) -> head.append(name).append(": ").append(value).append("\r\n"));
+        head.append("\r\n");
+        out.write(head.toString().getBytes(StandardCharsets.US_ASCII));
+        return out;
+    }
+
+    /** Status code of the reply's status line ({@code HTTP/1.1 202 Accepted}); the rest is not needed. */
+    private static int readStatus(InputStream in) throws IOException {
+        StringBuilder line = new StringBuilder();
+        int c;
+        while ((c = in.read()) != -1 && c != '\n') line.append((char) c);
+        String[] parts = line.toString().trim().split(" ");
+        if (parts.length < 2) throw new IOException("no status line from the Runtime API: " + line);
+        try {
+            return Integer.parseInt(parts[1]);
+        } catch (NumberFormatException e) {
+            throw new IOException("bad status line from the Runtime API: " + line);
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.petclinic.api.common.streaming;
+
+import com.amazonaws.services.lambda.runtime.events.APIGatewayV2HTTPResponse;
+import com.example.petclinic.api.common.Json;
+import com.example.petclinic.api.common.cost.InvocationCost;
+import com.example.petclinic.observability.trace.Tracer;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.Closeable;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Map;
+
+/**
+ * One streamed HTTP response in Lambda's {@value #CONTENT_TYPE} format (Function URL with
+ * {@code invokeMode: RESPONSE_STREAM}): a JSON prelude with status and headers, eight NUL bytes, then the body
+ * as it is produced. Status and headers are final once {@link #start} returns; an error after that can only cut
+ * the body short.
+ * <p>
+ * List handlers call {@link #elementWritten()} after each array element: the first element is flushed at once
+ * (time to first byte is one row, not the page) and later ones every {@link #FLUSH_EVERY} elements. In between,
+ * the generator's own 8 KB buffer drains to the connection whenever it fills.
+ */
+public final class ResponseStream implements Closeable {
+
+    public static final String CONTENT_TYPE = "application/vnd.awslambda.http-integration-response";
+    static final int FLUSH_EVERY = 64;
+
+    private static final JsonFactory FACTORY = Json.mapper().getFactory();
+    private static final byte[] PRELUDE_DELIMITER = new byte[8];
+
+    private final CountingStream out;
+    private JsonGenerator body;
+    private int status;
+    private long bodyStart = -1;
+    private int elements;
+    private boolean finished;
+
+    public ResponseStream(OutputStream out) {
+        this.out = new CountingStream(out);
+    }
+
+    public boolean started() {
+        return bodyStart >= 0;
+    }
+
+    public int status() {
+        return status;
+    }
+
+    /** Sends status and headers to the client and returns the generator for the body. */
+    public JsonGenerator start(int status, Map<String, String> headers) throws IOException {
+        writePrelude(status, headers);
+        body = FACTORY.createGenerator(out, JsonEncoding.UTF8).disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        return body;
+    }
+
+    /**
+     * Sends status and headers and returns the raw body stream, for bodies that are not one JSON value (NDJSON,
+     * CSV, gzip). The caller flushes it when the client should see what was written; closing it only flushes.
+     */
+    public OutputStream startBody(int status, Map<String, String> headers) throws IOException {
+        writePrelude(status, headers);
+        return new OutputStream() {
+            @Override public void write(int b) throws IOException { out.write(b); }
+            @Override public void write(byte[] b, int off, int len) throws IOException { out.write(b, off, len); }
+            @Override public void flush() throws IOException { out.flush(); }
+            @Override public void close() throws IOException { out.flush(); }
+        };
+    }
+
+    /** Call after each top-level array element; see the class comment for the flush policy. */
+    public void elementWritten() throws IOException {
+        elements++;
+        if (elements == 1 || elements % FLUSH_EVERY == 0) body.flush();
+    }
+
+    /** Sends a response that is complete up front (errors, rejections, fallbacks) as a single piece. */
+    public void send(APIGatewayV2HTTPResponse response) throws IOException {
+        String text = response.getBody() == null ? "" : response.getBody();
+        writePrelude(response.getStatusCode(), response.getHeaders() == null ? Map.of() : response.getHeaders());
+        out.write(response.getIsBase64Encoded() ? Base64.getDecoder().decode(text) : text.getBytes(StandardCharsets.UTF_8));
+        finish();
+    }
+
+    /** Completes the body and records its size for the cost metrics; call before the handler publishes them. */
+    public void finish() throws IOException {
+        if (finished) return;
+        finished = true;
+        if (body != null) body.close();
+        out.flush();
+        if (started()) InvocationCost.recordResponseBytes(out.count - bodyStart);
+    }
+
+    /** Body bytes written so far. */
+    public long bodyBytes() {
+        return started() ? out.count - bodyStart : 0;
+    }
+
+    @Override
+    public void close() throws IOException {
+        finish();
+    }
+
+    private void writePrelude(int status, Map<String, String> headers) throws IOException {
+        if (started()) {
+            throw new IOException("response already started with status " + this.status + ", cannot send " + status);
+        }
+        this.status = status;
+        Tracer.responseStatus(status);
+        try (JsonGenerator prelude = FACTORY.createGenerator(out, JsonEncoding.UTF8).disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+            prelude.writeStartObject();
+            prelude.writeNumberField("statusCode", status);
+            prelude.writeObjectFieldStart("headers");
+            for (Map.Entry<String, String> h : headers.entrySet()) prelude.writeStringField(h.getKey(), h.getValue());
+            prelude.writeEndObject();
+            prelude.writeEndObject();
+        }
+        out.write(PRELUDE_DELIMITER);
+        out.flush();
+        bodyStart = out.count;
+    }
+
+    private static final class CountingStream extends FilterOutputStream {
+        long count;
+
+        CountingStream(OutputStream out) { super(out); }
+
+        @Override public void write(int b) throws IOException { out.write(b); count++; }
+        @Override public void write(byte[] b, int off, int len) throws IOException { out.write(b, off, len); count += len; }
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.petclinic.api.common.streaming;
+
+import com.amazonaws.services.lambda.runtime.events.APIGatewayV2HTTPEvent;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Which routes can stream and when a request gets a streamed response.
+ * <p>
+ * Handlers register their route key ({@code "GET /owners"}) when Spring creates them. A request is streamed when
+ * a handler is registered for it and the client can take a streamed response: {@code RESPONSE_STREAMING=auto}
+ * (default) streams requests that arrive through a Lambda Function URL (the only front end that forwards a
+ * streamed body; API Gateway HTTP APIs buffer) over HTTP/1.1 or later. {@code on} streams every request of a
+ * registered route, {@code off} none. Everything else gets the buffered response of the regular handler.
+ */
+public final class ResponseStreaming {
+
+    private static final String MODE = System.getenv().getOrDefault("RESPONSE_STREAMING", "auto").toLowerCase(Locale.ROOT);
+    private static final Map<String, StreamingHandler> HANDLERS = new ConcurrentHashMap<>();
+
+    private ResponseStreaming() {}
+
+    public static void register(String routeKey, StreamingHandler handler) {
+        HANDLERS.put(routeKey, handler);
+    }
+
+    /** Handler registered for the event's route (Function URLs send {@code $default}, so method + path is used). */
+    public static StreamingHandler handlerFor(APIGatewayV2HTTPEvent event) {
+        String routeKey = event.getRouteKey();
+        if (routeKey == null || routeKey.equals("$default")) {
+            String method = method(event);
+            if (method == null || event.getRawPath() == null) return null;
+            routeKey = method + " " + event.getRawPath();
+        }
+        return HANDLERS.get(routeKey);
+    }
+
+    public static boolean accepts(APIGatewayV2HTTPEvent event) {
+        return accepts(MODE, event);
+    }
+
+    static boolean accepts(String mode, APIGatewayV2HTTPEvent event) {
+        if (mode.equals("off")) return false;
+        if (mode.equals("on")) return true;
+        APIGatewayV2HTTPEvent.RequestContext ctx = event.getRequestContext();
+        if (ctx == null || ctx.getDomainName() == null || !ctx.getDomainName().contains(".lambda-url.")) return false;
+        // chunked transfer needs HTTP/1.1
+        return ctx.getHttp() == null || !"HTTP/1.0".equalsIgnoreCase(ctx.getHttp().getProtocol());
+    }
+
+    private static String method(APIGatewayV2HTTPEvent event) {
+        APIGatewayV2HTTPEvent.RequestContext ctx = event.getRequestContext();
+        return ctx == null || ctx.getHttp() == null ? null : ctx.getHttp().getMethod();
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.petclinic.api.common.streaming;
+
+/**
+ * A streaming handler failed after {@link ResponseStream#start}: status and part of the body are already with
+ * the client, so no error response can replace them. {@link StreamingRuntime} ends the stream with the error
+ * trailers of the cause.
+ */
+public class StreamAbortedException extends RuntimeException {
+
+    public StreamAbortedException(Throwable cause) {
+        super(cause);
+    }
+}
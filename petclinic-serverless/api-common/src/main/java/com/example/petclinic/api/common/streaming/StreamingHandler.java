@@ -0,0 +1,19 @@
+package com.example.petclinic.api.common.streaming;
+
+import com.amazonaws.services.lambda.runtime.events.APIGatewayV2HTTPEvent;
+
+import java.io.IOException;
+
+/**
+ * Handler that can write its response incrementally. Implemented next to the buffered
+ * {@code Function<APIGatewayV2HTTPEvent, APIGatewayV2HTTPResponse>} of the same route and registered with
+ * {@link ResponseStreaming#register}; {@link StreamingRuntime} calls it only when the invocation can be streamed.
+ */
+public interface StreamingHandler {
+
+    /**
+     * Writes the whole response to {@code response}: {@link ResponseStream#start} then the body, or
+     * {@link ResponseStream#send} for a response that is complete up front (errors, rejections).
+     */
+    void stream(APIGatewayV2HTTPEvent event, ResponseStream response) throws IOException;
+}
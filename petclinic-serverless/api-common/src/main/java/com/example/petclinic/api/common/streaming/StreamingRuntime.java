@@ -0,0 +1,218 @@
+package com.example.petclinic.api.common.streaming;
+
+import com.amazonaws.services.lambda.runtime.ClientContext;
+import com.amazonaws.services.lambda.runtime.CognitoIdentity;
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.LambdaLogger;
+import com.amazonaws.services.lambda.runtime.RequestStreamHandler;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayV2HTTPEvent;
+import com.example.petclinic.api.common.Json;
+import com.example.petclinic.api.common.deadline.DeadlineFunctionInvoker;
+import com.example.petclinic.observability.deadline.RequestDeadline;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Map;
+
+/**
+ * Custom-runtime entry point ({@code provided.al2023}, started by the {@code bootstrap} script) that adds Lambda
+ * response streaming to the Spring Cloud Function handlers. The managed {@code java17} runtime always buffers the
+ * whole response (6 MB cap, first byte only after the last row), so this class talks to the Lambda Runtime API
+ * itself:
+ * <ul>
+ *   <li>routes with a {@link StreamingHandler}, when {@link ResponseStreaming#accepts} the request, are POSTed in
+ *   {@code streaming} response mode with chunked transfer encoding, as the handler writes;</li>
+ *   <li>everything else (API Gateway requests, other routes, non-HTTP events) goes through
+ *   {@link DeadlineFunctionInvoker} exactly as on the managed runtime and is POSTed buffered.</li>
+ * </ul>
+ * A failure before the response starts is reported through the Runtime API error endpoint (the client gets a
+ * 502); after it starts, the body is ended with the error trailers, so Lambda records the invocation as failed,
+ * and the client sees a truncated body.
+ */
+@Slf4j
+public final class StreamingRuntime {
+
+    static final String STREAMING_MODE_HEADER = "Lambda-Runtime-Function-Response-Mode";
+    static final String ERROR_TYPE_HEADER = "Lambda-Runtime-Function-Error-Type";
+    static final String ERROR_BODY_HEADER = "Lambda-Runtime-Function-Error-Body";
+    private static final String RUNTIME_PATH = "/2018-06-01/runtime";
+    private static final int CHUNK_BYTES = 8 * 1024;
+
+    private final String baseUrl;
+    private final RequestStreamHandler invoker;
+
+    StreamingRuntime(String runtimeApi, RequestStreamHandler invoker) {
+        this.baseUrl = "http://" + runtimeApi + RUNTIME_PATH;
+        this.invoker = invoker;
+    }
+
+    public static void main(String[] args) throws IOException {
+        String runtimeApi = System.getenv("AWS_LAMBDA_RUNTIME_API");
+        if (runtimeApi == null) throw new IllegalStateException("AWS_LAMBDA_RUNTIME_API not set: not running on Lambda");
+        RequestStreamHandler invoker;
+        try {
+            // starts the Spring context; streaming handlers register themselves while it starts
+            invoker = new DeadlineFunctionInvoker();
+        } catch (RuntimeException e) {
+            log.error("[StreamingRuntime] Init failed", e);
+            new StreamingRuntime(runtimeApi, null).postError("/init/error", e);
+            throw e;
+        }
+        new StreamingRuntime(runtimeApi, invoker).run();
+    }
+
+    void run() throws IOException {
+        while (true) {
+            processNext();
+        }
+    }
+
+    void processNext() throws IOException {
+        HttpURLConnection next = open("/invocation/next", "GET");
+        next.setReadTimeout(0);
+        byte[] payload;
+        try (InputStream in = next.getInputStream()) {
+            payload = in.readAllBytes();
+        }
+        String requestId = next.getHeaderField("Lambda-Runtime-Aws-Request-Id");
+        long deadlineMs = parseLong(next.getHeaderField("Lambda-Runtime-Deadline-Ms"), System.currentTimeMillis() + 15_000);
+        String traceId = next.getHeaderField("Lambda-Runtime-Trace-Id");
+        if (traceId != null) System.setProperty("com.amazonaws.xray.traceHeader", traceId);
+        else System.clearProperty("com.amazonaws.xray.traceHeader");
+        InvocationContext context = new InvocationContext(requestId, deadlineMs,
+                next.getHeaderField("Lambda-Runtime-Invoked-Function-Arn"));
+
+        APIGatewayV2HTTPEvent event = httpEvent(payload);
+        StreamingHandler handler = event == null ? null : ResponseStreaming.handlerFor(event);
+        try {
+            if (handler != null && ResponseStreaming.accepts(event)) {
+                stream(requestId, context, handler, event);
+            } else {
+                buffered(requestId, context, payload);
+            }
+        } catch (Exception e) {
+            log.error("[StreamingRuntime] Invocation {} failed", requestId, e);
+            postError("/invocation/" + requestId + "/error", e);
+        }
+    }
+
+    private void stream(String requestId, Context context, StreamingHandler handler, APIGatewayV2HTTPEvent event) throws IOException {
+        // the POST only begins with the first byte, so a failure before the response starts can still go to /error
+        ChunkedPost out = new ChunkedPost(URI.create(baseUrl + "/invocation/" + requestId + "/response"),
+                Map.of(STREAMING_MODE_HEADER, "streaming", "Content-Type", ResponseStream.CONTENT_TYPE), CHUNK_BYTES);
+        ResponseStream response = new ResponseStream(out);
+        Map<String, String> trailers = Map.of();
+        RequestDeadline.startInvocation(context.getRemainingTimeInMillis());
+        try {
+            handler.stream(event, response);
+            if (!response.started()) throw new IllegalStateException("streaming handler wrote no response");
+            response.finish();
+        } catch (IOException | RuntimeException e) {
+            if (!response.started()) {
+                out.close();
+                throw e;
+            }
+            // status and part of the body are already with the client: all that is left is telling Lambda
+            log.warn("[StreamingRuntime] Stream {} cut after {} bytes", requestId, response.bodyBytes(), e);
+            Throwable cause = e instanceof StreamAbortedException && e.getCause() != null ? e.getCause() : e;
+            trailers = Map.of(ERROR_TYPE_HEADER, errorType(cause),
+                    ERROR_BODY_HEADER, Base64.getEncoder().encodeToString(errorBody(cause)));
+        } finally {
+            RequestDeadline.endInvocation();
+        }
+        int status = out.finish(trailers);
+        if (status >= 400) log.warn("[StreamingRuntime] Runtime API answered {} to stream {}", status, requestId);
+    }
+
+    private void buffered(String requestId, Context context, byte[] payload) throws IOException {
+        ByteArrayOutputStream result = new ByteArrayOutputStream();
+        invoker.handleRequest(new ByteArrayInputStream(payload), result, context);
+        post("/invocation/" + requestId + "/response", result.toByteArray(), Map.of());
+    }
+
+    void postError(String path, Throwable error) throws IOException {
+        post(path, errorBody(error), Map.of(ERROR_TYPE_HEADER, errorType(error)));
+    }
+
+    private static String errorType(Throwable error) {
+        return "Runtime." + error.getClass().getSimpleName();
+    }
+
+    private static byte[] errorBody(Throwable error) {
+        return Json.toJson(Map.of("errorMessage", String.valueOf(error.getMessage()),
+                "errorType", error.getClass().getSimpleName())).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private void post(String path, byte[] body, Map<String, String> headers) throws IOException {
+        HttpURLConnection post = open(path, "POST");
+        post.setDoOutput(true);
+        post.setFixedLengthStreamingMode(body.length);
+        headers.forEach(post::setRequestProperty);
+        try (OutputStream out = post.getOutputStream()) {
+            out.write(body);
+        }
+        drain(post);
+    }
+
+    private HttpURLConnection open(String path, String method) throws IOException {
+        HttpURLConnection c = (HttpURLConnection) new URL(baseUrl + path).openConnection();
+        c.setRequestMethod(method);
+        return c;
+    }
+
+    /** Reads the Runtime API's reply so the keep-alive connection is reused. */
+    private static void drain(HttpURLConnection c) throws IOException {
+        int code = c.getResponseCode();
+        InputStream in = code >= 400 ? c.getErrorStream() : c.getInputStream();
+        String reply = in == null ? "" : new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        if (in != null) in.close();
+        if (code >= 400) log.warn("[StreamingRuntime] Runtime API answered {}: {}", code, reply);
+    }
+
+    /** The payload as an HTTP API / Function URL event, or null for anything else (sent to the invoker as is). */
+    static APIGatewayV2HTTPEvent httpEvent(byte[] payload) {
+        try {
+            APIGatewayV2HTTPEvent event = Json.mapper().readValue(payload, APIGatewayV2HTTPEvent.class);
+            return event.getRequestContext() != null && event.getRequestContext().getHttp() != null ? event : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static long parseLong(String value, long fallback) {
+        try {
+            return value == null ? fallback : Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            return fallback;
+        }
+    }
+
+    /** The subset of the managed runtime's Context that the invoker and Powertools read. */
+    record InvocationContext(String requestId, long deadlineEpochMs, String invokedArn) implements Context {
+        private static final LambdaLogger LOGGER = new LambdaLogger() {
+            @Override public void log(String message) { System.out.print(message); }
+            @Override public void log(byte[] message) { System.out.write(message, 0, message.length); }
+        };
+
+        @Override public String getAwsRequestId() { return requestId; }
+        @Override public String getLogGroupName() { return System.getenv("AWS_LAMBDA_LOG_GROUP_NAME"); }
+        @Override public String getLogStreamName() { return System.getenv("AWS_LAMBDA_LOG_STREAM_NAME"); }
+        @Override public String getFunctionName() { return System.getenv("AWS_LAMBDA_FUNCTION_NAME"); }
+        @Override public String getFunctionVersion() { return System.getenv("AWS_LAMBDA_FUNCTION_VERSION"); }
+        @Override public String getInvokedFunctionArn() { return invokedArn; }
+        @Override public CognitoIdentity getIdentity() { return null; }
+        @Override public ClientContext getClientContext() { return null; }
+        @Override public int getRemainingTimeInMillis() { return (int) Math.max(0, deadlineEpochMs - System.currentTimeMillis()); }
+        @Override public int getMemoryLimitInMB() { return (int) parseLong(System.getenv("AWS_LAMBDA_FUNCTION_MEMORY_SIZE"), 0); }
+        @Override public LambdaLogger getLogger() { return LOGGER; }
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.petclinic.api.common.admission;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdmissionControlTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    @Test
+    void bucketStartsFullAndRefillsAtTheRate() {
+        AdmissionControl.TokenBucket bucket = new AdmissionControl.TokenBucket(10, 2);
+        long now = System.nanoTime();
+
+        assertEquals(0, bucket.tryTake(now));
+        assertEquals(0, bucket.tryTake(now));
+        long wait = bucket.tryTake(now);
+        assertTrue(wait > 0 && wait <= SECOND / 10, "wait " + wait);
+        assertEquals(0, bucket.tryTake(now + SECOND / 10));
+        assertTrue(bucket.tryTake(now + SECOND / 10) > 0);
+    }
+
+    @Test
+    void refillNeverExceedsTheBurst() {
+        AdmissionControl.TokenBucket bucket = new AdmissionControl.TokenBucket(10, 2);
+        long later = System.nanoTime() + 60 * SECOND;
+
+        assertEquals(0, bucket.tryTake(later));
+        assertEquals(0, bucket.tryTake(later));
+        assertTrue(bucket.tryTake(later) > 0);
+    }
+
+    @Test
+    void retryAfterRoundsUpToWholeSeconds() {
+        assertEquals(1, AdmissionControl.retryAfterSeconds(1));
+        assertEquals(1, AdmissionControl.retryAfterSeconds(SECOND));
+        assertEquals(2, AdmissionControl.retryAfterSeconds(SECOND + 1));
+        assertEquals(3, AdmissionControl.retryAfterSeconds(5 * SECOND / 2));
+    }
+
+    @Test
+    void rateLimitedRequestIsToldWhenTheNextTokenIsDue() {
+        // one token every 4 s, none left after the first request
+        AdmissionControl.RouteLimiter route =
+                new AdmissionControl.RouteLimiter("GET_/test-rate", new AdmissionLimits(0.25, 1, 0));
+
+        AdmissionControl.Permit first = route.tryAcquire();
+        AdmissionControl.Permit second = route.tryAcquire();
+
+        assertTrue(first.admitted());
+        assertFalse(second.admitted());
+        assertEquals(4, second.retryAfterSeconds());
+        first.release();
+    }
+
+    @Test
+    void inFlightRejectionDoesNotSpendAToken() {
+        AdmissionControl.RouteLimiter route =
+                new AdmissionControl.RouteLimiter("GET_/test-inflight", new AdmissionLimits(0.001, 2, 1));
+
+        AdmissionControl.Permit first = route.tryAcquire();
+        AdmissionControl.Permit busy = route.tryAcquire();
+        assertTrue(first.admitted());
+        assertFalse(busy.admitted());
+        assertEquals(1, busy.retryAfterSeconds());
+
+        first.release();
+        // the second token is still there: the rejected request did not take it
+        AdmissionControl.Permit next = route.tryAcquire();
+        assertTrue(next.admitted());
+        next.release();
+        assertFalse(route.tryAcquire().admitted());
+    }
+}
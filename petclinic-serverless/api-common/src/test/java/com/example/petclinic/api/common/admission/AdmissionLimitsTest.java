@@ -0,0 +1,47 @@
+package com.example.petclinic.api.common.admission;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdmissionLimitsTest {
+
+    @Test
+    void parsesRoutesAndDefault() {
+        Map<String, AdmissionLimits> limits =
+                AdmissionLimits.parse("GET_/owners=rate:200,burst:50;POST_/owners=inflight:4;*=rate:10,burst:5,inflight:8");
+
+        assertEquals(new AdmissionLimits(200, 50, 0), limits.get("GET_/owners"));
+        assertEquals(new AdmissionLimits(0, 0, 4), limits.get("POST_/owners"));
+        assertEquals(new AdmissionLimits(10, 5, 8), limits.get("*"));
+        assertEquals(3, limits.size());
+    }
+
+    @Test
+    void rateWithoutBurstAllowsOneSecondOfRequests() {
+        assertEquals(new AdmissionLimits(2.5, 3, 0), AdmissionLimits.parse("GET_/vets=rate:2.5").get("GET_/vets"));
+        assertEquals(new AdmissionLimits(0.2, 1, 0), AdmissionLimits.parse("GET_/vets=rate:0.2").get("GET_/vets"));
+    }
+
+    @Test
+    void toleratesSpacesAndSkipsEntriesWithoutRoute() {
+        Map<String, AdmissionLimits> limits = AdmissionLimits.parse(" GET_/owners = RATE: 5 , inflight:2 ;=rate:1;;");
+
+        assertEquals(Map.of("GET_/owners", new AdmissionLimits(5, 5, 2)), limits);
+    }
+
+    @Test
+    void nothingConfiguredMeansNoLimits() {
+        assertTrue(AdmissionLimits.parse(null).isEmpty());
+        assertTrue(AdmissionLimits.parse(" ").isEmpty());
+        assertTrue(AdmissionLimits.UNLIMITED.unlimited());
+        assertTrue(AdmissionLimits.parse("GET_/owners=burst:10").get("GET_/owners").unlimited());
+    }
+
+    @Test
+    void rejectsUnknownKeys() {
+        assertThrows(IllegalArgumentException.class, () -> AdmissionLimits.parse("GET_/owners=rps:10"));
+    }
+}
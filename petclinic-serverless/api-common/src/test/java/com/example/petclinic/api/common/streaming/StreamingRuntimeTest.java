@@ -0,0 +1,266 @@
+package com.example.petclinic.api.common.streaming;
+
+import com.amazonaws.services.lambda.runtime.RequestStreamHandler;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Base64;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link StreamingRuntime} against a fake Runtime API. The fake is a plain socket server rather than the JDK
+ * {@code HttpServer}, whose chunked decoder rejects the trailers that report a failed stream.
+ */
+class StreamingRuntimeTest {
+
+    private static final String PRELUDE = "{\"statusCode\":200,\"headers\":{\"Content-Type\":\"application/x-ndjson\"}}";
+
+    @Test
+    void streamedResponseIsPreludeThenEightNulsThenBody() throws IOException {
+        ResponseStreaming.register("GET /streaming-test/framing", (event, response) -> {
+            JsonGenerator json = response.start(200, Map.of("Content-Type", "application/json"));
+            json.writeStartArray();
+            json.writeNumber(1);
+            response.elementWritten();
+            json.writeNumber(2);
+            response.elementWritten();
+            json.writeEndArray();
+        });
+
+        try (FakeRuntimeApi api = new FakeRuntimeApi()) {
+            api.enqueue(functionUrlEvent("/streaming-test/framing"));
+            new StreamingRuntime(api.address(), null).processNext();
+
+            Request post = api.onlyPost();
+            assertEquals("/2018-06-01/runtime/invocation/req-1/response", post.path());
+            assertEquals("streaming", post.headers().get("lambda-runtime-function-response-mode"));
+            assertEquals(ResponseStream.CONTENT_TYPE, post.headers().get("content-type"));
+            assertEquals("chunked", post.headers().get("transfer-encoding"));
+            assertEquals(frame("{\"statusCode\":200,\"headers\":{\"Content-Type\":\"application/json\"}}", "[1,2]"),
+                    hex(post.body()));
+            assertTrue(post.trailers().isEmpty());
+        }
+    }
+
+    @Test
+    void requestsThatCannotStreamRoundTripThroughTheBufferedInvoker() throws IOException {
+        ResponseStreaming.register("GET /streaming-test/buffered", (event, response) -> fail("must not stream"));
+        // API Gateway buffers, so the registered streaming handler is skipped
+        String payload = httpEvent("/streaming-test/buffered", "abc123.execute-api.eu-west-1.amazonaws.com");
+        List<String> seen = new CopyOnWriteArrayList<>();
+        RequestStreamHandler invoker = (in, out, context) -> {
+            seen.add(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+            seen.add(context.getAwsRequestId());
+            out.write("{\"statusCode\":200,\"body\":\"[]\"}".getBytes(StandardCharsets.UTF_8));
+        };
+
+        try (FakeRuntimeApi api = new FakeRuntimeApi()) {
+            api.enqueue(payload);
+            new StreamingRuntime(api.address(), invoker).processNext();
+
+            assertEquals(List.of(payload, "req-1"), seen);
+            Request post = api.onlyPost();
+            assertEquals("/2018-06-01/runtime/invocation/req-1/response", post.path());
+            assertNull(post.headers().get("lambda-runtime-function-response-mode"));
+            assertEquals("{\"statusCode\":200,\"body\":\"[]\"}", new String(post.body(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void failureAfterStartBodyEndsTheStreamWithErrorTrailers() throws IOException {
+        ResponseStreaming.register("GET /streaming-test/aborted", (event, response) -> {
+            OutputStream body = response.startBody(200, Map.of("Content-Type", "application/x-ndjson"));
+            body.write("{\"id\":1}\n".getBytes(StandardCharsets.UTF_8));
+            body.flush();
+            throw new StreamAbortedException(new IllegalStateException("connection lost"));
+        });
+
+        try (FakeRuntimeApi api = new FakeRuntimeApi()) {
+            api.enqueue(functionUrlEvent("/streaming-test/aborted"));
+            new StreamingRuntime(api.address(), null).processNext();
+
+            Request post = api.onlyPost();
+            assertEquals("/2018-06-01/runtime/invocation/req-1/response", post.path());
+            assertEquals(frame(PRELUDE, "{\"id\":1}\n"), hex(post.body()));
+            assertEquals("Runtime.IllegalStateException", post.trailers().get("lambda-runtime-function-error-type"));
+            String errorBody = new String(Base64.getDecoder().decode(
+                    post.trailers().get("lambda-runtime-function-error-body")), StandardCharsets.UTF_8);
+            assertTrue(errorBody.contains("\"errorMessage\":\"connection lost\""), errorBody);
+        }
+    }
+
+    @Test
+    void failureBeforeTheFirstByteIsPostedToTheErrorEndpoint() throws IOException {
+        ResponseStreaming.register("GET /streaming-test/early", (event, response) -> {
+            throw new IllegalStateException("no connection");
+        });
+
+        try (FakeRuntimeApi api = new FakeRuntimeApi()) {
+            api.enqueue(functionUrlEvent("/streaming-test/early"));
+            new StreamingRuntime(api.address(), null).processNext();
+
+            Request post = api.onlyPost();
+            assertEquals("/2018-06-01/runtime/invocation/req-1/error", post.path());
+            assertEquals("Runtime.IllegalStateException", post.headers().get("lambda-runtime-function-error-type"));
+        }
+    }
+
+    private static String functionUrlEvent(String path) {
+        return httpEvent(path, "abc123.lambda-url.eu-west-1.on.aws");
+    }
+
+    private static String httpEvent(String path, String domainName) {
+        return "{\"routeKey\":\"$default\",\"rawPath\":\"" + path + "\",\"requestContext\":{\"domainName\":\""
+                + domainName + "\",\"http\":{\"method\":\"GET\",\"path\":\"" + path + "\",\"protocol\":\"HTTP/1.1\"}}}";
+    }
+
+    /** Hex of prelude + eight NULs + body, so a mismatch shows where the framing is off. */
+    private static String frame(String prelude, String body) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        bytes.writeBytes(prelude.getBytes(StandardCharsets.UTF_8));
+        bytes.writeBytes(new byte[8]);
+        bytes.writeBytes(body.getBytes(StandardCharsets.UTF_8));
+        return hex(bytes.toByteArray());
+    }
+
+    private static String hex(byte[] bytes) {
+        StringBuilder sb = new StringBuilder();
+        for (byte b : bytes) sb.append(String.format("%02x", b));
+        return sb.toString();
+    }
+
+    record Request(String method, String path, Map<String, String> headers, byte[] body, Map<String, String> trailers) {}
+
+    /**
+     * Serves {@code GET /invocation/next} from a queue of payloads and records every POST. One request per
+     * connection ({@code Connection: close}), answered after the whole request, chunks and trailers included, has
+     * been read.
+     */
+    static final class FakeRuntimeApi implements Closeable {
+        private final ServerSocket server = new ServerSocket(0, 16, InetAddress.getLoopbackAddress());
+        private final Deque<String> events = new ArrayDeque<>();
+        private final List<Request> posts = new CopyOnWriteArrayList<>();
+        private int invocations;
+
+        FakeRuntimeApi() throws IOException {
+            Thread thread = new Thread(this::serve, "fake-runtime-api");
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        String address() {
+            return "127.0.0.1:" + server.getLocalPort();
+        }
+
+        synchronized void enqueue(String payload) {
+            events.add(payload);
+        }
+
+        Request onlyPost() {
+            assertEquals(1, posts.size(), "posts: " + posts.stream().map(Request::path).toList());
+            return posts.get(0);
+        }
+
+        @Override
+        public void close() throws IOException {
+            server.close();
+        }
+
+        private void serve() {
+            while (!server.isClosed()) {
+                try (Socket socket = server.accept()) {
+                    Request request = read(new BufferedInputStream(socket.getInputStream()));
+                    OutputStream out = socket.getOutputStream();
+                    if (request.method().equals("GET")) {
+                        next(out);
+                    } else {
+                        posts.add(request);
+                        reply(out, "202 Accepted", Map.of(), "{\"status\":\"OK\"}");
+                    }
+                } catch (IOException e) {
+                    // closed by the test
+                }
+            }
+        }
+
+        private void next(OutputStream out) throws IOException {
+            String payload;
+            String requestId;
+            synchronized (this) {
+                payload = events.poll();
+                requestId = "req-" + ++invocations;
+            }
+            if (payload == null) {
+                reply(out, "500 Internal Server Error", Map.of(), "no event queued");
+                return;
+            }
+            reply(out, "200 OK", Map.of("Lambda-Runtime-Aws-Request-Id", requestId,
+                    "Lambda-Runtime-Deadline-Ms", String.valueOf(System.currentTimeMillis() + 10_000)), payload);
+        }
+
+        private static void reply(OutputStream out, String status, Map<String, String> headers, String body) throws IOException {
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            StringBuilder head = new StringBuilder("HTTP/1.1 ").append(status).append("\r\n");
+            headers.forEach((name, value) -> head.append(name).append(": ").append(value).append("\r\n"));
+            head.append("Content-Length: ").append(bytes.length).append("\r\nConnection: close\r\n\r\n");
+            out.write(head.toString().getBytes(StandardCharsets.US_ASCII));
+            out.write(bytes);
+            out.flush();
+        }
+
+        private static Request read(InputStream in) throws IOException {
+            String[] requestLine = line(in).split(" ");
+            Map<String, String> headers = fields(in);
+            ByteArrayOutputStream body = new ByteArrayOutputStream();
+            Map<String, String> trailers = Map.of();
+            if ("chunked".equalsIgnoreCase(headers.get("transfer-encoding"))) {
+                int size;
+                while ((size = Integer.parseInt(line(in).split(";")[0].trim(), 16)) > 0) {
+                    body.writeBytes(in.readNBytes(size));
+                    line(in);
+                }
+                trailers = fields(in);
+            } else if (headers.containsKey("content-length")) {
+                body.writeBytes(in.readNBytes(Integer.parseInt(headers.get("content-length"))));
+            }
+            return new Request(requestLine[0], requestLine[1], headers, body.toByteArray(), trailers);
+        }
+
+        /** Header (or trailer) lines up to the empty line, names lower-cased. */
+        private static Map<String, String> fields(InputStream in) throws IOException {
+            Map<String, String> fields = new HashMap<>();
+            String line;
+            while (!(line = line(in)).isEmpty()) {
+                int colon = line.indexOf(':');
+                fields.put(line.substring(0, colon).trim().toLowerCase(Locale.ROOT), line.substring(colon + 1).trim());
+            }
+            return fields;
+        }
+
+        private static String line(InputStream in) throws IOException {
+            StringBuilder sb = new StringBuilder();
+            int c;
+            while ((c = in.read()) != -1 && c != '\n') sb.append((char) c);
+            if (c == -1 && sb.length() == 0) throw new IOException("connection closed");
+            return sb.toString().stripTrailing();
+        }
+    }
+}
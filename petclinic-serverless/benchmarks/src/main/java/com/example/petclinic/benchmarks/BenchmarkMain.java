@@ -0,0 +1,64 @@
+package com.example.petclinic.benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Entry point of {@code benchmarks.jar}: plain JMH command line (regex filter, {@code -p}, {@code -f}, ...) with
+ * repo defaults: GC profiler (allocation per op) and JSON results in {@code target/jmh/<git-sha>.json} unless
+ * {@code -prof}, {@code -rf} or {@code -rff} are given. Mode, forks and iteration counts come from each suite's
+ * annotations (options set here would override them). Compare two runs with {@link CompareResults}.
+ */
+public final class BenchmarkMain {
+
+    private BenchmarkMain() {}
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions cli = new CommandLineOptions(args);
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(cli);
+        if (cli.getProfilers().isEmpty()) options.addProfiler("gc");
+        if (!cli.getResultFormat().hasValue()) options.resultFormat(ResultFormatType.JSON);
+        if (!cli.getResult().hasValue()) {
+            Path out = Path.of("target", "jmh", revision() + ".json");
+            Files.createDirectories(out.getParent());
+            options.result(out.toString());
+        }
+        new Runner(options.build()).run();
+    }
+
+    /** Short commit id (+ "-dirty" with local changes), or "local" outside a git checkout. */
+    static String revision() {
+        String sha = git("rev-parse", "--short", "HEAD");
+        if (sha == null) return "local";
+        String status = git("status", "--porcelain", "--untracked-files=no");
+        return status == null || status.isEmpty() ? sha : sha + "-dirty";
+    }
+
+    private static String git(String... args) {
+        String[] cmd = new String[args.length + 1];
+        cmd[0] = "git";
+        System.arraycopy(args, 0, cmd, 1, args.length);
+        try {
+            Process p = new ProcessBuilder(cmd).redirectErrorStream(true).start();
+            String out;
+            try (InputStream in = p.getInputStream()) {
+                out = new String(in.readAllBytes(), StandardCharsets.UTF_8).trim();
+            }
+            return p.waitFor() == 0 ? out : null;
+        } catch (IOException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+}
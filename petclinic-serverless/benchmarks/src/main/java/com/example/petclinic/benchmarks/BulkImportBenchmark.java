@@ -0,0 +1,131 @@
+package com.example.petclinic.benchmarks;
+
+import com.amazonaws.services.lambda.runtime.events.APIGatewayV2HTTPEvent;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayV2HTTPResponse;
+import com.example.petclinic.domain.bulk.BulkImportService;
+import com.example.petclinic.domain.owner.OwnerService;
+import com.example.petclinic.domain.pet.PetService;
+import com.example.petclinic.domain.visit.VisitService;
+import com.example.petclinic.functions.bulkimport.BulkImportFunction;
+import com.example.petclinic.infra.rds.bulk.JdbcImportRepository;
+import com.example.petclinic.tools.common.HttpEvents;
+import com.example.petclinic.tools.common.Lambdalith;
+import jakarta.validation.Validation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import java.io.PrintStream;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One {@code POST /import} of {@code owners} owners with a pet and a visit each (three rows per owner, JSONL or CSV)
+ * through {@link BulkImportFunction} against H2 in MySQL mode: parsing, validation, lookups and multi-row INSERTs
+ * are the production ones, only the Spring context is left out. Score is ms per upload; rows/s is printed after
+ * every upload. Imported rows are deleted between uploads, so each one starts from {@code schema.sql}.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@State(Scope.Benchmark)
+public class BulkImportBenchmark {
+
+    private static final int FIRST_GENERATED_ID = 100_000;
+
+    @Param({"10000"})
+    public int owners;
+
+    @Param({"jsonl", "csv"})
+    public String format;
+
+    private SingleConnectionDataSource dataSource;
+    private JdbcTemplate jdbc;
+    private BulkImportFunction function;
+    private APIGatewayV2HTTPEvent upload;
+    private PrintStream stdout;
+    private long started;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        dataSource = new SingleConnectionDataSource(Lambdalith.h2Url("bulk"), true);
+        jdbc = new JdbcTemplate(dataSource);
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).execute(dataSource);
+        JdbcImportRepository repository = new JdbcImportRepository(jdbc);
+        BulkImportService service = new BulkImportService(
+                new OwnerService(null, Validation.buildDefaultValidatorFactory().getValidator()),
+                new PetService(null), new VisitService(null), repository, 500);
+        function = new BulkImportFunction(service);
+        upload = HttpEvents.request("POST", "/import").query(Map.of("format", format)).body(body()).build();
+        stdout = EmfOutput.discard();
+    }
+
+    @Setup(Level.Invocation)
+    public void reset() {
+        jdbc.update("DELETE FROM visits WHERE id >= ?", FIRST_GENERATED_ID);
+        jdbc.update("DELETE FROM pets WHERE id >= ?", FIRST_GENERATED_ID);
+        jdbc.update("DELETE FROM owners WHERE id >= ?", FIRST_GENERATED_ID);
+        for (String table : List.of("owners", "pets", "visits")) {
+            jdbc.execute("ALTER TABLE " + table + " ALTER COLUMN id RESTART WITH " + FIRST_GENERATED_ID);
+        }
+        started = System.nanoTime();
+    }
+
+    @TearDown(Level.Invocation)
+    public void report() {
+        double seconds = (System.nanoTime() - started) / 1e9;
+        stdout.printf("%n[BulkImport] %s %d rows in %.0f ms: %.0f rows/s%n", format, owners * 3, seconds * 1000,
+                owners * 3 / seconds);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        EmfOutput.restore(stdout);
+        dataSource.destroy();
+    }
+
+    @Benchmark
+    public APIGatewayV2HTTPResponse importUpload() {
+        APIGatewayV2HTTPResponse response = function.apply(upload);
+        if (response.getStatusCode() != 200 || !response.getBody().contains("\"rejected\":0,")) {
+            throw new IllegalStateException(response.getStatusCode() + " " + response.getBody());
+        }
+        return response;
+    }
+
+    private String body() {
+        StringBuilder b = new StringBuilder(owners * 250);
+        if (format.equals("csv")) b.append("type,ref,firstName,lastName,address,city,telephone,owner,name,birthDate,petType,pet,visitDate,description\n");
+        for (int i = 0; i < owners; i++) {
+            if (format.equals("csv")) {
+                b.append("owner,o").append(i).append(",Bulk,Owner").append(i).append(",").append(i).append(" Import St,Madison,8").append(i).append(",,,,,,,\n");
+                b.append("pet,p").append(i).append(",,,,,,o").append(i).append(",Pet").append(i).append(",2020-01-01,").append(i % 2 == 0 ? "cat" : "dog").append(",,,\n");
+                b.append("visit,,,,,,,,,,,p").append(i).append(",2024-01-15,Onboarding checkup\n");
+            } else {
+                b.append("{\"type\":\"owner\",\"ref\":\"o").append(i).append("\",\"firstName\":\"Bulk\",\"lastName\":\"Owner").append(i)
+                        .append("\",\"address\":\"").append(i).append(" Import St\",\"city\":\"Madison\",\"telephone\":\"8").append(i).append("\"}\n");
+                b.append("{\"type\":\"pet\",\"ref\":\"p").append(i).append("\",\"owner\":\"o").append(i).append("\",\"name\":\"Pet").append(i)
+                        .append("\",\"birthDate\":\"2020-01-01\",\"petType\":\"").append(i % 2 == 0 ? "cat" : "dog").append("\"}\n");
+                b.append("{\"type\":\"visit\",\"pet\":\"p").append(i).append("\",\"visitDate\":\"2024-01-15\",\"description\":\"Onboarding checkup\"}\n");
+            }
+        }
+        return b.toString();
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.petclinic.benchmarks;
+
+import com.example.petclinic.api.common.Json;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares two JMH JSON result files (base, then candidate) benchmark by benchmark (name + params): score,
+ * relative change and allocated bytes per op when the gc profiler ran. Changes beyond {@code --threshold}
+ * (default 0.10) in the wrong direction are marked as regressions; with {@code --fail} the exit code is 1 when
+ * there is at least one, for use in CI.
+ * <p>
+ * {@code java -cp benchmarks/target/benchmarks.jar com.example.petclinic.benchmarks.CompareResults base.json head.json}
+ */
+public final class CompareResults {
+
+    private CompareResults() {}
+
+    record Result(String key, String mode, double score, double allocBytes) {}
+
+    public static void main(String[] args) throws IOException {
+        List<String> files = new ArrayList<>();
+        double threshold = 0.10;
+        boolean fail = false;
+        for (String a : args) {
+            if (a.startsWith("--threshold=")) threshold = Double.parseDouble(a.substring("--threshold=".length()));
+            else if (a.equals("--fail")) fail = true;
+            else files.add(a);
+        }
+        if (files.size() != 2) {
+            System.err.println("Usage: CompareResults <base.json> <candidate.json> [--threshold=0.10] [--fail]");
+            System.exit(2);
+        }
+        Map<String, Result> base = read(Path.of(files.get(0)));
+        Map<String, Result> head = read(Path.of(files.get(1)));
+
+        int regressions = 0;
+        System.out.printf(Locale.ROOT, "%-60s %14s %14s %8s %12s %12s%n", "benchmark", "base", "candidate", "change", "base B/op", "cand. B/op");
+        for (Result h : head.values()) {
+            Result b = base.get(h.key());
+            if (b == null) {
+                System.out.printf(Locale.ROOT, "%-60s %14s %14.2f %8s %12s %12s%n", h.key(), "-", h.score(), "new", "-", alloc(h));
+                continue;
+            }
+            double change = (h.score() - b.score()) / b.score();
+            // avgt / sample / ss: lower is better; thrpt: higher is better
+            boolean worse = "thrpt".equals(h.mode()) ? change < -threshold : change > threshold;
+            if (worse) regressions++;
+            System.out.printf(Locale.ROOT, "%-60s %14.2f %14.2f %+7.1f%% %12s %12s%s%n", h.key(), b.score(), h.score(),
+                    change * 100, alloc(b), alloc(h), worse ? "  REGRESSION" : "");
+        }
+        base.keySet().stream().filter(k -> !head.containsKey(k)).forEach(k -> System.out.printf("%-60s removed%n", k));
+        System.out.printf(Locale.ROOT, "%d regression(s) above %.0f%%%n", regressions, threshold * 100);
+        if (fail && regressions > 0) System.exit(1);
+    }
+
+    private static String alloc(Result r) {
+        return Double.isNaN(r.allocBytes()) ? "-" : String.format(Locale.ROOT, "%.0f", r.allocBytes());
+    }
+
+    static Map<String, Result> read(Path file) throws IOException {
+        Map<String, Result> out = new LinkedHashMap<>();
+        for (JsonNode n : Json.mapper().readTree(file.toFile())) {
+            String name = n.path("benchmark").asText().replace("com.example.petclinic.benchmarks.", "");
+            Map<String, String> params = new TreeMap<>();
+            n.path("params").fields().forEachRemaining(e -> params.put(e.getKey(), e.getValue().asText()));
+            String key = params.isEmpty() ? name : name + params;
+            JsonNode primary = n.path("primaryMetric");
+            JsonNode secondary = n.path("secondaryMetrics");
+            // JMH < 1.36 prefixes profiler metrics with a middle dot
+            JsonNode alloc = secondary.has("gc.alloc.rate.norm") ? secondary.get("gc.alloc.rate.norm") : secondary.get("·gc.alloc.rate.norm");
+            out.put(key, new Result(key, n.path("mode").asText(), primary.path("score").asDouble(),
+                    alloc == null ? Double.NaN : alloc.path("score").asDouble()));
+        }
+        return out;
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.petclinic.benchmarks;
+
+import software.amazon.lambda.powertools.metrics.MetricsFactory;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+
+/**
+ * Handlers publish EMF metrics and log to stdout. Benchmarks set the metrics namespace (so no env is needed) and
+ * swap stdout for a discarding stream for the trial: serialization is still measured, the console stays readable.
+ * Run with {@code AWS_LAMBDA_FUNCTION_NAME} set to measure the Lambda output path (forks inherit the environment).
+ */
+final class EmfOutput {
+
+    private EmfOutput() {}
+
+    /** Returns the original stdout, to hand back to {@link #restore}. */
+    static PrintStream discard() {
+        MetricsFactory.getMetricsInstance().setNamespace("PetclinicBench");
+        PrintStream stdout = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        return stdout;
+    }
+
+    static void restore(PrintStream stdout) {
+        if (stdout != null) System.setOut(stdout);
+    }
+}
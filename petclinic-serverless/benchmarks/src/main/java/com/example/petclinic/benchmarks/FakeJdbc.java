@@ -0,0 +1,68 @@
+package com.example.petclinic.benchmarks;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.Map;
+
+/**
+ * In-memory JDBC driver for mapping benchmarks: every query returns {@code rows} copies of one row, looked up by
+ * column label, or by position in the map's iteration order (pass a LinkedHashMap). No I/O, no parsing, so
+ * JdbcTemplate + RowMapper is all that is measured.
+ */
+final class FakeJdbc {
+
+    private FakeJdbc() {}
+
+    static DataSource dataSource(Map<String, Object> row, int rows) {
+        Object[] columns = row.values().toArray();
+        int[] cursor = {0};
+        boolean[] lastNull = {false};
+        ResultSet rs = proxy(ResultSet.class, (m, a) -> switch (m) {
+            case "next" -> cursor[0]++ < rows;
+            case "close" -> { cursor[0] = 0; yield null; }
+            case "wasNull" -> lastNull[0];
+            case "getObject", "getString", "getDate", "getTimestamp" -> {
+                Object v = column(row, columns, a[0]);
+                lastNull[0] = v == null;
+                yield v;
+            }
+            case "getInt", "getLong" -> {
+                Object v = column(row, columns, a[0]);
+                lastNull[0] = v == null;
+                Number n = v == null ? 0 : (Number) v;
+                yield m.equals("getInt") ? (Object) n.intValue() : (Object) n.longValue();
+            }
+            default -> null;
+        });
+        PreparedStatement ps = proxy(PreparedStatement.class, (m, a) -> m.equals("executeQuery") ? rs : null);
+        Connection con = proxy(Connection.class, (m, a) -> m.equals("prepareStatement") ? ps : null);
+        return proxy(DataSource.class, (m, a) -> m.equals("getConnection") ? con : null);
+    }
+
+    private static Object column(Map<String, Object> row, Object[] columns, Object key) {
+        return key instanceof Integer index ? columns[index - 1] : row.get((String) key);
+    }
+
+    private interface Handler {
+        Object invoke(String method, Object[] args);
+    }
+
+    /** Unhandled methods return the zero value of their return type (null, false, 0). */
+    private static <T> T proxy(Class<T> type, Handler handler) {
+        Object p = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (self, m, a) -> {
+            Object v = handler.invoke(m.getName(), a);
+            if (v != null || !m.getReturnType().isPrimitive()) return v;
+            Class<?> r = m.getReturnType();
+            if (r == boolean.class) return false;
+            if (r == void.class) return null;
+            if (r == long.class) return 0L;
+            if (r == double.class) return 0d;
+            if (r == float.class) return 0f;
+            return r == int.class ? 0 : (Object) (short) 0;
+        });
+        return type.cast(p);
+    }
+}
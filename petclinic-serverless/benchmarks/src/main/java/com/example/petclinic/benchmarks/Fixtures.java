@@ -0,0 +1,42 @@
+package com.example.petclinic.benchmarks;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/** Payloads shaped like the handlers' DTOs (those are package-private records in each function module). */
+final class Fixtures {
+
+    private Fixtures() {}
+
+    /** Same fields and order as the owners handlers' {@code OwnerDto}. */
+    record OwnerView(Long id, String firstName, String lastName, String address, String city, String telephone) {}
+
+    /** Same constraints as {@code CreateOwnerRequest}. */
+    record OwnerRequest(
+            @NotBlank @Size(max = 30) String firstName,
+            @NotBlank @Size(max = 30) String lastName,
+            @Size(max = 255) String address,
+            @Size(max = 80) String city,
+            @Size(max = 20) String telephone) {}
+
+    static List<OwnerView> owners(int count) {
+        List<OwnerView> owners = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            owners.add(new OwnerView((long) i, "George" + i, "Franklin" + i, i + "0 W. Liberty St.", "Madison",
+                    "608555" + String.format("%04d", i)));
+        }
+        return owners;
+    }
+
+    static OwnerRequest validRequest() {
+        return new OwnerRequest("George", "Franklin", "110 W. Liberty St.", "Madison", "6085551023");
+    }
+
+    /** Two violations: blank first name, over-long telephone. */
+    static OwnerRequest invalidRequest() {
+        return new OwnerRequest(" ", "Franklin", "110 W. Liberty St.", "Madison", "+55 (11) 6085551023-0000");
+    }
+}
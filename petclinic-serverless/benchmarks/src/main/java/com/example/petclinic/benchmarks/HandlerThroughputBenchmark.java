@@ -0,0 +1,149 @@
+package com.example.petclinic.benchmarks;
+
+import com.amazonaws.services.lambda.runtime.events.APIGatewayV2HTTPEvent;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayV2HTTPResponse;
+import com.example.petclinic.functions.api.ApiRouterFunction;
+import com.example.petclinic.functions.api.PetclinicApiConfig;
+import com.example.petclinic.functions.owners.create.CreateOwnerFunction;
+import com.example.petclinic.functions.owners.list.ListOwnersFunction;
+import com.example.petclinic.functions.vets.list.ListVetsFunction;
+import com.example.petclinic.functions.visits.create.CreateVisitFunction;
+import com.example.petclinic.tools.common.HttpEvents;
+import com.example.petclinic.tools.common.Lambdalith;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.PrintStream;
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * End-to-end handler benchmark: {@code Function.apply} of the owners, visits and vets handlers through the real
+ * Spring context (services, JdbcTemplate, Hikari, SQL instrumentation, metrics) against H2 in MySQL mode, at a
+ * fixed concurrency of {@link Threads} callers (override with {@code -t}). The context is built once per fork and
+ * seeded from {@code schema.sql} plus {@value #SEEDED_OWNERS} owners with one pet each.
+ * <p>
+ * Throughput mode gives ops/ms, sample mode gives the latency distribution (p0.50 / p0.99 / p0.999 in the JSON
+ * result). Rows created by the write handlers are deleted after every iteration so each one runs on the same
+ * data size. Non-2xx responses fail the benchmark.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(8)
+@State(Scope.Benchmark)
+public class HandlerThroughputBenchmark {
+
+    static final int SEEDED_OWNERS = 200;
+    private static final int FIRST_SEEDED_OWNER = 3;
+    private static final int PET_ID_OFFSET = 1000;
+    private static final int FIRST_GENERATED_ID = 100_000;
+
+    private Lambdalith lambdalith;
+    private JdbcTemplate jdbc;
+    private PrintStream stdout;
+    private CreateOwnerFunction createOwner;
+    private ListOwnersFunction listOwners;
+    private CreateVisitFunction createVisit;
+    private ListVetsFunction listVets;
+    private final AtomicLong seq = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setup() {
+        lambdalith = Lambdalith.embedded(PetclinicApiConfig.class, ApiRouterFunction.class, "bench",
+                Map.of("DB_POOL_SIZE", "16"));
+        jdbc = lambdalith.getBean(JdbcTemplate.class);
+        seed();
+        createOwner = lambdalith.getBean(CreateOwnerFunction.class);
+        listOwners = lambdalith.getBean(ListOwnersFunction.class);
+        createVisit = lambdalith.getBean(CreateVisitFunction.class);
+        listVets = lambdalith.getBean(ListVetsFunction.class);
+        stdout = EmfOutput.discard();
+    }
+
+    @TearDown(Level.Iteration)
+    public void deleteCreatedRows() {
+        jdbc.update("DELETE FROM visits WHERE id >= ?", FIRST_GENERATED_ID);
+        jdbc.update("DELETE FROM owners WHERE id >= ?", FIRST_GENERATED_ID);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        EmfOutput.restore(stdout);
+        lambdalith.close();
+    }
+
+    @Benchmark
+    public APIGatewayV2HTTPResponse createOwner() {
+        long n = seq.incrementAndGet();
+        String body = "{\"firstName\":\"Bench\",\"lastName\":\"Owner" + n + "\",\"address\":\"1 Bench St\","
+                + "\"city\":\"Madison\",\"telephone\":\"9" + n + "\"}";
+        return call(createOwner, HttpEvents.request("POST", "/owners").body(body).build());
+    }
+
+    @Benchmark
+    public APIGatewayV2HTTPResponse listOwners() {
+        String page = Integer.toString(ThreadLocalRandom.current().nextInt(SEEDED_OWNERS / 20));
+        return call(listOwners, HttpEvents.request("GET", "/owners").query(Map.of("page", page, "size", "20")).build());
+    }
+
+    @Benchmark
+    public APIGatewayV2HTTPResponse createVisit() {
+        int owner = FIRST_SEEDED_OWNER + ThreadLocalRandom.current().nextInt(SEEDED_OWNERS);
+        String ownerId = Integer.toString(owner);
+        String petId = Integer.toString(owner + PET_ID_OFFSET);
+        return call(createVisit, HttpEvents.request("POST", "/owners/" + ownerId + "/pets/" + petId + "/visits")
+                .pathParameters(Map.of("ownerId", ownerId, "petId", petId))
+                .body("{\"visitDate\":\"2024-06-01\",\"description\":\"Benchmark checkup\"}")
+                .build());
+    }
+
+    @Benchmark
+    public APIGatewayV2HTTPResponse listVets() {
+        return call(listVets, HttpEvents.request("GET", "/vets").build());
+    }
+
+    private static APIGatewayV2HTTPResponse call(Function<APIGatewayV2HTTPEvent, APIGatewayV2HTTPResponse> handler,
+                                                 APIGatewayV2HTTPEvent event) {
+        APIGatewayV2HTTPResponse response = handler.apply(event);
+        if (response.getStatusCode() >= 300) {
+            throw new IllegalStateException(event.getRawPath() + " -> " + response.getStatusCode() + " " + response.getBody());
+        }
+        return response;
+    }
+
+    /** Owners 3..N with pet N + 1000 next to the schema.sql rows; generated ids start above the seeded ones. */
+    private void seed() {
+        List<Object[]> owners = new ArrayList<>();
+        List<Object[]> pets = new ArrayList<>();
+        for (int id = FIRST_SEEDED_OWNER; id < FIRST_SEEDED_OWNER + SEEDED_OWNERS; id++) {
+            owners.add(new Object[]{id, "Seed", "Owner" + id, id + " Seed St", "Madison", "7" + id});
+            pets.add(new Object[]{id + PET_ID_OFFSET, "Pet" + id, Date.valueOf("2020-01-01"), 1 + id % 4, id});
+        }
+        jdbc.batchUpdate("INSERT INTO owners(id, first_name, last_name, address, city, telephone) VALUES (?,?,?,?,?,?)", owners);
+        jdbc.batchUpdate("INSERT INTO pets(id, name, birth_date, type_id, owner_id) VALUES (?,?,?,?,?)", pets);
+        for (String table : List.of("owners", "pets", "visits")) {
+            jdbc.execute("ALTER TABLE " + table + " ALTER COLUMN id RESTART WITH " + FIRST_GENERATED_ID);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.petclinic.benchmarks;
+
+import com.amazonaws.services.lambda.runtime.events.APIGatewayV2HTTPResponse;
+import com.example.petclinic.api.common.Json;
+import com.example.petclinic.api.common.http.ApiResponses;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Response serialization: {@link Json#toJson} alone and {@link ApiResponses#ok} (serialization, Server-Timing
+ * and response-size bookkeeping, response object) on owner lists of the sizes the list endpoints return.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Benchmark)
+public class JsonBenchmark {
+
+    @Param({"1", "20", "100"})
+    public int owners;
+
+    private List<Fixtures.OwnerView> payload;
+
+    @Setup
+    public void setup() {
+        payload = Fixtures.owners(owners);
+    }
+
+    @Benchmark
+    public String toJson() {
+        return Json.toJson(payload);
+    }
+
+    @Benchmark
+    public APIGatewayV2HTTPResponse apiResponsesOk() {
+        return ApiResponses.ok(payload);
+    }
+}
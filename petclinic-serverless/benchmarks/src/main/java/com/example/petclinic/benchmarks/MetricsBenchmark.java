@@ -0,0 +1,50 @@
+package com.example.petclinic.benchmarks;
+
+import com.example.petclinic.observability.metrics.MetricsSupport;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+
+/** One EMF blob per call, as the handlers publish them (stdout discarded, see {@link EmfOutput}). */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Benchmark)
+public class MetricsBenchmark {
+
+    private PrintStream stdout;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        stdout = EmfOutput.discard();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        EmfOutput.restore(stdout);
+    }
+
+    @Benchmark
+    public void increment() {
+        MetricsSupport.increment("OwnersGetCount", "Owners", "GET_/owners/{id}");
+    }
+
+    @Benchmark
+    public void publishTimer() {
+        MetricsSupport.publishTimer("OwnersGetLatencyMs", 12.5, "Owners", "GET_/owners/{id}");
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.petclinic.benchmarks;
+
+import com.amazonaws.services.lambda.runtime.events.APIGatewayV2HTTPResponse;
+import com.example.petclinic.api.common.http.ApiResponses;
+import com.example.petclinic.domain.owner.OwnerService;
+import com.example.petclinic.functions.owners.list.OwnersPageJson;
+import com.example.petclinic.infra.rds.OwnerJdbcRepository;
+import jakarta.validation.Validation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One owners page from {@link OwnerJdbcRepository} (over {@link FakeJdbc}) to the API Gateway response, both ways:
+ * {@code materialized} is the former {@code ListOwnersFunction} path (Owner list, DTO list, Jackson to String) and
+ * {@code streaming} is {@link OwnersPageJson} (ResultSet columns into a reused JSON buffer). Compare
+ * {@code gc.alloc.rate.norm} (bytes per page) as well as time.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Benchmark)
+public class OwnersPageBenchmark {
+
+    @Param({"20", "100"})
+    public int owners;
+
+    private OwnerService service;
+
+    @Setup
+    public void setup() {
+        // column order of the streaming SELECT
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("id", 42L);
+        row.put("first_name", "George");
+        row.put("last_name", "Franklin");
+        row.put("address", "110 W. Liberty St.");
+        row.put("city", "Madison");
+        row.put("telephone", "6085551023");
+        OwnerJdbcRepository repository = new OwnerJdbcRepository(new JdbcTemplate(FakeJdbc.dataSource(row, owners)));
+        service = new OwnerService(repository, Validation.buildDefaultValidatorFactory().getValidator());
+    }
+
+    @Benchmark
+    public APIGatewayV2HTTPResponse materialized() {
+        List<Fixtures.OwnerView> page = service.list(0, owners).stream()
+                .map(o -> new Fixtures.OwnerView(o.getId(), o.getFirstName(), o.getLastName(), o.getAddress(), o.getCity(), o.getTelephone()))
+                .toList();
+        return ApiResponses.ok(page);
+    }
+
+    @Benchmark
+    public APIGatewayV2HTTPResponse streaming() throws IOException {
+        return ApiResponses.ok(OwnersPageJson.write(service, 0, owners));
+    }
+}
@@ -0,0 +1,158 @@
+package com.example.petclinic.benchmarks;
+
+import com.example.petclinic.api.common.http.ApiResponses;
+import com.example.petclinic.api.common.streaming.ResponseStream;
+import com.example.petclinic.domain.owner.OwnerService;
+import com.example.petclinic.functions.owners.list.OwnersPageJson;
+import com.example.petclinic.infra.rds.OwnerJdbcRepository;
+import jakarta.validation.Validation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Buffered against streamed owners pages, as {@code ListOwnersFunction} sends them through
+ * {@code StreamingRuntime}: {@code buffered*} builds the body with {@link OwnersPageJson#write} and sends it in one
+ * piece, {@code streaming*} writes rows into the {@link ResponseStream} as {@link OwnerJdbcRepository} reads them
+ * (over {@link FakeJdbc}, so the database costs nothing and the difference is serialization and buffering alone).
+ * <ul>
+ *   <li>{@code *FirstByte}: time until the first body byte reaches the connection, i.e. time to first byte minus
+ *   the network; the response is abandoned there.</li>
+ *   <li>{@code *Complete}: the whole response.</li>
+ * </ul>
+ * Peak memory is the largest single write to the connection (the buffered path also holds the body String while
+ * writing it), printed per trial as {@code peak write}; {@code gc.alloc.rate.norm} gives the total per page.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Benchmark)
+public class ResponseStreamingBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int owners;
+
+    private OwnerService service;
+    private final Connection connection = new Connection();
+
+    @Setup
+    public void setup() {
+        // column order of the streaming SELECT
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("id", 42L);
+        row.put("first_name", "George");
+        row.put("last_name", "Franklin");
+        row.put("address", "110 W. Liberty St.");
+        row.put("city", "Madison");
+        row.put("telephone", "6085551023");
+        OwnerJdbcRepository repository = new OwnerJdbcRepository(new JdbcTemplate(FakeJdbc.dataSource(row, owners)));
+        service = new OwnerService(repository, Validation.buildDefaultValidatorFactory().getValidator());
+    }
+
+    @TearDown(Level.Trial)
+    public void report() {
+        System.out.printf("%n[ResponseStreaming] owners=%d peak write=%d bytes%n", owners, connection.peakWrite);
+        connection.peakWrite = 0;
+    }
+
+    @Benchmark
+    public long bufferedFirstByte() throws IOException {
+        return firstByte(this::buffered);
+    }
+
+    @Benchmark
+    public long streamingFirstByte() throws IOException {
+        return firstByte(this::streaming);
+    }
+
+    @Benchmark
+    public long bufferedComplete() throws IOException {
+        return buffered(connection.open(false));
+    }
+
+    @Benchmark
+    public long streamingComplete() throws IOException {
+        return streaming(connection.open(false));
+    }
+
+    private long buffered(ResponseStream response) throws IOException {
+        response.send(ApiResponses.ok(OwnersPageJson.write(service, 0, owners)));
+        return response.bodyBytes();
+    }
+
+    private long streaming(ResponseStream response) throws IOException {
+        OwnersPageJson.stream(service, 0, owners, response);
+        response.finish();
+        return response.bodyBytes();
+    }
+
+    private long firstByte(Send send) throws IOException {
+        try {
+            send.to(connection.open(true));
+            throw new IllegalStateException("no body byte was written");
+        } catch (FirstByte e) {
+            return connection.written;
+        }
+    }
+
+    @FunctionalInterface
+    private interface Send {
+        long to(ResponseStream response) throws IOException;
+    }
+
+    /** Thrown by the connection on the first body byte to end a {@code *FirstByte} run; no stack trace. */
+    private static final class FirstByte extends RuntimeException {
+        static final FirstByte INSTANCE = new FirstByte();
+
+        private FirstByte() {
+            super(null, null, false, false);
+        }
+    }
+
+    /** Discards what it is sent, remembering the largest single write. */
+    private static final class Connection extends OutputStream {
+        private ResponseStream response;
+        private boolean stopAtBody;
+        long written;
+        long peakWrite;
+
+        ResponseStream open(boolean stopAtBody) {
+            this.stopAtBody = stopAtBody;
+            this.written = 0;
+            this.response = new ResponseStream(this);
+            return response;
+        }
+
+        @Override
+        public void write(int b) {
+            write(null, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            written += len;
+            peakWrite = Math.max(peakWrite, len);
+            // the prelude (status, headers, delimiter) is complete once the stream reports started
+            if (stopAtBody && response.started()) throw FirstByte.INSTANCE;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.petclinic.benchmarks;
+
+import com.example.petclinic.domain.pet.Pet;
+import com.example.petclinic.domain.visit.Visit;
+import com.example.petclinic.infra.pet.JdbcPetRepository;
+import com.example.petclinic.infra.rds.visit.JdbcVisitRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Row mapping of {@link JdbcPetRepository} and {@link JdbcVisitRepository}, through their list queries over
+ * {@link FakeJdbc} (the mappers are private). {@code baseline} runs the same JdbcTemplate query with a trivial
+ * mapper, so {@code mapper cost ~= pets/visits - baseline}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Benchmark)
+public class RowMapperBenchmark {
+
+    @Param({"1", "20", "100"})
+    public int rows;
+
+    private JdbcTemplate baselineJdbc;
+    private JdbcPetRepository pets;
+    private JdbcVisitRepository visits;
+
+    @Setup
+    public void setup() {
+        Map<String, Object> petRow = new HashMap<>();
+        petRow.put("id", 7);
+        petRow.put("name", "Leo");
+        petRow.put("birth_date", Date.valueOf("2020-09-07"));
+        petRow.put("owner_id", 1);
+        petRow.put("type_id", 1);
+        petRow.put("type_name", "cat");
+        pets = new JdbcPetRepository(new JdbcTemplate(FakeJdbc.dataSource(petRow, rows)));
+        baselineJdbc = new JdbcTemplate(FakeJdbc.dataSource(petRow, rows));
+
+        Map<String, Object> visitRow = new HashMap<>();
+        visitRow.put("id", 3L);
+        visitRow.put("owner_id", 1L);
+        visitRow.put("pet_id", 7L);
+        visitRow.put("visit_date", LocalDate.of(2024, 1, 15));
+        visitRow.put("description", "rabies shot");
+        visits = new JdbcVisitRepository(new JdbcTemplate(FakeJdbc.dataSource(visitRow, rows)));
+    }
+
+    @Benchmark
+    public List<Integer> baseline() {
+        return baselineJdbc.query("SELECT ? FROM pets WHERE owner_id = ?", (rs, n) -> n, 1, 1);
+    }
+
+    @Benchmark
+    public List<Pet> pets() {
+        return pets.findByOwnerId(1);
+    }
+
+    @Benchmark
+    public List<Visit> visits() {
+        return visits.findByOwnerIdAndPetId(1L, 7L);
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.petclinic.benchmarks;
+
+import com.example.petclinic.infra.rds.sql.InstrumentedDataSource;
+import com.example.petclinic.infra.rds.sql.SqlStatsRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of {@link InstrumentedDataSource} per statement: the JdbcTemplate-shaped call sequence (prepare, bind two
+ * parameters, executeQuery, read every row x 6 columns, close) over {@link FakeJdbc} with and without the
+ * instrumentation, so {@code overhead ~= instrumented - raw}. The registry never flushes or logs during a run.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Benchmark)
+public class SqlInstrumentationBenchmark {
+
+    private static final String SQL = "SELECT id, first_name, last_name, address, city, telephone FROM owners ORDER BY id LIMIT ? OFFSET ?";
+    private static final String[] TEXT_COLUMNS = {"first_name", "last_name", "address", "city", "telephone"};
+
+    @Param({"1", "20"})
+    public int rows;
+
+    private DataSource raw;
+    private DataSource instrumented;
+
+    @Setup
+    public void setup() {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("id", 1L);
+        for (String column : TEXT_COLUMNS) row.put(column, "value");
+        raw = FakeJdbc.dataSource(row, rows);
+        long never = Long.MAX_VALUE / 2_000_000;
+        instrumented = new InstrumentedDataSource(FakeJdbc.dataSource(row, rows), new SqlStatsRegistry(never, never));
+    }
+
+    @Benchmark
+    public long raw() throws SQLException {
+        return runStatement(raw);
+    }
+
+    @Benchmark
+    public long instrumented() throws SQLException {
+        return runStatement(instrumented);
+    }
+
+    private static long runStatement(DataSource ds) throws SQLException {
+        long sink = 0;
+        try (Connection c = ds.getConnection(); PreparedStatement ps = c.prepareStatement(SQL)) {
+            ps.setInt(1, 20);
+            ps.setInt(2, 0);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    sink += rs.getLong("id");
+                    for (String column : TEXT_COLUMNS) sink += rs.getString(column).length();
+                }
+            }
+        }
+        return sink;
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.petclinic.benchmarks;
+
+import com.example.petclinic.api.common.validation.ValidationSupport;
+import com.example.petclinic.api.common.validation.ValidationSupportException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/** {@link ValidationSupport#validate} on a valid request and on one with two violations (message building included). */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Benchmark)
+public class ValidationBenchmark {
+
+    private final Fixtures.OwnerRequest valid = Fixtures.validRequest();
+    private final Fixtures.OwnerRequest invalid = Fixtures.invalidRequest();
+
+    @Benchmark
+    public Fixtures.OwnerRequest valid() {
+        ValidationSupport.validate(valid);
+        return valid;
+    }
+
+    @Benchmark
+    public String invalid() {
+        try {
+            ValidationSupport.validate(invalid);
+            throw new IllegalStateException("expected violations");
+        } catch (ValidationSupportException e) {
+            return e.getMessage();
+        }
+    }
+}
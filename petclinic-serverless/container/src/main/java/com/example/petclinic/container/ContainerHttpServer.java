@@ -0,0 +1,102 @@
+package com.example.petclinic.container;
+
+import com.amazonaws.services.lambda.runtime.events.APIGatewayV2HTTPEvent;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayV2HTTPResponse;
+import com.example.petclinic.api.common.http.ApiResponses;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Embedded HTTP server (JDK {@code com.sun.net.httpserver}, no servlet stack) that feeds every request to the
+ * API router as an API Gateway v2 event. Each exchange runs on its own virtual thread, so blocking JDBC calls
+ * park cheaply and concurrency is bounded by the Hikari pool rather than by a request thread pool.
+ * Started/stopped with the Spring context; {@code /health} answers liveness/readiness probes.
+ */
+@Slf4j
+public class ContainerHttpServer implements SmartLifecycle {
+
+    private final Function<APIGatewayV2HTTPEvent, APIGatewayV2HTTPResponse> router;
+    private final int port;
+    private final int backlog;
+    private final int fallbackThreads;
+    private final int shutdownGraceSeconds;
+
+    private HttpServer server;
+    private ExecutorService executor;
+    private volatile boolean running;
+
+    public ContainerHttpServer(Function<APIGatewayV2HTTPEvent, APIGatewayV2HTTPResponse> router,
+                               int port, int backlog, int fallbackThreads, int shutdownGraceSeconds) {
+        this.router = router;
+        this.port = port;
+        this.backlog = backlog;
+        this.fallbackThreads = fallbackThreads;
+        this.shutdownGraceSeconds = shutdownGraceSeconds;
+    }
+
+    @Override
+    public void start() {
+        try {
+            server = HttpServer.create(new InetSocketAddress(port), backlog);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to bind port " + port, e);
+        }
+        executor = RequestExecutors.perRequest(fallbackThreads);
+        server.setExecutor(executor);
+        server.createContext("/health", this::health);
+        server.createContext("/", this::handle);
+        server.start();
+        running = true;
+        log.info("[Container] Listening on port {}", port);
+    }
+
+    @Override
+    public void stop() {
+        if (!running) return;
+        running = false;
+        // Stop accepting, give in-flight requests the grace period, then drain the executor
+        server.stop(shutdownGraceSeconds);
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(shutdownGraceSeconds, TimeUnit.SECONDS)) executor.shutdownNow();
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        log.info("[Container] Stopped");
+    }
+
+    @Override
+    public boolean isRunning() { return running; }
+
+    private void handle(HttpExchange exchange) {
+        try (exchange) {
+            APIGatewayV2HTTPResponse response;
+            try {
+                response = router.apply(HttpEventAdapter.toEvent(exchange));
+            } catch (RuntimeException e) {
+                log.error("[Container] Unhandled error method={} path={}", exchange.getRequestMethod(), exchange.getRequestURI().getRawPath(), e);
+                response = ApiResponses.serverError("SERVER_ERROR", "Internal error");
+            }
+            HttpEventAdapter.write(exchange, response);
+        } catch (IOException e) {
+            log.debug("[Container] Client connection error: {}", e.getMessage());
+        }
+    }
+
+    private void health(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            HttpEventAdapter.write(exchange, ApiResponses.ok(Map.of("status", running ? "UP" : "DOWN")));
+        }
+    }
+}
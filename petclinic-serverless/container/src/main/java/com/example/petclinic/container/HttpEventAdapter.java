@@ -0,0 +1,107 @@
+package com.example.petclinic.container;
+
+import com.amazonaws.services.lambda.runtime.events.APIGatewayV2HTTPEvent;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayV2HTTPResponse;
+import com.sun.net.httpserver.HttpExchange;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Translates between the JDK HTTP server exchange and the API Gateway v2 (HTTP API) payload the handlers expect,
+ * so the handlers run exactly as they do on Lambda. routeKey and pathParameters are left to the router.
+ */
+final class HttpEventAdapter {
+
+    private static final DateTimeFormatter API_GW_TIME =
+            DateTimeFormatter.ofPattern("dd/MMM/yyyy:HH:mm:ss Z", Locale.ENGLISH).withZone(ZoneOffset.UTC);
+
+    private HttpEventAdapter() {}
+
+    static APIGatewayV2HTTPEvent toEvent(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getRawPath();
+        String rawQuery = exchange.getRequestURI().getRawQuery();
+        long now = System.currentTimeMillis();
+
+        APIGatewayV2HTTPEvent.RequestContext.Http http = new APIGatewayV2HTTPEvent.RequestContext.Http();
+        http.setMethod(exchange.getRequestMethod());
+        http.setPath(path);
+        http.setProtocol(exchange.getProtocol());
+        http.setSourceIp(exchange.getRemoteAddress().getAddress().getHostAddress());
+        http.setUserAgent(exchange.getRequestHeaders().getFirst("User-Agent"));
+
+        APIGatewayV2HTTPEvent.RequestContext ctx = new APIGatewayV2HTTPEvent.RequestContext();
+        ctx.setHttp(http);
+        ctx.setRequestId(UUID.randomUUID().toString());
+        ctx.setStage("$default");
+        ctx.setTimeEpoch(now);
+        ctx.setTime(API_GW_TIME.format(Instant.ofEpochMilli(now)));
+
+        APIGatewayV2HTTPEvent event = new APIGatewayV2HTTPEvent();
+        event.setVersion("2.0");
+        event.setRawPath(path);
+        event.setRawQueryString(rawQuery != null ? rawQuery : "");
+        event.setHeaders(headers(exchange));
+        event.setQueryStringParameters(query(rawQuery));
+        event.setRequestContext(ctx);
+        byte[] body = exchange.getRequestBody().readAllBytes();
+        if (body.length > 0) {
+            event.setBody(new String(body, StandardCharsets.UTF_8));
+        }
+        return event;
+    }
+
+    static void write(HttpExchange exchange, APIGatewayV2HTTPResponse response) throws IOException {
+        if (response.getHeaders() != null) {
+            response.getHeaders().forEach((k, v) -> exchange.getResponseHeaders().set(k, v));
+        }
+        byte[] body = null;
+        if (response.getBody() != null && response.getStatusCode() != 204) {
+            body = response.getIsBase64Encoded()
+                    ? Base64.getDecoder().decode(response.getBody())
+                    : response.getBody().getBytes(StandardCharsets.UTF_8);
+        }
+        if (body == null || body.length == 0) {
+            exchange.sendResponseHeaders(response.getStatusCode(), -1);
+            return;
+        }
+        exchange.sendResponseHeaders(response.getStatusCode(), body.length);
+        try (OutputStream os = exchange.getResponseBody()) {
+            os.write(body);
+        }
+    }
+
+    // API Gateway v2 lower-cases header names and joins repeated values with commas
+    private static Map<String, String> headers(HttpExchange exchange) {
+        Map<String, String> out = new HashMap<>();
+        for (Map.Entry<String, List<String>> h : exchange.getRequestHeaders().entrySet()) {
+            if (h.getKey() == null || h.getValue() == null) continue;
+            out.put(h.getKey().toLowerCase(Locale.ROOT), String.join(",", h.getValue()));
+        }
+        return out;
+    }
+
+    private static Map<String, String> query(String rawQuery) {
+        if (rawQuery == null || rawQuery.isEmpty()) return null;
+        Map<String, String> out = new HashMap<>();
+        for (String pair : rawQuery.split("&")) {
+            if (pair.isEmpty()) continue;
+            int eq = pair.indexOf('=');
+            String k = URLDecoder.decode(eq < 0 ? pair : pair.substring(0, eq), StandardCharsets.UTF_8);
+            String v = eq < 0 ? "" : URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8);
+            out.merge(k, v, (a, b) -> a + "," + b);
+        }
+        return out;
+    }
+}
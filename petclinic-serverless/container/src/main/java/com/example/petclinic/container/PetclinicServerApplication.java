@@ -0,0 +1,33 @@
+package com.example.petclinic.container;
+
+import com.example.petclinic.functions.api.ApiRouterFunction;
+import com.example.petclinic.functions.api.PetclinicApiConfig;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Entry point for the long-running container deployment (ECS / Kubernetes). Boots the same context as the
+ * lambdalith function ({@link PetclinicApiConfig}: handlers, services, repositories, one DataSource) and
+ * serves it through {@link ContainerHttpServer}.
+ */
+@Configuration
+public class PetclinicServerApplication {
+
+    @Bean
+    public ContainerHttpServer containerHttpServer(ApiRouterFunction router,
+                                                   @Value("${PORT:8080}") int port,
+                                                   @Value("${SERVER_BACKLOG:1024}") int backlog,
+                                                   @Value("${SERVER_FALLBACK_THREADS:200}") int fallbackThreads,
+                                                   @Value("${SERVER_SHUTDOWN_GRACE_SECONDS:10}") int shutdownGraceSeconds) {
+        return new ContainerHttpServer(router, port, backlog, fallbackThreads, shutdownGraceSeconds);
+    }
+
+    public static void main(String[] args) {
+        SpringApplication app = new SpringApplication(PetclinicApiConfig.class, PetclinicServerApplication.class);
+        app.setWebApplicationType(WebApplicationType.NONE);
+        app.run(args);
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.petclinic.container;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Executor factory for request handling. The build targets Java 17 (shared with the Lambda modules), so the
+ * virtual-thread executor is looked up reflectively: on a Java 21+ runtime every request gets its own virtual
+ * thread; on older runtimes it falls back to a fixed platform-thread pool.
+ */
+@Slf4j
+final class RequestExecutors {
+
+    private RequestExecutors() {}
+
+    static ExecutorService perRequest(int fallbackThreads) {
+        try {
+            ExecutorService vt = (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            log.info("[Container] Request executor: virtual thread per request");
+            return vt;
+        } catch (ReflectiveOperationException e) {
+            log.warn("[Container] Virtual threads unavailable on Java {} → fixed pool of {} platform threads",
+                    Runtime.version().feature(), fallbackThreads);
+            return Executors.newFixedThreadPool(fallbackThreads);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.petclinic.domain;
+
+/**
+ * The database cannot take more work right now (pool saturated, proxy unreachable, circuit breaker open).
+ * Thrown instead of waiting for a connection so callers can answer 503 + Retry-After quickly.
+ */
+public class DatabaseUnavailableException extends RuntimeException {
+
+    private final int retryAfterSeconds;
+
+    public DatabaseUnavailableException(String message, int retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public DatabaseUnavailableException(String message, int retryAfterSeconds, Throwable cause) {
+        super(message, cause);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public int getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,232 @@
+package com.example.petclinic.domain.bulk;
+
+import com.example.petclinic.domain.bulk.ImportRow.OwnerRow;
+import com.example.petclinic.domain.bulk.ImportRow.PetRow;
+import com.example.petclinic.domain.bulk.ImportRow.VisitRow;
+import com.example.petclinic.domain.owner.OwnerService;
+import com.example.petclinic.domain.owner.OwnerValidationException;
+import com.example.petclinic.domain.pet.Pet;
+import com.example.petclinic.domain.pet.PetService;
+import com.example.petclinic.domain.pet.PetType;
+import com.example.petclinic.domain.pet.PetValidationException;
+import com.example.petclinic.domain.visit.Visit;
+import com.example.petclinic.domain.visit.VisitService;
+import com.example.petclinic.domain.visit.VisitValidationException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Imports owners, pets and visits a chunk at a time with the rules of {@link OwnerService}, {@link PetService} and
+ * {@link VisitService}, but set-at-a-time: within a chunk the owners go first, then the pets, then the visits, and
+ * each kind is validated row by row in memory, checked against the database with one lookup per rule (telephones,
+ * owner and pet ids, pet names per owner) and written {@code insertRows} rows per statement. Generated owner and pet
+ * ids are mapped back to the rows' refs, so later rows (of this chunk or the next ones) can point at them.
+ * <p>
+ * Invalid rows are recorded in the {@link ImportSession} and skipped; the others are written. A statement the
+ * database refuses is retried row by row, which finds the rows that broke a rule the database checks and
+ * these services do not (column lengths, NOT NULL columns). Infrastructure failures propagate: the chunks written
+ * before stay written.
+ */
+public class BulkImportService {
+
+    private final OwnerService ownerService;
+    private final PetService petService;
+    private final VisitService visitService;
+    private final ImportRepository repository;
+    private final int insertRows;
+
+    public BulkImportService(OwnerService ownerService, PetService petService, VisitService visitService,
+                             ImportRepository repository, int insertRows) {
+        this.ownerService = ownerService;
+        this.petService = petService;
+        this.visitService = visitService;
+        this.repository = repository;
+        this.insertRows = insertRows;
+    }
+
+    public void importChunk(ImportSession session, List<ImportRow> rows) {
+        List<OwnerRow> owners = new ArrayList<>();
+        List<PetRow> pets = new ArrayList<>();
+        List<VisitRow> visits = new ArrayList<>();
+        for (ImportRow row : rows) {
+            if (row instanceof OwnerRow o) owners.add(o);
+            else if (row instanceof PetRow p) pets.add(p);
+            else visits.add((VisitRow) row);
+        }
+        if (!owners.isEmpty()) importOwners(session, owners);
+        if (!pets.isEmpty()) importPets(session, pets);
+        if (!visits.isEmpty()) importVisits(session, visits);
+    }
+
+    private void importOwners(ImportSession session, List<OwnerRow> rows) {
+        List<OwnerRow> valid = new ArrayList<>(rows.size());
+        Set<String> telephones = new HashSet<>();
+        for (OwnerRow row : rows) {
+            if (!claimRef(session, row, session.claimOwnerRef(row.ref(), row.line()))) continue;
+            try {
+                ownerService.validate(row.owner());
+            } catch (OwnerValidationException e) {
+                session.reject(row, e.getMessage());
+                continue;
+            }
+            String telephone = row.owner().getTelephone();
+            if (telephone != null) {
+                Long first = session.claimTelephone(telephone, row.line());
+                if (first != null) {
+                    session.reject(row, "Telephone already used on line " + first);
+                    continue;
+                }
+                telephones.add(telephone);
+            }
+            valid.add(row);
+        }
+        Set<String> registered = telephones.isEmpty() ? Set.of() : repository.existingTelephones(telephones);
+        valid.removeIf(row -> {
+            if (row.owner().getTelephone() == null || !registered.contains(row.owner().getTelephone())) return false;
+            session.reject(row, "Telephone already registered");
+            return true;
+        });
+        insert(session, valid,
+                slice -> repository.insertOwners(slice.stream().map(OwnerRow::owner).toList()),
+                (row, id) -> session.ownerImported(row.ref(), id));
+    }
+
+    private void importPets(ImportSession session, List<PetRow> rows) {
+        if (!session.petTypesLoaded()) session.petTypes(repository.petTypes());
+        List<PetRow> pending = new ArrayList<>(rows.size());
+        Set<Long> ownerIds = new HashSet<>();
+        for (PetRow row : rows) {
+            if (!claimRef(session, row, session.claimPetRef(row.ref(), row.line()))) continue;
+            Pet pet = row.pet();
+            if (row.ownerRef() != null) {
+                Long ownerId = session.ownerId(row.ownerRef());
+                if (ownerId == null) {
+                    session.reject(row, session.unresolvedOwner(row.ownerRef()));
+                    continue;
+                }
+                pet.setOwnerId(Math.toIntExact(ownerId));
+            } else if (pet.getOwnerId() != null) {
+                ownerIds.add(pet.getOwnerId().longValue());
+            }
+            PetType type = pet.getType();
+            if (type != null && (type.getId() != null || type.getName() != null)) {
+                Integer typeId = session.petTypeId(type);
+                if (typeId == null) {
+                    session.reject(row, "Unknown pet type '" + (type.getId() != null ? type.getId() : type.getName()) + "'");
+                    continue;
+                }
+                type.setId(typeId);
+            }
+            try {
+                petService.validateFields(pet);
+            } catch (PetValidationException e) {
+                session.reject(row, e.getMessage());
+                continue;
+            }
+            pending.add(row);
+        }
+        // owners given by id must exist; their pets in the database count for the name-per-owner rule
+        Set<Long> existing = ownerIds.isEmpty() ? Set.of() : repository.existingOwnerIds(ownerIds);
+        Map<Integer, Set<String>> names = existing.isEmpty() ? Map.of()
+                : repository.petNames(existing.stream().map(Math::toIntExact).toList());
+        List<PetRow> valid = new ArrayList<>(pending.size());
+        for (PetRow row : pending) {
+            Pet pet = row.pet();
+            if (row.ownerRef() == null && !existing.contains(pet.getOwnerId().longValue())) {
+                session.reject(row, "Owner not found with id: " + pet.getOwnerId());
+                continue;
+            }
+            Set<String> taken = names.get(pet.getOwnerId());
+            if ((taken != null && taken.contains(pet.getName())) || !session.claimPetName(pet.getOwnerId(), pet.getName())) {
+                session.reject(row, PetService.duplicateNameMessage(pet.getName()));
+                continue;
+            }
+            valid.add(row);
+        }
+        insert(session, valid,
+                slice -> repository.insertPets(slice.stream().map(PetRow::pet).toList()),
+                (row, id) -> {
+                    row.pet().setId(id);
+                    session.petImported(row.ref(), id);
+                });
+    }
+
+    private void importVisits(ImportSession session, List<VisitRow> rows) {
+        List<VisitRow> pending = new ArrayList<>(rows.size());
+        Set<Long> petIds = new HashSet<>();
+        for (VisitRow row : rows) {
+            Visit visit = row.visit();
+            if (row.petRef() != null) {
+                Integer petId = session.petId(row.petRef());
+                if (petId == null) {
+                    session.reject(row, session.unresolvedPet(row.petRef()));
+                    continue;
+                }
+                visit.setPetId(petId.longValue());
+            } else if (visit.getPetId() == null) {
+                session.reject(row, "Pet ID is required");
+                continue;
+            } else {
+                petIds.add(visit.getPetId());
+            }
+            try {
+                visitService.validateVisit(visit);
+            } catch (VisitValidationException e) {
+                session.reject(row, e.getMessage());
+                continue;
+            }
+            pending.add(row);
+        }
+        Set<Long> existing = petIds.isEmpty() ? Set.of() : repository.existingPetIds(petIds);
+        pending.removeIf(row -> {
+            if (row.petRef() != null || existing.contains(row.visit().getPetId())) return false;
+            session.reject(row, "Pet not found with id: " + row.visit().getPetId());
+            return true;
+        });
+        insert(session, pending,
+                slice -> {
+                    repository.insertVisits(slice.stream().map(VisitRow::visit).toList());
+                    return Collections.nCopies(slice.size(), null);
+                },
+                (row, ignored) -> session.visitImported());
+    }
+
+    /** False (row rejected) when an earlier row already claimed the row's ref. */
+    private static boolean claimRef(ImportSession session, ImportRow row, Long firstLine) {
+        if (firstLine == null) return true;
+        session.reject(row, "Duplicate ref '" + row.ref() + "' (first used on line " + firstLine + ")");
+        return false;
+    }
+
+    /**
+     * Writes the rows {@code insertRows} at a time. When the database refuses a statement, its rows are written
+     * one by one so only the offending ones are rejected.
+     */
+    private <R extends ImportRow, K> void insert(ImportSession session, List<R> rows,
+                                                 Function<List<R>, List<K>> write, BiConsumer<R, K> imported) {
+        for (int from = 0; from < rows.size(); from += insertRows) {
+            List<R> slice = rows.subList(from, Math.min(rows.size(), from + insertRows));
+            List<K> keys;
+            try {
+                keys = write.apply(slice);
+            } catch (ImportRejectedException e) {
+                for (R row : slice) {
+                    try {
+                        imported.accept(row, write.apply(List.of(row)).get(0));
+                    } catch (ImportRejectedException rowError) {
+                        session.reject(row, "Rejected by the database: " + rowError.getMessage());
+                    }
+                }
+                continue;
+            }
+            for (int i = 0; i < slice.size(); i++) imported.accept(slice.get(i), keys.get(i));
+        }
+    }
+}
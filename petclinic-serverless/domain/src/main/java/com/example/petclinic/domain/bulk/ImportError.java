@@ -0,0 +1,4 @@
+package com.example.petclinic.domain.bulk;
+
+/** A rejected import record: where it is, what it was, and the rule it broke. */
+public record ImportError(long line, String type, String ref, String message) {}
@@ -0,0 +1,12 @@
+package com.example.petclinic.domain.bulk;
+
+/**
+ * The database refused a batch of imported rows (constraint, length or type violation). The batch was not
+ * written; {@link BulkImportService} retries its rows one at a time to find the offending ones.
+ */
+public class ImportRejectedException extends RuntimeException {
+
+    public ImportRejectedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
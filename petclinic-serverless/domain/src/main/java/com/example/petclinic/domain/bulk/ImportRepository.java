@@ -0,0 +1,40 @@
+package com.example.petclinic.domain.bulk;
+
+import com.example.petclinic.domain.owner.Owner;
+import com.example.petclinic.domain.pet.Pet;
+import com.example.petclinic.domain.pet.PetType;
+import com.example.petclinic.domain.visit.Visit;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Port (interface) for set-at-a-time writes and lookups of bulk imports: one statement per batch instead of one per
+ * row. Inserts either write the whole batch or throw {@link ImportRejectedException} having written nothing.
+ */
+public interface ImportRepository {
+
+    /** Inserts the owners, returning their generated ids in the same order. */
+    List<Long> insertOwners(List<Owner> owners);
+
+    /** Inserts the pets (owner id and type id set), returning their generated ids in the same order. */
+    List<Integer> insertPets(List<Pet> pets);
+
+    void insertVisits(List<Visit> visits);
+
+    /** The given telephones that already belong to an owner. */
+    Set<String> existingTelephones(Collection<String> telephones);
+
+    /** The given owner ids that exist. */
+    Set<Long> existingOwnerIds(Collection<Long> ids);
+
+    /** The given pet ids that exist. */
+    Set<Long> existingPetIds(Collection<Long> ids);
+
+    /** Names of the pets each of the given owners already has (owners without pets are absent). */
+    Map<Integer, Set<String>> petNames(Collection<Integer> ownerIds);
+
+    List<PetType> petTypes();
+}
@@ -0,0 +1,42 @@
+package com.example.petclinic.domain.bulk;
+
+import com.example.petclinic.domain.owner.Owner;
+import com.example.petclinic.domain.pet.Pet;
+import com.example.petclinic.domain.visit.Visit;
+
+/**
+ * One record of a bulk import, tagged with the line it starts on and the client's own {@code ref} for it. Pets
+ * point at their owner by {@code ownerRef} (an owner of the same import) or by {@link Pet#getOwnerId()}, visits at
+ * their pet by {@code petRef} or {@link Visit#getPetId()}; references win over ids.
+ */
+public sealed interface ImportRow {
+
+    long line();
+
+    String ref();
+
+    /** {@code owner}, {@code pet} or {@code visit}, as the record type is written in the import. */
+    String type();
+
+    record OwnerRow(long line, String ref, Owner owner) implements ImportRow {
+        @Override
+        public String type() {
+            return "owner";
+        }
+    }
+
+    /** The pet type may carry only its name ({@link com.example.petclinic.domain.pet.PetType#getId()} null). */
+    record PetRow(long line, String ref, String ownerRef, Pet pet) implements ImportRow {
+        @Override
+        public String type() {
+            return "pet";
+        }
+    }
+
+    record VisitRow(long line, String ref, String petRef, Visit visit) implements ImportRow {
+        @Override
+        public String type() {
+            return "visit";
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.example.petclinic.domain.bulk;
+
+import com.example.petclinic.domain.pet.PetType;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * State of one import across its chunks: the refs seen so far and the ids they were given, the uniqueness keys
+ * (telephones, pet names per owner) already taken by earlier rows, and the report: counts plus the first
+ * {@code maxErrors} errors. Not thread-safe; one per request.
+ */
+public final class ImportSession {
+
+    private final int maxErrors;
+    private final Map<String, Long> ownerRefLines = new HashMap<>();
+    private final Map<String, Long> ownerIds = new HashMap<>();
+    private final Map<String, Long> petRefLines = new HashMap<>();
+    private final Map<String, Integer> petIds = new HashMap<>();
+    private final Map<String, Long> telephones = new HashMap<>();
+    private final Set<String> petNames = new HashSet<>();
+    private final List<ImportError> errors = new ArrayList<>();
+    private Map<String, Integer> petTypesByName;
+    private Set<Integer> petTypeIds;
+    private long owners;
+    private long pets;
+    private long visits;
+    private long rejected;
+
+    public ImportSession(int maxErrors) {
+        this.maxErrors = maxErrors;
+    }
+
+    /** Records a rejected row (the first {@code maxErrors} are kept with their message, the rest only counted). */
+    public void reject(long line, String type, String ref, String message) {
+        rejected++;
+        if (errors.size() < maxErrors) errors.add(new ImportError(line, type, ref, message));
+    }
+
+    void reject(ImportRow row, String message) {
+        reject(row.line(), row.type(), row.ref(), message);
+    }
+
+    public long ownersImported() {
+        return owners;
+    }
+
+    public long petsImported() {
+        return pets;
+    }
+
+    public long visitsImported() {
+        return visits;
+    }
+
+    public long imported() {
+        return owners + pets + visits;
+    }
+
+    public long rejected() {
+        return rejected;
+    }
+
+    /** The first {@code maxErrors} errors, in the order they were found (by chunk, then owners, pets, visits). */
+    public List<ImportError> errors() {
+        return Collections.unmodifiableList(errors);
+    }
+
+    /** True when more rows were rejected than {@link #errors()} holds. */
+    public boolean errorsTruncated() {
+        return rejected > errors.size();
+    }
+
+    /** Claims an owner ref for the row on {@code line}; returns the line that claimed it first, or null. */
+    Long claimOwnerRef(String ref, long line) {
+        return ref == null ? null : ownerRefLines.putIfAbsent(ref, line);
+    }
+
+    Long claimPetRef(String ref, long line) {
+        return ref == null ? null : petRefLines.putIfAbsent(ref, line);
+    }
+
+    void ownerImported(String ref, long id) {
+        owners++;
+        if (ref != null) ownerIds.put(ref, id);
+    }
+
+    void petImported(String ref, int id) {
+        pets++;
+        if (ref != null) petIds.put(ref, id);
+    }
+
+    void visitImported() {
+        visits++;
+    }
+
+    Long ownerId(String ref) {
+        return ownerIds.get(ref);
+    }
+
+    Integer petId(String ref) {
+        return petIds.get(ref);
+    }
+
+    /** Why {@code ref} does not resolve to an owner: never defined (so far), or defined on a row that was rejected. */
+    String unresolvedOwner(String ref) {
+        Long line = ownerRefLines.get(ref);
+        return line == null
+                ? "Unknown owner ref '" + ref + "' (owners must come before their pets)"
+                : "Owner '" + ref + "' (line " + line + ") was not imported";
+    }
+
+    String unresolvedPet(String ref) {
+        Long line = petRefLines.get(ref);
+        return line == null
+                ? "Unknown pet ref '" + ref + "' (pets must come before their visits)"
+                : "Pet '" + ref + "' (line " + line + ") was not imported";
+    }
+
+    /** Claims a telephone for the row on {@code line}; returns the line that claimed it first, or null. */
+    Long claimTelephone(String telephone, long line) {
+        return telephones.putIfAbsent(telephone, line);
+    }
+
+    /** Claims a pet name for an owner; false when an earlier row of this import already used it. */
+    boolean claimPetName(Integer ownerId, String name) {
+        return petNames.add(ownerId + "\n" + name);
+    }
+
+    boolean petTypesLoaded() {
+        return petTypeIds != null;
+    }
+
+    void petTypes(List<PetType> types) {
+        petTypeIds = new HashSet<>();
+        petTypesByName = new HashMap<>();
+        for (PetType t : types) {
+            petTypeIds.add(t.getId());
+            if (t.getName() != null) petTypesByName.put(t.getName().toLowerCase(Locale.ROOT), t.getId());
+        }
+    }
+
+    /** Id of the pet type given by id or by name (case-insensitive), or null when there is no such type. */
+    Integer petTypeId(PetType type) {
+        if (type.getId() != null) return petTypeIds.contains(type.getId()) ? type.getId() : null;
+        return type.getName() == null ? null : petTypesByName.get(type.getName().toLowerCase(Locale.ROOT));
+    }
+}
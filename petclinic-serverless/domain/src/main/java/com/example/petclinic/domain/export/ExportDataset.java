@@ -0,0 +1,40 @@
+package com.example.petclinic.domain.export;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Tables that can be bulk exported, with the columns exported from each (in output order; the first one is always
+ * the {@code id} the keyset cursor walks).
+ */
+public enum ExportDataset {
+    OWNERS("owners", List.of("id", "first_name", "last_name", "address", "city", "telephone")),
+    PETS("pets", List.of("id", "name", "birth_date", "type_id", "owner_id")),
+    VISITS("visits", List.of("id", "pet_id", "visit_date", "description"));
+
+    private final String table;
+    private final List<String> columns;
+
+    ExportDataset(String table, List<String> columns) {
+        this.table = table;
+        this.columns = columns;
+    }
+
+    public String table() {
+        return table;
+    }
+
+    public List<String> columns() {
+        return columns;
+    }
+
+    /** Dataset by its table name ({@code owners}, {@code pets}, {@code visits}), case-insensitive. */
+    public static Optional<ExportDataset> of(String name) {
+        if (name == null) return Optional.empty();
+        for (ExportDataset d : values()) {
+            if (d.table.equals(name.toLowerCase(Locale.ROOT))) return Optional.of(d);
+        }
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.petclinic.domain.export;
+
+/**
+ * Port (interface) for bulk reads of whole tables, in primary key order.
+ */
+public interface ExportRepository {
+
+    /**
+     * Hands the rows with {@code id > afterId} to the handler in id order, at most {@code maxRows} of them, as the
+     * database returns them (nothing is collected). Stops early when the handler refuses a row.
+     *
+     * @return the number of rows the handler accepted
+     */
+    int export(ExportDataset dataset, long afterId, int maxRows, ExportRowHandler handler);
+}
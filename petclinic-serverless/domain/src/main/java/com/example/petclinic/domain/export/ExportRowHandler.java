@@ -0,0 +1,11 @@
+package com.example.petclinic.domain.export;
+
+/**
+ * Receives exported rows one at a time as plain column values, in {@link ExportDataset#columns()} order. The array
+ * is reused for the next row, so values must be consumed (written out) before returning.
+ */
+@FunctionalInterface
+public interface ExportRowHandler {
+    /** Returns false to refuse this row and stop the export before it. */
+    boolean row(Object[] values);
+}
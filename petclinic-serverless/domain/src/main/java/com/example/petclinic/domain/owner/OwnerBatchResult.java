@@ -0,0 +1,26 @@
+package com.example.petclinic.domain.owner;
+
+/**
+ * Outcome of one owner of {@link OwnerService#createAll}: the saved owner, or the reason it was not created.
+ */
+public record OwnerBatchResult(Owner owner, Rejection rejection, String message) {
+
+    public enum Rejection {
+        /** A field rule of {@link Owner} failed. */
+        INVALID,
+        /** The telephone is already registered, or repeats an earlier owner of the same batch. */
+        DUPLICATE_TELEPHONE
+    }
+
+    static OwnerBatchResult created(Owner owner) {
+        return new OwnerBatchResult(owner, null, null);
+    }
+
+    static OwnerBatchResult rejected(Rejection rejection, String message) {
+        return new OwnerBatchResult(null, rejection, message);
+    }
+
+    public boolean isCreated() {
+        return owner != null;
+    }
+}
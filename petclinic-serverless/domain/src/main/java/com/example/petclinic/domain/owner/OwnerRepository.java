@@ -1,7 +1,11 @@
 package com.example.petclinic.domain.owner;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Repository Port (Hexagonal) to be implemented by infra layer (RDS / JPA / JDBC) or mocked for tests.
@@ -10,8 +14,42 @@ public interface OwnerRepository {
     Owner save(Owner owner);
     Optional<Owner> findById(Long id);
     List<Owner> findAll(int page, int size);
+
+    /**
+     * Same page as {@link #findAll(int, int)}, streamed row by row into {@code handler}. Implementations backed by a
+     * cursor should override it; the default goes through the materialized list.
+     */
+    default void findAll(int page, int size, OwnerRowHandler handler) {
+        for (Owner o : findAll(page, size)) {
+            handler.row(o.getId(), o.getFirstName(), o.getLastName(), o.getAddress(), o.getCity(), o.getTelephone());
+        }
+    }
+
     void deleteById(Long id);
     boolean existsByTelephone(String telephone);
     boolean existsById(Long id);
     boolean existsByTelephoneExcludingId(String telephone, Long excludeId);
+
+    /**
+     * The given telephones that already belong to an owner. Implementations should answer in one query; the default
+     * asks {@link #existsByTelephone} once per telephone.
+     */
+    default Set<String> findExistingTelephones(Collection<String> telephones) {
+        Set<String> found = new HashSet<>();
+        for (String t : telephones) {
+            if (existsByTelephone(t)) found.add(t);
+        }
+        return found;
+    }
+
+    /**
+     * Inserts new owners and returns them with their ids, in order. All or none are written: a duplicate telephone
+     * fails the whole call with {@link OwnerValidationException}. The default saves one by one and is only atomic
+     * inside a caller's transaction; implementations should insert with one statement.
+     */
+    default List<Owner> saveAll(List<Owner> owners) {
+        List<Owner> saved = new ArrayList<>(owners.size());
+        for (Owner o : owners) saved.add(save(o));
+        return saved;
+    }
 }
@@ -0,0 +1,10 @@
+package com.example.petclinic.domain.owner;
+
+/**
+ * Receives owners one row at a time, as plain column values, so a page can be written out (e.g. as JSON) without
+ * building an {@link Owner} per row. Invoked on the caller's thread, in page order.
+ */
+@FunctionalInterface
+public interface OwnerRowHandler {
+    void row(long id, String firstName, String lastName, String address, String city, String telephone);
+}
@@ -1,11 +1,18 @@
 package com.example.petclinic.domain.owner;
 
+import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Valid;
 import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * Application service containing core business rules for Owners.
@@ -23,6 +30,79 @@ public class OwnerService {
         return repository.save(owner);
     }
 
+    /**
+     * Field rules of {@link Owner} (its Bean Validation constraints), for callers that build owners without going
+     * through a validated request, such as bulk imports. Telephone uniqueness is checked by {@link #create}.
+     */
+    public void validate(Owner owner) {
+        Set<ConstraintViolation<Owner>> violations = validator.validate(owner);
+        if (!violations.isEmpty()) {
+            throw new OwnerValidationException(violations.stream()
+                    .map(v -> v.getPropertyPath() + " " + v.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+        }
+    }
+
+    /**
+     * Creates a batch of owners with one telephone lookup and one insert, instead of {@link #create} per owner.
+     * Owners are judged one by one and the batch is never refused as a whole: an owner failing a field rule, whose
+     * telephone is registered, or who repeats the telephone of an earlier owner in the batch is rejected and the
+     * rest are created. Results are in input order.
+     * <p>
+     * Should the insert itself hit a telephone registered in the meantime, the owners are inserted one by one so
+     * that only the conflicting ones are rejected.
+     */
+    public List<OwnerBatchResult> createAll(List<Owner> owners) {
+        OwnerBatchResult[] results = new OwnerBatchResult[owners.size()];
+        Map<String, Integer> byTelephone = new HashMap<>();
+        List<Integer> accepted = new ArrayList<>(owners.size());
+        for (int i = 0; i < owners.size(); i++) {
+            Owner owner = owners.get(i);
+            try {
+                validate(owner);
+            } catch (OwnerValidationException e) {
+                results[i] = OwnerBatchResult.rejected(OwnerBatchResult.Rejection.INVALID, e.getMessage());
+                continue;
+            }
+            if (owner.getTelephone() != null) {
+                Integer first = byTelephone.putIfAbsent(owner.getTelephone(), i);
+                if (first != null) {
+                    results[i] = OwnerBatchResult.rejected(OwnerBatchResult.Rejection.DUPLICATE_TELEPHONE,
+                            "Telephone repeats item " + first + " of the batch");
+                    continue;
+                }
+            }
+            accepted.add(i);
+        }
+
+        Set<String> registered = byTelephone.isEmpty() ? Set.of() : repository.findExistingTelephones(byTelephone.keySet());
+        List<Integer> toInsert = new ArrayList<>(accepted.size());
+        for (int i : accepted) {
+            if (registered.contains(owners.get(i).getTelephone())) {
+                results[i] = OwnerBatchResult.rejected(OwnerBatchResult.Rejection.DUPLICATE_TELEPHONE, "Telephone already registered");
+            } else {
+                toInsert.add(i);
+            }
+        }
+
+        if (!toInsert.isEmpty()) {
+            try {
+                List<Owner> saved = repository.saveAll(toInsert.stream().map(owners::get).toList());
+                for (int k = 0; k < toInsert.size(); k++) results[toInsert.get(k)] = OwnerBatchResult.created(saved.get(k));
+            } catch (OwnerValidationException e) {
+                for (int i : toInsert) {
+                    try {
+                        results[i] = OwnerBatchResult.created(repository.save(owners.get(i)));
+                    } catch (OwnerValidationException conflict) {
+                        results[i] = OwnerBatchResult.rejected(OwnerBatchResult.Rejection.DUPLICATE_TELEPHONE, conflict.getMessage());
+                    }
+                }
+            }
+        }
+        return Arrays.asList(results);
+    }
+
     public Optional<Owner> get(Long id) {
         return repository.findById(id);
     }
@@ -31,6 +111,11 @@ public class OwnerService {
         return repository.findAll(page, size);
     }
 
+    /** Streaming variant of {@link #list(int, int)}: no {@link Owner} objects, rows go straight to {@code handler}. */
+    public void list(int page, int size, OwnerRowHandler handler) {
+        repository.findAll(page, size, handler);
+    }
+
     public Owner update(Long id, @Valid Owner owner) {
         Owner existing = repository.findById(id).orElseThrow(() -> new OwnerNotFoundException(id));
         // If telephone changed and new telephone already belongs to a different owner -> validation error
@@ -36,7 +36,33 @@ public class PetService {
 		return petRepository.findByOwnerId(ownerId);
 	}
 
+	/**
+	 * Creation rules that need no lookup (owner, name and type present, birth date not in the future). Bulk
+	 * imports check these row by row and the name-per-owner rule in batches.
+	 */
+	public void validateFields(Pet pet) {
+		validateRequiredFields(pet);
+		validateBirthDate(pet);
+	}
+
+	/** Message of the name-per-owner rule, shared with bulk imports. */
+	public static String duplicateNameMessage(String name) {
+		return "Pet name '" + name + "' already exists for this owner";
+	}
+
 	private void validatePetCreation(Pet pet) {
+		validateRequiredFields(pet);
+
+		// Check if pet name already exists for the owner
+		Pet existing = petRepository.findByOwnerIdAndName(pet.getOwnerId(), pet.getName());
+		if (existing != null) {
+			throw new PetValidationException(duplicateNameMessage(pet.getName()));
+		}
+
+		validateBirthDate(pet);
+	}
+
+	private void validateRequiredFields(Pet pet) {
 		if (pet.getOwnerId() == null) {
 			throw new PetValidationException("Owner ID is required");
 		}
@@ -48,13 +74,9 @@ public class PetService {
 		if (pet.getType() == null || pet.getType().getId() == null) {
 			throw new PetValidationException("Pet type is required");
 		}
+	}
 
-		// Check if pet name already exists for the owner
-		Pet existing = petRepository.findByOwnerIdAndName(pet.getOwnerId(), pet.getName());
-		if (existing != null) {
-			throw new PetValidationException("Pet name '" + pet.getName() + "' already exists for this owner");
-		}
-
+	private void validateBirthDate(Pet pet) {
 		// Birth date cannot be in the future
 		if (pet.getBirthDate() != null && pet.getBirthDate().isAfter(LocalDate.now())) {
 			throw new PetValidationException("Birth date cannot be in the future");
@@ -87,7 +109,7 @@ public class PetService {
 		// Check if the new name already exists for another pet of the same owner
 		Pet petWithName = petRepository.findByOwnerIdAndName(pet.getOwnerId(), pet.getName());
 		if (petWithName != null && !petWithName.getId().equals(pet.getId())) {
-			throw new PetValidationException("Pet name '" + pet.getName() + "' already exists for this owner");
+			throw new PetValidationException(duplicateNameMessage(pet.getName()));
 		}
 
 		// Birth date cannot be in the future
@@ -3,6 +3,7 @@ package com.example.petclinic.domain.vet;
 import lombok.RequiredArgsConstructor;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Application service for Vets operations.
@@ -31,4 +32,12 @@ public class VetService {
         
         return vets;
     }
+
+    /** Like {@link #list}, but hands each vet over as soon as its specialties are loaded. */
+    public void forEach(int page, int size, Consumer<Vet> action) {
+        for (Vet vet : repository.findAll(page, size)) {
+            vet.setSpecialties(repository.findSpecialtiesByVetId(vet.getId()));
+            action.accept(vet);
+        }
+    }
 }
@@ -56,7 +56,8 @@ public class VisitService {
         repository.deleteByIdAndOwnerId(visitId, ownerId);
     }
 
-    private void validateVisit(Visit visit) {
+    /** Field rules of a visit (date present and not in the future, description present and within 255 chars). */
+    public void validateVisit(Visit visit) {
         if (visit.getVisitDate() == null) {
             throw new VisitValidationException("Visit date is required");
         }
@@ -0,0 +1,200 @@
+package com.example.petclinic.domain.bulk;
+
+import com.example.petclinic.domain.bulk.ImportRow.OwnerRow;
+import com.example.petclinic.domain.bulk.ImportRow.PetRow;
+import com.example.petclinic.domain.bulk.ImportRow.VisitRow;
+import com.example.petclinic.domain.owner.Owner;
+import com.example.petclinic.domain.owner.OwnerService;
+import com.example.petclinic.domain.pet.Pet;
+import com.example.petclinic.domain.pet.PetService;
+import com.example.petclinic.domain.pet.PetType;
+import com.example.petclinic.domain.visit.Visit;
+import com.example.petclinic.domain.visit.VisitService;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BulkImportServiceTest {
+
+    private InMemoryImportRepo repo;
+    private BulkImportService service;
+    private ImportSession session;
+
+    @BeforeEach
+    void setup() {
+        repo = new InMemoryImportRepo();
+        // only the lookup-free rules of the services are used, so they need no repositories
+        OwnerService ownerService = new OwnerService(null, Validation.buildDefaultValidatorFactory().getValidator());
+        service = new BulkImportService(ownerService, new PetService(null), new VisitService(null), repo, 10);
+        session = new ImportSession(100);
+    }
+
+    @Test
+    void refsResolveToTheImportedRowsAndExplainWhyTheyDoNot() {
+        service.importChunk(session, List.of(
+                owner(1, "o1", "A", "111"),
+                owner(2, "o1", "B", "222"),
+                owner(3, "o2", "", "333"),
+                pet(4, "p1", "o1", "Leo"),
+                pet(5, "p2", "o2", "Max"),
+                pet(6, "p3", "o9", "Rex"),
+                visit(7, "p1"),
+                visit(8, "p2")));
+
+        assertEquals(1, session.ownersImported());
+        assertEquals(1, session.petsImported());
+        assertEquals(1, session.visitsImported());
+        assertEquals(repo.owners.get(0).id, repo.pets.get(0).getOwnerId().longValue());
+        assertEquals(repo.pets.get(0).getId().longValue(), repo.visits.get(0).getPetId().longValue());
+        assertEquals(List.of(
+                new ImportError(2, "owner", "o1", "Duplicate ref 'o1' (first used on line 1)"),
+                new ImportError(3, "owner", "o2", "firstName must not be blank"),
+                new ImportError(5, "pet", "p2", "Owner 'o2' (line 3) was not imported"),
+                new ImportError(6, "pet", "p3", "Unknown owner ref 'o9' (owners must come before their pets)"),
+                new ImportError(8, "visit", null, "Pet 'p2' (line 5) was not imported")), session.errors());
+    }
+
+    @Test
+    void refsResolveAcrossChunks() {
+        service.importChunk(session, List.of(owner(1, "o1", "A", null)));
+        service.importChunk(session, List.of(pet(2, "p1", "o1", "Leo")));
+
+        assertEquals(2, session.imported());
+        assertEquals(repo.owners.get(0).id, repo.pets.get(0).getOwnerId().longValue());
+    }
+
+    @Test
+    void telephoneIsUniqueWithinAndAcrossChunksAndAgainstTheDatabase() {
+        repo.owners.add(new StoredOwner(1, "999"));
+
+        service.importChunk(session, List.of(
+                owner(1, null, "A", "111"),
+                owner(2, null, "B", "111"),
+                owner(3, null, "C", "999")));
+        service.importChunk(session, List.of(owner(4, null, "D", "111")));
+
+        assertEquals(1, session.ownersImported());
+        assertEquals(List.of(
+                "Telephone already used on line 1",
+                "Telephone already registered",
+                "Telephone already used on line 1"), messages());
+    }
+
+    @Test
+    void petNameIsUniquePerOwnerAgainstTheDatabaseAndEarlierRows() {
+        repo.owners.add(new StoredOwner(1, null));
+        repo.pets.add(new Pet(1, "Leo", null, 1, new PetType(1, "cat")));
+
+        service.importChunk(session, List.of(
+                petOfOwner(1, 1, "Leo"),
+                petOfOwner(2, 1, "Max"),
+                petOfOwner(3, 1, "Max")));
+        service.importChunk(session, List.of(
+                petOfOwner(4, 1, "Max"),
+                owner(5, "o2", "B", null),
+                pet(6, "p6", "o2", "Max")));
+
+        assertEquals(2, session.petsImported());
+        assertEquals(List.of(
+                "Pet name 'Leo' already exists for this owner",
+                "Pet name 'Max' already exists for this owner",
+                "Pet name 'Max' already exists for this owner"), messages());
+    }
+
+    @Test
+    void refusedStatementIsRetriedRowByRow() {
+        repo.refusedFirstName = "Refused";
+
+        service.importChunk(session, List.of(
+                owner(1, "o1", "A", null),
+                owner(2, "o2", "Refused", null),
+                owner(3, "o3", "C", null),
+                pet(4, "p3", "o3", "Leo")));
+
+        assertEquals(List.of(3, 1, 1, 1), repo.ownerInserts);
+        assertEquals(2, session.ownersImported());
+        assertEquals(1, session.petsImported());
+        assertEquals(List.of(new ImportError(2, "owner", "o2", "Rejected by the database: value too long")), session.errors());
+    }
+
+    private List<String> messages() {
+        return session.errors().stream().map(ImportError::message).toList();
+    }
+
+    private static OwnerRow owner(long line, String ref, String firstName, String telephone) {
+        return new OwnerRow(line, ref, Owner.builder().firstName(firstName).lastName("L").telephone(telephone).build());
+    }
+
+    private static PetRow pet(long line, String ref, String ownerRef, String name) {
+        return new PetRow(line, ref, ownerRef, new Pet(null, name, LocalDate.of(2020, 1, 1), null, new PetType(null, "cat")));
+    }
+
+    private static PetRow petOfOwner(long line, int ownerId, String name) {
+        return new PetRow(line, null, null, new Pet(null, name, LocalDate.of(2020, 1, 1), ownerId, new PetType(1, null)));
+    }
+
+    private static VisitRow visit(long line, String petRef) {
+        return new VisitRow(line, null, petRef, Visit.builder().visitDate(LocalDate.of(2024, 1, 1)).description("checkup").build());
+    }
+
+    record StoredOwner(long id, String telephone) {}
+
+    // Simple in-memory implementation for tests
+    static class InMemoryImportRepo implements ImportRepository {
+        final List<StoredOwner> owners = new ArrayList<>();
+        final List<Pet> pets = new ArrayList<>();
+        final List<Visit> visits = new ArrayList<>();
+        final List<Integer> ownerInserts = new ArrayList<>();
+        String refusedFirstName;
+
+        @Override public List<Long> insertOwners(List<Owner> batch) {
+            ownerInserts.add(batch.size());
+            if (batch.stream().anyMatch(o -> o.getFirstName().equals(refusedFirstName))) {
+                throw new ImportRejectedException("value too long", null);
+            }
+            List<Long> ids = new ArrayList<>();
+            for (Owner o : batch) {
+                StoredOwner stored = new StoredOwner(owners.size() + 1, o.getTelephone());
+                owners.add(stored);
+                ids.add(stored.id());
+            }
+            return ids;
+        }
+        @Override public List<Integer> insertPets(List<Pet> batch) {
+            List<Integer> ids = new ArrayList<>();
+            for (Pet p : batch) {
+                p.setId(pets.size() + 1);
+                pets.add(p);
+                ids.add(p.getId());
+            }
+            return ids;
+        }
+        @Override public void insertVisits(List<Visit> batch) { visits.addAll(batch); }
+        @Override public Set<String> existingTelephones(Collection<String> telephones) {
+            Set<String> found = new HashSet<>();
+            for (StoredOwner o : owners) if (telephones.contains(o.telephone())) found.add(o.telephone());
+            return found;
+        }
+        @Override public Set<Long> existingOwnerIds(Collection<Long> ids) {
+            Set<Long> found = new HashSet<>();
+            for (StoredOwner o : owners) if (ids.contains(o.id())) found.add(o.id());
+            return found;
+        }
+        @Override public Set<Long> existingPetIds(Collection<Long> ids) {
+            Set<Long> found = new HashSet<>();
+            for (Pet p : pets) if (ids.contains(p.getId().longValue())) found.add(p.getId().longValue());
+            return found;
+        }
+        @Override public Map<Integer, Set<String>> petNames(Collection<Integer> ownerIds) {
+            Map<Integer, Set<String>> names = new HashMap<>();
+            for (Pet p : pets) if (ownerIds.contains(p.getOwnerId())) names.computeIfAbsent(p.getOwnerId(), k -> new HashSet<>()).add(p.getName());
+            return names;
+        }
+        @Override public List<PetType> petTypes() { return List.of(new PetType(1, "cat"), new PetType(2, "dog")); }
+    }
+}
@@ -41,6 +41,45 @@ class OwnerServiceTest {
         assertTrue(service.list(0,10).isEmpty());
     }
 
+    @Test
+    void createAllRejectsInvalidAndDuplicateOwnersAndCreatesTheRest() {
+        service.create(Owner.builder().firstName("A").lastName("B").telephone("111").build());
+        List<OwnerBatchResult> results = service.createAll(List.of(
+                Owner.builder().firstName("C").lastName("D").telephone("222").build(),
+                Owner.builder().firstName("").lastName("E").telephone("333").build(),
+                Owner.builder().firstName("F").lastName("G").telephone("222").build(),
+                Owner.builder().firstName("H").lastName("I").telephone("111").build(),
+                Owner.builder().firstName("J").lastName("K").build()));
+
+        assertTrue(results.get(0).isCreated());
+        assertNotNull(results.get(0).owner().getId());
+        assertEquals(OwnerBatchResult.Rejection.INVALID, results.get(1).rejection());
+        assertEquals("Telephone repeats item 0 of the batch", results.get(2).message());
+        assertEquals("Telephone already registered", results.get(3).message());
+        assertTrue(results.get(4).isCreated());
+        assertEquals(3, repo.db.size());
+    }
+
+    @Test
+    void createAllInsertsOneByOneWhenTheBatchInsertConflicts() {
+        // a telephone registered between the lookup and the insert
+        InMemoryRepo racing = new InMemoryRepo() {
+            @Override public List<Owner> saveAll(List<Owner> owners) { throw new OwnerValidationException("Telephone already registered"); }
+            @Override public Owner save(Owner owner) {
+                if ("999".equals(owner.getTelephone())) throw new OwnerValidationException("Telephone already registered");
+                return super.save(owner);
+            }
+        };
+        OwnerService batchService = new OwnerService(racing, Validation.buildDefaultValidatorFactory().getValidator());
+        List<OwnerBatchResult> results = batchService.createAll(List.of(
+                Owner.builder().firstName("A").lastName("B").telephone("999").build(),
+                Owner.builder().firstName("C").lastName("D").telephone("888").build()));
+
+        assertEquals(OwnerBatchResult.Rejection.DUPLICATE_TELEPHONE, results.get(0).rejection());
+        assertTrue(results.get(1).isCreated());
+        assertEquals(1, racing.db.size());
+    }
+
     // Simple in-memory implementation for tests
     static class InMemoryRepo implements OwnerRepository {
         private final Map<Long, Owner> db = new HashMap<>();
@@ -0,0 +1,44 @@
+package com.example.petclinic.functions.bulkimport;
+
+import com.amazonaws.services.lambda.runtime.events.APIGatewayV2HTTPEvent;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayV2HTTPResponse;
+import com.example.petclinic.domain.bulk.BulkImportService;
+import com.example.petclinic.domain.bulk.ImportRepository;
+import com.example.petclinic.domain.owner.OwnerRepository;
+import com.example.petclinic.domain.owner.OwnerService;
+import com.example.petclinic.domain.pet.PetService;
+import com.example.petclinic.domain.visit.VisitRepository;
+import com.example.petclinic.domain.visit.VisitService;
+import jakarta.validation.Validator;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.Bean;
+
+import java.util.function.Function;
+
+@SpringBootApplication(scanBasePackages = "com.example.petclinic")
+public class BulkImportConfig {
+
+    @Bean("bulkImport")
+    public Function<APIGatewayV2HTTPEvent, APIGatewayV2HTTPResponse> bulkImport(BulkImportFunction handler) {
+        return handler;
+    }
+
+    @Bean
+    OwnerService ownerService(OwnerRepository ownerRepository, Validator validator) {
+        return new OwnerService(ownerRepository, validator);
+    }
+
+    @Bean
+    VisitService visitService(VisitRepository visitRepository) {
+        return new VisitService(visitRepository);
+    }
+
+    /** {@code IMPORT_INSERT_ROWS} rows per INSERT statement (default 500). */
+    @Bean
+    BulkImportService bulkImportService(OwnerService ownerService, PetService petService, VisitService visitService,
+                                        ImportRepository importRepository) {
+        String rows = System.getenv("IMPORT_INSERT_ROWS");
+        return new BulkImportService(ownerService, petService, visitService, importRepository,
+                rows == null || rows.isBlank() ? 500 : Integer.parseInt(rows.trim()));
+    }
+}
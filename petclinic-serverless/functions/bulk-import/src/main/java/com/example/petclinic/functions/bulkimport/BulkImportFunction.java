@@ -0,0 +1,161 @@
+package com.example.petclinic.functions.bulkimport;
+
+import com.amazonaws.services.lambda.runtime.events.APIGatewayV2HTTPEvent;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayV2HTTPResponse;
+import com.example.petclinic.api.common.errors.ExceptionMapper;
+import com.example.petclinic.api.common.http.ApiResponses;
+import com.example.petclinic.api.common.invocation.InvocationScope;
+import com.example.petclinic.domain.bulk.BulkImportService;
+import com.example.petclinic.domain.bulk.ImportError;
+import com.example.petclinic.domain.bulk.ImportRow;
+import com.example.petclinic.domain.bulk.ImportSession;
+import com.example.petclinic.observability.deadline.RequestDeadline;
+import com.example.petclinic.observability.metrics.MetricsSupport;
+import com.example.petclinic.observability.timing.RequestTiming;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import software.amazon.lambda.powertools.logging.Logging;
+import software.amazon.lambda.powertools.metrics.model.MetricUnit;
+import software.amazon.lambda.powertools.tracing.Tracing;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipException;
+
+/**
+ * {@code POST /import?format=jsonl|csv}: owners, pets and visits in one upload, for onboarding a clinic without
+ * one create call per row. The body (gzip allowed, with {@code Content-Encoding: gzip}) is read record by record
+ * ({@link ImportReader}) and handed to {@link BulkImportService} {@code IMPORT_CHUNK_ROWS} records at a time
+ * (default 1000), which validates, looks up and inserts each chunk set-at-a-time.
+ * <p>
+ * The answer is 200 with a report whenever the upload could be read, however many rows were rejected: counts,
+ * and per rejected row its line, type, ref and reason (the first {@code IMPORT_MAX_ERRORS}, default 1000). Between
+ * chunks the import stops once the invocation is within {@code IMPORT_RESERVE_MS} (default 2000) of its deadline;
+ * {@code complete} is then false and {@code resumeFromLine} says where the rest of the upload starts.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BulkImportFunction implements Function<APIGatewayV2HTTPEvent, APIGatewayV2HTTPResponse> {
+
+    private static final int CHUNK_ROWS = (int) env("IMPORT_CHUNK_ROWS", 1000);
+    private static final int MAX_ERRORS = (int) env("IMPORT_MAX_ERRORS", 1000);
+    private static final long RESERVE_MILLIS = env("IMPORT_RESERVE_MS", 2000);
+
+    private final BulkImportService importService;
+
+    @Override
+    @Logging // no logEvent: the event body is the whole upload
+    @Tracing(namespace = "Petclinic")
+    public APIGatewayV2HTTPResponse apply(APIGatewayV2HTTPEvent event) {
+        try (InvocationScope scope = InvocationScope.open("Import", "POST_/import", "ImportLatencyMs", event)) {
+            if (!scope.admitted()) return scope.rejection();
+            try {
+                if (event == null || event.getBody() == null || event.getBody().isBlank()) {
+                    return ApiResponses.badRequest("BAD_REQUEST", "Empty body");
+                }
+                Map<String, String> q = event.getQueryStringParameters() != null ? event.getQueryStringParameters() : Map.of();
+                Optional<ImportFormat> format = ImportFormat.of(q.get("format"), header(event, "Content-Type"));
+                if (format.isEmpty()) return ApiResponses.badRequest("BAD_REQUEST", "format must be jsonl or csv");
+
+                long serviceStart = MetricsSupport.startTimer();
+                ImportSession session = new ImportSession(MAX_ERRORS);
+                ImportReader reader = new ImportReader(body(event), format.get(), session);
+                Long resumeFromLine = importAll(reader, session);
+                RequestTiming.record("service", serviceStart);
+                double millis = MetricsSupport.endTimer(serviceStart);
+                publishImport(session, millis);
+                log.info("[Import] {} owners, {} pets, {} visits imported, {} rows rejected in {} ms{}",
+                        session.ownersImported(), session.petsImported(), session.visitsImported(), session.rejected(),
+                        Math.round(millis), resumeFromLine == null ? "" : ", stopped before line " + resumeFromLine);
+                return ApiResponses.ok(ImportReport.from(session, resumeFromLine));
+            } catch (ImportFormatException e) {
+                return ApiResponses.badRequest("BAD_REQUEST", e.getMessage());
+            } catch (ZipException e) {
+                return ApiResponses.badRequest("BAD_REQUEST", "Body is not valid gzip");
+            } catch (Exception e) {
+                log.error("[Import] Internal error", e);
+                return ExceptionMapper.toHttpResponse(e);
+            }
+        }
+    }
+
+    /**
+     * Imports chunk after chunk until the upload ends or the deadline is near. Returns the line to resume from, or
+     * null when the whole upload was processed.
+     */
+    private Long importAll(ImportReader reader, ImportSession session) throws IOException {
+        List<ImportRow> chunk = new ArrayList<>(CHUNK_ROWS);
+        ImportRow row;
+        while ((row = reader.next()) != null) {
+            // checked as a chunk starts: everything before this row has been processed
+            if (chunk.isEmpty() && RequestDeadline.remainingMillis() <= RESERVE_MILLIS) return row.line();
+            chunk.add(row);
+            if (chunk.size() < CHUNK_ROWS) continue;
+            importService.importChunk(session, chunk);
+            chunk.clear();
+        }
+        if (!chunk.isEmpty()) importService.importChunk(session, chunk);
+        return null;
+    }
+
+    /** The body as text: base64-decoded and gunzipped when flagged, UTF-8. */
+    private static Reader body(APIGatewayV2HTTPEvent event) throws IOException {
+        if (!event.getIsBase64Encoded()) return new StringReader(event.getBody());
+        byte[] bytes;
+        try {
+            bytes = Base64.getDecoder().decode(event.getBody());
+        } catch (IllegalArgumentException e) {
+            throw new ImportFormatException("Body is not valid base64");
+        }
+        InputStream in = new ByteArrayInputStream(bytes);
+        if ("gzip".equalsIgnoreCase(header(event, "Content-Encoding"))) in = new GZIPInputStream(in, 8192);
+        return new InputStreamReader(in, StandardCharsets.UTF_8);
+    }
+
+    private static void publishImport(ImportSession session, double millis) {
+        MetricsSupport.publishAll("Import", "POST_/import", m -> {
+            m.addMetric("ImportRows", session.imported(), MetricUnit.COUNT);
+            m.addMetric("ImportRejectedRows", session.rejected(), MetricUnit.COUNT);
+            m.addMetric("ImportServiceLatencyMs", millis, MetricUnit.MILLISECONDS);
+            if (millis > 0) m.addMetric("ImportRowsPerSecond", session.imported() * 1000 / millis, MetricUnit.COUNT_SECOND);
+        });
+    }
+
+    private static String header(APIGatewayV2HTTPEvent event, String name) {
+        if (event.getHeaders() == null) return null;
+        for (Map.Entry<String, String> h : event.getHeaders().entrySet()) {
+            if (h.getKey().equalsIgnoreCase(name)) return h.getValue();
+        }
+        return null;
+    }
+
+    private static long env(String name, long def) {
+        String v = System.getenv(name);
+        return v == null || v.isBlank() ? def : Long.parseLong(v.trim());
+    }
+}
+
+/** Response body, errors in line order; {@code resumeFromLine} is null when the whole upload was processed. */
+record ImportReport(boolean complete, Long resumeFromLine, long imported, long rejected,
+                    long owners, long pets, long visits, List<ImportError> errors, boolean errorsTruncated) {
+    static ImportReport from(ImportSession s, Long resumeFromLine) {
+        return new ImportReport(resumeFromLine == null, resumeFromLine, s.imported(), s.rejected(),
+                s.ownersImported(), s.petsImported(), s.visitsImported(),
+                s.errors().stream().sorted(Comparator.comparingLong(ImportError::line)).toList(), s.errorsTruncated());
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.petclinic.functions.bulkimport;
+
+import java.util.Locale;
+import java.util.Optional;
+
+/** Upload formats of {@code POST /import}: one JSON object per line, or CSV with a header row. */
+enum ImportFormat {
+    JSONL,
+    CSV;
+
+    /**
+     * The {@code format} query parameter ({@code jsonl}, {@code ndjson} or {@code csv}) when given, else CSV for a
+     * {@code text/csv} body and JSONL for anything else. Empty for an unknown {@code format}.
+     */
+    static Optional<ImportFormat> of(String format, String contentType) {
+        if (format == null) {
+            boolean csv = contentType != null && contentType.toLowerCase(Locale.ROOT).startsWith("text/csv");
+            return Optional.of(csv ? CSV : JSONL);
+        }
+        return switch (format.toLowerCase(Locale.ROOT)) {
+            case "jsonl", "ndjson" -> Optional.of(JSONL);
+            case "csv" -> Optional.of(CSV);
+            default -> Optional.empty();
+        };
+    }
+}
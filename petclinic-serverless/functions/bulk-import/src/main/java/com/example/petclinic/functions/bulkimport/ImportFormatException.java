@@ -0,0 +1,9 @@
+package com.example.petclinic.functions.bulkimport;
+
+/** The upload as a whole cannot be read (bad CSV header, unterminated quote, bad encoding): answered with 400. */
+class ImportFormatException extends RuntimeException {
+
+    ImportFormatException(String message) {
+        super(message);
+    }
+}
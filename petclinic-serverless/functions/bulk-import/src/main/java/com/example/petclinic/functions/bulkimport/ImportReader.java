@@ -0,0 +1,147 @@
+package com.example.petclinic.functions.bulkimport;
+
+import com.example.petclinic.api.common.Json;
+import com.example.petclinic.domain.bulk.ImportRow;
+import com.example.petclinic.domain.bulk.ImportSession;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.exc.UnrecognizedPropertyException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads an upload record by record, so only the current record is ever held (the chunk being imported aside).
+ * JSONL records are single lines; CSV records follow RFC 4180 (quoted fields may hold commas, doubled quotes and
+ * line breaks) after a header row naming any of {@link ImportRecord#FIELDS}, in any order. Line numbers are those
+ * of the upload, 1-based, counting the CSV header.
+ * <p>
+ * A record that does not make a row (malformed JSON, unknown field, bad date or number, unknown type) is rejected
+ * into the {@link ImportSession} and skipped; only an unreadable upload as a whole (bad header, unterminated
+ * quote) throws {@link ImportFormatException}.
+ */
+final class ImportReader {
+
+    private static final ObjectReader JSON = Json.mapper().readerFor(ImportRecord.class)
+            .with(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+    private final BufferedReader in;
+    private final ImportFormat format;
+    private final ImportSession session;
+    private final StringBuilder field = new StringBuilder(64);
+    private final List<String> fields = new ArrayList<>();
+    private int[] columns;
+    private long line = 1;
+
+    ImportReader(Reader source, ImportFormat format, ImportSession session) throws IOException {
+        this.in = new BufferedReader(source, 64 * 1024);
+        this.format = format;
+        this.session = session;
+        // byte order mark some spreadsheet exports start with
+        in.mark(1);
+        if (in.read() != '\uFEFF') in.reset();
+        if (format == ImportFormat.CSV) readHeader();
+    }
+
+    /** The next row, or null at the end of the upload. */
+    ImportRow next() throws IOException {
+        while (true) {
+            long start = line;
+            ImportRecord record = null;
+            try {
+                if (format == ImportFormat.JSONL) {
+                    String text = in.readLine();
+                    if (text == null) return null;
+                    line++;
+                    if (text.isBlank()) continue;
+                    record = JSON.readValue(text);
+                } else {
+                    List<String> values = csvRecord();
+                    if (values == null) return null;
+                    if (values.size() == 1 && values.get(0) == null) continue;
+                    record = csvToRecord(values);
+                }
+                return record.toRow(start);
+            } catch (UnrecognizedPropertyException e) {
+                session.reject(start, null, null, "Unknown field '" + e.getPropertyName() + "'");
+            } catch (JsonProcessingException e) {
+                session.reject(start, null, null, "Malformed JSON: " + e.getOriginalMessage());
+            } catch (IllegalArgumentException e) {
+                session.reject(start, record == null ? null : record.type(), record == null ? null : record.ref(), e.getMessage());
+            }
+        }
+    }
+
+    private void readHeader() throws IOException {
+        List<String> names = csvRecord();
+        if (names == null) throw new ImportFormatException("Empty CSV upload: a header row is required");
+        columns = new int[names.size()];
+        boolean typed = false;
+        for (int i = 0; i < names.size(); i++) {
+            String name = names.get(i) == null ? "" : names.get(i).trim();
+            columns[i] = ImportRecord.FIELDS.indexOf(name);
+            if (columns[i] < 0) throw new ImportFormatException("Unknown CSV column '" + name + "'");
+            typed |= columns[i] == 0;
+        }
+        if (!typed) throw new ImportFormatException("CSV header must have a 'type' column");
+    }
+
+    private ImportRecord csvToRecord(List<String> values) {
+        if (values.size() != columns.length) {
+            throw new IllegalArgumentException("Expected " + columns.length + " CSV fields, found " + values.size());
+        }
+        String[] v = new String[ImportRecord.FIELDS.size()];
+        for (int i = 0; i < columns.length; i++) v[columns[i]] = values.get(i);
+        return ImportRecord.of(v);
+    }
+
+    /**
+     * The fields of the next CSV record (an empty, unquoted field is null), or null at the end of the upload.
+     * CRLF and LF both end a record.
+     */
+    private List<String> csvRecord() throws IOException {
+        int c = in.read();
+        if (c == -1) return null;
+        long start = line;
+        fields.clear();
+        field.setLength(0);
+        boolean quoted = false;
+        boolean wasQuoted = false;
+        while (true) {
+            if (quoted) {
+                if (c == -1) throw new ImportFormatException("Unterminated quoted field starting on line " + start);
+                if (c == '"') {
+                    c = in.read();
+                    if (c != '"') {
+                        quoted = false;
+                        continue;
+                    }
+                } else if (c == '\n') {
+                    line++;
+                }
+                field.append((char) c);
+            } else if (c == '"' && field.length() == 0 && !wasQuoted) {
+                quoted = wasQuoted = true;
+            } else if (c == ',') {
+                endField(wasQuoted);
+                wasQuoted = false;
+            } else if (c == '\n' || c == -1) {
+                if (c == '\n') line++;
+                endField(wasQuoted);
+                return fields;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+            c = in.read();
+        }
+    }
+
+    private void endField(boolean wasQuoted) {
+        fields.add(wasQuoted || field.length() > 0 ? field.toString() : null);
+        field.setLength(0);
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.petclinic.functions.bulkimport;
+
+import com.example.petclinic.domain.bulk.ImportRow;
+import com.example.petclinic.domain.owner.Owner;
+import com.example.petclinic.domain.pet.Pet;
+import com.example.petclinic.domain.pet.PetType;
+import com.example.petclinic.domain.visit.Visit;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+/**
+ * One import record as written: a JSONL object or a CSV row, every field as text. Which fields apply depends on
+ * {@code type}:
+ * <pre>
+ * owner  ref, firstName, lastName, address, city, telephone
+ * pet    ref, owner (an owner ref) or ownerId, name, birthDate, petType (type name or id)
+ * visit  ref, pet (a pet ref) or petId, visitDate, description
+ * </pre>
+ * The others are ignored. Dates are {@code yyyy-MM-dd}.
+ */
+record ImportRecord(String type, String ref,
+                    String firstName, String lastName, String address, String city, String telephone,
+                    String owner, String ownerId, String name, String birthDate, String petType,
+                    String pet, String petId, String visitDate, String description) {
+
+    /** Field names in component order: the accepted CSV columns. */
+    static final List<String> FIELDS = List.of("type", "ref",
+            "firstName", "lastName", "address", "city", "telephone",
+            "owner", "ownerId", "name", "birthDate", "petType",
+            "pet", "petId", "visitDate", "description");
+
+    ImportRecord {
+        // an empty ref column is no ref
+        ref = ref == null || ref.isBlank() ? null : ref;
+        owner = owner == null || owner.isBlank() ? null : owner;
+        pet = pet == null || pet.isBlank() ? null : pet;
+    }
+
+    static ImportRecord of(String[] v) {
+        return new ImportRecord(v[0], v[1], v[2], v[3], v[4], v[5], v[6], v[7], v[8], v[9], v[10], v[11],
+                v[12], v[13], v[14], v[15]);
+    }
+
+    /** The domain row, or {@link IllegalArgumentException} with the reason the record cannot be one. */
+    ImportRow toRow(long line) {
+        if (type == null || type.isBlank()) throw new IllegalArgumentException("Record type is required (owner, pet or visit)");
+        return switch (type) {
+            case "owner" -> new ImportRow.OwnerRow(line, ref, Owner.builder()
+                    .firstName(firstName)
+                    .lastName(lastName)
+                    .address(address)
+                    .city(city)
+                    .telephone(telephone)
+                    .build());
+            case "pet" -> new ImportRow.PetRow(line, ref, owner,
+                    new Pet(null, name, date("birthDate", birthDate), integer("ownerId", ownerId), petType(petType)));
+            case "visit" -> {
+                Integer id = integer("petId", petId);
+                yield new ImportRow.VisitRow(line, ref, pet,
+                        new Visit(null, id == null ? null : id.longValue(), date("visitDate", visitDate), description));
+            }
+            default -> throw new IllegalArgumentException("Unknown record type '" + type + "' (owner, pet or visit)");
+        };
+    }
+
+    private static PetType petType(String value) {
+        if (value == null || value.isBlank()) return null;
+        return isDigits(value) ? new PetType(Integer.valueOf(value), null) : new PetType(null, value);
+    }
+
+    private static LocalDate date(String field, String value) {
+        if (value == null || value.isBlank()) return null;
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid " + field + " '" + value + "' (expected yyyy-MM-dd)");
+        }
+    }
+
+    private static Integer integer(String field, String value) {
+        if (value == null || value.isBlank()) return null;
+        try {
+            return Integer.valueOf(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + field + " '" + value + "'");
+        }
+    }
+
+    private static boolean isDigits(String s) {
+        for (int i = 0; i < s.length(); i++) {
+            if (s.charAt(i) < '0' || s.charAt(i) > '9') return false;
+        }
+        return s.length() <= 9;
+    }
+}
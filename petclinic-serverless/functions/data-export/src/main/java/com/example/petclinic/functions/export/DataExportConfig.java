@@ -0,0 +1,17 @@
+package com.example.petclinic.functions.export;
+
+import com.amazonaws.services.lambda.runtime.events.APIGatewayV2HTTPEvent;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayV2HTTPResponse;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.Bean;
+
+import java.util.function.Function;
+
+@SpringBootApplication(scanBasePackages = "com.example.petclinic")
+public class DataExportConfig {
+
+    @Bean("dataExport")
+    public Function<APIGatewayV2HTTPEvent, APIGatewayV2HTTPResponse> dataExport(ExportFunction handler) {
+        return handler;
+    }
+}
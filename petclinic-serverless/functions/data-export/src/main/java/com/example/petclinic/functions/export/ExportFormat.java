@@ -0,0 +1,29 @@
+package com.example.petclinic.functions.export;
+
+import java.util.Locale;
+import java.util.Optional;
+
+/** Output formats of {@code GET /export}: one line per row, plus a trailer line (see {@link ExportWriter}). */
+enum ExportFormat {
+    NDJSON("application/x-ndjson"),
+    CSV("text/csv; charset=utf-8");
+
+    private final String contentType;
+
+    ExportFormat(String contentType) {
+        this.contentType = contentType;
+    }
+
+    String contentType() {
+        return contentType;
+    }
+
+    static Optional<ExportFormat> of(String name) {
+        if (name == null) return Optional.of(NDJSON);
+        try {
+            return Optional.of(valueOf(name.toUpperCase(Locale.ROOT)));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+}
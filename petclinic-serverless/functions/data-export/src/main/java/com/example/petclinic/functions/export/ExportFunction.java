@@ -0,0 +1,181 @@
+package com.example.petclinic.functions.export;
+
+import com.amazonaws.services.lambda.runtime.events.APIGatewayV2HTTPEvent;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayV2HTTPResponse;
+import com.example.petclinic.api.common.errors.ExceptionMapper;
+import com.example.petclinic.api.common.http.ApiResponses;
+import com.example.petclinic.api.common.invocation.InvocationScope;
+import com.example.petclinic.api.common.streaming.ResponseStream;
+import com.example.petclinic.api.common.streaming.ResponseStreaming;
+import com.example.petclinic.api.common.streaming.StreamAbortedException;
+import com.example.petclinic.api.common.streaming.StreamingHandler;
+import com.example.petclinic.domain.export.ExportDataset;
+import com.example.petclinic.domain.export.ExportRepository;
+import com.example.petclinic.observability.metrics.MetricsSupport;
+import com.example.petclinic.observability.timing.RequestTiming;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import software.amazon.lambda.powertools.logging.Logging;
+import software.amazon.lambda.powertools.metrics.model.MetricUnit;
+import software.amazon.lambda.powertools.tracing.Tracing;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * {@code GET /export?dataset=owners|pets|visits&format=ndjson|csv&cursor=<id>}: the whole table in id order, for
+ * extracts that would otherwise page through the list endpoints 20 rows at a time.
+ * <p>
+ * Rows go from a streaming-fetch result set ({@link ExportRepository}, {@code EXPORT_CHUNK_ROWS} per query) through
+ * {@link ExportWriter} to the client, gzip-compressed when {@code Accept-Encoding} allows. Streamed responses
+ * ({@link ResponseStreaming}) stop at {@code EXPORT_MAX_BYTES_STREAMED} (default 16 MB), buffered ones at
+ * {@code EXPORT_MAX_BYTES_BUFFERED} (default 4 MB, under the 6 MB payload limit once base64-encoded), and both when
+ * the invocation is within {@code EXPORT_RESERVE_MS} (default 2000) of its deadline. The trailer line then carries
+ * the cursor for the next call (buffered responses also send it as {@code X-Export-Next-Cursor}).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ExportFunction implements Function<APIGatewayV2HTTPEvent, APIGatewayV2HTTPResponse>, StreamingHandler {
+
+    private static final int FLUSH_ROWS = 256;
+    private static final int CHUNK_ROWS = (int) env("EXPORT_CHUNK_ROWS", 10_000);
+    private static final long MAX_BYTES_STREAMED = env("EXPORT_MAX_BYTES_STREAMED", 16L * 1024 * 1024);
+    private static final long MAX_BYTES_BUFFERED = env("EXPORT_MAX_BYTES_BUFFERED", 4L * 1024 * 1024);
+    private static final long RESERVE_MILLIS = env("EXPORT_RESERVE_MS", 2000);
+
+    private final ExportRepository repository;
+
+    @PostConstruct
+    void registerStreaming() {
+        ResponseStreaming.register("GET /export", this);
+    }
+
+    @Override
+    @Logging(logEvent = true)
+    @Tracing(namespace = "Petclinic")
+    public APIGatewayV2HTTPResponse apply(APIGatewayV2HTTPEvent event) {
+        return handle(event, null);
+    }
+
+    /** Same request handling as {@link #apply}; rows go out as they are read, anything else in one piece. */
+    @Override
+    @Logging(logEvent = true)
+    @Tracing(namespace = "Petclinic")
+    public void stream(APIGatewayV2HTTPEvent event, ResponseStream response) throws IOException {
+        APIGatewayV2HTTPResponse complete = handle(event, response);
+        if (complete != null) response.send(complete);
+    }
+
+    /** Returns the response, or null when it was streamed into {@code stream}. */
+    private APIGatewayV2HTTPResponse handle(APIGatewayV2HTTPEvent event, ResponseStream stream) {
+        try (InvocationScope scope = InvocationScope.open("Export", "GET_/export", "ExportLatencyMs", event)) {
+            if (!scope.admitted()) return scope.rejection();
+            try {
+                Map<String, String> q = event != null && event.getQueryStringParameters() != null
+                        ? event.getQueryStringParameters() : Map.of();
+                Optional<ExportDataset> dataset = ExportDataset.of(q.get("dataset"));
+                if (dataset.isEmpty()) return ApiResponses.badRequest("BAD_REQUEST", "dataset must be owners, pets or visits");
+                Optional<ExportFormat> format = ExportFormat.of(q.get("format"));
+                if (format.isEmpty()) return ApiResponses.badRequest("BAD_REQUEST", "format must be ndjson or csv");
+                long cursor = parseCursor(q.get("cursor"));
+                if (cursor < 0) return ApiResponses.badRequest("BAD_REQUEST", "Invalid cursor");
+                boolean gzip = acceptsGzip(event);
+                Map<String, String> headers = new HashMap<>();
+                headers.put("Content-Type", format.get().contentType());
+                if (gzip) headers.put("Content-Encoding", "gzip");
+
+                long serviceStart = MetricsSupport.startTimer();
+                ExportWriter writer;
+                Long nextCursor;
+                APIGatewayV2HTTPResponse response = null;
+                if (stream != null) {
+                    writer = new ExportWriter(stream.startBody(200, headers), format.get(), dataset.get(), gzip,
+                            MAX_BYTES_STREAMED, RESERVE_MILLIS, FLUSH_ROWS);
+                    nextCursor = export(dataset.get(), cursor, CHUNK_ROWS, writer);
+                    stream.finish();
+                } else {
+                    ByteArrayOutputStream body = new ByteArrayOutputStream(64 * 1024);
+                    writer = new ExportWriter(body, format.get(), dataset.get(), gzip,
+                            MAX_BYTES_BUFFERED, RESERVE_MILLIS, 0);
+                    nextCursor = export(dataset.get(), cursor, CHUNK_ROWS, writer);
+                    if (nextCursor != null) headers.put("X-Export-Next-Cursor", nextCursor.toString());
+                    response = ApiResponses.okBytes(body.toByteArray(), headers);
+                }
+                RequestTiming.record("service", serviceStart);
+                publishExport(writer, nextCursor, serviceStart);
+                log.info("[Export] {} {} rows after cursor {} ({} bytes{}), next cursor {}", writer.rows(),
+                        dataset.get().table(), cursor, writer.bytesSent(), gzip ? " gzip" : "", nextCursor);
+                return response;
+            } catch (Exception e) {
+                log.error("[Export] Internal error", e);
+                if (stream != null && stream.started()) throw new StreamAbortedException(e);
+                return ExceptionMapper.toHttpResponse(e);
+            }
+        }
+    }
+
+    /**
+     * Reads chunk after chunk ({@code chunkRows} per query) until the table ends or the writer stops. Returns the
+     * cursor to resume from, or null when the export is complete.
+     */
+    Long export(ExportDataset dataset, long cursor, int chunkRows, ExportWriter writer) throws IOException {
+        long after = cursor;
+        Long nextCursor;
+        while (true) {
+            int rows = repository.export(dataset, after, chunkRows, writer);
+            if (writer.lastId() >= 0) after = writer.lastId();
+            if (writer.stopped()) {
+                nextCursor = after;
+                break;
+            }
+            if (rows < chunkRows) {
+                nextCursor = null;
+                break;
+            }
+        }
+        writer.finish(nextCursor);
+        return nextCursor;
+    }
+
+    private static void publishExport(ExportWriter writer, Long nextCursor, long serviceStart) {
+        double millis = MetricsSupport.endTimer(serviceStart);
+        MetricsSupport.publishAll("Export", "GET_/export", m -> {
+            m.addMetric("ExportRows", writer.rows(), MetricUnit.COUNT);
+            m.addMetric("ExportBytes", writer.bytesSent(), MetricUnit.BYTES);
+            m.addMetric("ExportServiceLatencyMs", millis, MetricUnit.MILLISECONDS);
+            if (nextCursor != null) m.addMetric("ExportResumeCount", 1, MetricUnit.COUNT);
+        });
+    }
+
+    /** The {@code cursor} parameter, 0 when absent and -1 when it is not a number. */
+    private static long parseCursor(String value) {
+        if (value == null) return 0;
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static boolean acceptsGzip(APIGatewayV2HTTPEvent event) {
+        if (event == null || event.getHeaders() == null) return false;
+        for (Map.Entry<String, String> h : event.getHeaders().entrySet()) {
+            if (h.getKey().equalsIgnoreCase("Accept-Encoding") && h.getValue() != null
+                    && h.getValue().toLowerCase(Locale.ROOT).contains("gzip")) return true;
+        }
+        return false;
+    }
+
+    private static long env(String name, long def) {
+        String v = System.getenv(name);
+        return v == null || v.isBlank() ? def : Long.parseLong(v.trim());
+    }
+}
@@ -0,0 +1,189 @@
+package com.example.petclinic.functions.export;
+
+import com.example.petclinic.api.common.Json;
+import com.example.petclinic.domain.export.ExportDataset;
+import com.example.petclinic.domain.export.ExportRowHandler;
+import com.example.petclinic.observability.deadline.RequestDeadline;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+
+import java.io.BufferedWriter;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes exported rows as they arrive, one line each, gzip-compressed on the fly when the client accepts it. Memory
+ * stays at the encoder and compressor buffers (a few KB) whatever the export size.
+ * <p>
+ * The writer refuses the next row, ending the export, once {@code maxBytes} have gone out (counted after
+ * compression) or the request deadline is within {@code reserveMillis}. Either way the body ends with a trailer
+ * line carrying the keyset cursor to resume from:
+ * <pre>
+ * {"_export":{"rows":10000,"nextCursor":10042}}      ndjson; "nextCursor":null when the table is done
+ * #export rows=10000 next_cursor=10042               csv; "#export rows=... complete" when the table is done
+ * </pre>
+ * A body without a trailer was cut short: resume from the last id received.
+ */
+final class ExportWriter implements ExportRowHandler {
+
+    private final CountingStream sent;
+    private final OutputStream encoded;
+    private final JsonGenerator json;
+    private final Writer csv;
+    private final SerializableString[] names;
+    private final long maxBytes;
+    private final long reserveMillis;
+    private final int flushEvery;
+    private long rows;
+    private long lastId = -1;
+    private boolean stopped;
+
+    /**
+     * @param flushEvery rows between flushes to {@code target} (the first row is always flushed), 0 to only flush
+     *                   at the end
+     */
+    ExportWriter(OutputStream target, ExportFormat format, ExportDataset dataset, boolean gzip,
+                 long maxBytes, long reserveMillis, int flushEvery) throws IOException {
+        this.sent = new CountingStream(target);
+        this.encoded = gzip ? new GZIPOutputStream(sent, 8192, true) : sent;
+        this.maxBytes = maxBytes;
+        this.reserveMillis = reserveMillis;
+        this.flushEvery = flushEvery;
+        this.names = new SerializableString[dataset.columns().size()];
+        for (int i = 0; i < names.length; i++) names[i] = new SerializedString(dataset.columns().get(i));
+        if (format == ExportFormat.NDJSON) {
+            this.json = Json.mapper().getFactory().createGenerator(encoded, JsonEncoding.UTF8)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // lines are ended explicitly; the default separator would indent every line after the first
+            json.setRootValueSeparator(null);
+            this.csv = null;
+        } else {
+            this.json = null;
+            this.csv = new BufferedWriter(new OutputStreamWriter(encoded, StandardCharsets.UTF_8), 8192);
+            for (int i = 0; i < names.length; i++) {
+                if (i > 0) csv.write(',');
+                csv.write(names[i].getValue());
+            }
+            csv.write("\r\n");
+        }
+    }
+
+    @Override
+    public boolean row(Object[] values) {
+        if (sent.count >= maxBytes || RequestDeadline.remainingMillis() <= reserveMillis) {
+            stopped = true;
+            return false;
+        }
+        try {
+            if (json != null) writeJson(values);
+            else writeCsv(values);
+            rows++;
+            lastId = ((Number) values[0]).longValue();
+            if (flushEvery > 0 && (rows == 1 || rows % flushEvery == 0)) flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return true;
+    }
+
+    /** True once a row was refused for size or time: the export is incomplete. */
+    boolean stopped() {
+        return stopped;
+    }
+
+    long rows() {
+        return rows;
+    }
+
+    /** Id of the last row written, -1 before the first. */
+    long lastId() {
+        return lastId;
+    }
+
+    /** Bytes that have left the writer so far (compressed size when gzip). */
+    long bytesSent() {
+        return sent.count;
+    }
+
+    /** Writes the trailer ({@code nextCursor} null when the dataset is complete) and ends the body. */
+    void finish(Long nextCursor) throws IOException {
+        if (json != null) {
+            json.writeStartObject();
+            json.writeObjectFieldStart("_export");
+            json.writeNumberField("rows", rows);
+            json.writeFieldName("nextCursor");
+            if (nextCursor == null) json.writeNull();
+            else json.writeNumber(nextCursor);
+            json.writeEndObject();
+            json.writeEndObject();
+            json.writeRaw('\n');
+            json.close();
+        } else {
+            csv.write("#export rows=" + rows + (nextCursor == null ? " complete" : " next_cursor=" + nextCursor) + "\r\n");
+            csv.flush();
+        }
+        // finishes the gzip member and closes down to the target
+        encoded.close();
+    }
+
+    private void flush() throws IOException {
+        if (json != null) json.flush();
+        else csv.flush();
+    }
+
+    private void writeJson(Object[] values) throws IOException {
+        json.writeStartObject();
+        for (int i = 0; i < values.length; i++) {
+            json.writeFieldName(names[i]);
+            Object v = values[i];
+            if (v == null) json.writeNull();
+            else if (v instanceof Integer || v instanceof Long) json.writeNumber(((Number) v).longValue());
+            else if (v instanceof Number) json.writeNumber(v.toString());
+            else json.writeString(v.toString());
+        }
+        json.writeEndObject();
+        json.writeRaw('\n');
+    }
+
+    private void writeCsv(Object[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) csv.write(',');
+            Object v = values[i];
+            if (v != null) writeCsvField(v.toString());
+        }
+        csv.write("\r\n");
+    }
+
+    /** RFC 4180: quoted when it holds a comma, quote or line break, quotes doubled. */
+    private void writeCsvField(String s) throws IOException {
+        boolean quote = false;
+        for (int i = 0; i < s.length() && !quote; i++) {
+            char c = s.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            csv.write(s);
+            return;
+        }
+        csv.write('"');
+        csv.write(s.replace("\"", "\"\""));
+        csv.write('"');
+    }
+
+    private static final class CountingStream extends FilterOutputStream {
+        long count;
+
+        CountingStream(OutputStream out) { super(out); }
+
+        @Override public void write(int b) throws IOException { out.write(b); count++; }
+        @Override public void write(byte[] b, int off, int len) throws IOException { out.write(b, off, len); count += len; }
+    }
+}
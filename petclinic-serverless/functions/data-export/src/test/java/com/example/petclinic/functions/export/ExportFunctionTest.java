@@ -0,0 +1,94 @@
+package com.example.petclinic.functions.export;
+
+import com.example.petclinic.domain.export.ExportDataset;
+import com.example.petclinic.domain.export.ExportRepository;
+import com.example.petclinic.domain.export.ExportRowHandler;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** The chunk loop of {@link ExportFunction}, against an in-memory table. */
+class ExportFunctionTest {
+
+    @Test
+    void readsChunksUntilTheTableEnds() throws IOException {
+        InMemoryRepo repo = new InMemoryRepo(5);
+        ExportWriter writer = writer(new ByteArrayOutputStream(), Long.MAX_VALUE);
+
+        assertNull(new ExportFunction(repo).export(ExportDataset.VISITS, 0, 2, writer));
+        assertEquals(5, writer.rows());
+        assertEquals(List.of(0L, 2L, 4L), repo.afterIds);
+    }
+
+    @Test
+    void anEmptyLastChunkEndsTheExport() throws IOException {
+        InMemoryRepo repo = new InMemoryRepo(4);
+        ExportWriter writer = writer(new ByteArrayOutputStream(), Long.MAX_VALUE);
+
+        assertNull(new ExportFunction(repo).export(ExportDataset.VISITS, 0, 2, writer));
+        assertEquals(4, writer.rows());
+        assertEquals(List.of(0L, 2L, 4L), repo.afterIds);
+    }
+
+    @Test
+    void startsAfterTheCursor() throws IOException {
+        InMemoryRepo repo = new InMemoryRepo(5);
+        ExportWriter writer = writer(new ByteArrayOutputStream(), Long.MAX_VALUE);
+
+        assertNull(new ExportFunction(repo).export(ExportDataset.VISITS, 3, 10, writer));
+        assertEquals(2, writer.rows());
+        assertEquals(List.of(3L), repo.afterIds);
+    }
+
+    @Test
+    void stoppedWriterReturnsTheLastIdWrittenAndResumingCompletesTheTable() throws IOException {
+        InMemoryRepo repo = new InMemoryRepo(50);
+        ByteArrayOutputStream first = new ByteArrayOutputStream();
+        ExportWriter writer = writer(first, 200);
+
+        Long next = new ExportFunction(repo).export(ExportDataset.VISITS, 0, 8, writer);
+        assertNotNull(next);
+        assertEquals(writer.lastId(), next.longValue());
+        assertTrue(first.toString(StandardCharsets.UTF_8).endsWith("\"nextCursor\":" + next + "}}\n"));
+
+        ExportWriter rest = writer(new ByteArrayOutputStream(), Long.MAX_VALUE);
+        assertNull(new ExportFunction(repo).export(ExportDataset.VISITS, next, 8, rest));
+        assertEquals(50, writer.rows() + rest.rows());
+    }
+
+    private static ExportWriter writer(ByteArrayOutputStream out, long maxBytes) throws IOException {
+        return new ExportWriter(out, ExportFormat.NDJSON, ExportDataset.VISITS, false, maxBytes, 0, 1);
+    }
+
+    /** Visits with ids 1..size; records the cursor of every query. */
+    static class InMemoryRepo implements ExportRepository {
+        final int size;
+        final List<Long> afterIds = new ArrayList<>();
+
+        InMemoryRepo(int size) {
+            this.size = size;
+        }
+
+        @Override
+        public int export(ExportDataset dataset, long afterId, int maxRows, ExportRowHandler handler) {
+            afterIds.add(afterId);
+            Object[] values = new Object[4];
+            int accepted = 0;
+            for (long id = afterId + 1; id <= size && accepted < maxRows; id++) {
+                values[0] = id;
+                values[1] = 1L;
+                values[2] = "2024-01-01";
+                values[3] = "visit " + id;
+                if (!handler.row(values)) break;
+                accepted++;
+            }
+            return accepted;
+        }
+    }
+}
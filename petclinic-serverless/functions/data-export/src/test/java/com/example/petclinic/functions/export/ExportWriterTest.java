@@ -0,0 +1,98 @@
+package com.example.petclinic.functions.export;
+
+import com.example.petclinic.domain.export.ExportDataset;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExportWriterTest {
+
+    @Test
+    void ndjsonWritesOneObjectPerRowAndTheTrailer() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ExportWriter writer = new ExportWriter(out, ExportFormat.NDJSON, ExportDataset.PETS, false, Long.MAX_VALUE, 0, 0);
+        assertTrue(writer.row(new Object[]{1L, "Leo", "2020-01-02", 1, 7L}));
+        assertTrue(writer.row(new Object[]{2L, "Max \"the dog\"", null, 2, 7L}));
+        writer.finish(null);
+
+        assertEquals("""
+                {"id":1,"name":"Leo","birth_date":"2020-01-02","type_id":1,"owner_id":7}
+                {"id":2,"name":"Max \\"the dog\\"","birth_date":null,"type_id":2,"owner_id":7}
+                {"_export":{"rows":2,"nextCursor":null}}
+                """, out.toString(StandardCharsets.UTF_8));
+        assertEquals(2, writer.rows());
+        assertEquals(2, writer.lastId());
+    }
+
+    @Test
+    void ndjsonTrailerCarriesTheCursorToResumeFrom() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ExportWriter writer = new ExportWriter(out, ExportFormat.NDJSON, ExportDataset.VISITS, false, Long.MAX_VALUE, 0, 0);
+        writer.row(new Object[]{42L, 3L, "2024-05-06", "checkup"});
+        writer.finish(42L);
+
+        assertTrue(out.toString(StandardCharsets.UTF_8).endsWith("{\"_export\":{\"rows\":1,\"nextCursor\":42}}\n"));
+    }
+
+    @Test
+    void csvQuotesFieldsAsRfc4180() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ExportWriter writer = new ExportWriter(out, ExportFormat.CSV, ExportDataset.OWNERS, false, Long.MAX_VALUE, 0, 0);
+        writer.row(new Object[]{1L, "George", "Franklin", "110 W. Liberty St.", "Madison", "6085551023"});
+        writer.row(new Object[]{2L, "Betty, Jr.", "Da \"Vis\"", "line1\nline2", null, "cr\rhere"});
+        writer.finish(null);
+
+        assertEquals("id,first_name,last_name,address,city,telephone\r\n"
+                + "1,George,Franklin,110 W. Liberty St.,Madison,6085551023\r\n"
+                + "2,\"Betty, Jr.\",\"Da \"\"Vis\"\"\",\"line1\nline2\",,\"cr\rhere\"\r\n"
+                + "#export rows=2 complete\r\n", out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void csvTrailerCarriesTheCursorToResumeFrom() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ExportWriter writer = new ExportWriter(out, ExportFormat.CSV, ExportDataset.VISITS, false, Long.MAX_VALUE, 0, 0);
+        writer.row(new Object[]{9L, 3L, "2024-05-06", "checkup"});
+        writer.finish(9L);
+
+        assertTrue(out.toString(StandardCharsets.UTF_8).endsWith("\r\n#export rows=1 next_cursor=9\r\n"));
+    }
+
+    @Test
+    void refusesRowsOnceMaxBytesHaveGoneOut() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ExportWriter writer = new ExportWriter(out, ExportFormat.NDJSON, ExportDataset.VISITS, false, 100, 0, 1);
+        int accepted = 0;
+        for (long id = 1; id <= 10; id++) {
+            if (!writer.row(new Object[]{id, 3L, "2024-05-06", "a visit description"})) break;
+            accepted++;
+        }
+
+        assertTrue(writer.stopped());
+        assertTrue(accepted > 0 && accepted < 10);
+        assertEquals(accepted, writer.rows());
+        assertEquals(accepted, writer.lastId());
+        assertTrue(writer.bytesSent() >= 100);
+        assertFalse(writer.row(new Object[]{11L, 3L, "2024-05-06", "x"}));
+    }
+
+    @Test
+    void gzipBodyDecompressesToTheSameLines() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ExportWriter writer = new ExportWriter(out, ExportFormat.CSV, ExportDataset.VISITS, true, Long.MAX_VALUE, 0, 0);
+        writer.row(new Object[]{1L, 3L, "2024-05-06", "checkup"});
+        writer.finish(null);
+
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            assertEquals("id,pet_id,visit_date,description\r\n1,3,2024-05-06,checkup\r\n#export rows=1 complete\r\n",
+                    new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+        assertEquals(out.size(), writer.bytesSent());
+    }
+}
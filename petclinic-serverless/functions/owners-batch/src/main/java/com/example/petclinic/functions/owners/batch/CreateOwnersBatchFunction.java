@@ -0,0 +1,141 @@
+package com.example.petclinic.functions.owners.batch;
+
+import com.amazonaws.services.lambda.runtime.events.APIGatewayV2HTTPEvent;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayV2HTTPResponse;
+import com.example.petclinic.api.common.Json;
+import com.example.petclinic.api.common.errors.ExceptionMapper;
+import com.example.petclinic.api.common.http.ApiResponses;
+import com.example.petclinic.api.common.invocation.InvocationScope;
+import com.example.petclinic.domain.owner.Owner;
+import com.example.petclinic.domain.owner.OwnerBatchResult;
+import com.example.petclinic.domain.owner.OwnerService;
+import com.example.petclinic.observability.metrics.MetricsSupport;
+import com.example.petclinic.observability.timing.RequestTiming;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import software.amazon.lambda.powertools.logging.Logging;
+import software.amazon.lambda.powertools.metrics.model.MetricUnit;
+import software.amazon.lambda.powertools.tracing.Tracing;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * {@code POST /owners:batch}: creates up to {@code OWNERS_BATCH_MAX} owners (default 100) in one call, for
+ * integrations that would otherwise call {@code POST /owners} once per owner. Items are validated in one pass,
+ * telephones are checked with one query and the owners are inserted with one statement
+ * ({@link OwnerService#createAll}).
+ * <p>
+ * Items succeed or fail on their own: 201 when every owner was created, otherwise 207 with the status of each item,
+ * in request order (201 with the owner, 400 for a field rule, 409 for a duplicate telephone). A malformed body, an
+ * empty list or one over the limit is a plain 400 and creates nothing.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CreateOwnersBatchFunction implements Function<APIGatewayV2HTTPEvent, APIGatewayV2HTTPResponse> {
+
+    private static final int MAX_OWNERS = maxOwners();
+
+    private final OwnerService ownerService;
+
+    @Override
+    @Logging(logEvent = true)
+    @Tracing(namespace = "Petclinic")
+    public APIGatewayV2HTTPResponse apply(APIGatewayV2HTTPEvent event) {
+        try (InvocationScope scope = InvocationScope.open("Owners", "POST_/owners:batch", "OwnersBatchLatencyMs", event)) {
+            if (!scope.admitted()) return scope.rejection();
+            try {
+                if (event == null || event.getBody() == null || event.getBody().isBlank()) {
+                    return ApiResponses.badRequest("BAD_REQUEST", "Empty body");
+                }
+                long parseStart = MetricsSupport.startTimer();
+                CreateOwnersBatchRequest request = Json.mapper().readValue(event.getBody(), CreateOwnersBatchRequest.class);
+                long callStart = RequestTiming.record("parse", parseStart);
+                if (request.owners() == null || request.owners().isEmpty()) {
+                    return ApiResponses.badRequest("BAD_REQUEST", "owners must hold at least one owner");
+                }
+                if (request.owners().size() > MAX_OWNERS) {
+                    return ApiResponses.badRequest("BAD_REQUEST", "At most " + MAX_OWNERS + " owners per batch");
+                }
+                List<Owner> owners = new ArrayList<>(request.owners().size());
+                for (OwnerItem item : request.owners()) owners.add(item == null ? Owner.builder().build() : item.toOwner());
+                List<OwnerBatchResult> results = ownerService.createAll(owners);
+                RequestTiming.record("service", callStart);
+                double millis = MetricsSupport.endTimer(callStart);
+
+                BatchResponse response = BatchResponse.from(results);
+                publishBatch(response, millis);
+                log.info("[OwnersBatch] {} owners created, {} rejected in {} ms", response.created(), response.rejected(), Math.round(millis));
+                return response.rejected() == 0 ? ApiResponses.created(response) : ApiResponses.multiStatus(response);
+            } catch (JsonProcessingException e) {
+                return ApiResponses.badRequest("BAD_REQUEST", "Malformed JSON body");
+            } catch (Exception e) {
+                log.error("[OwnersBatch] Internal error", e);
+                return ExceptionMapper.toHttpResponse(e);
+            }
+        }
+    }
+
+    private static void publishBatch(BatchResponse response, double millis) {
+        MetricsSupport.publishAll("Owners", "POST_/owners:batch", m -> {
+            m.addMetric("OwnersCreatedCount", response.created(), MetricUnit.COUNT);
+            m.addMetric("OwnersBatchRejectedCount", response.rejected(), MetricUnit.COUNT);
+            m.addMetric("OwnersBatchSize", response.created() + response.rejected(), MetricUnit.COUNT);
+            m.addMetric("OwnersServiceCreateBatchLatencyMs", millis, MetricUnit.MILLISECONDS);
+        });
+    }
+
+    private static int maxOwners() {
+        String v = System.getenv("OWNERS_BATCH_MAX");
+        return v == null || v.isBlank() ? 100 : Integer.parseInt(v.trim());
+    }
+}
+
+record CreateOwnersBatchRequest(List<OwnerItem> owners) {}
+
+record OwnerItem(String firstName, String lastName, String address, String city, String telephone) {
+    Owner toOwner() {
+        return Owner.builder()
+                .firstName(firstName)
+                .lastName(lastName)
+                .address(address)
+                .city(city)
+                .telephone(telephone)
+                .build();
+    }
+}
+
+record OwnerDto(Long id, String firstName, String lastName, String address, String city, String telephone) {
+    static OwnerDto from(Owner o) {
+        return new OwnerDto(o.getId(), o.getFirstName(), o.getLastName(), o.getAddress(), o.getCity(), o.getTelephone());
+    }
+}
+
+/** One item of the response: {@code owner} when created, {@code code} and {@code message} otherwise. */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+record ItemResult(int index, int status, OwnerDto owner, String code, String message) {
+    static ItemResult from(int index, OwnerBatchResult r) {
+        if (r.isCreated()) return new ItemResult(index, 201, OwnerDto.from(r.owner()), null, null);
+        return switch (r.rejection()) {
+            case INVALID -> new ItemResult(index, 400, null, "BAD_REQUEST", r.message());
+            case DUPLICATE_TELEPHONE -> new ItemResult(index, 409, null, "DUPLICATE_TELEPHONE", r.message());
+        };
+    }
+}
+
+record BatchResponse(int created, int rejected, List<ItemResult> results) {
+    static BatchResponse from(List<OwnerBatchResult> results) {
+        List<ItemResult> items = new ArrayList<>(results.size());
+        int created = 0;
+        for (int i = 0; i < results.size(); i++) {
+            if (results.get(i).isCreated()) created++;
+            items.add(ItemResult.from(i, results.get(i)));
+        }
+        return new BatchResponse(created, results.size() - created, items);
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.petclinic.functions.owners.batch;
+
+import com.amazonaws.services.lambda.runtime.events.APIGatewayV2HTTPEvent;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayV2HTTPResponse;
+import com.example.petclinic.domain.owner.OwnerRepository;
+import com.example.petclinic.domain.owner.OwnerService;
+import jakarta.validation.Validator;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.Bean;
+
+import java.util.function.Function;
+
+/**
+ * Configuration class exposing the ownersBatch function bean so that
+ * Spring Cloud Function's FunctionInvoker can locate it using the
+ * SPRING_CLOUD_FUNCTION_DEFINITION environment variable.
+ */
+@SpringBootApplication(scanBasePackages = "com.example.petclinic")
+public class OwnersBatchConfig {
+
+    @Bean("ownersBatch")
+    public Function<APIGatewayV2HTTPEvent, APIGatewayV2HTTPResponse> ownersBatch(CreateOwnersBatchFunction handler) {
+        return handler;
+    }
+
+    @Bean
+    OwnerService ownerService(OwnerRepository ownerRepository, Validator validator) {
+        return new OwnerService(ownerRepository, validator);
+    }
+}
@@ -6,7 +6,10 @@ import com.example.petclinic.domain.owner.Owner;
 import com.example.petclinic.domain.owner.OwnerService;
 import com.example.petclinic.domain.owner.OwnerValidationException;
 import com.example.petclinic.api.common.http.ApiResponses;
-import com.example.petclinic.api.common.metrics.MetricsSupport;
+import com.example.petclinic.api.common.errors.ExceptionMapper;
+import com.example.petclinic.api.common.invocation.InvocationScope;
+import com.example.petclinic.observability.metrics.MetricsSupport;
+import com.example.petclinic.observability.timing.RequestTiming;
 import com.example.petclinic.api.common.validation.ValidationSupport;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
@@ -38,15 +41,18 @@ public class CreateOwnerFunction implements Function<APIGatewayV2HTTPEvent, APIG
     @Logging(logEvent = true) 
     @Tracing(namespace = "Petclinic")
     public APIGatewayV2HTTPResponse apply(APIGatewayV2HTTPEvent event) {
-        long handlerStart = MetricsSupport.startTimer();
-        try {
+        try (InvocationScope scope = InvocationScope.open("Owners", "POST_/owners", "OwnersCreateLatencyMs", event)) {
+            if (!scope.admitted()) return scope.rejection();
             long serviceStart = MetricsSupport.startTimer();
             try {
                 if (event == null || event.getBody() == null || event.getBody().isBlank()) {
                     return ApiResponses.badRequest("BAD_REQUEST", "Empty body");
                 }
+                long parseStart = MetricsSupport.startTimer();
                 CreateOwnerRequest request = mapper.readValue(event.getBody(), CreateOwnerRequest.class);
+                long validateStart = RequestTiming.record("parse", parseStart);
                 ValidationSupport.validate(request);
+                long callStart = RequestTiming.record("validate", validateStart);
                 Owner toCreate = Owner.builder()
                         .firstName(request.firstName())
                         .lastName(request.lastName())
@@ -55,6 +61,7 @@ public class CreateOwnerFunction implements Function<APIGatewayV2HTTPEvent, APIG
                         .telephone(request.telephone())
                         .build();
                 Owner saved = ownerService.create(toCreate);
+                RequestTiming.record("service", callStart);
                 MetricsSupport.increment("OwnersCreatedCount", "Owners", "POST_/owners");
                 MetricsSupport.publishTimer("OwnersServiceCreateLatencyMs", MetricsSupport.endTimer(serviceStart), "Owners", "POST_/owners");
                 log.info("[OwnersCreate] Owner created id={} firstName={} lastName={}", saved.getId(), saved.getFirstName(), saved.getLastName());
@@ -67,10 +74,8 @@ public class CreateOwnerFunction implements Function<APIGatewayV2HTTPEvent, APIG
                 return ApiResponses.conflict("DUPLICATE_TELEPHONE", e.getMessage());
             } catch (Exception e) {
                 log.error("[OwnersCreate] Internal error", e);
-                return ApiResponses.serverError("SERVER_ERROR", "Internal error");
+                return ExceptionMapper.toHttpResponse(e);
             }
-        } finally {
-            MetricsSupport.publishTimer("OwnersCreateLatencyMs", MetricsSupport.endTimer(handlerStart), "Owners", "POST_/owners");
         }
     }
 
@@ -3,7 +3,10 @@ package com.example.petclinic.functions.owners.get;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayV2HTTPEvent;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayV2HTTPResponse;
 import com.example.petclinic.api.common.http.ApiResponses;
-import com.example.petclinic.api.common.metrics.MetricsSupport;
+import com.example.petclinic.api.common.errors.ExceptionMapper;
+import com.example.petclinic.api.common.invocation.InvocationScope;
+import com.example.petclinic.observability.metrics.MetricsSupport;
+import com.example.petclinic.observability.timing.RequestTiming;
 import com.example.petclinic.domain.owner.Owner;
 import com.example.petclinic.domain.owner.OwnerService;
 import lombok.RequiredArgsConstructor;
@@ -13,6 +16,7 @@ import software.amazon.lambda.powertools.logging.Logging;
 import software.amazon.lambda.powertools.tracing.Tracing;
 
 import java.util.Map;
+import java.util.Optional;
 import java.util.function.Function;
 
 @Slf4j
@@ -26,8 +30,8 @@ public class GetOwnerFunction implements Function<APIGatewayV2HTTPEvent, APIGate
     @Logging(logEvent = true)
     @Tracing(namespace = "Petclinic")
     public APIGatewayV2HTTPResponse apply(APIGatewayV2HTTPEvent event) {
-        long handlerStart = MetricsSupport.startTimer();
-        try {
+        try (InvocationScope scope = InvocationScope.open("Owners", "GET_/owners/{id}", "OwnersGetLatencyMs", event)) {
+            if (!scope.admitted()) return scope.rejection();
             try {
                 if (event == null || event.getPathParameters() == null) {
                     return ApiResponses.badRequest("BAD_REQUEST", "Missing id");
@@ -40,7 +44,9 @@ public class GetOwnerFunction implements Function<APIGatewayV2HTTPEvent, APIGate
                 Long id;
                 try { id = Long.valueOf(idStr); } catch (NumberFormatException e) { return ApiResponses.badRequest("BAD_REQUEST", "Invalid id"); }
                 long serviceStart = MetricsSupport.startTimer();
-                return service.get(id)
+                Optional<Owner> found = service.get(id);
+                RequestTiming.record("service", serviceStart);
+                return found
                         .map(o -> {
                             MetricsSupport.increment("OwnersGetCount", "Owners", "GET_/owners/{id}");
                             MetricsSupport.publishTimer("OwnersServiceGetLatencyMs", MetricsSupport.endTimer(serviceStart), "Owners", "GET_/owners/{id}");
@@ -49,10 +55,8 @@ public class GetOwnerFunction implements Function<APIGatewayV2HTTPEvent, APIGate
                         .orElseGet(() -> ApiResponses.notFound("NOT_FOUND", "Owner not found"));
             } catch (Exception e) {
                 log.error("[OwnersGet] Internal error", e);
-                return ApiResponses.serverError("SERVER_ERROR", "Internal error");
+                return ExceptionMapper.toHttpResponse(e);
             }
-        } finally {
-            MetricsSupport.publishTimer("OwnersGetLatencyMs", MetricsSupport.endTimer(handlerStart), "Owners", "GET_/owners/{id}");
         }
     }
 }
@@ -3,32 +3,58 @@ package com.example.petclinic.functions.owners.list;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayV2HTTPEvent;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayV2HTTPResponse;
 import com.example.petclinic.api.common.http.ApiResponses;
-import com.example.petclinic.api.common.metrics.MetricsSupport;
-import com.example.petclinic.domain.owner.Owner;
+import com.example.petclinic.api.common.errors.ExceptionMapper;
+import com.example.petclinic.api.common.invocation.InvocationScope;
+import com.example.petclinic.observability.metrics.MetricsSupport;
+import com.example.petclinic.api.common.streaming.ResponseStream;
+import com.example.petclinic.api.common.streaming.ResponseStreaming;
+import com.example.petclinic.api.common.streaming.StreamAbortedException;
+import com.example.petclinic.api.common.streaming.StreamingHandler;
+import com.example.petclinic.observability.timing.RequestTiming;
 import com.example.petclinic.domain.owner.OwnerService;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 import software.amazon.lambda.powertools.logging.Logging;
 import software.amazon.lambda.powertools.tracing.Tracing;
 
-import java.util.List;
+import java.io.IOException;
 import java.util.Map;
 import java.util.function.Function;
 
 @Slf4j
 @Component
 @RequiredArgsConstructor
-public class ListOwnersFunction implements Function<APIGatewayV2HTTPEvent, APIGatewayV2HTTPResponse> {
+public class ListOwnersFunction implements Function<APIGatewayV2HTTPEvent, APIGatewayV2HTTPResponse>, StreamingHandler {
 
     private final OwnerService service;
 
+    @PostConstruct
+    void registerStreaming() {
+        ResponseStreaming.register("GET /owners", this);
+    }
+
     @Override
     @Logging(logEvent = true)
     @Tracing(namespace = "Petclinic")
     public APIGatewayV2HTTPResponse apply(APIGatewayV2HTTPEvent event) {
-        long handlerStart = MetricsSupport.startTimer();
-        try {
+        return handle(event, null);
+    }
+
+    /** Same request handling as {@link #apply}; the page goes out row by row, anything else in one piece. */
+    @Override
+    @Logging(logEvent = true)
+    @Tracing(namespace = "Petclinic")
+    public void stream(APIGatewayV2HTTPEvent event, ResponseStream response) throws IOException {
+        APIGatewayV2HTTPResponse complete = handle(event, response);
+        if (complete != null) response.send(complete);
+    }
+
+    /** Returns the response, or null when it was streamed into {@code stream}. */
+    private APIGatewayV2HTTPResponse handle(APIGatewayV2HTTPEvent event, ResponseStream stream) {
+        try (InvocationScope scope = InvocationScope.open("Owners", "GET_/owners", "OwnersListLatencyMs", event)) {
+            if (!scope.admitted()) return scope.rejection();
             try {
                 int page = 0;
                 int size = 20;
@@ -38,22 +64,25 @@ public class ListOwnersFunction implements Function<APIGatewayV2HTTPEvent, APIGa
                     if (q.get("size") != null) size = Integer.parseInt(q.get("size"));
                 }
                 long serviceStart = MetricsSupport.startTimer();
-                List<OwnerDto> owners = service.list(page, size).stream().map(OwnerDto::from).toList();
+                // rows go from the ResultSet into the JSON buffer / stream; "service" therefore includes serialization
+                String body = null;
+                if (stream != null) {
+                    OwnersPageJson.stream(service, page, size, stream);
+                    stream.finish();
+                } else {
+                    body = OwnersPageJson.write(service, page, size);
+                }
+                RequestTiming.record("service", serviceStart);
                 MetricsSupport.increment("OwnersListedCount", "Owners", "GET_/owners");
                 MetricsSupport.publishTimer("OwnersServiceListLatencyMs", MetricsSupport.endTimer(serviceStart), "Owners", "GET_/owners");
-                return ApiResponses.ok(owners);
+                return stream != null ? null : ApiResponses.ok(body);
             } catch (NumberFormatException e) {
                 return ApiResponses.badRequest("BAD_REQUEST", "Invalid paging parameters");
             } catch (Exception e) {
                 log.error("[OwnersList] Internal error", e);
-                return ApiResponses.serverError("SERVER_ERROR", "Internal error");
+                if (stream != null && stream.started()) throw new StreamAbortedException(e);
+                return ExceptionMapper.toHttpResponse(e);
             }
-        } finally {
-            MetricsSupport.publishTimer("OwnersListLatencyMs", MetricsSupport.endTimer(handlerStart), "Owners", "GET_/owners");
         }
     }
 }
-
-record OwnerDto(Long id, String firstName, String lastName, String address, String city, String telephone) {
-    static OwnerDto from(Owner o) { return new OwnerDto(o.getId(), o.getFirstName(), o.getLastName(), o.getAddress(), o.getCity(), o.getTelephone()); }
-}
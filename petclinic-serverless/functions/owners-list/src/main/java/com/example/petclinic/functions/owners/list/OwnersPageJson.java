@@ -0,0 +1,84 @@
+package com.example.petclinic.functions.owners.list;
+
+import com.example.petclinic.api.common.http.JsonBodyWriter;
+import com.example.petclinic.api.common.streaming.ResponseStream;
+import com.example.petclinic.domain.owner.OwnerService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+
+/**
+ * Owners page as a JSON array, written from the repository cursor straight into {@link JsonBodyWriter} or a
+ * {@link ResponseStream}: no {@code Owner}, DTO or list per page. Same fields, order and null handling as
+ * serializing a list of {@code {id, firstName, lastName, address, city, telephone}} records with Jackson.
+ */
+public final class OwnersPageJson {
+
+    private static final SerializableString ID = new SerializedString("id");
+    private static final SerializableString FIRST_NAME = new SerializedString("firstName");
+    private static final SerializableString LAST_NAME = new SerializedString("lastName");
+    private static final SerializableString ADDRESS = new SerializedString("address");
+    private static final SerializableString CITY = new SerializedString("city");
+    private static final SerializableString TELEPHONE = new SerializedString("telephone");
+
+    private OwnersPageJson() {}
+
+    /** Buffered: the whole page as one String. */
+    public static String write(OwnerService service, int page, int size) throws IOException {
+        return JsonBodyWriter.write(gen -> writeArray(gen, service, page, size, null));
+    }
+
+    /** Streamed: rows go to the client as they are read, flushed per {@link ResponseStream#elementWritten()}. */
+    public static void stream(OwnerService service, int page, int size, ResponseStream response) throws IOException {
+        JsonGenerator gen = response.start(200, Map.of("Content-Type", "application/json"));
+        writeArray(gen, service, page, size, response);
+    }
+
+    private static void writeArray(JsonGenerator gen, OwnerService service, int page, int size, ResponseStream response)
+            throws IOException {
+        gen.writeStartArray();
+        try {
+            service.list(page, size, (id, firstName, lastName, address, city, telephone) -> {
+                writeOwner(gen, id, firstName, lastName, address, city, telephone);
+                if (response != null) elementWritten(response);
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        gen.writeEndArray();
+    }
+
+    private static void elementWritten(ResponseStream response) {
+        try {
+            response.elementWritten();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeOwner(JsonGenerator gen, long id, String firstName, String lastName, String address,
+                                   String city, String telephone) {
+        try {
+            gen.writeStartObject();
+            gen.writeFieldName(ID);
+            gen.writeNumber(id);
+            gen.writeFieldName(FIRST_NAME);
+            gen.writeString(firstName);
+            gen.writeFieldName(LAST_NAME);
+            gen.writeString(lastName);
+            gen.writeFieldName(ADDRESS);
+            gen.writeString(address);
+            gen.writeFieldName(CITY);
+            gen.writeString(city);
+            gen.writeFieldName(TELEPHONE);
+            gen.writeString(telephone);
+            gen.writeEndObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
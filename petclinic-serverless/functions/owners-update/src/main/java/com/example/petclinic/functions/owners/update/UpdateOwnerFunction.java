@@ -4,7 +4,10 @@ import com.amazonaws.services.lambda.runtime.events.APIGatewayV2HTTPEvent;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayV2HTTPResponse;
 import com.example.petclinic.api.common.http.ApiResponses;
 import com.example.petclinic.api.common.Json;
-import com.example.petclinic.api.common.metrics.MetricsSupport;
+import com.example.petclinic.api.common.errors.ExceptionMapper;
+import com.example.petclinic.api.common.invocation.InvocationScope;
+import com.example.petclinic.observability.metrics.MetricsSupport;
+import com.example.petclinic.observability.timing.RequestTiming;
 import com.example.petclinic.api.common.validation.ValidationSupport;
 import com.example.petclinic.domain.owner.Owner;
 import com.example.petclinic.domain.owner.OwnerNotFoundException;
@@ -35,7 +38,13 @@ public class UpdateOwnerFunction implements Function<APIGatewayV2HTTPEvent, APIG
     @Logging(logEvent = true)
     @Tracing(namespace = "Petclinic")
     public APIGatewayV2HTTPResponse apply(APIGatewayV2HTTPEvent event) {
-        long handlerStart = MetricsSupport.startTimer();
+        try (InvocationScope scope = InvocationScope.open("Owners", "PUT_/owners/{id}", "OwnersUpdateLatencyMs", event)) {
+            if (!scope.admitted()) return scope.rejection();
+            return update(event);
+        }
+    }
+
+    private APIGatewayV2HTTPResponse update(APIGatewayV2HTTPEvent event) {
         String endpoint = "PUT_/owners/{id}";
         ObjectMapper mapper = Json.mapper();
         Long pathId = null;
@@ -94,6 +103,7 @@ public class UpdateOwnerFunction implements Function<APIGatewayV2HTTPEvent, APIG
 
             // 4. Deserialize
             UpdateOwnerRequest req;
+            long parseStart = MetricsSupport.startTimer();
             try {
                 req = mapper.readValue(body, UpdateOwnerRequest.class);
             } catch (JsonProcessingException jpe) {
@@ -102,6 +112,8 @@ public class UpdateOwnerFunction implements Function<APIGatewayV2HTTPEvent, APIG
                 return ApiResponses.badRequest("VALIDATION_ERROR", "Malformed JSON body");
             }
 
+            long validateStart = RequestTiming.record("parse", parseStart);
+
             // 5. Body id mismatch check (optional id)
             if (req.getId() != null && !req.getId().equals(pathId)) {
                 MetricsSupport.increment("OwnersUpdateBadRequestCount", "Owners", endpoint);
@@ -115,7 +127,7 @@ public class UpdateOwnerFunction implements Function<APIGatewayV2HTTPEvent, APIG
                 return ApiResponses.badRequest("VALIDATION_ERROR", ve.getMessage());
             }
 
-            long serviceStart = MetricsSupport.startTimer();
+            long serviceStart = RequestTiming.record("validate", validateStart);
             try {
         Owner updated = service.update(pathId, Owner.builder()
             .firstName(req.getFirstName())
@@ -124,6 +136,7 @@ public class UpdateOwnerFunction implements Function<APIGatewayV2HTTPEvent, APIG
             .city(req.getCity())
             .telephone(req.getTelephone())
                         .build());
+                RequestTiming.record("service", serviceStart);
                 MetricsSupport.increment("OwnersUpdateSuccessCount", "Owners", endpoint);
                 MetricsSupport.publishTimer("OwnersServiceUpdateLatencyMs", MetricsSupport.endTimer(serviceStart), "Owners", endpoint);
                 log.info("{\"event\":\"OwnersUpdate\",\"status\":\"success\",\"id\":{},\"firstName\":\"{}\",\"lastName\":\"{}\"}", updated.getId(), updated.getFirstName(), updated.getLastName());
@@ -140,9 +153,7 @@ public class UpdateOwnerFunction implements Function<APIGatewayV2HTTPEvent, APIG
         } catch (Exception e) {
             MetricsSupport.increment("OwnersUpdateErrorCount", "Owners", endpoint);
             log.error("{\"event\":\"OwnersUpdate\",\"status\":\"error\",\"id\":%s,\"message\":\"%s\"}".formatted(String.valueOf(pathId), e.getMessage()), e);
-            return ApiResponses.serverError("SERVER_ERROR", "Internal error");
-        } finally {
-            MetricsSupport.publishTimer("OwnersUpdateLatencyMs", MetricsSupport.endTimer(handlerStart), "Owners", endpoint);
+            return ExceptionMapper.toHttpResponse(e);
         }
     }
 }
@@ -0,0 +1,91 @@
+package com.example.petclinic.functions.api;
+
+import com.amazonaws.services.lambda.runtime.events.APIGatewayV2HTTPEvent;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayV2HTTPResponse;
+import com.example.petclinic.api.common.http.ApiResponses;
+import com.example.petclinic.observability.metrics.MetricsSupport;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Single entry point for the "lambdalith" deployment: dispatches each API Gateway event to the existing
+ * endpoint handler registered for its routeKey. When the routeKey is absent (catch-all integrations,
+ * $default stage routes, local servers) the route is resolved from the HTTP method and raw path and the
+ * captured path parameters are copied onto the event before dispatch.
+ */
+@Slf4j
+public class ApiRouterFunction implements Function<APIGatewayV2HTTPEvent, APIGatewayV2HTTPResponse> {
+
+    private final Map<String, Function<APIGatewayV2HTTPEvent, APIGatewayV2HTTPResponse>> handlers;
+    private final Map<String, Route> routes;
+
+    public ApiRouterFunction(Map<String, Function<APIGatewayV2HTTPEvent, APIGatewayV2HTTPResponse>> handlersByRouteKey) {
+        Map<String, Function<APIGatewayV2HTTPEvent, APIGatewayV2HTTPResponse>> h = new HashMap<>();
+        Map<String, Route> r = new LinkedHashMap<>();
+        handlersByRouteKey.forEach((key, handler) -> {
+            Route route = Route.of(key);
+            h.put(route.routeKey(), handler);
+            r.put(route.routeKey(), route);
+        });
+        this.handlers = Collections.unmodifiableMap(h);
+        this.routes = Collections.unmodifiableMap(r);
+    }
+
+    public Map<String, Route> routes() { return routes; }
+
+    /** Logging and tracing are left to the endpoint handlers, so each request is logged and traced once. */
+    @Override
+    public APIGatewayV2HTTPResponse apply(APIGatewayV2HTTPEvent event) {
+        if (event == null) {
+            return ApiResponses.badRequest("BAD_REQUEST", "Empty event");
+        }
+        String routeKey = event.getRouteKey();
+        Function<APIGatewayV2HTTPEvent, APIGatewayV2HTTPResponse> handler = routeKey != null ? handlers.get(routeKey) : null;
+        if (handler == null) {
+            Optional<String> resolved = resolve(event);
+            if (resolved.isPresent()) {
+                routeKey = resolved.get();
+                handler = handlers.get(routeKey);
+            }
+        }
+        if (handler == null) {
+            log.warn("[ApiRouter] No handler for routeKey={} method={} path={}", event.getRouteKey(), method(event), event.getRawPath());
+            MetricsSupport.increment("ApiRouteNotFoundCount", "Router", routeKey);
+            return ApiResponses.notFound("ROUTE_NOT_FOUND", "No route for request");
+        }
+        return handler.apply(event);
+    }
+
+    /** Resolves the route from method + raw path, filling pathParameters and routeKey on the event. */
+    Optional<String> resolve(APIGatewayV2HTTPEvent event) {
+        String method = method(event);
+        String path = event.getRawPath();
+        if (path == null && event.getRequestContext() != null && event.getRequestContext().getHttp() != null) {
+            path = event.getRequestContext().getHttp().getPath();
+        }
+        for (Route route : routes.values()) {
+            Optional<Map<String, String>> params = route.match(method, path);
+            if (params.isPresent()) {
+                Map<String, String> merged = new HashMap<>(params.get());
+                if (event.getPathParameters() != null) merged.putAll(event.getPathParameters());
+                event.setPathParameters(merged);
+                event.setRouteKey(route.routeKey());
+                return Optional.of(route.routeKey());
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static String method(APIGatewayV2HTTPEvent event) {
+        if (event.getRequestContext() != null && event.getRequestContext().getHttp() != null) {
+            return event.getRequestContext().getHttp().getMethod();
+        }
+        return null;
+    }
+}
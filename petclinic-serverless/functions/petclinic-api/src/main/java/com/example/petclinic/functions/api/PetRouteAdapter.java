@@ -0,0 +1,129 @@
+package com.example.petclinic.functions.api;
+
+import com.amazonaws.services.lambda.runtime.events.APIGatewayV2HTTPEvent;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayV2HTTPResponse;
+import com.example.petclinic.api.common.Json;
+import com.example.petclinic.api.common.http.ApiResponses;
+import com.example.petclinic.api.common.errors.ExceptionMapper;
+import com.example.petclinic.api.common.invocation.InvocationScope;
+import com.example.petclinic.observability.metrics.MetricsSupport;
+import com.example.petclinic.observability.timing.RequestTiming;
+import com.example.petclinic.domain.pet.Pet;
+import com.example.petclinic.domain.pet.PetNotFoundException;
+import com.example.petclinic.domain.pet.PetValidationException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Adapts the pet handlers ({@code Function<XxxPetRequest, Pet>}) to API Gateway events so they can sit behind
+ * the router next to the event-based handlers: parses the body (base64-decoded when API Gateway encoded it), binds
+ * the path ids, maps pet exceptions to HTTP codes and publishes the same latency metric shape as the other handlers.
+ * An id may be left out of the body, but when given it must match the path (400 otherwise).
+ */
+@Slf4j
+class PetRouteAdapter<T> implements Function<APIGatewayV2HTTPEvent, APIGatewayV2HTTPResponse> {
+
+    private final Class<T> requestType;
+    private final BiConsumer<T, Map<String, String>> pathBinder;
+    private final Function<T, Pet> target;
+    private final boolean create;
+    private final String metricPrefix;
+    private final String endpoint;
+
+    PetRouteAdapter(Class<T> requestType, BiConsumer<T, Map<String, String>> pathBinder, Function<T, Pet> target,
+                    boolean create, String metricPrefix, String endpoint) {
+        this.requestType = requestType;
+        this.pathBinder = pathBinder;
+        this.target = target;
+        this.create = create;
+        this.metricPrefix = metricPrefix;
+        this.endpoint = endpoint;
+    }
+
+    @Override
+    public APIGatewayV2HTTPResponse apply(APIGatewayV2HTTPEvent event) {
+        try (InvocationScope scope = InvocationScope.open("Pets", endpoint, metricPrefix + "LatencyMs", event)) {
+            if (!scope.admitted()) return scope.rejection();
+            try {
+                if (event == null || event.getBody() == null || event.getBody().isBlank()) {
+                    return ApiResponses.badRequest("BAD_REQUEST", "Empty body");
+                }
+                long parseStart = MetricsSupport.startTimer();
+                String body = body(event);
+                if (body == null) return ApiResponses.badRequest("BAD_REQUEST", "Malformed base64 body");
+                T request = Json.mapper().readValue(body, requestType);
+                if (event.getPathParameters() != null) {
+                    pathBinder.accept(request, event.getPathParameters());
+                }
+                long callStart = RequestTiming.record("parse", parseStart);
+                Pet pet = target.apply(request);
+                RequestTiming.record("service", callStart);
+                PetDto dto = PetDto.from(pet);
+                return create ? ApiResponses.created(dto) : ApiResponses.ok(dto);
+            } catch (JsonProcessingException e) {
+                return ApiResponses.badRequest("VALIDATION_ERROR", "Malformed JSON body");
+            } catch (NumberFormatException e) {
+                return ApiResponses.badRequest("BAD_REQUEST", "Invalid id");
+            } catch (PathMismatchException e) {
+                return ApiResponses.badRequest("BAD_REQUEST", e.getMessage());
+            } catch (PetValidationException e) {
+                return ApiResponses.badRequest("VALIDATION_ERROR", e.getMessage());
+            } catch (PetNotFoundException e) {
+                return ApiResponses.notFound("PET_NOT_FOUND", e.getMessage());
+            } catch (Exception e) {
+                log.error("[{}] Internal error", metricPrefix, e);
+                return ExceptionMapper.toHttpResponse(e);
+            }
+        }
+    }
+
+    /** The body as text, decoded when API Gateway base64-encoded it; null when that encoding is broken. */
+    private static String body(APIGatewayV2HTTPEvent event) {
+        if (!Boolean.TRUE.equals(event.getIsBase64Encoded())) return event.getBody();
+        try {
+            return new String(Base64.getDecoder().decode(event.getBody().trim()), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Value of the id {@code name} once bound to the path: the path's value, or {@code bodyValue} when the path has
+     * none.
+     *
+     * @throws PathMismatchException when the body holds a different id than the path
+     */
+    static Integer pathInt(Integer bodyValue, Map<String, String> path, String name) {
+        String v = path.get(name);
+        if (v == null || v.isBlank()) return bodyValue;
+        Integer pathValue = Integer.valueOf(v);
+        if (bodyValue != null && !bodyValue.equals(pathValue)) {
+            throw new PathMismatchException(name + " in the body does not match the path");
+        }
+        return pathValue;
+    }
+
+    static class PathMismatchException extends RuntimeException {
+        PathMismatchException(String message) {
+            super(message);
+        }
+    }
+}
+
+record PetDto(Integer id, String name, String birthDate, Integer ownerId, Integer typeId, String typeName) {
+    static PetDto from(Pet p) {
+        return new PetDto(
+                p.getId(),
+                p.getName(),
+                p.getBirthDate() != null ? p.getBirthDate().toString() : null,
+                p.getOwnerId(),
+                p.getType() != null ? p.getType().getId() : null,
+                p.getType() != null ? p.getType().getName() : null);
+    }
+}
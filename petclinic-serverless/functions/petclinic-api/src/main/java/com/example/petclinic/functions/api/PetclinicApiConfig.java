@@ -0,0 +1,120 @@
+package com.example.petclinic.functions.api;
+
+import com.amazonaws.services.lambda.runtime.events.APIGatewayV2HTTPEvent;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayV2HTTPResponse;
+import com.example.petclinic.domain.owner.OwnerRepository;
+import com.example.petclinic.domain.owner.OwnerService;
+import com.example.petclinic.domain.pet.Pet;
+import com.example.petclinic.domain.pet.PetService;
+import com.example.petclinic.domain.vet.VetRepository;
+import com.example.petclinic.domain.vet.VetService;
+import com.example.petclinic.domain.visit.VisitRepository;
+import com.example.petclinic.domain.visit.VisitService;
+import com.example.petclinic.functions.owners.batch.CreateOwnersBatchFunction;
+import com.example.petclinic.functions.owners.create.CreateOwnerFunction;
+import com.example.petclinic.functions.owners.get.GetOwnerFunction;
+import com.example.petclinic.functions.owners.list.ListOwnersFunction;
+import com.example.petclinic.functions.owners.update.UpdateOwnerFunction;
+import com.example.petclinic.functions.pets.create.CreatePetFunction;
+import com.example.petclinic.functions.pets.create.CreatePetRequest;
+import com.example.petclinic.functions.pets.update.UpdatePetFunction;
+import com.example.petclinic.functions.pets.update.UpdatePetRequest;
+import com.example.petclinic.functions.vets.list.ListVetsFunction;
+import com.example.petclinic.functions.visits.create.CreateVisitFunction;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Lambdalith configuration: one Spring context (one DataSource / Hikari pool) hosting every endpoint handler
+ * behind {@link ApiRouterFunction}. Handlers are imported explicitly instead of scanning
+ * {@code com.example.petclinic}, because each per-function module carries its own service configuration.
+ * Exposed as {@code petclinicApi} for Spring Cloud Function's FunctionInvoker.
+ */
+@SpringBootApplication(scanBasePackages = {"com.example.petclinic.functions.api", "com.example.petclinic.infra"})
+@Import({
+        CreateOwnerFunction.class,
+        ListOwnersFunction.class,
+        GetOwnerFunction.class,
+        UpdateOwnerFunction.class,
+        CreateOwnersBatchFunction.class,
+        CreateVisitFunction.class,
+        ListVetsFunction.class,
+        CreatePetFunction.class,
+        UpdatePetFunction.class,
+        PetService.class
+})
+public class PetclinicApiConfig {
+
+    @Bean("petclinicApi")
+    public Function<APIGatewayV2HTTPEvent, APIGatewayV2HTTPResponse> petclinicApi(ApiRouterFunction router) {
+        return router;
+    }
+
+    @Bean
+    public ApiRouterFunction apiRouterFunction(CreateOwnerFunction ownersCreate,
+                                               ListOwnersFunction ownersList,
+                                               GetOwnerFunction ownersGet,
+                                               UpdateOwnerFunction ownersUpdate,
+                                               CreateOwnersBatchFunction ownersBatch,
+                                               CreateVisitFunction visitsCreate,
+                                               ListVetsFunction vetsList,
+                                               CreatePetFunction petsCreate,
+                                               UpdatePetFunction petsUpdate) {
+        return router(ownersCreate, ownersList, ownersGet, ownersUpdate, ownersBatch, visitsCreate, vetsList,
+                petsCreate, petsUpdate);
+    }
+
+    /** The route table, on plain functions so tests can put stubs behind it. */
+    static ApiRouterFunction router(Function<APIGatewayV2HTTPEvent, APIGatewayV2HTTPResponse> ownersCreate,
+                                    Function<APIGatewayV2HTTPEvent, APIGatewayV2HTTPResponse> ownersList,
+                                    Function<APIGatewayV2HTTPEvent, APIGatewayV2HTTPResponse> ownersGet,
+                                    Function<APIGatewayV2HTTPEvent, APIGatewayV2HTTPResponse> ownersUpdate,
+                                    Function<APIGatewayV2HTTPEvent, APIGatewayV2HTTPResponse> ownersBatch,
+                                    Function<APIGatewayV2HTTPEvent, APIGatewayV2HTTPResponse> visitsCreate,
+                                    Function<APIGatewayV2HTTPEvent, APIGatewayV2HTTPResponse> vetsList,
+                                    Function<CreatePetRequest, Pet> petsCreate,
+                                    Function<UpdatePetRequest, Pet> petsUpdate) {
+        Map<String, Function<APIGatewayV2HTTPEvent, APIGatewayV2HTTPResponse>> routes = new LinkedHashMap<>();
+        routes.put("POST /owners", ownersCreate);
+        routes.put("GET /owners", ownersList);
+        routes.put("GET /owners/{id}", ownersGet);
+        routes.put("PUT /owners/{id}", ownersUpdate);
+        routes.put("POST /owners:batch", ownersBatch);
+        routes.put("POST /owners/{ownerId}/pets/{petId}/visits", visitsCreate);
+        routes.put("GET /vets", vetsList);
+        routes.put("POST /owners/{ownerId}/pets", new PetRouteAdapter<>(CreatePetRequest.class,
+                (req, path) -> req.setOwnerId(PetRouteAdapter.pathInt(req.getOwnerId(), path, "ownerId")),
+                petsCreate, true, "PetsCreate", "POST_/owners/{ownerId}/pets"));
+        routes.put("PUT /owners/{ownerId}/pets/{petId}", new PetRouteAdapter<>(UpdatePetRequest.class,
+                (req, path) -> {
+                    req.setId(PetRouteAdapter.pathInt(req.getId(), path, "petId"));
+                    req.setOwnerId(PetRouteAdapter.pathInt(req.getOwnerId(), path, "ownerId"));
+                },
+                petsUpdate, false, "PetsUpdate", "PUT_/owners/{ownerId}/pets/{petId}"));
+        return new ApiRouterFunction(routes);
+    }
+
+    // Domain services are plain classes (except PetService); one instance each, shared by every route
+    @Bean
+    public OwnerService ownerService(OwnerRepository ownerRepository) {
+        Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+        return new OwnerService(ownerRepository, validator);
+    }
+
+    @Bean
+    public VetService vetService(VetRepository vetRepository) {
+        return new VetService(vetRepository);
+    }
+
+    @Bean
+    public VisitService visitService(VisitRepository visitRepository) {
+        return new VisitService(visitRepository);
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.petclinic.functions.api;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * HTTP API route (method + path template), identified by the same routeKey API Gateway puts on the event,
+ * e.g. {@code "GET /owners/{id}"}. Templates are matched segment by segment; {@code {name}} segments
+ * are captured as path parameters.
+ */
+public record Route(String method, String pathTemplate) {
+
+    public Route {
+        method = method.toUpperCase(Locale.ROOT);
+    }
+
+    public static Route of(String routeKey) {
+        int sp = routeKey.indexOf(' ');
+        if (sp <= 0) throw new IllegalArgumentException("Invalid routeKey: " + routeKey);
+        return new Route(routeKey.substring(0, sp), routeKey.substring(sp + 1).trim());
+    }
+
+    public String routeKey() {
+        return method + " " + pathTemplate;
+    }
+
+    /** Returns captured path parameters when method and path match this route. */
+    public Optional<Map<String, String>> match(String requestMethod, String path) {
+        if (requestMethod == null || path == null || !method.equalsIgnoreCase(requestMethod)) return Optional.empty();
+        String[] expected = split(pathTemplate);
+        String[] actual = split(path);
+        if (expected.length != actual.length) return Optional.empty();
+        Map<String, String> params = new HashMap<>();
+        for (int i = 0; i < expected.length; i++) {
+            String seg = expected[i];
+            if (seg.startsWith("{") && seg.endsWith("}")) {
+                if (actual[i].isEmpty()) return Optional.empty();
+                params.put(seg.substring(1, seg.length() - 1), actual[i]);
+            } else if (!seg.equals(actual[i])) {
+                return Optional.empty();
+            }
+        }
+        return Optional.of(params);
+    }
+
+    private static String[] split(String path) {
+        String p = path.startsWith("/") ? path.substring(1) : path;
+        if (p.endsWith("/")) p = p.substring(0, p.length() - 1);
+        return p.isEmpty() ? new String[0] : p.split("/");
+    }
+}
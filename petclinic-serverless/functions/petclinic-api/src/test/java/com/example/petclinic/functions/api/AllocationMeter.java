@@ -0,0 +1,46 @@
+package com.example.petclinic.functions.api;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+
+/**
+ * Bytes allocated by the calling thread per invocation of an action, from
+ * {@code com.sun.management.ThreadMXBean#getThreadAllocatedBytes}. The action runs {@code warmup} times first (JIT,
+ * lazy statics, first-use caches), then {@code rounds} rounds of {@code iterations}; the lowest per-invocation
+ * average wins, which filters out one-off allocations (class loading, TLAB refills counted late, logging rollover).
+ * <p>
+ * Handlers print EMF metrics to stdout; during measurement stdout goes to a discarding stream so the serialization
+ * is still counted but the test log stays readable.
+ */
+final class AllocationMeter {
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private AllocationMeter() {}
+
+    static boolean supported() {
+        return THREADS.isThreadAllocatedMemorySupported();
+    }
+
+    static long bytesPerInvocation(Runnable action, int warmup, int rounds, int iterations) {
+        THREADS.setThreadAllocatedMemoryEnabled(true);
+        long threadId = Thread.currentThread().getId();
+        PrintStream out = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        try {
+            for (int i = 0; i < warmup; i++) action.run();
+            long best = Long.MAX_VALUE;
+            for (int r = 0; r < rounds; r++) {
+                long before = THREADS.getThreadAllocatedBytes(threadId);
+                for (int i = 0; i < iterations; i++) action.run();
+                long after = THREADS.getThreadAllocatedBytes(threadId);
+                best = Math.min(best, (after - before) / iterations);
+            }
+            return best;
+        } finally {
+            System.setOut(out);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.petclinic.functions.api;
+
+import com.amazonaws.services.lambda.runtime.events.APIGatewayV2HTTPEvent;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayV2HTTPResponse;
+import com.example.petclinic.domain.pet.Pet;
+import com.example.petclinic.tools.common.HttpEvents;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The lambdalith route table of {@link PetclinicApiConfig#router} with stub handlers: dispatch by method + raw path
+ * (no routeKey, as from a catch-all integration) and by routeKey, and the pet routes through {@link PetRouteAdapter}.
+ */
+class ApiRouterFunctionTest {
+
+    private final List<Object> petRequests = new ArrayList<>();
+    private final ApiRouterFunction router = PetclinicApiConfig.router(
+            stub("ownersCreate"), stub("ownersList"), stub("ownersGet"), stub("ownersUpdate"), stub("ownersBatch"),
+            stub("visitsCreate"), stub("vetsList"),
+            req -> {
+                petRequests.add(req);
+                return pet(42, req.getName(), req.getOwnerId());
+            },
+            req -> {
+                petRequests.add(req);
+                return pet(req.getId(), req.getName(), req.getOwnerId());
+            });
+
+    @Test
+    void resolvesEveryRouteTemplateFromMethodAndPath() {
+        assertRoutedTo("ownersCreate {}", "POST", "/owners");
+        assertRoutedTo("ownersList {}", "GET", "/owners");
+        assertRoutedTo("ownersGet {id=7}", "GET", "/owners/7");
+        assertRoutedTo("ownersUpdate {id=7}", "PUT", "/owners/7/");
+        assertRoutedTo("ownersBatch {}", "POST", "/owners:batch");
+        assertRoutedTo("visitsCreate {ownerId=3, petId=9}", "POST", "/owners/3/pets/9/visits");
+        assertRoutedTo("vetsList {}", "GET", "/vets");
+        assertEquals(9, router.routes().size());
+    }
+
+    @Test
+    void usesTheRouteKeyWhenApiGatewaySendsOne() {
+        APIGatewayV2HTTPEvent event = HttpEvents.request("GET", "/owners/7").pathParameters(Map.of("id", "7")).build();
+        event.setRouteKey("GET /owners/{id}");
+
+        assertEquals("ownersGet {id=7}", router.apply(event).getBody());
+    }
+
+    @Test
+    void unknownPathOrMethodIsNotFound() {
+        for (String[] request : new String[][]{{"GET", "/owners/7/pets"}, {"DELETE", "/owners/7"}, {"GET", "/"}}) {
+            APIGatewayV2HTTPResponse response = router.apply(HttpEvents.request(request[0], request[1]).build());
+            assertEquals(404, response.getStatusCode());
+            assertTrue(response.getBody().contains("ROUTE_NOT_FOUND"), response.getBody());
+        }
+        assertEquals(400, router.apply(null).getStatusCode());
+    }
+
+    @Test
+    void petRoutesBindPathIdsAndAcceptBodiesWithoutThem() {
+        APIGatewayV2HTTPResponse created = router.apply(HttpEvents.request("POST", "/owners/3/pets")
+                .body("{\"name\":\"Rex\",\"typeId\":1}").build());
+        APIGatewayV2HTTPResponse updated = router.apply(HttpEvents.request("PUT", "/owners/3/pets/9")
+                .body("{\"id\":9,\"ownerId\":3,\"name\":\"Rex\"}").build());
+
+        assertEquals(201, created.getStatusCode());
+        assertTrue(created.getBody().contains("\"ownerId\":3"), created.getBody());
+        assertEquals(200, updated.getStatusCode());
+        assertTrue(updated.getBody().contains("\"id\":9"), updated.getBody());
+        assertEquals(2, petRequests.size());
+    }
+
+    @Test
+    void bodyIdsThatContradictThePathAreRejected() {
+        APIGatewayV2HTTPResponse wrongPet = router.apply(HttpEvents.request("PUT", "/owners/3/pets/9")
+                .body("{\"id\":10,\"name\":\"Rex\"}").build());
+        APIGatewayV2HTTPResponse wrongOwner = router.apply(HttpEvents.request("POST", "/owners/3/pets")
+                .body("{\"ownerId\":4,\"name\":\"Rex\"}").build());
+
+        assertEquals(400, wrongPet.getStatusCode());
+        assertTrue(wrongPet.getBody().contains("petId in the body does not match the path"), wrongPet.getBody());
+        assertEquals(400, wrongOwner.getStatusCode());
+        assertTrue(wrongOwner.getBody().contains("ownerId in the body does not match the path"), wrongOwner.getBody());
+        assertTrue(petRequests.isEmpty());
+    }
+
+    @Test
+    void base64BodiesAreDecoded() {
+        APIGatewayV2HTTPEvent event = HttpEvents.request("POST", "/owners/3/pets").body(Base64.getEncoder()
+                .encodeToString("{\"name\":\"Rex\"}".getBytes(StandardCharsets.UTF_8))).build();
+        event.setIsBase64Encoded(true);
+        APIGatewayV2HTTPEvent broken = HttpEvents.request("POST", "/owners/3/pets").body("not base64!").build();
+        broken.setIsBase64Encoded(true);
+
+        assertEquals(201, router.apply(event).getStatusCode());
+        APIGatewayV2HTTPResponse rejected = router.apply(broken);
+        assertEquals(400, rejected.getStatusCode());
+        assertTrue(rejected.getBody().contains("Malformed base64 body"), rejected.getBody());
+        assertEquals(1, petRequests.size());
+    }
+
+    private void assertRoutedTo(String expected, String method, String path) {
+        APIGatewayV2HTTPResponse response = router.apply(HttpEvents.request(method, path).build());
+        assertEquals(expected, response.getBody());
+    }
+
+    /** Answers with its name and the path parameters it was given. */
+    private static Function<APIGatewayV2HTTPEvent, APIGatewayV2HTTPResponse> stub(String name) {
+        return event -> APIGatewayV2HTTPResponse.builder()
+                .withStatusCode(200)
+                .withBody(name + " " + new TreeMap<>(event.getPathParameters() == null ? Map.of() : event.getPathParameters()))
+                .build();
+    }
+
+    private static Pet pet(Integer id, String name, Integer ownerId) {
+        Pet pet = new Pet();
+        pet.setId(id);
+        pet.setName(name);
+        pet.setOwnerId(ownerId);
+        return pet;
+    }
+}
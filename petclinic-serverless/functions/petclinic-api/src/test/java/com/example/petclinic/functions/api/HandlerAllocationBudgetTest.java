@@ -0,0 +1,152 @@
+package com.example.petclinic.functions.api;
+
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayV2HTTPEvent;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayV2HTTPResponse;
+import com.example.petclinic.domain.owner.Owner;
+import com.example.petclinic.domain.owner.OwnerRepository;
+import com.example.petclinic.domain.owner.OwnerService;
+import com.example.petclinic.functions.owners.get.GetOwnerFunction;
+import com.example.petclinic.functions.owners.list.ListOwnersFunction;
+import com.example.petclinic.tools.common.HttpEvents;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import software.amazon.lambda.powertools.metrics.Metrics;
+import software.amazon.lambda.powertools.metrics.MetricsFactory;
+import software.amazon.lambda.powertools.metrics.model.DimensionSet;
+import software.amazon.lambda.powertools.metrics.model.MetricResolution;
+import software.amazon.lambda.powertools.metrics.model.MetricUnit;
+import software.amazon.lambda.powertools.metrics.provider.EmfMetricsProvider;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Allocation budgets for the hot read paths: each handler runs against an in-memory repository (no JDBC) and the
+ * bytes allocated per invocation must stay under the endpoint's budget. Powertools is swapped for a no-op
+ * {@link Metrics} while measuring: its EMF serialization (about 10 KB per blob, several per request) is not ours
+ * to budget and would hide a regression of a few hundred bytes. What is left is handler, JSON and instrumentation
+ * ({@code MetricsSupport}, timing, tracing, JFR) allocations. Budgets sit about 500 bytes above the measured value
+ * on JDK 17 (run-to-run noise is under 300), so an extra {@code ObjectMapper}, a per-request copy of the owner list
+ * or even a single {@code String.replaceAll} per request (about 1 KB) fails the test.
+ * <p>
+ * Budgets can be overridden without editing the test through the {@code allocation.budgets} system property,
+ * {@code <endpoint>=<bytes>;...} (e.g. {@code -Dallocation.budgets=GET_/owners=12288} on another JDK or after a
+ * Jackson or Spring upgrade); endpoints not listed keep the defaults below. A failing run reports the measured value
+ * in its assertion message: when a deliberate change moves the numbers, adjust the default here.
+ */
+class HandlerAllocationBudgetTest {
+
+    /** Endpoint (metrics dimension) -> max bytes allocated per invocation (measured: about 9.1 KB and 10.8 KB). */
+    private static final Map<String, Long> BUDGETS = budgets(Map.of(
+            "GET_/owners/{id}", 9_728L,
+            "GET_/owners", 11_520L), System.getProperty("allocation.budgets"));
+
+    private static final int OWNERS = 20;
+
+    private static OwnerService service;
+
+    @BeforeAll
+    static void setup() {
+        assumeTrue(AllocationMeter.supported(), "thread allocation accounting not supported by this JVM");
+        MetricsFactory.setMetricsProvider(NoOpMetrics::new);
+        InMemoryOwnerRepository repo = new InMemoryOwnerRepository();
+        for (int i = 0; i < OWNERS; i++) {
+            repo.save(Owner.builder().firstName("First" + i).lastName("Last" + i).address(i + " Main St")
+                    .city("Springfield").telephone("55500" + i).build());
+        }
+        service = new OwnerService(repo, Validation.buildDefaultValidatorFactory().getValidator());
+    }
+
+    @Test
+    void getOwnerStaysWithinBudget() {
+        GetOwnerFunction handler = new GetOwnerFunction(service);
+        APIGatewayV2HTTPEvent event = HttpEvents.request("GET", "/owners/7").pathParameters(Map.of("id", "7")).build();
+        assertWithinBudget("GET_/owners/{id}", handler, event);
+    }
+
+    @Test
+    void listOwnersStaysWithinBudget() {
+        ListOwnersFunction handler = new ListOwnersFunction(service);
+        APIGatewayV2HTTPEvent event = HttpEvents.request("GET", "/owners")
+                .query(Map.of("page", "0", "size", String.valueOf(OWNERS)))
+                .build();
+        assertWithinBudget("GET_/owners", handler, event);
+    }
+
+    private static void assertWithinBudget(String endpoint, Function<APIGatewayV2HTTPEvent, APIGatewayV2HTTPResponse> handler,
+                                           APIGatewayV2HTTPEvent event) {
+        assertEquals(200, handler.apply(event).getStatusCode());
+        long bytes = AllocationMeter.bytesPerInvocation(() -> handler.apply(event), 20_000, 5, 2_000);
+        long budget = BUDGETS.get(endpoint);
+        assertTrue(bytes <= budget, endpoint + " allocates " + bytes + " bytes per invocation, budget is " + budget);
+    }
+
+    @AfterAll
+    static void restoreMetrics() {
+        MetricsFactory.setMetricsProvider(new EmfMetricsProvider());
+    }
+
+    /** The defaults with the {@code <endpoint>=<bytes>;...} overrides applied. */
+    static Map<String, Long> budgets(Map<String, Long> defaults, String overrides) {
+        Map<String, Long> budgets = new HashMap<>(defaults);
+        if (overrides == null || overrides.isBlank()) return budgets;
+        for (String entry : overrides.split(";")) {
+            int eq = entry.lastIndexOf('=');
+            if (eq <= 0) throw new IllegalArgumentException("allocation.budgets entry must be <endpoint>=<bytes>: " + entry);
+            budgets.put(entry.substring(0, eq).trim(), Long.parseLong(entry.substring(eq + 1).trim()));
+        }
+        return budgets;
+    }
+
+    /** Stands in for the EMF logger: allocates nothing, so only what the handler allocates is measured. */
+    static class NoOpMetrics implements Metrics {
+        @Override public void addMetric(String key, double value, MetricUnit unit, MetricResolution resolution) { }
+        @Override public void addMetric(String key, double value, MetricUnit unit) { }
+        @Override public void addDimension(String key, String value) { }
+        @Override public void addDimension(DimensionSet dimensionSet) { }
+        @Override public void setTimestamp(Instant timestamp) { }
+        @Override public void addMetadata(String key, Object value) { }
+        @Override public void setDefaultDimensions(DimensionSet dimensionSet) { }
+        @Override public DimensionSet getDefaultDimensions() { return DimensionSet.of(Map.of()); }
+        @Override public void setNamespace(String namespace) { }
+        @Override public void setRaiseOnEmptyMetrics(boolean raiseOnEmptyMetrics) { }
+        @Override public void clearDefaultDimensions() { }
+        @Override public void flush() { }
+        @Override public void captureColdStartMetric(Context context, DimensionSet dimensions) { }
+        @Override public void captureColdStartMetric(DimensionSet dimensions) { }
+        @Override public void flushSingleMetric(String name, double value, MetricUnit unit, String namespace, DimensionSet dimensions) { }
+    }
+
+    /** Owner i has id i + 1, like the JDBC identity column; pages are views, so reads allocate next to nothing. */
+    static class InMemoryOwnerRepository implements OwnerRepository {
+        private final List<Owner> db = new ArrayList<>();
+
+        @Override public Owner save(Owner owner) {
+            if (owner.getId() == null) owner = owner.toBuilder().id((long) db.size() + 1).build();
+            db.add(owner);
+            return owner;
+        }
+        @Override public Optional<Owner> findById(Long id) { return id < 1 || id > db.size() ? Optional.empty() : Optional.of(db.get(id.intValue() - 1)); }
+        @Override public List<Owner> findAll(int page, int size) {
+            int from = Math.min(db.size(), page * size);
+            return db.subList(from, Math.min(db.size(), from + size));
+        }
+        @Override public void deleteById(Long id) { throw new UnsupportedOperationException(); }
+        @Override public boolean existsByTelephone(String telephone) { return db.stream().anyMatch(o -> telephone.equals(o.getTelephone())); }
+        @Override public boolean existsById(Long id) { return id >= 1 && id <= db.size(); }
+        @Override public boolean existsByTelephoneExcludingId(String telephone, Long excludeId) {
+            return db.stream().anyMatch(o -> !o.getId().equals(excludeId) && telephone.equals(o.getTelephone()));
+        }
+    }
+}
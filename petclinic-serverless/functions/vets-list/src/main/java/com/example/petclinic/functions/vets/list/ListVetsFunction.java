@@ -6,7 +6,16 @@ import com.example.petclinic.domain.vet.Specialty;
 import com.example.petclinic.domain.vet.Vet;
 import com.example.petclinic.domain.vet.VetService;
 import com.example.petclinic.api.common.http.ApiResponses;
-import com.example.petclinic.api.common.metrics.MetricsSupport;
+import com.example.petclinic.api.common.errors.ExceptionMapper;
+import com.example.petclinic.api.common.invocation.InvocationScope;
+import com.example.petclinic.observability.metrics.MetricsSupport;
+import com.example.petclinic.api.common.streaming.ResponseStream;
+import com.example.petclinic.api.common.streaming.ResponseStreaming;
+import com.example.petclinic.api.common.streaming.StreamAbortedException;
+import com.example.petclinic.api.common.streaming.StreamingHandler;
+import com.example.petclinic.observability.timing.RequestTiming;
+import com.fasterxml.jackson.core.JsonGenerator;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Bean;
@@ -15,6 +24,8 @@ import org.springframework.stereotype.Component;
 import software.amazon.lambda.powertools.logging.Logging;
 import software.amazon.lambda.powertools.tracing.Tracing;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
@@ -22,7 +33,7 @@ import java.util.stream.Collectors;
 
 @Slf4j
 @Component
-public class ListVetsFunction implements Function<APIGatewayV2HTTPEvent, APIGatewayV2HTTPResponse> {
+public class ListVetsFunction implements Function<APIGatewayV2HTTPEvent, APIGatewayV2HTTPResponse>, StreamingHandler {
 
     private final VetService vetService;
 
@@ -30,29 +41,81 @@ public class ListVetsFunction implements Function<APIGatewayV2HTTPEvent, APIGate
         this.vetService = vetService;
     }
 
+    @PostConstruct
+    void registerStreaming() {
+        ResponseStreaming.register("GET /vets", this);
+    }
+
     @Override
     @Logging(logEvent = true)
     @Tracing(namespace = "Petclinic")
     public APIGatewayV2HTTPResponse apply(APIGatewayV2HTTPEvent event) {
-        long handlerStart = MetricsSupport.startTimer();
-        try {
+        return handle(event, null);
+    }
+
+    /** Same request handling as {@link #apply}; each vet goes out once its specialties are loaded. */
+    @Override
+    @Logging(logEvent = true)
+    @Tracing(namespace = "Petclinic")
+    public void stream(APIGatewayV2HTTPEvent event, ResponseStream response) throws IOException {
+        APIGatewayV2HTTPResponse complete = handle(event, response);
+        if (complete != null) response.send(complete);
+    }
+
+    /** Returns the response, or null when it was streamed into {@code stream}. */
+    private APIGatewayV2HTTPResponse handle(APIGatewayV2HTTPEvent event, ResponseStream stream) {
+        try (InvocationScope scope = InvocationScope.open("Vets", "GET_/vets", "VetsListLatencyMs", event)) {
+            if (!scope.admitted()) return scope.rejection();
             long serviceStart = MetricsSupport.startTimer();
             try {
+                if (stream != null) {
+                    int count = streamVets(stream);
+                    recordService(serviceStart);
+                    log.info("[VetsList] Streamed {} vets", count);
+                    return null;
+                }
                 List<Vet> vets = vetService.list(0, 999);
-                MetricsSupport.increment("VetsListCount", "Vets", "GET_/vets");
-                MetricsSupport.publishTimer("VetsServiceListLatencyMs", MetricsSupport.endTimer(serviceStart), "Vets", "GET_/vets");
+                recordService(serviceStart);
 
                 log.info("[VetsList] Retrieved {} vets", vets.size());
                 List<VetDto> dtos = vets.stream().map(VetDto::from).collect(Collectors.toList());
                 return ApiResponses.ok(dtos);
             } catch (Exception e) {
                 log.error("[VetsList] Internal error", e);
-                return ApiResponses.serverError("SERVER_ERROR", "Internal error");
+                if (stream != null && stream.started()) throw new StreamAbortedException(e);
+                return ExceptionMapper.toHttpResponse(e);
             }
-        } finally {
-            MetricsSupport.publishTimer("VetsListLatencyMs", MetricsSupport.endTimer(handlerStart), "Vets", "GET_/vets");
         }
     }
+
+    /** Service timing for both modes; streamed, it includes writing to the client, which drains as rows are read. */
+    private static void recordService(long serviceStart) {
+        RequestTiming.record("service", serviceStart);
+        MetricsSupport.increment("VetsListCount", "Vets", "GET_/vets");
+        MetricsSupport.publishTimer("VetsServiceListLatencyMs", MetricsSupport.endTimer(serviceStart), "Vets", "GET_/vets");
+    }
+
+    private int streamVets(ResponseStream stream) throws IOException {
+        JsonGenerator gen = stream.start(200, Map.of("Content-Type", "application/json"));
+        int[] count = {0};
+        gen.writeStartArray();
+        try {
+            vetService.forEach(0, 999, vet -> {
+                try {
+                    gen.writeObject(VetDto.from(vet));
+                    stream.elementWritten();
+                    count[0]++;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        gen.writeEndArray();
+        stream.finish();
+        return count[0];
+    }
 }
 
 record SpecialtyDto(Long id, String name) {
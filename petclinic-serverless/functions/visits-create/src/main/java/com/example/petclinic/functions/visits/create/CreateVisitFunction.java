@@ -6,7 +6,10 @@ import com.example.petclinic.domain.visit.Visit;
 import com.example.petclinic.domain.visit.VisitService;
 import com.example.petclinic.domain.visit.VisitValidationException;
 import com.example.petclinic.api.common.http.ApiResponses;
-import com.example.petclinic.api.common.metrics.MetricsSupport;
+import com.example.petclinic.api.common.errors.ExceptionMapper;
+import com.example.petclinic.api.common.invocation.InvocationScope;
+import com.example.petclinic.observability.metrics.MetricsSupport;
+import com.example.petclinic.observability.timing.RequestTiming;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -38,8 +41,8 @@ public class CreateVisitFunction implements Function<APIGatewayV2HTTPEvent, APIG
     @Logging(logEvent = true)
     @Tracing(namespace = "Petclinic")
     public APIGatewayV2HTTPResponse apply(APIGatewayV2HTTPEvent event) {
-        long handlerStart = MetricsSupport.startTimer();
-        try {
+        try (InvocationScope scope = InvocationScope.open("Visits", "POST_/visits", "VisitsCreateLatencyMs", event)) {
+            if (!scope.admitted()) return scope.rejection();
             long serviceStart = MetricsSupport.startTimer();
             try {
                 if (event == null || event.getBody() == null || event.getBody().isBlank()) {
@@ -50,7 +53,9 @@ public class CreateVisitFunction implements Function<APIGatewayV2HTTPEvent, APIG
                 Long ownerId = Long.parseLong(pathParams.getOrDefault("ownerId", "-1"));
                 Long petId = Long.parseLong(pathParams.getOrDefault("petId", "-1"));
 
+                long parseStart = MetricsSupport.startTimer();
                 CreateVisitRequest request = mapper.readValue(event.getBody(), CreateVisitRequest.class);
+                long callStart = RequestTiming.record("parse", parseStart);
 
                 Visit toCreate = new Visit(
                         ownerId,
@@ -59,6 +64,7 @@ public class CreateVisitFunction implements Function<APIGatewayV2HTTPEvent, APIG
                         request.description());
 
                 Visit saved = visitService.create(toCreate);
+                RequestTiming.record("service", callStart);
                 MetricsSupport.increment("VisitsCreatedCount", "Visits", "POST_/visits");
                 MetricsSupport.publishTimer("VisitsServiceCreateLatencyMs", MetricsSupport.endTimer(serviceStart), "Visits", "POST_/visits");
 
@@ -70,10 +76,8 @@ public class CreateVisitFunction implements Function<APIGatewayV2HTTPEvent, APIG
                 return ApiResponses.badRequest("VALIDATION_ERROR", e.getMessage());
             } catch (Exception e) {
                 log.error("[VisitsCreate] Internal error", e);
-                return ApiResponses.serverError("SERVER_ERROR", "Internal error");
+                return ExceptionMapper.toHttpResponse(e);
             }
-        } finally {
-            MetricsSupport.publishTimer("VisitsCreateLatencyMs", MetricsSupport.endTimer(handlerStart), "Visits", "POST_/visits");
         }
     }
 }
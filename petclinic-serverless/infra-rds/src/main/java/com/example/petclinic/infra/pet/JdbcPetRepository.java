@@ -8,6 +8,7 @@ import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Repository;
 
+import com.example.petclinic.domain.DatabaseUnavailableException;
 import com.example.petclinic.domain.pet.Pet;
 import com.example.petclinic.domain.pet.PetRepository;
 import com.example.petclinic.domain.pet.PetType;
@@ -68,6 +69,8 @@ public class JdbcPetRepository implements PetRepository {
 	public Pet findById(Integer id) {
 		try {
 			return jdbcTemplate.queryForObject(SELECT_BY_ID, petRowMapper, id);
+		} catch (DatabaseUnavailableException e) {
+			throw e; // fail fast, not "not found"
 		} catch (Exception e) {
 			return null;
 		}
@@ -82,6 +85,8 @@ public class JdbcPetRepository implements PetRepository {
 	public Pet findByOwnerIdAndName(Integer ownerId, String name) {
 		try {
 			return jdbcTemplate.queryForObject(SELECT_BY_OWNER_AND_NAME, petRowMapper, ownerId, name);
+		} catch (DatabaseUnavailableException e) {
+			throw e; // fail fast, not "not found"
 		} catch (Exception e) {
 			return null;
 		}
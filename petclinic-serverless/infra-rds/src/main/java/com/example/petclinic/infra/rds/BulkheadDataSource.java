@@ -0,0 +1,67 @@
+package com.example.petclinic.infra.rds;
+
+import com.example.petclinic.observability.deadline.DeadlineExceededException;
+import com.example.petclinic.observability.deadline.RequestDeadline;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+
+/**
+ * Guards connection acquisition with the {@link JdbcCircuitBreaker}: refuses immediately while the circuit is
+ * open and reports acquire failures (Hikari {@code connectionTimeout} exhausted, proxy unreachable) to it.
+ * An exhausted acquire budget ({@link SQLTransientConnectionException}: the pool is saturated) is rethrown as
+ * {@link com.example.petclinic.domain.DatabaseUnavailableException}, which Spring passes through unwrapped, so
+ * the handler answers 503 + Retry-After instead of a 500 for {@code CannotGetJdbcConnectionException}.
+ * Requests whose {@link RequestDeadline} is already spent do not
+ * queue for a connection at all.
+ */
+public class BulkheadDataSource extends DelegatingDataSource {
+
+    private final JdbcCircuitBreaker breaker;
+
+    public BulkheadDataSource(DataSource target, JdbcCircuitBreaker breaker) {
+        super(target);
+        this.breaker = breaker;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        checkDeadline();
+        breaker.acquirePermission();
+        try {
+            Connection connection = super.getConnection();
+            breaker.onSuccess();
+            return connection;
+        } catch (SQLTransientConnectionException e) {
+            throw breaker.onAcquireTimeout(e);
+        } catch (SQLException | RuntimeException e) {
+            breaker.onFailure(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        checkDeadline();
+        breaker.acquirePermission();
+        try {
+            Connection connection = super.getConnection(username, password);
+            breaker.onSuccess();
+            return connection;
+        } catch (SQLTransientConnectionException e) {
+            throw breaker.onAcquireTimeout(e);
+        } catch (SQLException | RuntimeException e) {
+            breaker.onFailure(e);
+            throw e;
+        }
+    }
+
+    private static void checkDeadline() {
+        if (RequestDeadline.active() && RequestDeadline.expired()) {
+            throw new DeadlineExceededException("Request deadline exceeded before acquiring a connection");
+        }
+    }
+}
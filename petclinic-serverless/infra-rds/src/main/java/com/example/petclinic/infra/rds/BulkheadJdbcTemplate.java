@@ -0,0 +1,52 @@
+package com.example.petclinic.infra.rds;
+
+import com.example.petclinic.observability.deadline.DeadlineExceededException;
+import com.example.petclinic.observability.deadline.RequestDeadline;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.sql.SQLRecoverableException;
+import java.sql.Statement;
+import java.sql.SQLTimeoutException;
+import java.sql.SQLTransientConnectionException;
+
+/**
+ * JdbcTemplate that reports statement timeouts and dropped connections to the {@link JdbcCircuitBreaker}
+ * (acquire failures are seen by {@link BulkheadDataSource}). Every JdbcTemplate operation funnels its
+ * SQLException through {@link #translateException}, so no repository code has to change.
+ * <p>
+ * Each statement also gets a {@code queryTimeout} from the request's {@link RequestDeadline}; a timeout caused
+ * by that deadline surfaces as {@link DeadlineExceededException} (504) and is not held against the database.
+ */
+public class BulkheadJdbcTemplate extends JdbcTemplate {
+
+    private final JdbcCircuitBreaker breaker;
+
+    public BulkheadJdbcTemplate(DataSource dataSource, JdbcCircuitBreaker breaker) {
+        super(dataSource);
+        this.breaker = breaker;
+    }
+
+    @Override
+    protected void applyStatementSettings(Statement stmt) throws SQLException {
+        super.applyStatementSettings(stmt);
+        int deadlineSeconds = RequestDeadline.queryTimeoutSeconds();
+        if (deadlineSeconds > 0 && (stmt.getQueryTimeout() == 0 || deadlineSeconds < stmt.getQueryTimeout())) {
+            stmt.setQueryTimeout(deadlineSeconds);
+        }
+    }
+
+    @Override
+    protected DataAccessException translateException(String task, String sql, SQLException ex) {
+        if (ex instanceof SQLTimeoutException && RequestDeadline.active() && RequestDeadline.expired()) {
+            throw new DeadlineExceededException("Query cancelled at request deadline: " + task, ex);
+        }
+        if (ex instanceof SQLTimeoutException || ex instanceof SQLTransientConnectionException
+                || ex instanceof SQLRecoverableException) {
+            breaker.onFailure(ex);
+        }
+        return super.translateException(task, sql, ex);
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.petclinic.infra.rds;
+
+import com.example.petclinic.observability.metrics.MetricsSupport;
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+import lombok.extern.slf4j.Slf4j;
+import software.amazon.lambda.powertools.metrics.Metrics;
+import software.amazon.lambda.powertools.metrics.model.MetricUnit;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Hikari metrics tracker publishing pool pressure through {@link MetricsSupport} (Operation {@code Pool},
+ * Endpoint = pool name) as one EMF blob, at most once per {@code intervalMillis}:
+ * <ul>
+ *   <li>gauges from the pool (same values as the HikariPoolMXBean): PoolActiveConnections, PoolIdleConnections,
+ *       PoolPendingThreads, PoolTotalConnections;</li>
+ *   <li>interval aggregates: PoolAcquireAvgMs / PoolAcquireMaxMs (getConnection wait), PoolConnectionCreateAvgMs /
+ *       PoolConnectionCreateMaxMs (driver connect + TLS/auth handshake through RDS Proxy), PoolUsageAvgMs,
+ *       PoolConnectionTimeoutCount;</li>
+ *   <li>PoolConnectionsOpened: connections created since this container started (never reset).</li>
+ * </ul>
+ * Publishing piggybacks on connection acquisition, so there is no timer thread to freeze on Lambda.
+ */
+@Slf4j
+public class HikariPoolMetrics implements MetricsTrackerFactory {
+
+    private final long intervalNanos;
+
+    public HikariPoolMetrics(long intervalMillis) {
+        this.intervalNanos = intervalMillis * 1_000_000L;
+    }
+
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+        return new Tracker(poolName, poolStats);
+    }
+
+    private final class Tracker implements IMetricsTracker {
+        private final String poolName;
+        private final PoolStats stats;
+        private final Interval acquire = new Interval();
+        private final Interval creation = new Interval();
+        private final Interval usage = new Interval();
+        private final LongAdder timeouts = new LongAdder();
+        private final AtomicLong connectionsOpened = new AtomicLong();
+        private final AtomicLong lastPublish = new AtomicLong(System.nanoTime());
+
+        Tracker(String poolName, PoolStats stats) {
+            this.poolName = poolName;
+            this.stats = stats;
+        }
+
+        @Override
+        public void recordConnectionCreatedMillis(long millis) {
+            creation.add(millis * 1_000_000L);
+            long opened = connectionsOpened.incrementAndGet();
+            log.debug("[HikariPoolMetrics] {} opened connection #{} in {} ms", poolName, opened, millis);
+        }
+
+        @Override
+        public void recordConnectionAcquiredNanos(long nanos) {
+            acquire.add(nanos);
+            maybePublish();
+        }
+
+        @Override
+        public void recordConnectionUsageMillis(long millis) {
+            usage.add(millis * 1_000_000L);
+        }
+
+        @Override
+        public void recordConnectionTimeout() {
+            timeouts.increment();
+        }
+
+        @Override
+        public void close() {
+            publish();
+            log.info("[HikariPoolMetrics] {} closed after opening {} connections", poolName, connectionsOpened.get());
+        }
+
+        private void maybePublish() {
+            long last = lastPublish.get();
+            long now = System.nanoTime();
+            if (now - last >= intervalNanos && lastPublish.compareAndSet(last, now)) {
+                try {
+                    publish();
+                } catch (RuntimeException e) {
+                    log.debug("[HikariPoolMetrics] Publish failed: {}", e.getMessage());
+                }
+            }
+        }
+
+        private void publish() {
+            long[] a = acquire.snapshotAndReset();
+            long[] c = creation.snapshotAndReset();
+            long[] u = usage.snapshotAndReset();
+            long timedOut = timeouts.sumThenReset();
+            // one blob; not publishTimer, which would also turn every value into a span event and a JFR event
+            MetricsSupport.publishAll("Pool", poolName, m -> {
+                m.addMetric("PoolActiveConnections", stats.getActiveConnections(), MetricUnit.NONE);
+                m.addMetric("PoolIdleConnections", stats.getIdleConnections(), MetricUnit.NONE);
+                m.addMetric("PoolPendingThreads", stats.getPendingThreads(), MetricUnit.NONE);
+                m.addMetric("PoolTotalConnections", stats.getTotalConnections(), MetricUnit.NONE);
+                m.addMetric("PoolConnectionsOpened", connectionsOpened.get(), MetricUnit.NONE);
+                m.addMetric("PoolConnectionTimeoutCount", timedOut, MetricUnit.NONE);
+                addInterval(m, "PoolAcquire", a);
+                addInterval(m, "PoolConnectionCreate", c);
+                if (u[0] > 0) m.addMetric("PoolUsageAvgMs", u[1] / (double) u[0] / 1_000_000.0, MetricUnit.MILLISECONDS);
+            });
+        }
+
+        private void addInterval(Metrics m, String prefix, long[] s) {
+            if (s[0] == 0) return;
+            m.addMetric(prefix + "AvgMs", s[1] / (double) s[0] / 1_000_000.0, MetricUnit.MILLISECONDS);
+            m.addMetric(prefix + "MaxMs", s[2] / 1_000_000.0, MetricUnit.MILLISECONDS);
+        }
+    }
+
+    /** count / sum / max of nanosecond samples since the last snapshot. */
+    private static final class Interval {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder sum = new LongAdder();
+        private final AtomicLong max = new AtomicLong();
+
+        void add(long nanos) {
+            count.increment();
+            sum.add(nanos);
+            long m;
+            while (nanos > (m = max.get()) && !max.compareAndSet(m, nanos)) { }
+        }
+
+        long[] snapshotAndReset() {
+            return new long[]{count.sumThenReset(), sum.sumThenReset(), max.getAndSet(0)};
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.petclinic.infra.rds;
+
+import com.example.petclinic.domain.DatabaseUnavailableException;
+import com.example.petclinic.observability.metrics.MetricsSupport;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Circuit breaker for database access. Counts connection-acquire failures and query timeouts inside a time
+ * window; reaching the threshold opens the circuit and every caller fails fast with
+ * {@link DatabaseUnavailableException} for {@code openMillis}. After that a single trial acquire is let through
+ * (half-open): success closes the circuit, failure opens it again.
+ * <p>
+ * A connection acquire that times out (pool saturated within its acquire budget) counts as a failure too and is
+ * rethrown by {@link BulkheadDataSource} as the {@link DatabaseUnavailableException} of {@link #onAcquireTimeout}.
+ * <p>
+ * Each transition publishes {@code DbBreakerState} (0 closed, 1 half-open, 2 open) and {@code DbBreakerTransitionCount}.
+ */
+@Slf4j
+public class JdbcCircuitBreaker {
+
+    public enum State { CLOSED, HALF_OPEN, OPEN }
+
+    private static final String OPERATION = "Database";
+    private static final String ENDPOINT = "jdbc";
+
+    private final int failureThreshold;
+    private final long windowMillis;
+    private final long openMillis;
+    private final LongSupplier clock;
+
+    private State state = State.CLOSED;
+    private int failures;
+    private long windowStart;
+    private long openedAt;
+    private boolean trialInFlight;
+
+    public JdbcCircuitBreaker(int failureThreshold, long windowMillis, long openMillis) {
+        this(failureThreshold, windowMillis, openMillis, System::currentTimeMillis);
+    }
+
+    JdbcCircuitBreaker(int failureThreshold, long windowMillis, long openMillis, LongSupplier clock) {
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.windowMillis = windowMillis;
+        this.openMillis = openMillis;
+        this.clock = clock;
+    }
+
+    /** Throws {@link DatabaseUnavailableException} when the call must not reach the database. */
+    public synchronized void acquirePermission() {
+        if (state == State.CLOSED) return;
+        long now = clock.getAsLong();
+        if (state == State.OPEN) {
+            long remaining = openedAt + openMillis - now;
+            if (remaining > 0) throw unavailable(remaining);
+            transition(State.HALF_OPEN);
+        }
+        // HALF_OPEN: one trial at a time, everyone else keeps failing fast
+        if (trialInFlight) throw unavailable(openMillis);
+        trialInFlight = true;
+    }
+
+    public synchronized void onSuccess() {
+        if (state == State.HALF_OPEN) {
+            trialInFlight = false;
+            failures = 0;
+            transition(State.CLOSED);
+        }
+    }
+
+    public synchronized void onFailure(Throwable cause) {
+        long now = clock.getAsLong();
+        if (state == State.HALF_OPEN) {
+            trialInFlight = false;
+            open(now, cause);
+            return;
+        }
+        if (state == State.OPEN) return;
+        if (now - windowStart > windowMillis) {
+            windowStart = now;
+            failures = 0;
+        }
+        if (++failures >= failureThreshold) open(now, cause);
+    }
+
+    /**
+     * Records a connection acquire that ran out of time and returns the 503 to throw in its place. Retry-After is
+     * the rest of the open period when this failure opened the circuit, one second otherwise.
+     */
+    public synchronized DatabaseUnavailableException onAcquireTimeout(Throwable cause) {
+        onFailure(cause);
+        long retryMillis = state == State.OPEN ? openedAt + openMillis - clock.getAsLong() : 1000;
+        return new DatabaseUnavailableException("Database temporarily unavailable", retryAfterSeconds(retryMillis), cause);
+    }
+
+    public synchronized State state() { return state; }
+
+    private void open(long now, Throwable cause) {
+        openedAt = now;
+        failures = 0;
+        log.warn("[JdbcCircuitBreaker] Opening circuit for {} ms: {}", openMillis, cause == null ? "" : cause.getMessage());
+        transition(State.OPEN);
+    }
+
+    private void transition(State next) {
+        if (state == next) return;
+        log.info("[JdbcCircuitBreaker] {} -> {}", state, next);
+        state = next;
+        MetricsSupport.increment("DbBreakerTransitionCount", OPERATION, ENDPOINT);
+        MetricsSupport.gauge("DbBreakerState", next.ordinal(), OPERATION, ENDPOINT);
+    }
+
+    private DatabaseUnavailableException unavailable(long remainingMillis) {
+        MetricsSupport.increment("DbBreakerRejectedCount", OPERATION, ENDPOINT);
+        return new DatabaseUnavailableException("Database temporarily unavailable", retryAfterSeconds(remainingMillis));
+    }
+
+    private static int retryAfterSeconds(long millis) {
+        return (int) Math.max(1, (millis + 999) / 1000);
+    }
+}
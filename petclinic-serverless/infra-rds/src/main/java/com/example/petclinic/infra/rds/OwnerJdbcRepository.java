@@ -2,6 +2,7 @@ package com.example.petclinic.infra.rds;
 
 import com.example.petclinic.domain.owner.Owner;
 import com.example.petclinic.domain.owner.OwnerRepository;
+import com.example.petclinic.domain.owner.OwnerRowHandler;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import org.springframework.jdbc.core.JdbcTemplate;
@@ -9,13 +10,19 @@ import org.springframework.dao.DuplicateKeyException;
 import org.springframework.jdbc.support.GeneratedKeyHolder;
 import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Repository;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Minimal JDBC implementation backed by RDS Proxy. Connection details provided via environment variables.
@@ -111,6 +118,16 @@ public class OwnerJdbcRepository implements OwnerRepository {
         return jdbcTemplate.query("SELECT * FROM owners ORDER BY id LIMIT ? OFFSET ?", MAPPER, size, offset);
     }
 
+    /** Columns read by position straight into the handler: no Owner, builder or result list per page. */
+    @Override
+    public void findAll(int page, int size, OwnerRowHandler handler) {
+        int offset = page * size;
+        jdbcTemplate.query("SELECT id, first_name, last_name, address, city, telephone FROM owners ORDER BY id LIMIT ? OFFSET ?",
+                rs -> {
+                    handler.row(rs.getLong(1), rs.getString(2), rs.getString(3), rs.getString(4), rs.getString(5), rs.getString(6));
+                }, size, offset);
+    }
+
     @Override
     public void deleteById(Long id) {
         jdbcTemplate.update("DELETE FROM owners WHERE id=?", id);
@@ -134,6 +151,61 @@ public class OwnerJdbcRepository implements OwnerRepository {
         return !rows.isEmpty();
     }
 
+    /** One {@code IN} query on {@code owners_telephone_uq}; callers bound the list (a batch request caps it). */
+    @Override
+    public Set<String> findExistingTelephones(Collection<String> telephones) {
+        Set<String> found = new HashSet<>();
+        if (telephones.isEmpty()) return found;
+        String sql = "SELECT telephone FROM owners WHERE telephone IN (" + "?,".repeat(telephones.size() - 1) + "?)";
+        jdbcTemplate.query(sql, (RowCallbackHandler) rs -> found.add(rs.getString(1)), telephones.toArray());
+        return found;
+    }
+
+    /**
+     * One multi-row INSERT, so the owners are written or refused together even under autocommit (a JDBC batch would
+     * keep the rows before a failing one). The generated keys come back in row order: InnoDB gives a multi-row
+     * INSERT consecutive auto-increment values.
+     */
+    @Override
+    public List<Owner> saveAll(List<Owner> owners) {
+        if (owners.isEmpty()) return List.of();
+        String sql = "INSERT INTO owners(first_name, last_name, address, city, telephone) VALUES "
+                + "(?,?,?,?,?),".repeat(owners.size() - 1) + "(?,?,?,?,?)";
+        KeyHolder kh = new GeneratedKeyHolder();
+        try {
+            jdbcTemplate.update(con -> {
+                var ps = con.prepareStatement(sql, java.sql.Statement.RETURN_GENERATED_KEYS);
+                int i = 1;
+                for (Owner o : owners) {
+                    ps.setString(i++, o.getFirstName());
+                    ps.setString(i++, o.getLastName());
+                    ps.setString(i++, o.getAddress());
+                    ps.setString(i++, o.getCity());
+                    ps.setString(i++, o.getTelephone());
+                }
+                return ps;
+            }, kh);
+        } catch (DuplicateKeyException ex) {
+            throw new com.example.petclinic.domain.owner.OwnerValidationException("Telephone already registered");
+        } catch (org.springframework.dao.DataIntegrityViolationException ex) {
+            if (ex.getCause() instanceof java.sql.SQLIntegrityConstraintViolationException ||
+                    (ex.getMessage() != null && ex.getMessage().toLowerCase().contains("duplicate"))) {
+                throw new com.example.petclinic.domain.owner.OwnerValidationException("Telephone already registered");
+            }
+            throw ex;
+        }
+        List<Map<String, Object>> keys = kh.getKeyList();
+        if (keys.size() != owners.size()) {
+            throw new IllegalStateException("Inserted " + owners.size() + " owners but got " + keys.size() + " generated keys");
+        }
+        List<Owner> saved = new ArrayList<>(owners.size());
+        for (int i = 0; i < owners.size(); i++) {
+            long id = ((Number) keys.get(i).values().iterator().next()).longValue();
+            saved.add(owners.get(i).toBuilder().id(id).build());
+        }
+        return saved;
+    }
+
     public int updateOwner(Long id, Owner owner) {
         try {
             return jdbcTemplate.update("UPDATE owners SET first_name=?, last_name=?, address=?, city=?, telephone=? WHERE id=?",
@@ -1,5 +1,8 @@
 package com.example.petclinic.infra.rds;
 
+import com.example.petclinic.infra.rds.sql.InstrumentedDataSource;
+import com.example.petclinic.infra.rds.sql.SqlStatsRegistry;
+import com.example.petclinic.observability.jfr.JfrEvents;
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
 import lombok.extern.slf4j.Slf4j;
@@ -14,7 +17,6 @@ import software.amazon.awssdk.services.secretsmanager.model.GetSecretValueReques
 import software.amazon.awssdk.services.secretsmanager.model.GetSecretValueResponse;
 
 import javax.sql.DataSource;
-import java.io.UncheckedIOException;
 import java.util.Map;
 import java.util.Objects;
 
@@ -37,6 +39,49 @@ public class RdsDataSourceConfig {
     @Value("${DB_SECRET_ARN:}")
     private String secretArn;
 
+    // Local harnesses (power tuning, benchmarks): plain pool on this URL, e.g. an H2 in-memory database.
+    // Not DB_JDBC_URL, which the serverless ymls set on every stage.
+    @Value("${DB_EMBEDDED_JDBC_URL:}")
+    private String embeddedJdbcUrl;
+
+    // Lambda: one request per container, so a tiny pool (5/0). Long-running hosts raise it for real concurrency.
+    @Value("${DB_POOL_SIZE:5}")
+    private int maximumPoolSize;
+
+    @Value("${DB_MIN_IDLE:0}")
+    private int minimumIdle;
+
+    // Connection-acquire budget. Hikari's 30s default outlives the 15s Lambda timeout, so by default we wait at
+    // most a fifth of the function timeout and leave the rest for the query itself.
+    @Value("${DB_CONNECTION_TIMEOUT_MS:0}")
+    private long connectionTimeoutMs;
+
+    @Value("${FUNCTION_TIMEOUT_SECONDS:15}")
+    private int functionTimeoutSeconds;
+
+    @Value("${DB_BREAKER_FAILURES:5}")
+    private int breakerFailures;
+
+    @Value("${DB_BREAKER_WINDOW_MS:10000}")
+    private long breakerWindowMs;
+
+    @Value("${DB_BREAKER_OPEN_MS:5000}")
+    private long breakerOpenMs;
+
+    // Per-statement timing (InstrumentedDataSource); statements slower than SQL_SLOW_MS are logged
+    @Value("${SQL_INSTRUMENTATION_ENABLED:true}")
+    private boolean sqlInstrumentationEnabled;
+
+    @Value("${SQL_SLOW_MS:200}")
+    private long sqlSlowMs;
+
+    @Value("${SQL_METRICS_FLUSH_SECONDS:60}")
+    private long sqlMetricsFlushSeconds;
+
+    // Pool pressure (active/idle/pending, acquire and connect times) published at most once per interval
+    @Value("${POOL_METRICS_INTERVAL_SECONDS:60}")
+    private long poolMetricsIntervalSeconds;
+
     @Bean
     public SecretsManagerClient secretsManagerClient() {
         // Region comes from AWS_REGION env automatically; let SDK resolve.
@@ -47,6 +92,18 @@ public class RdsDataSourceConfig {
 
     @Bean
     public DataSource dataSource(SecretsManagerClient smClient) {
+        if (embeddedJdbcUrl != null && !embeddedJdbcUrl.isBlank()) {
+            log.warn("[RdsDataSourceConfig] DB_EMBEDDED_JDBC_URL set → embedded database '{}'. NÃO usar em produção.", embeddedJdbcUrl);
+            HikariConfig cfg = new HikariConfig();
+            cfg.setPoolName("PetclinicPoolEmbedded");
+            cfg.setJdbcUrl(embeddedJdbcUrl);
+            cfg.setMaximumPoolSize(maximumPoolSize);
+            cfg.setMinimumIdle(minimumIdle);
+            cfg.setConnectionTimeout(acquireBudgetMs());
+            cfg.setMetricsTrackerFactory(new HikariPoolMetrics(poolMetricsIntervalSeconds * 1000));
+            return new HikariDataSource(cfg);
+        }
+
         // Defensive fallback: try values via @Value, then env.
         String effectiveEndpoint = firstNonBlank(proxyEndpoint, System.getenv("DB_PROXY_ENDPOINT"));
         String effectiveDbName = firstNonBlank(dbName, System.getenv("DB_NAME"), "petclinic");
@@ -74,8 +131,10 @@ public class RdsDataSourceConfig {
             cfg.setJdbcUrl(jdbcUrl);
             cfg.setUsername(localUser);
             cfg.setPassword(localPass);
-            cfg.setMaximumPoolSize(5);
-            cfg.setMinimumIdle(0);
+            cfg.setMaximumPoolSize(maximumPoolSize);
+            cfg.setMinimumIdle(minimumIdle);
+            cfg.setConnectionTimeout(acquireBudgetMs());
+            cfg.setMetricsTrackerFactory(new HikariPoolMetrics(poolMetricsIntervalSeconds * 1000));
             cfg.setInitializationFailTimeout(-1);
             return new HikariDataSource(cfg);
         }
@@ -93,7 +152,9 @@ public class RdsDataSourceConfig {
         validateEnv("DB_SECRET_ARN", effectiveSecretArn);
         validateEnv("DB_NAME", effectiveDbName);
 
+        long secretsStart = System.nanoTime();
         DbCredentials creds = fetchCredentials(smClient, effectiveSecretArn);
+        JfrEvents.coldStartPhase("secrets-fetch", secretsStart);
 
         String jdbcUrl = String.format(
             "jdbc:mysql://%s:3306/%s?useUnicode=true&characterEncoding=utf8&useSSL=true&requireSSL=true&verifyServerCertificate=false",
@@ -109,15 +170,37 @@ public class RdsDataSourceConfig {
         cfg.setJdbcUrl(jdbcUrl);
         cfg.setUsername(creds.username());
         cfg.setPassword(creds.password());
-        cfg.setMaximumPoolSize(5);
-        cfg.setMinimumIdle(0);
+        cfg.setMaximumPoolSize(maximumPoolSize);
+        cfg.setMinimumIdle(minimumIdle);
+        cfg.setConnectionTimeout(acquireBudgetMs());
+        cfg.setMetricsTrackerFactory(new HikariPoolMetrics(poolMetricsIntervalSeconds * 1000));
         cfg.setInitializationFailTimeout(-1);
-        return new HikariDataSource(cfg);
+        long poolStart = System.nanoTime();
+        HikariDataSource pool = new HikariDataSource(cfg);
+        JfrEvents.coldStartPhase("pool-init", poolStart);
+        return pool;
+    }
+
+    @Bean
+    public JdbcCircuitBreaker jdbcCircuitBreaker() {
+        return new JdbcCircuitBreaker(breakerFailures, breakerWindowMs, breakerOpenMs);
+    }
+
+    @Bean
+    public SqlStatsRegistry sqlStatsRegistry() {
+        return new SqlStatsRegistry(sqlSlowMs, sqlMetricsFlushSeconds * 1000);
     }
 
     @Bean
-    public JdbcTemplate jdbcTemplate(DataSource ds) {
-        return new JdbcTemplate(ds);
+    public JdbcTemplate jdbcTemplate(DataSource ds, JdbcCircuitBreaker breaker, SqlStatsRegistry sqlStats) {
+        DataSource target = sqlInstrumentationEnabled ? new InstrumentedDataSource(ds, sqlStats) : ds;
+        return new BulkheadJdbcTemplate(new BulkheadDataSource(target, breaker), breaker);
+    }
+
+    private long acquireBudgetMs() {
+        if (connectionTimeoutMs > 0) return Math.max(250, connectionTimeoutMs);
+        // Hikari rejects anything below 250 ms
+        return Math.max(250, functionTimeoutSeconds * 1000L / 5);
     }
 
     private void validateEnv(String name, String value) {
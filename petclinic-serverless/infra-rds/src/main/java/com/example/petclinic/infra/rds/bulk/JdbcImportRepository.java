@@ -0,0 +1,190 @@
+package com.example.petclinic.infra.rds.bulk;
+
+import com.example.petclinic.domain.bulk.ImportRejectedException;
+import com.example.petclinic.domain.bulk.ImportRepository;
+import com.example.petclinic.domain.owner.Owner;
+import com.example.petclinic.domain.pet.Pet;
+import com.example.petclinic.domain.pet.PetType;
+import com.example.petclinic.domain.visit.Visit;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * JDBC implementation of ImportRepository. Each insert is one multi-row statement
+ * ({@code INSERT ... VALUES (?,?),(?,?),...}), so it is written or refused as a whole even under autocommit; a JDBC
+ * batch is not, as the rows before a failing one stay written. The generated ids come back from
+ * {@code getGeneratedKeys()} in row order: InnoDB hands a multi-row INSERT consecutive auto-increment values (it
+ * knows the row count up front), which Connector/J reports, and H2 returns one key per row.
+ * <p>
+ * Lookups are {@code IN} lists of at most {@value #IN_LIST_MAX} values, each on an index (primary keys,
+ * {@code owners_telephone_uq}, {@code idx_pets_owner_name}).
+ * <p>
+ * A refused insert reports a neutral reason to the client; the driver's message, which names tables, constraints
+ * and sometimes the offending values, only goes to the log.
+ */
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+public class JdbcImportRepository implements ImportRepository {
+
+    static final int IN_LIST_MAX = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<Long> insertOwners(List<Owner> owners) {
+        String sql = multiRowInsert("INSERT INTO owners (first_name, last_name, address, city, telephone) VALUES ", 5, owners.size());
+        List<Long> ids = new ArrayList<>(owners.size());
+        insert(sql, owners.size(), ps -> {
+            int i = 1;
+            for (Owner o : owners) {
+                ps.setString(i++, o.getFirstName());
+                ps.setString(i++, o.getLastName());
+                ps.setString(i++, o.getAddress());
+                ps.setString(i++, o.getCity());
+                ps.setString(i++, o.getTelephone());
+            }
+        }, key -> ids.add(key.longValue()));
+        return ids;
+    }
+
+    @Override
+    public List<Integer> insertPets(List<Pet> pets) {
+        String sql = multiRowInsert("INSERT INTO pets (name, birth_date, type_id, owner_id) VALUES ", 4, pets.size());
+        List<Integer> ids = new ArrayList<>(pets.size());
+        insert(sql, pets.size(), ps -> {
+            int i = 1;
+            for (Pet p : pets) {
+                ps.setString(i++, p.getName());
+                ps.setObject(i++, p.getBirthDate());
+                ps.setInt(i++, p.getType().getId());
+                ps.setInt(i++, p.getOwnerId());
+            }
+        }, key -> ids.add(key.intValue()));
+        return ids;
+    }
+
+    @Override
+    public void insertVisits(List<Visit> visits) {
+        String sql = multiRowInsert("INSERT INTO visits (pet_id, visit_date, description) VALUES ", 3, visits.size());
+        try {
+            jdbcTemplate.update(sql, ps -> {
+                int i = 1;
+                for (Visit v : visits) {
+                    ps.setLong(i++, v.getPetId());
+                    ps.setObject(i++, v.getVisitDate());
+                    ps.setString(i++, v.getDescription());
+                }
+            });
+        } catch (DataIntegrityViolationException e) {
+            throw rejected(e);
+        }
+    }
+
+    @Override
+    public Set<String> existingTelephones(Collection<String> telephones) {
+        Set<String> found = new HashSet<>();
+        forEachInList("SELECT telephone FROM owners WHERE telephone IN ", telephones,
+                rs -> found.add(rs.getString(1)));
+        return found;
+    }
+
+    @Override
+    public Set<Long> existingOwnerIds(Collection<Long> ids) {
+        Set<Long> found = new HashSet<>();
+        forEachInList("SELECT id FROM owners WHERE id IN ", ids, rs -> found.add(rs.getLong(1)));
+        return found;
+    }
+
+    @Override
+    public Set<Long> existingPetIds(Collection<Long> ids) {
+        Set<Long> found = new HashSet<>();
+        forEachInList("SELECT id FROM pets WHERE id IN ", ids, rs -> found.add(rs.getLong(1)));
+        return found;
+    }
+
+    @Override
+    public Map<Integer, Set<String>> petNames(Collection<Integer> ownerIds) {
+        Map<Integer, Set<String>> names = new HashMap<>();
+        forEachInList("SELECT owner_id, name FROM pets WHERE owner_id IN ", ownerIds,
+                rs -> names.computeIfAbsent(rs.getInt(1), k -> new HashSet<>()).add(rs.getString(2)));
+        return names;
+    }
+
+    @Override
+    public List<PetType> petTypes() {
+        return jdbcTemplate.query("SELECT id, name FROM types", (rs, n) -> new PetType(rs.getInt(1), rs.getString(2)));
+    }
+
+    private void insert(String sql, int rows, StatementBinder binder, Consumer<Number> key) {
+        KeyHolder keys = new GeneratedKeyHolder();
+        try {
+            jdbcTemplate.update(con -> {
+                PreparedStatement ps = con.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
+                binder.bind(ps);
+                return ps;
+            }, keys);
+        } catch (DataIntegrityViolationException e) {
+            throw rejected(e);
+        }
+        List<Map<String, Object>> list = keys.getKeyList();
+        if (list.size() != rows) {
+            throw new IllegalStateException("Inserted " + rows + " rows but got " + list.size() + " generated keys");
+        }
+        for (Map<String, Object> k : list) key.accept((Number) k.values().iterator().next());
+    }
+
+    private <T> void forEachInList(String sqlPrefix, Collection<T> values, RowCallbackHandler callback) {
+        List<T> all = new ArrayList<>(values);
+        for (int from = 0; from < all.size(); from += IN_LIST_MAX) {
+            List<T> part = all.subList(from, Math.min(all.size(), from + IN_LIST_MAX));
+            StringBuilder sql = new StringBuilder(sqlPrefix.length() + part.size() * 2 + 2).append(sqlPrefix).append('(');
+            for (int i = 0; i < part.size(); i++) sql.append(i == 0 ? "?" : ",?");
+            jdbcTemplate.query(sql.append(')').toString(), callback, part.toArray());
+        }
+    }
+
+    private static String multiRowInsert(String prefix, int columns, int rows) {
+        StringBuilder group = new StringBuilder(columns * 2 + 1).append('(');
+        for (int c = 0; c < columns; c++) group.append(c == 0 ? "?" : ",?");
+        group.append(')');
+        StringBuilder sql = new StringBuilder(prefix.length() + rows * (group.length() + 1)).append(prefix);
+        for (int r = 0; r < rows; r++) {
+            if (r > 0) sql.append(',');
+            sql.append(group);
+        }
+        return sql.toString();
+    }
+
+    private static ImportRejectedException rejected(DataIntegrityViolationException e) {
+        log.warn("[JdbcImportRepository] Insert refused: {}", e.getMostSpecificCause().getMessage());
+        String reason = e instanceof DuplicateKeyException
+                ? "duplicate value of a unique column"
+                : "value too long, missing or not allowed for its column";
+        return new ImportRejectedException(reason, e);
+    }
+
+    @FunctionalInterface
+    private interface StatementBinder {
+        void bind(PreparedStatement ps) throws SQLException;
+    }
+}
@@ -0,0 +1,184 @@
+package com.example.petclinic.infra.rds.sql;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+
+/**
+ * DataSource whose connections time every statement into a {@link SqlStatsRegistry}.
+ * <ul>
+ *   <li>exec time: the {@code execute*} call itself (network + server time); a call that throws (SQL error,
+ *       query timeout) is recorded as a failure with its time and no rows;</li>
+ *   <li>rows / mapping time: counted on the returned ResultSet from {@code executeQuery} until {@code close()}.
+ *       MySQL Connector/J buffers the whole result on execute, so this is essentially RowMapper time;</li>
+ *   <li>bind parameters: only their types are kept, for the redacted slow-query log.</li>
+ * </ul>
+ * Uses JDK dynamic proxies; everything that is not intercepted is forwarded untouched.
+ */
+public class InstrumentedDataSource extends DelegatingDataSource {
+
+    private final SqlStatsRegistry registry;
+
+    public InstrumentedDataSource(DataSource target, SqlStatsRegistry registry) {
+        super(target);
+        this.registry = registry;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(super.getConnection(username, password));
+    }
+
+    private Connection wrap(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, new ConnectionHandler(connection));
+    }
+
+    /** Identity semantics for the proxy itself; Spring compares connections when releasing them. */
+    private static Object identity(Object proxy, Method method, Object[] args) {
+        return switch (method.getName()) {
+            case "equals" -> proxy == args[0];
+            case "hashCode" -> System.identityHashCode(proxy);
+            default -> null;
+        };
+    }
+
+    private static Object forward(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private final class ConnectionHandler implements InvocationHandler {
+        private final Connection target;
+
+        ConnectionHandler(Connection target) { this.target = target; }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            Object id = identity(proxy, method, args);
+            if (id != null) return id;
+            if (name.equals("unwrap") && args[0] == Connection.class) return proxy;
+            Object result = forward(target, method, args);
+            if (result instanceof Statement statement
+                    && (name.equals("prepareStatement") || name.equals("prepareCall") || name.equals("createStatement"))) {
+                String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : null;
+                Class<?> type = statement instanceof CallableStatement ? CallableStatement.class
+                        : statement instanceof PreparedStatement ? PreparedStatement.class : Statement.class;
+                return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                        new StatementHandler(statement, sql));
+            }
+            return result;
+        }
+    }
+
+    private final class StatementHandler implements InvocationHandler {
+        private final Statement target;
+        private final SqlStatementStats preparedStats;
+        private String[] bindTypes;
+
+        StatementHandler(Statement target, String sql) {
+            this.target = target;
+            this.preparedStats = sql != null ? registry.statsFor(sql) : null;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.startsWith("execute")) {
+                SqlStatementStats stats = args != null && args.length > 0 && args[0] instanceof String sql
+                        ? registry.statsFor(sql) : preparedStats;
+                long start = System.nanoTime();
+                long execNanos;
+                Object result = null;
+                boolean failed = true;
+                try {
+                    result = forward(target, method, args);
+                    failed = false;
+                } finally {
+                    execNanos = System.nanoTime() - start;
+                    // queries are recorded when their ResultSet closes; everything else, failures included, here
+                    if (stats != null && !(result instanceof ResultSet)) {
+                        registry.record(stats, execNanos, updateCount(result), 0, bindTypes, failed);
+                    }
+                }
+                if (stats != null && result instanceof ResultSet rs) {
+                    return Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[]{ResultSet.class},
+                            new ResultSetHandler(rs, stats, execNanos, bindTypes));
+                }
+                return result;
+            }
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                bind(index, name.equals("setNull") || args[1] == null ? "null" : args[1].getClass().getSimpleName());
+            } else if (name.equals("clearParameters")) {
+                bindTypes = null;
+            }
+            return forward(target, method, args);
+        }
+
+        private void bind(int index, String type) {
+            if (index < 1) return;
+            if (bindTypes == null) bindTypes = new String[Math.max(index, 4)];
+            else if (index > bindTypes.length) bindTypes = Arrays.copyOf(bindTypes, Math.max(index, bindTypes.length * 2));
+            bindTypes[index - 1] = type;
+        }
+
+        private long updateCount(Object result) {
+            if (result instanceof Integer i) return i;
+            if (result instanceof Long l) return l;
+            if (result instanceof int[] batch) return Arrays.stream(batch).filter(c -> c > 0).sum();
+            return 0;
+        }
+    }
+
+    private final class ResultSetHandler implements InvocationHandler {
+        private final ResultSet target;
+        private final SqlStatementStats stats;
+        private final long execNanos;
+        private final String[] bindTypes;
+        private final long openedAt = System.nanoTime();
+        private long rows;
+        private boolean recorded;
+
+        ResultSetHandler(ResultSet target, SqlStatementStats stats, long execNanos, String[] bindTypes) {
+            this.target = target;
+            this.stats = stats;
+            this.execNanos = execNanos;
+            this.bindTypes = bindTypes == null ? null : bindTypes.clone();
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.equals("next")) {
+                Object hasNext = forward(target, method, args);
+                if (Boolean.TRUE.equals(hasNext)) rows++;
+                return hasNext;
+            }
+            if (name.equals("close") && !recorded) {
+                recorded = true;
+                registry.record(stats, execNanos, rows, System.nanoTime() - openedAt, bindTypes);
+            }
+            return forward(target, method, args);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.petclinic.infra.rds.sql;
+
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Turns SQL text into a stable statement key: whitespace collapsed, string and numeric literals replaced by
+ * {@code ?}. Keys never contain literal values, so they are safe to log and to use as metric dimensions.
+ * <p>
+ * Statements built per batch size ({@code IN (?,?,?)} lookups, multi-row {@code INSERT ... VALUES (?,?),(?,?)})
+ * would get one key per size; lists of two or more placeholders become {@code IN (?+)} and repeated tuples
+ * {@code VALUES (?,?)+}, so each call site stays one key.
+ */
+final class SqlNormalizer {
+
+    private static final Pattern IN_LIST = Pattern.compile("(?i)\\b(IN) ?\\( ?\\?(?: ?, ?\\?)+ ?\\)");
+    private static final Pattern VALUES_ROWS = Pattern.compile("(?i)\\b(VALUES) ?(\\([^()]*\\))(?: ?, ?\\([^()]*\\))+");
+
+    private SqlNormalizer() {}
+
+    static String normalize(String sql) {
+        if (sql == null) return "";
+        StringBuilder out = new StringBuilder(sql.length());
+        int n = sql.length();
+        boolean pendingSpace = false;
+        for (int i = 0; i < n; i++) {
+            char c = sql.charAt(i);
+            if (Character.isWhitespace(c)) {
+                pendingSpace = out.length() > 0;
+                continue;
+            }
+            if (pendingSpace) {
+                out.append(' ');
+                pendingSpace = false;
+            }
+            if (c == '\'') {
+                // skip quoted literal, honouring '' escapes
+                i++;
+                while (i < n) {
+                    if (sql.charAt(i) == '\'') {
+                        if (i + 1 < n && sql.charAt(i + 1) == '\'') { i += 2; continue; }
+                        break;
+                    }
+                    i++;
+                }
+                out.append('?');
+            } else if (Character.isDigit(c) && !partOfIdentifier(out)) {
+                while (i + 1 < n && (Character.isDigit(sql.charAt(i + 1)) || sql.charAt(i + 1) == '.')) i++;
+                out.append('?');
+            } else {
+                out.append(c);
+            }
+        }
+        String normalized = IN_LIST.matcher(out).replaceAll("$1 (?+)");
+        return VALUES_ROWS.matcher(normalized).replaceAll("$1 $2+");
+    }
+
+    /** Short metric-friendly label: verb, main table and a hash of the normalized text. */
+    static String label(String normalized) {
+        String[] tokens = normalized.split("[\\s(),]+");
+        String verb = tokens.length > 0 ? tokens[0].toUpperCase(Locale.ROOT) : "SQL";
+        String table = "";
+        for (int i = 0; i < tokens.length - 1; i++) {
+            String t = tokens[i].toUpperCase(Locale.ROOT);
+            if (t.equals("FROM") || t.equals("INTO") || t.equals("UPDATE") || t.equals("TABLE")) {
+                table = tokens[i + 1].toLowerCase(Locale.ROOT);
+                break;
+            }
+        }
+        return verb + (table.isEmpty() ? "" : " " + table) + "#" + Integer.toHexString(normalized.hashCode());
+    }
+
+    private static boolean partOfIdentifier(StringBuilder out) {
+        if (out.length() == 0) return false;
+        char prev = out.charAt(out.length() - 1);
+        return Character.isLetterOrDigit(prev) || prev == '_' || prev == '`' || prev == '.';
+    }
+}
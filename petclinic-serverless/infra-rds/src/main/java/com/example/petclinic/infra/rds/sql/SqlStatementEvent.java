@@ -0,0 +1,29 @@
+package com.example.petclinic.infra.rds.sql;
+
+import com.example.petclinic.observability.jfr.PetclinicEvent;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * One JDBC statement, committed when {@link SqlStatsRegistry} records it (after the ResultSet is closed for
+ * queries), so the event time is the end of the statement. Execution and row mapping are reported separately.
+ */
+@Name("petclinic.SqlStatement")
+@Label("SQL Statement")
+@Description("JDBC statement executed through InstrumentedDataSource")
+class SqlStatementEvent extends PetclinicEvent {
+
+    @Label("Execution")
+    @Timespan(Timespan.NANOSECONDS)
+    long execution;
+
+    @Label("Mapping")
+    @Description("Time between executeQuery returning and the ResultSet being closed")
+    @Timespan(Timespan.NANOSECONDS)
+    long mapping;
+
+    @Label("Rows")
+    long rows;
+}
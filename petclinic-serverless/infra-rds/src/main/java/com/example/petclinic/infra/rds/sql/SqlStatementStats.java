@@ -0,0 +1,74 @@
+package com.example.petclinic.infra.rds.sql;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free counters and a log2 latency histogram (microsecond buckets) for one normalized statement.
+ * Recording is a handful of atomic adds, so it stays well below a microsecond.
+ */
+public final class SqlStatementStats {
+
+    private static final int BUCKETS = 32;
+
+    private final String sql;
+    private final String label;
+    private final LongAdder count = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAdder rows = new LongAdder();
+    private final LongAdder mappingNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+    private final AtomicLongArray histogram = new AtomicLongArray(BUCKETS);
+
+    SqlStatementStats(String sql) {
+        this.sql = sql;
+        this.label = SqlNormalizer.label(sql);
+    }
+
+    public String sql() { return sql; }
+
+    public String label() { return label; }
+
+    void record(long execNanos, long rowCount, long mapNanos, boolean failed) {
+        count.increment();
+        if (failed) errors.increment();
+        totalNanos.add(execNanos);
+        if (rowCount > 0) rows.add(rowCount);
+        if (mapNanos > 0) mappingNanos.add(mapNanos);
+        histogram.incrementAndGet(bucket(execNanos));
+        long max;
+        while (execNanos > (max = maxNanos.get()) && !maxNanos.compareAndSet(max, execNanos)) { }
+    }
+
+    /** Returns the counters accumulated since the previous snapshot and starts a new interval. */
+    Snapshot snapshotAndReset() {
+        long[] buckets = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) buckets[i] = histogram.getAndSet(i, 0);
+        return new Snapshot(label, count.sumThenReset(), errors.sumThenReset(), totalNanos.sumThenReset(),
+                rows.sumThenReset(), mappingNanos.sumThenReset(), maxNanos.getAndSet(0), buckets);
+    }
+
+    private static int bucket(long nanos) {
+        long micros = nanos / 1000;
+        return micros <= 0 ? 0 : Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(micros));
+    }
+
+    record Snapshot(String label, long count, long errors, long totalNanos, long rows, long mappingNanos, long maxNanos, long[] buckets) {
+
+        /** Upper bound (ms) of the histogram bucket holding the given quantile. */
+        double percentileMillis(double quantile) {
+            long target = (long) Math.ceil(count * quantile);
+            long seen = 0;
+            for (int i = 0; i < buckets.length; i++) {
+                seen += buckets[i];
+                if (seen >= target && seen > 0) {
+                    long upperMicros = i == 0 ? 1 : 1L << i;
+                    return Math.min(upperMicros / 1000.0, maxNanos / 1_000_000.0);
+                }
+            }
+            return maxNanos / 1_000_000.0;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.petclinic.infra.rds.sql;
+
+import com.example.petclinic.observability.jfr.JfrEvents;
+import com.example.petclinic.observability.metrics.MetricsSupport;
+import com.example.petclinic.observability.timing.RequestTiming;
+import com.example.petclinic.observability.trace.Span;
+import com.example.petclinic.observability.trace.Tracer;
+import lombok.extern.slf4j.Slf4j;
+import software.amazon.lambda.powertools.metrics.model.MetricUnit;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-statement statistics keyed by normalized SQL, plus the slow-query log. Raw SQL strings are constants in
+ * the repositories, so the raw-to-stats cache turns normalization into a single map lookup after warm-up.
+ * <p>
+ * Aggregates are published through {@link MetricsSupport}, one blob per statement, at most once per
+ * {@code flushIntervalMillis} (Operation {@code Sql}, Endpoint = statement label such as {@code SELECT owners#5f1c2a}): SqlCount, SqlErrors
+ * (statements that threw, timeouts included), SqlP50Ms,
+ * SqlP99Ms, SqlMaxMs, SqlRows and SqlMappingMs. The flush piggybacks on a recording thread, so no timer thread
+ * is needed (Lambda freezes those between invocations anyway). Each statement also becomes a {@code db} entry of
+ * the request's {@link RequestTiming}, a {@link SqlStatementEvent} in Flight Recorder recordings and a CLIENT span
+ * of the sampled trace (normalized SQL only, bind values never leave the driver).
+ */
+@Slf4j
+public class SqlStatsRegistry {
+
+    private static final int RAW_CACHE_LIMIT = 2048;
+
+    private final Map<String, SqlStatementStats> byRawSql = new ConcurrentHashMap<>();
+    private final Map<String, SqlStatementStats> byNormalized = new ConcurrentHashMap<>();
+    private final long slowNanos;
+    private final long flushIntervalNanos;
+    private final AtomicLong lastFlush = new AtomicLong(System.nanoTime());
+
+    public SqlStatsRegistry(long slowMillis, long flushIntervalMillis) {
+        this.slowNanos = slowMillis * 1_000_000L;
+        this.flushIntervalNanos = flushIntervalMillis * 1_000_000L;
+    }
+
+    SqlStatementStats statsFor(String rawSql) {
+        SqlStatementStats stats = byRawSql.get(rawSql);
+        if (stats != null) return stats;
+        stats = byNormalized.computeIfAbsent(SqlNormalizer.normalize(rawSql), SqlStatementStats::new);
+        // dynamic SQL would grow the raw cache without bound; normalized keys stay few
+        if (byRawSql.size() < RAW_CACHE_LIMIT) byRawSql.putIfAbsent(rawSql, stats);
+        return stats;
+    }
+
+    void record(SqlStatementStats stats, long execNanos, long rows, long mappingNanos, String[] bindTypes) {
+        record(stats, execNanos, rows, mappingNanos, bindTypes, false);
+    }
+
+    /** {@code failed}: the statement threw (SQL error, query timeout); it still counts, with its time and no rows. */
+    void record(SqlStatementStats stats, long execNanos, long rows, long mappingNanos, String[] bindTypes, boolean failed) {
+        stats.record(execNanos, rows, mappingNanos, failed);
+        RequestTiming.recordDb(stats.label(), execNanos + mappingNanos);
+        if (Tracer.active()) {
+            long end = System.nanoTime();
+            Tracer.recordChild(stats.label(), Span.Kind.CLIENT, end - execNanos - mappingNanos, end,
+                    "db.system", "mysql", "db.statement", stats.sql(), "db.response.returned_rows", rows, "error", failed);
+        }
+        SqlStatementEvent event = new SqlStatementEvent();
+        if (event.isEnabled()) {
+            event.execution = execNanos;
+            event.mapping = mappingNanos;
+            event.rows = rows;
+            JfrEvents.attach(event, stats.label());
+            event.commit();
+        }
+        if (execNanos + mappingNanos >= slowNanos) {
+            log.warn("[SqlStats] Slow {}statement {} ms (exec={} ms, mapping={} ms) rows={} sql='{}' binds={}",
+                    failed ? "failed " : "", millis(execNanos + mappingNanos), millis(execNanos), millis(mappingNanos),
+                    rows, stats.sql(), redacted(bindTypes));
+        }
+        maybeFlush();
+    }
+
+    /** Current per-statement view without resetting it (tests, diagnostics). */
+    public Map<String, SqlStatementStats> statements() {
+        return Map.copyOf(byNormalized);
+    }
+
+    public void flush() {
+        lastFlush.set(System.nanoTime());
+        for (SqlStatementStats stats : byNormalized.values()) {
+            SqlStatementStats.Snapshot s = stats.snapshotAndReset();
+            if (s.count() == 0) continue;
+            // one blob per statement; the executions already have their own spans and JFR events
+            MetricsSupport.publishAll("Sql", s.label(), m -> {
+                m.addMetric("SqlCount", s.count(), MetricUnit.COUNT);
+                if (s.errors() > 0) m.addMetric("SqlErrors", s.errors(), MetricUnit.COUNT);
+                m.addMetric("SqlP50Ms", s.percentileMillis(0.50), MetricUnit.MILLISECONDS);
+                m.addMetric("SqlP99Ms", s.percentileMillis(0.99), MetricUnit.MILLISECONDS);
+                m.addMetric("SqlMaxMs", s.maxNanos() / 1_000_000.0, MetricUnit.MILLISECONDS);
+                m.addMetric("SqlRows", s.rows(), MetricUnit.COUNT);
+                m.addMetric("SqlMappingMs", s.mappingNanos() / 1_000_000.0, MetricUnit.MILLISECONDS);
+            });
+        }
+    }
+
+    private void maybeFlush() {
+        long last = lastFlush.get();
+        long now = System.nanoTime();
+        if (now - last >= flushIntervalNanos && lastFlush.compareAndSet(last, now)) {
+            try {
+                flush();
+            } catch (RuntimeException e) {
+                log.debug("[SqlStats] Metrics flush failed: {}", e.getMessage());
+            }
+        }
+    }
+
+    private static String redacted(String[] bindTypes) {
+        if (bindTypes == null) return "[]";
+        String[] out = new String[bindTypes.length];
+        for (int i = 0; i < bindTypes.length; i++) {
+            out[i] = (i + 1) + ":" + (bindTypes[i] == null ? "unset" : bindTypes[i]) + "=***";
+        }
+        return Arrays.toString(out);
+    }
+
+    private static String millis(long nanos) {
+        return String.format("%.2f", nanos / 1_000_000.0);
+    }
+}
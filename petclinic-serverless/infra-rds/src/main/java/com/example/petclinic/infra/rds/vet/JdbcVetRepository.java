@@ -1,5 +1,6 @@
 package com.example.petclinic.infra.rds.vet;
 
+import com.example.petclinic.domain.DatabaseUnavailableException;
 import com.example.petclinic.domain.vet.Specialty;
 import com.example.petclinic.domain.vet.Vet;
 import com.example.petclinic.domain.vet.VetRepository;
@@ -64,6 +65,8 @@ public class JdbcVetRepository implements VetRepository {
             Vet vet = jdbcTemplate.queryForObject(sql, vetMapper, id);
             log.debug("[JdbcVetRepository] Found vet id={}", id);
             return Optional.of(vet);
+        } catch (DatabaseUnavailableException e) {
+            throw e; // fail fast, not "not found"
         } catch (Exception e) {
             log.debug("[JdbcVetRepository] Vet not found id={}", id);
             return Optional.empty();
@@ -1,5 +1,6 @@
 package com.example.petclinic.infra.rds.visit;
 
+import com.example.petclinic.domain.DatabaseUnavailableException;
 import com.example.petclinic.domain.visit.Visit;
 import com.example.petclinic.domain.visit.VisitRepository;
 import lombok.RequiredArgsConstructor;
@@ -84,6 +85,8 @@ public class JdbcVisitRepository implements VisitRepository {
                 }
             }, id);
             return Optional.of(visit);
+        } catch (DatabaseUnavailableException e) {
+            throw e; // fail fast, not "not found"
         } catch (Exception e) {
             log.debug("[JdbcVisitRepository] Visit not found id={}", id);
             return Optional.empty();
@@ -107,6 +110,8 @@ public class JdbcVisitRepository implements VisitRepository {
                 }
             }, visitId, ownerId);
             return Optional.of(visit);
+        } catch (DatabaseUnavailableException e) {
+            throw e; // fail fast, not "not found"
         } catch (Exception e) {
             log.debug("[JdbcVisitRepository] Visit not found visitId={} ownerId={}", visitId, ownerId);
             return Optional.empty();
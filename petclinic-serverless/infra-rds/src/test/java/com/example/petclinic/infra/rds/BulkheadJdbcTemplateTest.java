@@ -0,0 +1,86 @@
+package com.example.petclinic.infra.rds;
+
+import com.example.petclinic.observability.deadline.DeadlineExceededException;
+import com.example.petclinic.observability.deadline.RequestDeadline;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLTimeoutException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Statement timeouts through {@link BulkheadJdbcTemplate}: the request deadline's 504 versus a breaker failure. */
+class BulkheadJdbcTemplateTest {
+
+    private final AtomicLong now = new AtomicLong(1_000_000);
+    private final JdbcCircuitBreaker breaker = new JdbcCircuitBreaker(1, 10_000, 5_000, now::get);
+    private final List<Integer> queryTimeouts = new ArrayList<>();
+    private final JdbcTemplate jdbc = new BulkheadJdbcTemplate(timingOutDataSource(), breaker);
+
+    @AfterEach
+    void clearDeadline() {
+        RequestDeadline.endInvocation();
+    }
+
+    @Test
+    void timeoutAtTheRequestDeadlineIsA504NotADatabaseFailure() {
+        RequestDeadline.startInvocation(10_000);
+        RequestDeadline.begin("GET_/owners");
+
+        DeadlineExceededException e = assertThrows(DeadlineExceededException.class,
+                () -> jdbc.queryForObject("SELECT 1", Integer.class));
+
+        assertEquals(1, queryTimeouts.size());
+        assertTrue(queryTimeouts.get(0) > 0 && queryTimeouts.get(0) < 10, "queryTimeout " + queryTimeouts);
+        assertTrue(e.getCause() instanceof SQLTimeoutException, String.valueOf(e.getCause()));
+        assertEquals(JdbcCircuitBreaker.State.CLOSED, breaker.state());
+    }
+
+    @Test
+    void timeoutWithoutADeadlineCountsAgainstTheBreaker() {
+        assertThrows(QueryTimeoutException.class, () -> jdbc.queryForObject("SELECT 1", Integer.class));
+
+        assertEquals(List.of(0), queryTimeouts);
+        assertEquals(JdbcCircuitBreaker.State.OPEN, breaker.state());
+    }
+
+    /**
+     * Records the queryTimeout each statement was given. Executing one always times out, and spends whatever is
+     * left of the request deadline on the way, as a statement cancelled at its queryTimeout would.
+     */
+    private DataSource timingOutDataSource() {
+        PreparedStatement ps = (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+                new Class<?>[]{PreparedStatement.class},
+                (p, m, a) -> switch (m.getName()) {
+                    case "setQueryTimeout" -> { queryTimeouts.set(queryTimeouts.size() - 1, (Integer) a[0]); yield null; }
+                    case "getQueryTimeout" -> 0;
+                    case "executeQuery" -> {
+                        if (RequestDeadline.active()) {
+                            RequestDeadline.startInvocation(0);
+                            RequestDeadline.begin("GET_/owners");
+                        }
+                        throw new SQLTimeoutException("Statement cancelled due to timeout");
+                    }
+                    default -> null;
+                });
+        Connection con = (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (p, m, a) -> {
+                    if (m.getName().equals("createStatement") || m.getName().equals("prepareStatement")) {
+                        queryTimeouts.add(0);
+                        return ps;
+                    }
+                    return null;
+                });
+        return (DataSource) Proxy.newProxyInstance(DataSource.class.getClassLoader(), new Class<?>[]{DataSource.class},
+                (p, m, a) -> m.getName().equals("getConnection") ? con : null);
+    }
+}
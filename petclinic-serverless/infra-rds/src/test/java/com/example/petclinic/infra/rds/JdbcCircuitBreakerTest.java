@@ -0,0 +1,110 @@
+package com.example.petclinic.infra.rds;
+
+import com.example.petclinic.domain.DatabaseUnavailableException;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Proxy;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Breaker state machine on a hand-driven clock, and the saturated-pool path through {@link BulkheadDataSource}. */
+class JdbcCircuitBreakerTest {
+
+    private static final SQLException FAILURE = new SQLTransientConnectionException("Connection is not available");
+
+    private final AtomicLong now = new AtomicLong(1_000_000);
+    // 3 failures within 10 s open the circuit for 5 s
+    private final JdbcCircuitBreaker breaker = new JdbcCircuitBreaker(3, 10_000, 5_000, now::get);
+
+    @Test
+    void opensAtTheThresholdAndFailsFastWithRetryAfter() {
+        breaker.onFailure(FAILURE);
+        breaker.onFailure(FAILURE);
+        breaker.acquirePermission();
+        assertEquals(JdbcCircuitBreaker.State.CLOSED, breaker.state());
+
+        breaker.onFailure(FAILURE);
+        assertEquals(JdbcCircuitBreaker.State.OPEN, breaker.state());
+        assertEquals(5, rejection().getRetryAfterSeconds());
+
+        now.addAndGet(3_500);
+        assertEquals(2, rejection().getRetryAfterSeconds());
+    }
+
+    @Test
+    void failuresOutsideTheWindowDoNotAddUp() {
+        breaker.onFailure(FAILURE);
+        breaker.onFailure(FAILURE);
+        now.addAndGet(10_001);
+        breaker.onFailure(FAILURE);
+
+        assertEquals(JdbcCircuitBreaker.State.CLOSED, breaker.state());
+    }
+
+    @Test
+    void successfulHalfOpenTrialClosesTheCircuit() {
+        open();
+        now.addAndGet(5_000);
+
+        breaker.acquirePermission();
+        assertEquals(JdbcCircuitBreaker.State.HALF_OPEN, breaker.state());
+        // one trial at a time
+        assertEquals(5, rejection().getRetryAfterSeconds());
+
+        breaker.onSuccess();
+        assertEquals(JdbcCircuitBreaker.State.CLOSED, breaker.state());
+        breaker.acquirePermission();
+        breaker.acquirePermission();
+    }
+
+    @Test
+    void failedHalfOpenTrialOpensTheCircuitAgain() {
+        open();
+        now.addAndGet(5_000);
+        breaker.acquirePermission();
+
+        breaker.onFailure(FAILURE);
+
+        assertEquals(JdbcCircuitBreaker.State.OPEN, breaker.state());
+        assertEquals(5, rejection().getRetryAfterSeconds());
+    }
+
+    @Test
+    void poolAcquireTimeoutIsDatabaseUnavailable() {
+        JdbcTemplate jdbc = new BulkheadJdbcTemplate(new BulkheadDataSource(saturatedPool(), breaker), breaker);
+
+        DatabaseUnavailableException first = assertThrows(DatabaseUnavailableException.class,
+                () -> jdbc.queryForObject("SELECT 1", Integer.class));
+        assertEquals(1, first.getRetryAfterSeconds());
+        assertSame(FAILURE, first.getCause());
+
+        assertThrows(DatabaseUnavailableException.class, () -> jdbc.queryForObject("SELECT 1", Integer.class));
+        DatabaseUnavailableException opening = assertThrows(DatabaseUnavailableException.class,
+                () -> jdbc.queryForObject("SELECT 1", Integer.class));
+        assertEquals(JdbcCircuitBreaker.State.OPEN, breaker.state());
+        assertEquals(5, opening.getRetryAfterSeconds());
+    }
+
+    private void open() {
+        for (int i = 0; i < 3; i++) breaker.onFailure(FAILURE);
+        assertEquals(JdbcCircuitBreaker.State.OPEN, breaker.state());
+    }
+
+    private DatabaseUnavailableException rejection() {
+        return assertThrows(DatabaseUnavailableException.class, breaker::acquirePermission);
+    }
+
+    /** Every getConnection times out, like Hikari once its acquire budget is spent. */
+    private static DataSource saturatedPool() {
+        return (DataSource) Proxy.newProxyInstance(DataSource.class.getClassLoader(), new Class<?>[]{DataSource.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("getConnection")) throw FAILURE;
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
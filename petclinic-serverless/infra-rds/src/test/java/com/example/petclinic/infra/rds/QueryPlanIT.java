@@ -0,0 +1,274 @@
+package com.example.petclinic.infra.rds;
+
+import com.example.petclinic.domain.export.ExportDataset;
+import com.example.petclinic.domain.owner.Owner;
+import com.example.petclinic.domain.pet.Pet;
+import com.example.petclinic.domain.pet.PetType;
+import com.example.petclinic.domain.visit.Visit;
+import com.example.petclinic.infra.pet.JdbcPetRepository;
+import com.example.petclinic.infra.rds.export.JdbcExportRepository;
+import com.example.petclinic.infra.rds.vet.JdbcVetRepository;
+import com.example.petclinic.infra.rds.visit.JdbcVisitRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.TestFactory;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Query-plan regression suite: seeds MySQL with a few hundred thousand rows from {@code schema.sql}, drives every
+ * method of the infra-rds repositories and, right before each prepared statement executes, runs
+ * {@code EXPLAIN FORMAT=JSON} for it on the same connection with the same bind values. One dynamic test per
+ * distinct statement then checks every table access in the plan:
+ * <ul>
+ *   <li>no full table scan ({@code access_type: ALL}) and an index ({@code key}) is used;</li>
+ *   <li>at most {@link #MAX_ROWS_PER_SCAN} rows examined per scan, so a page query that walks an index without
+ *       stopping at the LIMIT fails too.</li>
+ * </ul>
+ * The target table of an INSERT is exempt; statements that read no table ({@code SELECT LAST_INSERT_ID()}) are
+ * skipped, but a statement on a table whose plan shows no table access fails instead of passing vacuously.
+ * A new repository statement is covered as soon as {@link #exercise} calls it.
+ */
+@Testcontainers
+class QueryPlanIT {
+
+    private static final int OWNERS = 20_000;
+    private static final int PETS = 40_000;
+    private static final int VISITS = 200_000;
+    private static final int VETS = 2_000;
+    private static final long MAX_ROWS_PER_SCAN = 100;
+
+    private static final Set<String> EXECUTE_METHODS = Set.of("execute", "executeQuery", "executeUpdate", "executeLargeUpdate");
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    @Container
+    static MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8.3.0")
+            .withDatabaseName("petclinic")
+            .withUsername("test")
+            .withPassword("test");
+
+    /** Statement text -> EXPLAIN FORMAT=JSON output, in first-execution order. */
+    static final Map<String, String> plans = new LinkedHashMap<>();
+
+    @BeforeAll
+    static void init() {
+        mysql.start();
+        HikariConfig cfg = new HikariConfig();
+        cfg.setJdbcUrl(mysql.getJdbcUrl());
+        cfg.setUsername(mysql.getUsername());
+        cfg.setPassword(mysql.getPassword());
+        // one connection: SELECT LAST_INSERT_ID() must run where the INSERT did
+        cfg.setMaximumPoolSize(1);
+        cfg.setConnectionInitSql("SET SESSION cte_max_recursion_depth = 1000000");
+        HikariDataSource ds = new HikariDataSource(cfg);
+
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).execute(ds);
+        JdbcTemplate raw = new JdbcTemplate(ds);
+        seed(raw);
+        exercise(new JdbcTemplate(new PlanCapturingDataSource(ds)), raw);
+    }
+
+    @TestFactory
+    Stream<DynamicTest> everyRepositoryStatementUsesAnIndex() {
+        assertFalse(plans.isEmpty(), "no statements captured");
+        return plans.entrySet().stream()
+                .map(e -> DynamicTest.dynamicTest(e.getKey().replaceAll("\\s+", " ").trim(),
+                        () -> assertPlan(e.getKey(), e.getValue())));
+    }
+
+    private static void assertPlan(String sql, String plan) throws Exception {
+        List<JsonNode> tables = new ArrayList<>();
+        collectTables(JSON.readTree(plan), tables);
+        if (tables.isEmpty()) {
+            // "Impossible WHERE" / "no matching row in const table" plans would pass vacuously
+            assertFalse(sql.matches("(?is).*\\b(from|into|update)\\b.*"), "plan without table access for:\n" + sql + "\n" + plan);
+            return;
+        }
+        for (JsonNode table : tables) {
+            if (table.path("insert").asBoolean(false)) continue;
+            String name = table.path("table_name").asText("?");
+            String access = table.path("access_type").asText("");
+            assertFalse("ALL".equals(access), "full scan of " + name + " in:\n" + sql + "\n" + plan);
+            assertTrue(table.hasNonNull("key"), "no index used on " + name + " in:\n" + sql + "\n" + plan);
+            long rows = table.path("rows_examined_per_scan").asLong(0);
+            assertTrue(rows <= MAX_ROWS_PER_SCAN,
+                    rows + " rows examined per scan on " + name + " (max " + MAX_ROWS_PER_SCAN + ") in:\n" + sql + "\n" + plan);
+        }
+    }
+
+    /** Every {@code "table": {...}} node, wherever the optimizer nested it (nested_loop, ordering, subqueries). */
+    private static void collectTables(JsonNode node, List<JsonNode> out) {
+        if (node.isObject()) {
+            node.fields().forEachRemaining(e -> {
+                if (e.getKey().equals("table") && e.getValue().has("table_name")) out.add(e.getValue());
+                collectTables(e.getValue(), out);
+            });
+        } else if (node.isArray()) {
+            node.forEach(n -> collectTables(n, out));
+        }
+    }
+
+    /** Skewed enough to make a scan visible in the estimates: ~2 pets per owner, ~5 visits per pet. */
+    private static void seed(JdbcTemplate jdbc) {
+        jdbc.update("INSERT INTO owners (first_name, last_name, address, city, telephone) "
+                + "WITH RECURSIVE seq(n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < ?) "
+                + "SELECT CONCAT('First', n), CONCAT('Last', n % 500), CONCAT(n, ' Main St'), CONCAT('City', n % 50), "
+                + "CONCAT('5', LPAD(n, 9, '0')) FROM seq", OWNERS);
+        jdbc.update("INSERT INTO pets (name, birth_date, type_id, owner_id) "
+                + "WITH RECURSIVE seq(n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < ?) "
+                + "SELECT CONCAT('Pet', n), DATE_SUB('2024-01-01', INTERVAL n % 4000 DAY), n % 4 + 1, n % ? + 1 FROM seq",
+                PETS, OWNERS);
+        jdbc.update("INSERT INTO visits (pet_id, visit_date, description) "
+                + "WITH RECURSIVE seq(n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < ?) "
+                + "SELECT n % ? + 1, DATE_SUB('2024-12-31', INTERVAL n % 1500 DAY), CONCAT('Visit ', n) FROM seq",
+                VISITS, PETS);
+        jdbc.update("INSERT INTO vets (first_name, last_name) "
+                + "WITH RECURSIVE seq(n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < ?) "
+                + "SELECT CONCAT('Vet', n), CONCAT('Last', n % 300) FROM seq", VETS);
+        jdbc.update("INSERT INTO vet_specialties (vet_id, specialty_id) SELECT id, id % 3 + 1 FROM vets WHERE id > 3");
+        jdbc.update("INSERT INTO vet_specialties (vet_id, specialty_id) SELECT id, (id + 1) % 3 + 1 FROM vets WHERE id > 3 AND id % 2 = 0");
+        jdbc.execute("ANALYZE TABLE owners, pets, visits, vets, specialties, vet_specialties, types");
+    }
+
+    /** Calls every repository method once, with ids that exist at the time the statement runs. */
+    private static void exercise(JdbcTemplate jdbc, JdbcTemplate raw) {
+        OwnerJdbcRepository owners = new OwnerJdbcRepository(jdbc);
+        Owner created = owners.save(Owner.builder().firstName("Ana").lastName("Silva").address("1 Rua A")
+                .city("Recife").telephone("4000000001").build());
+        owners.save(created.toBuilder().city("Olinda").build());
+        owners.updateOwner(created.getId(), created);
+        owners.findById(1L);
+        owners.findAll(0, 20);
+        owners.findAll(0, 20, (id, firstName, lastName, address, city, telephone) -> { });
+        owners.existsById(1L);
+        owners.existsByTelephone("5000000001");
+        owners.existsByTelephoneExcludingId("5000000001", 1L);
+        owners.deleteById(created.getId());
+
+        JdbcPetRepository pets = new JdbcPetRepository(jdbc);
+        Pet pet = new Pet();
+        pet.setName("Rex");
+        pet.setBirthDate(LocalDate.of(2020, 5, 1));
+        pet.setType(new PetType(2, "dog"));
+        pet.setOwnerId(1);
+        pets.save(pet);
+        pet.setName("Rex II");
+        pets.save(pet);
+        pets.findById(pet.getId());
+        pets.findByOwnerId(1);
+        pets.findByOwnerIdAndName(1, "Rex II");
+
+        JdbcVisitRepository visits = new JdbcVisitRepository(jdbc);
+        long petId = pet.getId();
+        visits.save(new Visit(1L, petId, LocalDate.of(2025, 1, 10), "Checkup"));
+        long visitId = raw.queryForObject("SELECT MAX(id) FROM visits", Long.class);
+        visits.save(Visit.builder().id(visitId).ownerId(1L).petId(petId)
+                .visitDate(LocalDate.of(2025, 1, 11)).description("Follow-up").build());
+        visits.findById(visitId);
+        visits.findByIdAndOwnerId(visitId, 1L);
+        visits.findByOwnerIdAndPetId(1L, petId);
+        visits.findAll(0, 20);
+        visits.deleteByIdAndOwnerId(visitId, 1L);
+        visits.save(new Visit(1L, petId, LocalDate.of(2025, 1, 12), "Vaccination"));
+        visits.deleteById(raw.queryForObject("SELECT MAX(id) FROM visits", Long.class));
+
+        JdbcVetRepository vets = new JdbcVetRepository(jdbc);
+        vets.findAll(0, 20);
+        vets.findById(1L);
+        vets.findSpecialtiesByVetId(1L);
+
+        // a primary key range; started one chunk before the end so the estimate is a chunk, not the whole table
+        JdbcExportRepository export = new JdbcExportRepository(jdbc);
+        for (ExportDataset dataset : ExportDataset.values()) {
+            long afterId = raw.queryForObject("SELECT MAX(id) - 50 FROM " + dataset.table(), Long.class);
+            export.export(dataset, afterId, 50, values -> true);
+        }
+    }
+
+    /**
+     * Connections whose prepared statements record their bind values and, on the first execution of each SQL text,
+     * EXPLAIN it on the underlying connection before running it.
+     */
+    static final class PlanCapturingDataSource extends DelegatingDataSource {
+
+        PlanCapturingDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            Connection target = super.getConnection();
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> {
+                        Object result = forward(target, method, args);
+                        if (method.getName().equals("prepareStatement") && result instanceof PreparedStatement ps) {
+                            return capturing(target, (String) args[0], ps);
+                        }
+                        return result;
+                    });
+        }
+
+        private static PreparedStatement capturing(Connection connection, String sql, PreparedStatement target) {
+            Map<Integer, Object> params = new TreeMap<>();
+            InvocationHandler handler = (proxy, method, args) -> {
+                String name = method.getName();
+                if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                    params.put(index, name.equals("setNull") ? null : args[1]);
+                } else if (name.equals("clearParameters")) {
+                    params.clear();
+                } else if (EXECUTE_METHODS.contains(name) && (args == null || args.length == 0) && !plans.containsKey(sql)) {
+                    plans.put(sql, explain(connection, sql, params));
+                }
+                return forward(target, method, args);
+            };
+            return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+                    new Class<?>[]{PreparedStatement.class}, handler);
+        }
+
+        private static String explain(Connection connection, String sql, Map<Integer, Object> params) throws SQLException {
+            try (PreparedStatement ps = connection.prepareStatement("EXPLAIN FORMAT=JSON " + sql)) {
+                for (Map.Entry<Integer, Object> p : params.entrySet()) ps.setObject(p.getKey(), p.getValue());
+                try (ResultSet rs = ps.executeQuery()) {
+                    return rs.next() ? rs.getString(1) : "{}";
+                }
+            }
+        }
+
+        private static Object forward(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.petclinic.infra.rds.sql;
+
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Statement instrumentation against an in-memory fake driver. The cost per statement is measured by
+ * {@code SqlInstrumentationBenchmark} in the benchmarks module.
+ */
+class InstrumentedDataSourceTest {
+
+    private static final int ROWS = 20;
+    private static final long NEVER = Long.MAX_VALUE / 2_000_000;
+
+    @Test
+    void keysByNormalizedSqlAndCountsRows() throws SQLException {
+        SqlStatsRegistry registry = new SqlStatsRegistry(NEVER, NEVER);
+        DataSource ds = new InstrumentedDataSource(fakeDataSource(), registry);
+        runStatement(ds, "SELECT * FROM owners WHERE id=?");
+        runStatement(ds, "SELECT *   FROM owners\n WHERE id=?");
+
+        assertEquals(1, registry.statements().size());
+        SqlStatementStats.Snapshot s = registry.statements().values().iterator().next().snapshotAndReset();
+        assertEquals(2, s.count());
+        assertEquals(0, s.errors());
+        assertEquals(2L * ROWS, s.rows());
+        assertTrue(s.label().startsWith("SELECT owners#"));
+    }
+
+    @Test
+    void recordsStatementsThatThrow() throws SQLException {
+        SqlStatsRegistry registry = new SqlStatsRegistry(NEVER, NEVER);
+        DataSource ds = new InstrumentedDataSource(fakeDataSource(), registry);
+        try (Connection c = ds.getConnection(); PreparedStatement ps = c.prepareStatement("UPDATE owners SET city=? WHERE id=?")) {
+            assertThrows(SQLTimeoutException.class, () -> ps.executeUpdate());
+        }
+
+        SqlStatementStats.Snapshot s = registry.statements().values().iterator().next().snapshotAndReset();
+        assertEquals(1, s.count());
+        assertEquals(1, s.errors());
+        assertEquals(0, s.rows());
+    }
+
+    @Test
+    void normalizerStripsLiterals() {
+        assertEquals("SELECT ? FROM t WHERE a=? AND b=? AND c2=?",
+                SqlNormalizer.normalize("SELECT 1 FROM t WHERE a='x''y' AND b=42 AND c2=?"));
+    }
+
+    @Test
+    void normalizerCollapsesInListsOfAnySize() {
+        String key = "SELECT telephone FROM owners WHERE telephone IN (?+)";
+        assertEquals(key, SqlNormalizer.normalize("SELECT telephone FROM owners WHERE telephone IN (?,?)"));
+        assertEquals(key, SqlNormalizer.normalize("SELECT telephone FROM owners WHERE telephone IN (" + "?,".repeat(499) + "?)"));
+        assertEquals("SELECT id FROM pets WHERE owner_id in (?+) AND id IN (?)",
+                SqlNormalizer.normalize("SELECT id FROM pets WHERE owner_id in ( ?, 7, '8' ) AND id IN (?)"));
+    }
+
+    @Test
+    void normalizerCollapsesMultiRowValues() {
+        String key = "INSERT INTO visits (pet_id, visit_date, description) VALUES (?,?,?)+";
+        assertEquals(key, SqlNormalizer.normalize("INSERT INTO visits (pet_id, visit_date, description) VALUES (?,?,?),(?,?,?)"));
+        assertEquals(key, SqlNormalizer.normalize("INSERT INTO visits (pet_id, visit_date, description) VALUES "
+                + "(?,?,?),".repeat(99) + "(?,?,?)"));
+        assertEquals("INSERT INTO visits (pet_id, visit_date, description) VALUES (?, ?, ?)",
+                SqlNormalizer.normalize("INSERT INTO visits (pet_id, visit_date, description) VALUES (?, ?, ?)"));
+    }
+
+    private static void runStatement(DataSource ds, String sql) throws SQLException {
+        try (Connection c = ds.getConnection(); PreparedStatement ps = c.prepareStatement(sql)) {
+            ps.setInt(1, 20);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) rs.getString("first_name");
+            }
+        }
+    }
+
+    /** Minimal driver: every query returns ROWS identical rows, every update times out. */
+    private static DataSource fakeDataSource() {
+        ResultSetState state = new ResultSetState();
+        ResultSet rs = (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[]{ResultSet.class},
+                (p, m, a) -> switch (m.getName()) {
+                    case "next" -> state.cursor++ < ROWS;
+                    case "getString" -> "value";
+                    case "close" -> { state.cursor = 0; yield null; }
+                    default -> null;
+                });
+        PreparedStatement ps = (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+                new Class<?>[]{PreparedStatement.class},
+                (p, m, a) -> switch (m.getName()) {
+                    case "executeQuery" -> rs;
+                    case "executeUpdate" -> throw new SQLTimeoutException("Statement cancelled due to timeout");
+                    default -> null;
+                });
+        Connection con = (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (p, m, a) -> m.getName().equals("prepareStatement") ? ps : null);
+        return (DataSource) Proxy.newProxyInstance(DataSource.class.getClassLoader(), new Class<?>[]{DataSource.class},
+                (p, m, a) -> m.getName().equals("getConnection") ? con : null);
+    }
+
+    private static final class ResultSetState {
+        int cursor;
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.petclinic.observability.deadline;
+
+/** The request ran out of its time budget; handlers answer 504 instead of being killed by the runtime. */
+public class DeadlineExceededException extends RuntimeException {
+    public DeadlineExceededException(String message) {
+        super(message);
+    }
+
+    public DeadlineExceededException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.petclinic.observability.deadline;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Per-invocation time budget, kept on the request thread so infra-rds can size each statement's
+ * {@code queryTimeout} without threading a parameter through services and repositories.
+ * <p>
+ * On Lambda the budget is the invocation's remaining time, captured from the {@code Context} by
+ * {@code DeadlineFunctionInvoker} (api-common). Long-running mode (container) has no Context, so each route gets a fixed
+ * budget from {@code REQUEST_DEADLINES} ({@code <endpoint>=<ms>;...}, {@code *} = default), falling back to
+ * {@code FUNCTION_TIMEOUT_SECONDS}. {@code DEADLINE_RESERVE_MS} (default 500) is kept back for serializing
+ * the response.
+ */
+public final class RequestDeadline {
+
+    static final long RESERVE_MILLIS = parseLong(System.getenv("DEADLINE_RESERVE_MS"), 500);
+    private static final long DEFAULT_BUDGET_MILLIS = parseLong(System.getenv("FUNCTION_TIMEOUT_SECONDS"), 15) * 1000;
+    private static final Map<String, Long> ROUTE_BUDGETS = parseBudgets(System.getenv("REQUEST_DEADLINES"));
+
+    /** Absolute deadline (System.nanoTime) of the current Lambda invocation, set by the invoker. */
+    private static final ThreadLocal<Long> INVOCATION = new ThreadLocal<>();
+    /** Deadline of the handler currently running on this thread. */
+    private static final ThreadLocal<Long> CURRENT = new ThreadLocal<>();
+
+    private RequestDeadline() {}
+
+    /** Records the Lambda invocation's remaining time; cleared with {@link #endInvocation()}. */
+    public static void startInvocation(long remainingMillis) {
+        INVOCATION.set(System.nanoTime() + remainingMillis * 1_000_000L);
+    }
+
+    public static void endInvocation() {
+        INVOCATION.remove();
+        CURRENT.remove();
+    }
+
+    /** Starts the handler budget: the Lambda deadline when known, otherwise the route's configured budget. */
+    public static void begin(String endpoint) {
+        Long invocation = INVOCATION.get();
+        if (invocation != null) {
+            CURRENT.set(invocation);
+        } else {
+            long budget = ROUTE_BUDGETS.getOrDefault(endpoint, ROUTE_BUDGETS.getOrDefault("*", DEFAULT_BUDGET_MILLIS));
+            CURRENT.set(System.nanoTime() + budget * 1_000_000L);
+        }
+    }
+
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    /** True when a budget is active on this thread. */
+    public static boolean active() {
+        return deadline() != null;
+    }
+
+    /** Milliseconds left before the deadline (negative once past it); Long.MAX_VALUE without a budget. */
+    public static long remainingMillis() {
+        Long d = deadline();
+        return d == null ? Long.MAX_VALUE : (d - System.nanoTime()) / 1_000_000L;
+    }
+
+    /** True when what remains no longer covers the serialization reserve. */
+    public static boolean expired() {
+        return remainingMillis() <= RESERVE_MILLIS;
+    }
+
+    /**
+     * JDBC timeout (whole seconds, JDBC's granularity) for the next statement: remaining time minus the
+     * reserve, rounded down, at least 1. Returns 0 (no timeout) without a budget.
+     *
+     * @throws DeadlineExceededException when the budget is already spent
+     */
+    public static int queryTimeoutSeconds() {
+        if (!active()) return 0;
+        long usable = remainingMillis() - RESERVE_MILLIS;
+        if (usable <= 0) throw new DeadlineExceededException("Request deadline exceeded before query");
+        return (int) Math.max(1, usable / 1000);
+    }
+
+    private static Long deadline() {
+        Long current = CURRENT.get();
+        return current != null ? current : INVOCATION.get();
+    }
+
+    static Map<String, Long> parseBudgets(String spec) {
+        Map<String, Long> out = new HashMap<>();
+        if (spec == null || spec.isBlank()) return out;
+        for (String entry : spec.split(";")) {
+            int eq = entry.indexOf('=');
+            if (eq <= 0) continue;
+            out.put(entry.substring(0, eq).trim(), Long.parseLong(entry.substring(eq + 1).trim()));
+        }
+        return out;
+    }
+
+    private static long parseLong(String v, long def) {
+        if (v == null || v.isBlank()) return def;
+        return Long.parseLong(v.trim());
+    }
+}
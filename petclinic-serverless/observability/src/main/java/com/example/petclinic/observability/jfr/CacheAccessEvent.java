@@ -0,0 +1,17 @@
+package com.example.petclinic.observability.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("petclinic.CacheAccess")
+@Label("Cache Access")
+@Description("Lookup in an in-process cache")
+public class CacheAccessEvent extends PetclinicEvent {
+
+    @Label("Cache")
+    String cache;
+
+    @Label("Hit")
+    boolean hit;
+}
@@ -0,0 +1,23 @@
+package com.example.petclinic.observability.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * One initialization phase (secrets fetch, pool start, JVM start to first request...). Only visible when the
+ * recording starts with the JVM ({@code -XX:StartFlightRecording}).
+ */
+@Name("petclinic.ColdStartPhase")
+@Label("Cold Start Phase")
+@Description("Initialization phase before the first request is served")
+public class ColdStartPhaseEvent extends PetclinicEvent {
+
+    @Label("Phase")
+    String phase;
+
+    @Label("Elapsed")
+    @Timespan(Timespan.NANOSECONDS)
+    long elapsed;
+}
@@ -0,0 +1,15 @@
+package com.example.petclinic.observability.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("petclinic.HandlerInvocation")
+@Label("Handler Invocation")
+@Description("One API handler invocation, from admission to the end of the handler")
+public class HandlerInvocationEvent extends PetclinicEvent {
+
+    @Label("Cold Start")
+    @Description("First invocation handled by this JVM")
+    boolean coldStart;
+}
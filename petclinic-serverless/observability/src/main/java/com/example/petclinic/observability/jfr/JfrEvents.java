@@ -0,0 +1,96 @@
+package com.example.petclinic.observability.jfr;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Entry points for the Petclinic JDK Flight Recorder events.
+ * <p>
+ * Handlers open a {@link HandlerInvocationEvent} with {@link #beginHandler} and commit it with {@link #endHandler};
+ * while it is open, the endpoint and operation are attached to every other event raised on the thread (service
+ * calls, SQL statements, cache lookups). Service calls come from {@code MetricsSupport.publishTimer}, SQL statements
+ * from infra-rds.
+ * <p>
+ * Each method starts with {@code new XxxEvent().isEnabled()}: without an active recording that is a constant
+ * check and the JIT removes the allocation, so the hooks cost close to nothing in production.
+ * Record with e.g. {@code JAVA_TOOL_OPTIONS=-XX:StartFlightRecording=filename=/tmp/petclinic.jfr,settings=profile}.
+ */
+public final class JfrEvents {
+
+    private static final ThreadLocal<HandlerInvocationEvent> CURRENT = new ThreadLocal<>();
+    private static volatile boolean served;
+
+    private JfrEvents() {}
+
+    public static void beginHandler(String operation, String endpoint) {
+        boolean first = !served;
+        if (first) {
+            served = true;
+            // JVM start to first request: class loading, Spring context, pool and secrets together
+            coldStartPhase("first-request", ManagementFactory.getRuntimeMXBean().getUptime() * 1_000_000L,
+                    operation, endpoint);
+        }
+        HandlerInvocationEvent event = new HandlerInvocationEvent();
+        if (!event.isEnabled()) return;
+        event.operation = operation;
+        event.endpoint = endpoint;
+        event.coldStart = first;
+        event.begin();
+        CURRENT.set(event);
+    }
+
+    public static void endHandler() {
+        HandlerInvocationEvent event = CURRENT.get();
+        if (event == null) return;
+        CURRENT.remove();
+        event.commit();
+    }
+
+    /** Called for every published timer; only {@code *Service*LatencyMs} metrics are service calls. */
+    public static void timer(String metric, double millis, String operation, String endpoint) {
+        ServiceCallEvent event = new ServiceCallEvent();
+        if (!event.isEnabled() || !metric.endsWith("LatencyMs") || !metric.contains("Service")) return;
+        event.metric = metric;
+        event.elapsed = (long) (millis * 1_000_000);
+        event.operation = operation;
+        event.endpoint = endpoint;
+        event.commit();
+    }
+
+    /** For application-level caches; the SQL stats lookup runs on every statement and is not reported. */
+    public static void cacheAccess(String cache, String sqlFingerprint, boolean hit) {
+        CacheAccessEvent event = new CacheAccessEvent();
+        if (!event.isEnabled()) return;
+        event.cache = cache;
+        event.hit = hit;
+        attach(event, sqlFingerprint);
+        event.commit();
+    }
+
+    /** Phase measured from {@code startNanos} (System.nanoTime) to now. */
+    public static void coldStartPhase(String phase, long startNanos) {
+        coldStartPhase(phase, System.nanoTime() - startNanos, null, null);
+    }
+
+    private static void coldStartPhase(String phase, long elapsedNanos, String operation, String endpoint) {
+        ColdStartPhaseEvent event = new ColdStartPhaseEvent();
+        if (!event.isEnabled()) return;
+        event.phase = phase;
+        event.elapsed = elapsedNanos;
+        event.operation = operation;
+        event.endpoint = endpoint;
+        event.commit();
+    }
+
+    /**
+     * Fills the common fields of an event raised outside this package: endpoint and operation of the handler open
+     * on this thread (if any) plus the SQL fingerprint. Call only after {@code isEnabled()} returned true.
+     */
+    public static void attach(PetclinicEvent event, String sqlFingerprint) {
+        HandlerInvocationEvent handler = CURRENT.get();
+        if (handler != null) {
+            event.endpoint = handler.endpoint;
+            event.operation = handler.operation;
+        }
+        event.sqlFingerprint = sqlFingerprint;
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.petclinic.observability.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+
+/**
+ * Common fields of the Petclinic JFR events: the metrics dimensions of the invocation that produced the event
+ * and, for database-related events, the normalized statement label (e.g. {@code SELECT owners#5f1c2a}).
+ * Stack traces are off by default; turn them on per event in the .jfc settings when needed.
+ */
+@Category("Petclinic")
+@StackTrace(false)
+public abstract class PetclinicEvent extends Event {
+
+    @Label("Endpoint")
+    protected String endpoint;
+
+    @Label("Operation")
+    protected String operation;
+
+    @Label("SQL Fingerprint")
+    protected String sqlFingerprint;
+}
@@ -0,0 +1,20 @@
+package com.example.petclinic.observability.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/** Committed when the service timer is published, so the event time is the end of the call. */
+@Name("petclinic.ServiceCall")
+@Label("Service Call")
+@Description("Domain service call timed by a *Service*LatencyMs metric")
+public class ServiceCallEvent extends PetclinicEvent {
+
+    @Label("Metric")
+    String metric;
+
+    @Label("Elapsed")
+    @Timespan(Timespan.NANOSECONDS)
+    long elapsed;
+}
@@ -0,0 +1,108 @@
+package com.example.petclinic.observability.metrics;
+
+import com.example.petclinic.observability.jfr.JfrEvents;
+import com.example.petclinic.observability.trace.Tracer;
+import software.amazon.lambda.powertools.metrics.Metrics;
+import software.amazon.lambda.powertools.metrics.MetricsFactory;
+import software.amazon.lambda.powertools.metrics.model.MetricUnit;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * Metrics helper adapted for Powertools Java v2 API.
+ * Emits individual EMF blobs per call (simple & explicit) with dimensions: Operation, Endpoint, Stage.
+ * Stage comes from STAGE env var (defaults to dev). Publishing is serialized, as the Powertools instance is shared.
+ * Published timers are also handed to {@link JfrEvents} and {@link Tracer} so service calls show up in Flight
+ * Recorder recordings and as spans.
+ */
+public final class MetricsSupport {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final String STAGE = sanitize(System.getenv().getOrDefault("STAGE", "dev"));
+    private static final ReentrantLock LOCK = new ReentrantLock();
+
+    private MetricsSupport() {}
+
+    public static long startTimer() { return System.nanoTime(); }
+    public static double endTimer(long startNano) { return (System.nanoTime() - startNano) / 1_000_000.0; }
+
+    // Called three times per metric blob: skip the regex for the usual whitespace-free names
+    private static String sanitize(String v) {
+        if (v == null || v.isBlank()) return "unknown";
+        for (int i = 0; i < v.length(); i++) {
+            if (Character.isWhitespace(v.charAt(i))) return WHITESPACE.matcher(v).replaceAll("_");
+        }
+        return v;
+    }
+
+    // Dimensions, metrics and flush all go through the process-wide Powertools instance, so concurrent callers
+    // (virtual threads in the container, pool housekeeping threads) must not interleave between add and flush.
+    // A ReentrantLock rather than synchronized: flush writes to stdout and must not pin a virtual thread's carrier.
+    private static void withMetric(String operation, String endpoint, MetricEmitter emitter) {
+        String op = sanitize(operation);
+        String ep = sanitize(endpoint);
+        LOCK.lock();
+        try {
+            Metrics m = MetricsFactory.getMetricsInstance();
+            m.addDimension("Operation", op);
+            m.addDimension("Endpoint", ep);
+            m.addDimension("Stage", STAGE);
+            emitter.emit(m);
+            m.flush();
+        } finally {
+            LOCK.unlock();
+        }
+    }
+
+    public static void increment(String counterName, String operation, String endpoint) {
+        withMetric(operation, endpoint, m -> m.addMetric(counterName, 1, MetricUnit.COUNT));
+    }
+
+    public static void publishTimer(String metricName, double millis, String operation, String endpoint) {
+        JfrEvents.timer(metricName, millis, operation, endpoint);
+        Tracer.timer(metricName, millis);
+        withMetric(operation, endpoint, m -> m.addMetric(metricName, millis, MetricUnit.MILLISECONDS));
+    }
+
+    /** Number of things (statements, rows) counted over an interval, published in one go. */
+    public static void count(String metricName, long value, String operation, String endpoint) {
+        withMetric(operation, endpoint, m -> m.addMetric(metricName, value, MetricUnit.COUNT));
+    }
+
+    /** Point-in-time value (state, size, ratio) rather than a count or a duration. */
+    public static void gauge(String metricName, double value, String operation, String endpoint) {
+        withMetric(operation, endpoint, m -> m.addMetric(metricName, value, MetricUnit.NONE));
+    }
+
+    /** Several metrics sharing the dimensions in a single EMF blob (one log line instead of one per metric). */
+    public static void publishAll(String operation, String endpoint, Consumer<Metrics> metrics) {
+        withMetric(operation, endpoint, metrics::accept);
+    }
+
+    public static <T> T time(String metricName, Supplier<T> supplier, String operation, String endpoint) {
+        long s = startTimer();
+        try { return supplier.get(); }
+        finally { publishTimer(metricName, endTimer(s), operation, endpoint); }
+    }
+
+    public static <T> T time(String metricName, Callable<T> callable, String operation, String endpoint) {
+        long s = startTimer();
+        try { return callable.call(); }
+        catch (RuntimeException re) { throw re; }
+        catch (Exception e) { throw new RuntimeException(e); }
+        finally { publishTimer(metricName, endTimer(s), operation, endpoint); }
+    }
+
+    public static void time(String metricName, Runnable runnable, String operation, String endpoint) {
+        long s = startTimer();
+        try { runnable.run(); }
+        finally { publishTimer(metricName, endTimer(s), operation, endpoint); }
+    }
+
+    @FunctionalInterface
+    private interface MetricEmitter { void emit(Metrics m); }
+}
@@ -0,0 +1,102 @@
+package com.example.petclinic.observability.timing;
+
+import com.example.petclinic.observability.trace.Span;
+import com.example.petclinic.observability.trace.Tracer;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Per-invocation phase timings returned to the client as a {@code Server-Timing} header
+ * (e.g. {@code parse;dur=0.41, db;dur=2.90;desc="SELECT owners#1c2d", service;dur=3.52, serialize;dur=0.18, total;dur=4.60}).
+ * Handlers mark parse / validate / service, infra-rds adds one {@code db} entry per statement and
+ * {@code ApiResponses.build} adds serialize + total when it writes the header.
+ * <p>
+ * Enabled when the deployment stage ({@code ENVIRONMENT_TYPE}, else {@code STAGE}, else dev) is listed in
+ * {@code SERVER_TIMING_STAGES} (default {@code local,dev}); the header exposes internals, so keep prod out.
+ * When disabled every call is a ThreadLocal read and nothing else.
+ * <p>
+ * Phases are also handed to {@link Tracer} as child spans, except {@code service}: that one is traced from the
+ * service's MetricsSupport timer, which knows which service was called.
+ */
+public final class RequestTiming {
+
+    public static final String HEADER = "Server-Timing";
+
+    private static final boolean ENABLED = enabledFor(
+            System.getenv().getOrDefault("ENVIRONMENT_TYPE", System.getenv().getOrDefault("STAGE", "dev")),
+            System.getenv().getOrDefault("SERVER_TIMING_STAGES", "local,dev"));
+    private static final int MAX_ENTRIES = 16;
+    private static final ThreadLocal<RequestTiming> CURRENT = new ThreadLocal<>();
+
+    private final long start = System.nanoTime();
+    private final String[] names = new String[MAX_ENTRIES];
+    private final String[] descriptions = new String[MAX_ENTRIES];
+    private final long[] nanos = new long[MAX_ENTRIES];
+    private int size;
+
+    private RequestTiming() {}
+
+    public static void begin() {
+        if (ENABLED) CURRENT.set(new RequestTiming());
+    }
+
+    public static void end() {
+        if (ENABLED) CURRENT.remove();
+    }
+
+    public static boolean active() {
+        return ENABLED && CURRENT.get() != null;
+    }
+
+    /** Records {@code now - startNanos} under the phase and returns now, so consecutive phases chain. */
+    public static long record(String phase, long startNanos) {
+        long now = System.nanoTime();
+        if (!"service".equals(phase)) Tracer.recordChild(phase, Span.Kind.INTERNAL, startNanos, now);
+        RequestTiming t = ENABLED ? CURRENT.get() : null;
+        if (t != null) t.add(phase, null, now - startNanos);
+        return now;
+    }
+
+    /** Adds one database call; entries beyond the header budget are folded into the last db entry. */
+    public static void recordDb(String statementLabel, long durationNanos) {
+        RequestTiming t = ENABLED ? CURRENT.get() : null;
+        if (t != null) t.add("db", statementLabel, durationNanos);
+    }
+
+    /** Header value for the current invocation (total = since begin), or null when timing is off. */
+    public static String headerValue() {
+        RequestTiming t = ENABLED ? CURRENT.get() : null;
+        return t == null ? null : t.format(System.nanoTime() - t.start);
+    }
+
+    private void add(String name, String description, long durationNanos) {
+        int i = size < MAX_ENTRIES ? size++ : MAX_ENTRIES - 1;
+        if (i == MAX_ENTRIES - 1 && names[i] != null) {
+            nanos[i] += durationNanos;
+            descriptions[i] = "more";
+            return;
+        }
+        names[i] = name;
+        descriptions[i] = description;
+        nanos[i] = durationNanos;
+    }
+
+    private String format(long totalNanos) {
+        StringBuilder sb = new StringBuilder(32 * (size + 1));
+        for (int i = 0; i < size; i++) {
+            sb.append(names[i]).append(";dur=").append(millis(nanos[i]));
+            if (descriptions[i] != null) sb.append(";desc=\"").append(descriptions[i].replace('"', '\'')).append('"');
+            sb.append(", ");
+        }
+        return sb.append("total;dur=").append(millis(totalNanos)).toString();
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.2f", nanos / 1_000_000.0);
+    }
+
+    static boolean enabledFor(String stage, String stages) {
+        return Arrays.stream(stages.split(",")).map(String::trim).anyMatch(s -> s.equalsIgnoreCase(stage));
+    }
+}
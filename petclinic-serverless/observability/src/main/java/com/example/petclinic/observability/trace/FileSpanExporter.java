@@ -0,0 +1,35 @@
+package com.example.petclinic.observability.trace;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Appends one OTLP/JSON line per trace to a file (default {@code /tmp/petclinic-spans.jsonl}). Each line is a
+ * complete {@code ExportTraceServiceRequest}, so it can be replayed into a collector with
+ * {@code curl -H 'Content-Type: application/json' --data-binary @line http://localhost:4318/v1/traces}.
+ */
+@Slf4j
+public class FileSpanExporter implements SpanExporter {
+
+    private final Path file;
+
+    public FileSpanExporter(String file) {
+        this.file = Path.of(file);
+    }
+
+    @Override
+    public synchronized void export(List<Span> spans) {
+        try {
+            Files.writeString(file, OtlpJson.write(spans) + "\n", StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            log.warn("[FileSpanExporter] Could not write {}: {}", file, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.petclinic.observability.trace;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Head-based sampling decided once per request, before any child span exists: a propagated W3C sampled flag is
+ * honoured, otherwise {@code ratio} of the requests are kept. On top of that at most {@code maxPerSecond} traces
+ * are started per second in this process, so tracing cost stays flat however high the RPS goes.
+ */
+final class HeadSampler {
+
+    private final double ratio;
+    private final int maxPerSecond;
+    // high bits: epoch second, low 20 bits: traces started in that second
+    private final AtomicLong window = new AtomicLong();
+
+    HeadSampler(double ratio, int maxPerSecond) {
+        this.ratio = Math.max(0, Math.min(1, ratio));
+        this.maxPerSecond = Math.min(maxPerSecond, (1 << 20) - 1);
+    }
+
+    /** @param parentSampled propagated decision, or null when the request carries none */
+    boolean sample(Boolean parentSampled) {
+        if (parentSampled != null) {
+            if (!parentSampled) return false;
+        } else if (ratio < 1 && (ratio == 0 || ThreadLocalRandom.current().nextDouble() >= ratio)) {
+            return false;
+        }
+        return maxPerSecond <= 0 || takeSlot(System.currentTimeMillis() / 1000);
+    }
+
+    private boolean takeSlot(long second) {
+        while (true) {
+            long current = window.get();
+            long next = (current >>> 20) == second ? current + 1 : (second << 20) | 1;
+            if ((next & 0xFFFFF) > maxPerSecond) return false;
+            if (window.compareAndSet(current, next)) return true;
+        }
+    }
+}
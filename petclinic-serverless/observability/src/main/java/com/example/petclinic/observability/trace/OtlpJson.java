@@ -0,0 +1,86 @@
+package com.example.petclinic.observability.trace;
+
+import java.util.List;
+
+/**
+ * Writes spans as an OTLP/JSON {@code ExportTraceServiceRequest} (resourceSpans / scopeSpans / spans), the payload
+ * accepted by an OpenTelemetry collector on {@code /v1/traces}. Hand-written to keep the export path free of
+ * reflection; ids are hex and timestamps are decimal strings, as the OTLP JSON mapping requires.
+ */
+final class OtlpJson {
+
+    private static final String SERVICE_NAME = serviceName();
+
+    private OtlpJson() {}
+
+    static String write(List<Span> spans) {
+        StringBuilder sb = new StringBuilder(256 + spans.size() * 320);
+        sb.append("{\"resourceSpans\":[{\"resource\":{\"attributes\":[");
+        attribute(sb, "service.name", SERVICE_NAME);
+        sb.append("]},\"scopeSpans\":[{\"scope\":{\"name\":\"petclinic\"},\"spans\":[");
+        for (int i = 0; i < spans.size(); i++) {
+            if (i > 0) sb.append(',');
+            span(sb, spans.get(i));
+        }
+        return sb.append("]}]}]}").toString();
+    }
+
+    private static void span(StringBuilder sb, Span s) {
+        sb.append("{\"traceId\":\"").append(s.traceId())
+          .append("\",\"spanId\":\"").append(s.spanId()).append('"');
+        if (s.parentSpanId() != null) sb.append(",\"parentSpanId\":\"").append(s.parentSpanId()).append('"');
+        sb.append(",\"name\":");
+        string(sb, s.name());
+        // SpanKind enum values: 1 internal, 2 server, 3 client
+        sb.append(",\"kind\":").append(s.kind().ordinal() + 1)
+          .append(",\"startTimeUnixNano\":\"").append(s.startEpochNanos())
+          .append("\",\"endTimeUnixNano\":\"").append(s.endEpochNanos())
+          .append("\",\"attributes\":[");
+        List<Object> attrs = s.attributes();
+        for (int i = 0; i < attrs.size(); i += 2) {
+            if (i > 0) sb.append(',');
+            attribute(sb, (String) attrs.get(i), attrs.get(i + 1));
+        }
+        // StatusCode: 0 unset, 2 error
+        sb.append("],\"status\":{\"code\":").append(s.error() ? 2 : 0).append("}}");
+    }
+
+    private static void attribute(StringBuilder sb, String key, Object value) {
+        sb.append("{\"key\":");
+        string(sb, key);
+        if (value instanceof Long || value instanceof Integer) {
+            sb.append(",\"value\":{\"intValue\":\"").append(value).append("\"}}");
+        } else if (value instanceof Boolean) {
+            sb.append(",\"value\":{\"boolValue\":").append(value).append("}}");
+        } else {
+            sb.append(",\"value\":{\"stringValue\":");
+            string(sb, String.valueOf(value));
+            sb.append("}}");
+        }
+    }
+
+    private static void string(StringBuilder sb, String v) {
+        sb.append('"');
+        for (int i = 0; i < v.length(); i++) {
+            char c = v.charAt(i);
+            switch (c) {
+                case '"' -> sb.append("\\\"");
+                case '\\' -> sb.append("\\\\");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                case '\t' -> sb.append("\\t");
+                default -> {
+                    if (c < 0x20) sb.append(String.format("\\u%04x", (int) c));
+                    else sb.append(c);
+                }
+            }
+        }
+        sb.append('"');
+    }
+
+    private static String serviceName() {
+        String v = System.getenv("OTEL_SERVICE_NAME");
+        if (v == null || v.isBlank()) v = System.getenv("AWS_LAMBDA_FUNCTION_NAME");
+        return v == null || v.isBlank() ? "petclinic" : v;
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.petclinic.observability.trace;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Finished span in the OpenTelemetry data model: 32-hex trace id, 16-hex span/parent ids, epoch-nanosecond
+ * timestamps, kind, status and string/long/boolean attributes (OTel semantic-convention keys where one exists).
+ */
+public final class Span {
+
+    public enum Kind { INTERNAL, SERVER, CLIENT }
+
+    private final String traceId;
+    private final String spanId;
+    private final String parentSpanId;
+    private final String name;
+    private final Kind kind;
+    private final long startEpochNanos;
+    private long endEpochNanos;
+    private boolean error;
+    private final List<Object> attributes = new ArrayList<>(8);
+
+    Span(String traceId, String spanId, String parentSpanId, String name, Kind kind, long startEpochNanos) {
+        this.traceId = traceId;
+        this.spanId = spanId;
+        this.parentSpanId = parentSpanId;
+        this.name = name;
+        this.kind = kind;
+        this.startEpochNanos = startEpochNanos;
+    }
+
+    public String traceId() { return traceId; }
+    public String spanId() { return spanId; }
+    /** Null for a root span without a propagated parent. */
+    public String parentSpanId() { return parentSpanId; }
+    public String name() { return name; }
+    public Kind kind() { return kind; }
+    public long startEpochNanos() { return startEpochNanos; }
+    public long endEpochNanos() { return endEpochNanos; }
+    public boolean error() { return error; }
+
+    /** Alternating key / value list (values are String, Long or Boolean). */
+    public List<Object> attributes() { return Collections.unmodifiableList(attributes); }
+
+    Span attribute(String key, Object value) {
+        if (value != null) {
+            attributes.add(key);
+            attributes.add(value);
+        }
+        return this;
+    }
+
+    void end(long epochNanos) { this.endEpochNanos = epochNanos; }
+
+    void markError() { this.error = true; }
+}
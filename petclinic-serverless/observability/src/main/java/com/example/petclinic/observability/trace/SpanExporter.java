@@ -0,0 +1,24 @@
+package com.example.petclinic.observability.trace;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Receives the spans of one sampled trace when its root span ends. Called on the request thread: on Lambda the
+ * container is frozen after the response, so anything buffered for later would be lost or delayed.
+ */
+public interface SpanExporter {
+
+    void export(List<Span> spans);
+
+    /** Selected by {@code TRACE_EXPORTER}: {@code stdout}, {@code file} ({@code TRACE_FILE}) or none. */
+    static SpanExporter fromEnv() {
+        String type = System.getenv().getOrDefault("TRACE_EXPORTER", "none").trim().toLowerCase(Locale.ROOT);
+        return switch (type) {
+            case "stdout" -> new StdoutSpanExporter();
+            case "file" -> new FileSpanExporter(System.getenv().getOrDefault("TRACE_FILE", "/tmp/petclinic-spans.jsonl"));
+            case "none", "" -> null;
+            default -> throw new IllegalArgumentException("Unknown TRACE_EXPORTER '" + type + "'");
+        };
+    }
+}
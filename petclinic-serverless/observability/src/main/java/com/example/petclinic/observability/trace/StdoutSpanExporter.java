@@ -0,0 +1,12 @@
+package com.example.petclinic.observability.trace;
+
+import java.util.List;
+
+/** One OTLP/JSON line per trace on stdout (CloudWatch Logs on Lambda, {@code docker logs} for the container). */
+public class StdoutSpanExporter implements SpanExporter {
+
+    @Override
+    public void export(List<Span> spans) {
+        System.out.println(OtlpJson.write(spans));
+    }
+}
@@ -0,0 +1,212 @@
+package com.example.petclinic.observability.trace;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * In-process tracer producing OpenTelemetry-shaped spans, complementary to the single X-Ray segment that
+ * {@code @Tracing} creates per handler. Each handler opens a SERVER root span; children come from the existing
+ * timing hooks:
+ * <ul>
+ *   <li>{@code RequestTiming.record}: parse, validate and serialize phases;</li>
+ *   <li>{@code MetricsSupport.publishTimer}: every {@code *Service*LatencyMs} timer (e.g. {@code OwnersService.Get});</li>
+ *   <li>infra-rds: one CLIENT span per JDBC statement, named by the statement label.</li>
+ * </ul>
+ * The trace id comes from a W3C {@code traceparent} header, else from the X-Ray trace header (same 128 bits, so
+ * spans line up with the X-Ray trace), else it is random. Only sampled requests (see {@link HeadSampler}) keep
+ * state; for the rest every hook is a ThreadLocal read. The spans of a trace are exported together when the root
+ * ends.
+ * <p>
+ * Configuration (env): {@code TRACE_EXPORTER} (none | stdout | file), {@code TRACE_FILE},
+ * {@code TRACE_SAMPLE_RATIO} (default 1.0) and {@code TRACE_MAX_PER_SECOND} (default 10, 0 = no cap).
+ */
+@Slf4j
+public final class Tracer {
+
+    private static final int MAX_SPANS = 128;
+    private static final ThreadLocal<Trace> CURRENT = new ThreadLocal<>();
+
+    private static volatile SpanExporter exporter = SpanExporter.fromEnv();
+    private static volatile HeadSampler sampler = new HeadSampler(
+            Double.parseDouble(System.getenv().getOrDefault("TRACE_SAMPLE_RATIO", "1.0")),
+            Integer.parseInt(System.getenv().getOrDefault("TRACE_MAX_PER_SECOND", "10")));
+
+    private Tracer() {}
+
+    /** Replaces the env configuration (tests, local tools). A null exporter turns tracing off. */
+    public static void configure(SpanExporter spanExporter, double sampleRatio, int maxPerSecond) {
+        sampler = new HeadSampler(sampleRatio, maxPerSecond);
+        exporter = spanExporter;
+    }
+
+    /** Opens the SERVER root span of a request; {@code headers} (may be null) carry the incoming trace context. */
+    public static void beginRequest(String operation, String endpoint, Map<String, String> headers) {
+        if (exporter == null) return;
+        String[] parent = traceparent(headers);
+        if (!sampler.sample(parent == null ? null : Boolean.valueOf(parent[2]))) return;
+        if (parent == null) parent = xrayParent();
+
+        int sep = endpoint.indexOf('_');
+        String method = sep > 0 ? endpoint.substring(0, sep) : null;
+        String route = sep > 0 ? endpoint.substring(sep + 1) : endpoint;
+        Trace trace = new Trace(System.currentTimeMillis());
+        trace.root = new Span(parent == null ? randomHex(32) : parent[0], randomHex(16),
+                parent == null ? null : parent[1], method == null ? route : method + " " + route, Span.Kind.SERVER,
+                trace.epochNanos(trace.nanoBase))
+                .attribute("http.request.method", method)
+                .attribute("http.route", route)
+                .attribute("petclinic.operation", operation)
+                .attribute("petclinic.endpoint", endpoint);
+        CURRENT.set(trace);
+    }
+
+    public static void endRequest() {
+        Trace trace = CURRENT.get();
+        if (trace == null) return;
+        CURRENT.remove();
+        trace.root.end(trace.epochNanos(System.nanoTime()));
+        if (trace.dropped > 0) trace.root.attribute("petclinic.dropped_spans", (long) trace.dropped);
+        List<Span> spans = new ArrayList<>(trace.children.size() + 1);
+        spans.add(trace.root);
+        spans.addAll(trace.children);
+        SpanExporter current = exporter;
+        if (current == null) return;
+        try {
+            current.export(spans);
+        } catch (RuntimeException e) {
+            log.debug("[Tracer] Export failed: {}", e.getMessage());
+        }
+    }
+
+    public static boolean active() {
+        return exporter != null && CURRENT.get() != null;
+    }
+
+    /** Trace id of the sampled request on this thread, or null. */
+    public static String currentTraceId() {
+        Trace trace = exporter == null ? null : CURRENT.get();
+        return trace == null ? null : trace.root.traceId();
+    }
+
+    /**
+     * Adds a finished child of the root span; times are System.nanoTime values.
+     * @param attributes alternating key / value (String, Long or Boolean)
+     */
+    public static void recordChild(String name, Span.Kind kind, long startNanos, long endNanos, Object... attributes) {
+        Trace trace = exporter == null ? null : CURRENT.get();
+        if (trace == null) return;
+        if (trace.children.size() >= MAX_SPANS) {
+            trace.dropped++;
+            return;
+        }
+        Span span = new Span(trace.root.traceId(), randomHex(16), trace.root.spanId(), name, kind,
+                trace.epochNanos(startNanos));
+        for (int i = 0; i + 1 < attributes.length; i += 2) span.attribute((String) attributes[i], attributes[i + 1]);
+        span.end(trace.epochNanos(endNanos));
+        trace.children.add(span);
+    }
+
+    /** Hook for {@code MetricsSupport.publishTimer}: service timers become spans ending now. */
+    public static void timer(String metric, double millis) {
+        if (exporter == null || CURRENT.get() == null) return;
+        int service = metric.indexOf("Service");
+        if (service < 0 || !metric.endsWith("LatencyMs")) return;
+        long end = System.nanoTime();
+        String name = metric.substring(0, service + 7) + "." + metric.substring(service + 7, metric.length() - 9);
+        recordChild(name, Span.Kind.INTERNAL, end - (long) (millis * 1_000_000), end);
+    }
+
+    public static void responseStatus(int status) {
+        Trace trace = exporter == null ? null : CURRENT.get();
+        if (trace == null) return;
+        trace.root.attribute("http.response.status_code", (long) status);
+        if (status >= 500) trace.root.markError();
+    }
+
+    public static void recordError(Throwable t) {
+        Trace trace = exporter == null ? null : CURRENT.get();
+        if (trace == null) return;
+        trace.root.attribute("exception.type", t.getClass().getName());
+        trace.root.markError();
+    }
+
+    /**
+     * [traceId, parentSpanId, sampled] from a W3C traceparent header, or null when there is none or it is invalid
+     * (the request then starts a new trace). The header is client input: every field must be lowercase hex of the
+     * right length, the version must not be {@code ff} (version 00 has exactly four fields) and the ids must not be
+     * all zeros.
+     */
+    static String[] traceparent(Map<String, String> headers) {
+        String traceparent = headers == null ? null : headers.get("traceparent");
+        if (traceparent == null) return null;
+        String[] p = traceparent.trim().split("-");
+        if (p.length < 4 || !isHex(p[0], 2) || !isHex(p[1], 32) || !isHex(p[2], 16) || !isHex(p[3], 2)) return null;
+        if (p[0].equals("ff") || (p[0].equals("00") && p.length != 4) || isZeros(p[1]) || isZeros(p[2])) return null;
+        return new String[]{p[1], p[2], Boolean.toString((Integer.parseInt(p[3], 16) & 1) == 1)};
+    }
+
+    private static boolean isHex(String s, int length) {
+        if (s.length() != length) return false;
+        for (int i = 0; i < length; i++) {
+            char c = s.charAt(i);
+            if ((c < '0' || c > '9') && (c < 'a' || c > 'f')) return false;
+        }
+        return true;
+    }
+
+    private static boolean isZeros(String s) {
+        for (int i = 0; i < s.length(); i++) {
+            if (s.charAt(i) != '0') return false;
+        }
+        return true;
+    }
+
+    /**
+     * [traceId, parentSpanId] from the X-Ray header of the current invocation, or null. Root=1-5759e988-bd86...
+     * maps to trace id 5759e988bd86... (the AWS OTel convention). The X-Ray sampled flag is ignored on purpose:
+     * local sampling is configured separately.
+     */
+    static String[] xrayParent() {
+        String xray = System.getProperty("com.amazonaws.xray.traceHeader", System.getenv("_X_AMZN_TRACE_ID"));
+        if (xray == null) return null;
+        String root = null;
+        String parentId = null;
+        for (String part : xray.split(";")) {
+            if (part.startsWith("Root=")) root = part.substring(5);
+            else if (part.startsWith("Parent=")) parentId = part.substring(7);
+        }
+        if (root == null || root.length() != 35) return null;
+        return new String[]{root.substring(2, 10) + root.substring(11), parentId};
+    }
+
+    private static String randomHex(int chars) {
+        ThreadLocalRandom r = ThreadLocalRandom.current();
+        StringBuilder sb = new StringBuilder(chars);
+        while (sb.length() < chars) {
+            String part = Long.toHexString(r.nextLong());
+            for (int i = part.length(); i < 16; i++) sb.append('0');
+            sb.append(part);
+        }
+        return sb.substring(0, chars);
+    }
+
+    private static final class Trace {
+        final long nanoBase = System.nanoTime();
+        final long epochNanoBase;
+        final List<Span> children = new ArrayList<>(16);
+        Span root;
+        int dropped;
+
+        Trace(long nowMillis) {
+            this.epochNanoBase = nowMillis * 1_000_000L;
+        }
+
+        long epochNanos(long nanoTime) {
+            return epochNanoBase + (nanoTime - nanoBase);
+        }
+    }
+}
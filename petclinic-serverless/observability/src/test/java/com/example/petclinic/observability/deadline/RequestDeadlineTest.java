@@ -0,0 +1,83 @@
+package com.example.petclinic.observability.deadline;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestDeadlineTest {
+
+    private static final long RESERVE = RequestDeadline.RESERVE_MILLIS;
+
+    @AfterEach
+    void clear() {
+        RequestDeadline.endInvocation();
+    }
+
+    @Test
+    void parsesRouteBudgets() {
+        assertEquals(Map.of("GET_/owners", 2000L, "POST_/import", 25000L, "*", 8000L),
+                RequestDeadline.parseBudgets("GET_/owners=2000; POST_/import = 25000 ;*=8000;malformed;=5"));
+        assertTrue(RequestDeadline.parseBudgets(null).isEmpty());
+        assertTrue(RequestDeadline.parseBudgets(" ").isEmpty());
+        assertThrows(NumberFormatException.class, () -> RequestDeadline.parseBudgets("GET_/owners=2s"));
+    }
+
+    @Test
+    void noBudgetMeansNoQueryTimeout() {
+        assertFalse(RequestDeadline.active());
+        assertFalse(RequestDeadline.expired());
+        assertEquals(Long.MAX_VALUE, RequestDeadline.remainingMillis());
+        assertEquals(0, RequestDeadline.queryTimeoutSeconds());
+    }
+
+    @Test
+    void queryTimeoutIsWhatRemainsAfterTheReserveInWholeSeconds() {
+        RequestDeadline.startInvocation(RESERVE + 3_900);
+        RequestDeadline.begin("GET_/owners");
+
+        assertTrue(RequestDeadline.active());
+        assertFalse(RequestDeadline.expired());
+        assertEquals(3, RequestDeadline.queryTimeoutSeconds());
+    }
+
+    @Test
+    void queryTimeoutIsAtLeastOneSecond() {
+        RequestDeadline.startInvocation(RESERVE + 300);
+        RequestDeadline.begin("GET_/owners");
+
+        assertEquals(1, RequestDeadline.queryTimeoutSeconds());
+    }
+
+    @Test
+    void spentBudgetThrowsDeadlineExceeded() {
+        RequestDeadline.startInvocation(RESERVE - 1);
+        RequestDeadline.begin("GET_/owners");
+
+        assertTrue(RequestDeadline.expired());
+        assertThrows(DeadlineExceededException.class, RequestDeadline::queryTimeoutSeconds);
+    }
+
+    @Test
+    void lambdaDeadlineWinsOverTheRouteBudget() {
+        RequestDeadline.startInvocation(2_000);
+        RequestDeadline.begin("GET_/owners");
+
+        assertTrue(RequestDeadline.remainingMillis() <= 2_000, "remaining " + RequestDeadline.remainingMillis());
+        RequestDeadline.end();
+        // the invocation deadline still applies between handlers
+        assertTrue(RequestDeadline.active());
+    }
+
+    @Test
+    void withoutAnInvocationTheRouteBudgetApplies() {
+        RequestDeadline.begin("GET_/owners");
+
+        assertTrue(RequestDeadline.active());
+        assertTrue(RequestDeadline.remainingMillis() > RESERVE, "remaining " + RequestDeadline.remainingMillis());
+        RequestDeadline.end();
+        assertFalse(RequestDeadline.active());
+    }
+}
@@ -13,7 +13,9 @@ CREATE TABLE IF NOT EXISTS owners (
   last_name VARCHAR(30),
   address VARCHAR(255),
   city VARCHAR(80),
-  telephone VARCHAR(20)
+  telephone VARCHAR(20),
+  -- existsByTelephone* (OwnerJdbcRepository.initSchema creates the same index in production)
+  UNIQUE KEY owners_telephone_uq (telephone)
 );
 
 -- Tabela de pets
@@ -24,14 +26,18 @@ CREATE TABLE IF NOT EXISTS pets (
   type_id INT,
   owner_id INT,
   FOREIGN KEY (type_id) REFERENCES types(id),
-  FOREIGN KEY (owner_id) REFERENCES owners(id)
+  FOREIGN KEY (owner_id) REFERENCES owners(id),
+  -- pets of an owner ordered by name (findByOwnerId), one pet by owner + name (findByOwnerIdAndName)
+  INDEX idx_pets_owner_name (owner_id, name)
 );
 
 -- Tabela de vets
 CREATE TABLE IF NOT EXISTS vets (
   id INT PRIMARY KEY AUTO_INCREMENT,
   first_name VARCHAR(30),
-  last_name VARCHAR(30)
+  last_name VARCHAR(30),
+  -- vets page ordered by name; covers the select list (InnoDB appends the primary key)
+  INDEX idx_vets_name (last_name, first_name)
 );
 
 -- Tabela de especialidades
@@ -46,7 +52,9 @@ CREATE TABLE IF NOT EXISTS vet_specialties (
   specialty_id INT,
   PRIMARY KEY (vet_id, specialty_id),
   FOREIGN KEY (vet_id) REFERENCES vets(id),
-  FOREIGN KEY (specialty_id) REFERENCES specialties(id)
+  FOREIGN KEY (specialty_id) REFERENCES specialties(id),
+  -- FK checks on specialties (the primary key only leads with vet_id)
+  INDEX idx_vet_specialties_specialty (specialty_id)
 );
 
 -- Tabela de visitas
@@ -55,7 +63,11 @@ CREATE TABLE IF NOT EXISTS visits (
   pet_id INT,
   visit_date DATE,
   description VARCHAR(255),
-  FOREIGN KEY (pet_id) REFERENCES pets(id)
+  FOREIGN KEY (pet_id) REFERENCES pets(id),
+  -- visits of a pet, newest first (findByOwnerIdAndPetId)
+  INDEX idx_visits_pet_date (pet_id, visit_date),
+  -- visits page, newest first (findAll)
+  INDEX idx_visits_date (visit_date)
 );
 
 -- Dados de teste
@@ -0,0 +1,33 @@
+#!/bin/sh
+# Packages the response-streaming functions (owners-list, vets-list, data-export) for the provided.al2023 custom
+# runtime, after `mvn package`:
+#   target/streaming/java17-runtime-layer.zip  Corretto 17 runtime image (jlink), unpacked by Lambda under /opt/java
+#   target/streaming/<function>.zip            bootstrap (mode 755) + the function's shaded jar as function.jar
+# jlink must run on the target platform, so run this on Linux x86_64 (CI, CloudShell or a container).
+# JAVA17_LINUX_HOME points at a Linux x64 JDK 17; without it Corretto 17 is downloaded.
+set -eu
+cd "$(dirname "$0")/.."
+OUT=target/streaming
+WORK=$OUT/work
+rm -rf "$OUT"
+mkdir -p "$WORK"
+
+JDK=${JAVA17_LINUX_HOME:-}
+if [ -z "$JDK" ]; then
+    curl -fsSL https://corretto.aws/downloads/latest/amazon-corretto-17-x64-linux-jdk.tar.gz | tar -xz -C "$WORK"
+    JDK=$(find "$WORK" -maxdepth 1 -type d -name 'amazon-corretto-17*' | head -1)
+fi
+mkdir -p "$WORK/layer"
+"$JDK/bin/jlink" --module-path "$JDK/jmods" --add-modules ALL-MODULE-PATH \
+    --strip-debug --no-man-pages --no-header-files --compress=2 --output "$WORK/layer/java"
+(cd "$WORK/layer" && zip -qr ../../java17-runtime-layer.zip java)
+
+for fn in owners-list vets-list data-export; do
+    mkdir -p "$WORK/$fn"
+    cp iac/streaming/bootstrap "$WORK/$fn/bootstrap"
+    chmod 755 "$WORK/$fn/bootstrap"
+    cp "functions/$fn/target/$fn.jar" "$WORK/$fn/function.jar"
+    (cd "$WORK/$fn" && zip -q ../../$fn.zip bootstrap function.jar)
+done
+rm -rf "$WORK"
+ls -l "$OUT"
@@ -0,0 +1,209 @@
+package com.example.petclinic.tools.dataset;
+
+import com.example.petclinic.tools.common.Args;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import javax.sql.DataSource;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Synthetic petclinic data: recreates the schema from {@code schema.sql} (with the same indexes as production,
+ * including the unique telephone index) and fills types, specialties, vets, vet_specialties, owners, pets and
+ * visits following a {@link DatasetSpec}, with explicit ids (1..n) and JDBC batches of {@code --batch-size} rows.
+ * The same seed always produces the same data. Generated ids continue after the last inserted one.
+ * <p>
+ * Standalone: {@code java -jar dataset-generator.jar --visits=1000000 [--jdbc-url=... --user=... --password=...]}.
+ * Against MySQL add {@code rewriteBatchedStatements=true} to the URL, or the batches are sent row by row. As the
+ * petclinic tables are dropped first, any database other than H2 also needs {@code --reset}.
+ */
+public final class DatasetGenerator {
+
+    static final String DEFAULT_URL = "jdbc:h2:file:./target/petclinic-data;MODE=MySQL;DATABASE_TO_LOWER=TRUE";
+
+    private static final String[] TYPES = {"cat", "dog", "lizard", "snake", "bird", "hamster"};
+    private static final String[] SPECIALTIES = {"radiology", "surgery", "dentistry", "cardiology", "dermatology", "oncology"};
+    private static final String[] FIRST_NAMES = {"George", "Betty", "Eduardo", "Harold", "Peter", "Jean", "Jeff", "Maria",
+            "David", "Carlos", "Helen", "Linda", "James", "Rafael", "Henry", "Sharon", "Ana", "Lucas", "Julia", "Paulo"};
+    private static final String[] LAST_NAMES = {"Franklin", "Davis", "Rodriquez", "McTavish", "Schroeder", "Black",
+            "Escobito", "Estaban", "Carter", "Leary", "Douglas", "Ortega", "Stevens", "Jenkins", "Silva", "Souza"};
+    private static final String[] STREETS = {"W. Liberty St.", "E. Cactus Ln.", "Lake St.", "Stanley Ave.", "Westfield Ave.",
+            "Coleman Ave.", "S. Main St.", "Rua das Flores", "Av. Paulista", "Oak Ave."};
+    // Zipf-skewed: most owners live in the first few cities
+    private static final String[] CITIES = {"Madison", "Sun Prairie", "McFarland", "Windsor", "Monona", "Waunakee",
+            "Middleton", "Verona", "Fitchburg", "Springfield", "Shelbyville", "Cottage Grove"};
+    private static final String[] PET_NAMES = {"Leo", "Basil", "Rosy", "Jewel", "Iggy", "George", "Samantha", "Max",
+            "Lucky", "Mulligan", "Freddy", "Sly", "Bella", "Luna", "Thor", "Mel", "Pipoca", "Nina", "Toby", "Kiwi",
+            "Oscar", "Milo", "Chloe", "Daisy", "Rocky", "Simba", "Zeca", "Lola", "Bento", "Fred"};
+    private static final String[] VISIT_REASONS = {"rabies shot", "neutered", "spayed", "annual checkup", "vaccination",
+            "dental cleaning", "skin allergy", "ear infection", "limping", "follow-up", "blood work", "microchip"};
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 1, 1);
+
+    private DatasetGenerator() {}
+
+    record Counts(long owners, long pets, long visits, long vets) {}
+
+    public static void main(String[] argv) {
+        Args args = new Args(argv);
+        DatasetSpec spec = DatasetSpec.from(args, args.getInt("visits", 100_000));
+        try (HikariDataSource ds = dataSource(jdbcUrl(args, DEFAULT_URL), args.get("user", "sa"), args.get("password", ""))) {
+            generate(ds, spec);
+        }
+    }
+
+    /**
+     * {@code --jdbc-url}, or {@code defaultUrl}. {@link #generate} drops every petclinic table, so a URL that is not
+     * an H2 scratch database is refused unless {@code --reset} confirms it.
+     */
+    static String jdbcUrl(Args args, String defaultUrl) {
+        String url = args.get("jdbc-url", defaultUrl);
+        if (!url.startsWith("jdbc:h2:") && !args.getBoolean("reset", false)) {
+            throw new IllegalArgumentException("The petclinic tables of " + url + " would be dropped and recreated;"
+                    + " pass --reset to confirm");
+        }
+        return url;
+    }
+
+    static HikariDataSource dataSource(String url, String user, String password) {
+        HikariConfig cfg = new HikariConfig();
+        cfg.setPoolName("DatasetGenerator");
+        cfg.setJdbcUrl(url);
+        cfg.setUsername(user);
+        cfg.setPassword(password);
+        cfg.setMaximumPoolSize(2);
+        return new HikariDataSource(cfg);
+    }
+
+    static Counts generate(DataSource dataSource, DatasetSpec spec) {
+        long start = System.nanoTime();
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        resetSchema(jdbc, dataSource);
+        Random random = new Random(spec.seed());
+
+        Batch types = new Batch(jdbc, "INSERT INTO types(id, name) VALUES (?,?)", spec.batchSize(), null);
+        for (int i = 0; i < TYPES.length; i++) types.add(i + 1, TYPES[i]);
+        types.flush();
+        Batch specialties = new Batch(jdbc, "INSERT INTO specialties(id, name) VALUES (?,?)", spec.batchSize(), null);
+        for (int i = 0; i < SPECIALTIES.length; i++) specialties.add(i + 1, SPECIALTIES[i]);
+        specialties.flush();
+
+        Batch vets = new Batch(jdbc, "INSERT INTO vets(id, first_name, last_name) VALUES (?,?,?)", spec.batchSize(), null);
+        Batch vetSpecialties = new Batch(jdbc, "INSERT INTO vet_specialties(vet_id, specialty_id) VALUES (?,?)", spec.batchSize(), vets);
+        for (int id = 1; id <= spec.vets(); id++) {
+            vets.add(id, pick(FIRST_NAMES, random), pick(LAST_NAMES, random));
+            // 0..2 distinct specialties
+            int count = random.nextInt(3);
+            int first = random.nextInt(SPECIALTIES.length);
+            for (int k = 0; k < count; k++) vetSpecialties.add(id, (first + k) % SPECIALTIES.length + 1);
+        }
+        vetSpecialties.flush();
+
+        Zipf petsPerOwner = spec.petsPerOwner();
+        Zipf visitsPerPet = spec.visitsPerPet();
+        Zipf city = new Zipf(0, CITIES.length - 1, 1.1);
+        Batch owners = new Batch(jdbc, "INSERT INTO owners(id, first_name, last_name, address, city, telephone) VALUES (?,?,?,?,?,?)", spec.batchSize(), null);
+        Batch pets = new Batch(jdbc, "INSERT INTO pets(id, name, birth_date, type_id, owner_id) VALUES (?,?,?,?,?)", spec.batchSize(), owners);
+        Batch visits = new Batch(jdbc, "INSERT INTO visits(id, pet_id, visit_date, description) VALUES (?,?,?,?)", spec.batchSize(), pets);
+        long ownerId = 0;
+        long petId = 0;
+        long visitId = 0;
+        long nextReport = 1_000_000;
+        while (visitId < spec.visits()) {
+            ownerId++;
+            owners.add(ownerId, pick(FIRST_NAMES, random), pick(LAST_NAMES, random),
+                    (1 + random.nextInt(9999)) + " " + pick(STREETS, random), CITIES[city.sample(random)],
+                    String.format(Locale.ROOT, "%010d", ownerId));
+            int petCount = petsPerOwner.sample(random);
+            int nameBase = random.nextInt(PET_NAMES.length);
+            for (int p = 0; p < petCount; p++) {
+                petId++;
+                LocalDate birth = TODAY.minusDays(30 + random.nextInt(15 * 365));
+                // distinct names per owner (petsMax <= PET_NAMES.length), so findByOwnerIdAndName is unambiguous
+                pets.add(petId, PET_NAMES[(nameBase + p) % PET_NAMES.length], Date.valueOf(birth),
+                        1 + random.nextInt(TYPES.length), ownerId);
+                int visitCount = (int) Math.min(visitsPerPet.sample(random), spec.visits() - visitId);
+                long days = Math.max(1, TODAY.toEpochDay() - birth.toEpochDay());
+                for (int v = 0; v < visitCount; v++) {
+                    visitId++;
+                    visits.add(visitId, petId, Date.valueOf(birth.plusDays((long) (random.nextDouble() * days))),
+                            pick(VISIT_REASONS, random));
+                }
+            }
+            if (visitId >= nextReport) {
+                System.out.printf(Locale.ROOT, "[Dataset] %,d visits, %,d pets, %,d owners (%.0f s)%n",
+                        visitId, petId, ownerId, (System.nanoTime() - start) / 1e9);
+                nextReport += 1_000_000;
+            }
+        }
+        visits.flush();
+
+        restartIdentity(jdbc, "owners", ownerId + 1);
+        restartIdentity(jdbc, "pets", petId + 1);
+        restartIdentity(jdbc, "visits", visitId + 1);
+        Counts counts = new Counts(ownerId, petId, visitId, spec.vets());
+        System.out.printf(Locale.ROOT, "[Dataset] Done: %s in %.1f s%n", counts, (System.nanoTime() - start) / 1e9);
+        return counts;
+    }
+
+    /** Drops the petclinic tables and recreates them from schema.sql without its sample rows. */
+    static void resetSchema(JdbcTemplate jdbc, DataSource dataSource) {
+        List<String> dropOrder = List.of("visits", "pets", "vet_specialties", "vets", "specialties", "owners", "types");
+        for (String table : dropOrder) jdbc.execute("DROP TABLE IF EXISTS " + table);
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).execute(dataSource);
+        for (String table : dropOrder) jdbc.execute("DELETE FROM " + table);
+    }
+
+    /** Explicit ids do not move H2's identity columns (MySQL's AUTO_INCREMENT follows them on its own). */
+    private static void restartIdentity(JdbcTemplate jdbc, String table, long next) {
+        try {
+            jdbc.execute("ALTER TABLE " + table + " ALTER COLUMN id RESTART WITH " + next);
+        } catch (RuntimeException h2SyntaxRejected) {
+            jdbc.execute("ALTER TABLE " + table + " AUTO_INCREMENT = " + next);
+        }
+    }
+
+    private static String pick(String[] values, Random random) {
+        return values[random.nextInt(values.length)];
+    }
+
+    /**
+     * Rows buffered for one INSERT and sent with batchUpdate every {@code size} rows. The parent (the table this
+     * one references) is flushed first, so foreign keys always point at rows that are already written.
+     */
+    private static final class Batch {
+        private final JdbcTemplate jdbc;
+        private final String sql;
+        private final int size;
+        private final Batch parent;
+        private final List<Object[]> rows;
+
+        Batch(JdbcTemplate jdbc, String sql, int size, Batch parent) {
+            this.jdbc = jdbc;
+            this.sql = sql;
+            this.size = size;
+            this.parent = parent;
+            this.rows = new ArrayList<>(size);
+        }
+
+        void add(Object... row) {
+            rows.add(row);
+            if (rows.size() >= size) flush();
+        }
+
+        void flush() {
+            if (parent != null) parent.flush();
+            if (rows.isEmpty()) return;
+            jdbc.batchUpdate(sql, rows);
+            rows.clear();
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.petclinic.tools.dataset;
+
+import com.example.petclinic.tools.common.Args;
+
+/**
+ * Shape of a synthetic dataset. {@code visits} is the target size of the largest table; owners are added until it
+ * is reached, each with a Zipf-distributed number of pets (1..{@code petsMax}) and each pet with a Zipf-distributed
+ * number of visits (0..{@code visitsMax}), so a few owners and pets carry most of the history, as in a real clinic.
+ */
+record DatasetSpec(long visits, int petsMax, double petsSkew, int visitsMax, double visitsSkew,
+                   int vets, long seed, int batchSize) {
+
+    static DatasetSpec from(Args args, long visits) {
+        return new DatasetSpec(visits,
+                args.getInt("pets-max", 8),
+                args.getDouble("pets-skew", 1.6),
+                args.getInt("visits-max", 250),
+                args.getDouble("visits-skew", 1.3),
+                args.getInt("vets", (int) Math.max(10, visits / 10_000)),
+                args.getInt("seed", 42),
+                args.getInt("batch-size", 5_000));
+    }
+
+    Zipf petsPerOwner() {
+        return new Zipf(1, petsMax, petsSkew);
+    }
+
+    Zipf visitsPerPet() {
+        return new Zipf(0, visitsMax, visitsSkew);
+    }
+
+    /** Rough owner count for the target (used for sizing only; generation stops on the visit count). */
+    long expectedOwners() {
+        return (long) Math.ceil(visits / Math.max(0.01, petsPerOwner().mean() * visitsPerPet().mean()));
+    }
+}
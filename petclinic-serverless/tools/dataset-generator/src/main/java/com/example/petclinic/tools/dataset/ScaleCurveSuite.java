@@ -0,0 +1,212 @@
+package com.example.petclinic.tools.dataset;
+
+import com.example.petclinic.api.common.Json;
+import com.example.petclinic.domain.owner.Owner;
+import com.example.petclinic.domain.pet.Pet;
+import com.example.petclinic.domain.pet.PetType;
+import com.example.petclinic.domain.visit.Visit;
+import com.example.petclinic.infra.pet.JdbcPetRepository;
+import com.example.petclinic.infra.rds.OwnerJdbcRepository;
+import com.example.petclinic.infra.rds.vet.JdbcVetRepository;
+import com.example.petclinic.infra.rds.visit.JdbcVisitRepository;
+import com.example.petclinic.tools.common.Args;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Consumer;
+
+/**
+ * Scale curves: for each size in {@code --scales} (visit rows, default 10k, 100k, 1M, 10M) the schema is rebuilt
+ * with {@link DatasetGenerator} and every repository method is timed on random existing keys: {@code --warmup}
+ * calls, then up to {@code --samples} timed calls or {@code --max-probe-seconds}, whichever comes first. The report
+ * lists p50 / p95 per method and size, and the p50 growth from the smallest to the largest size; anything above
+ * {@code --flag-growth} (default 10x while the data grows 1000x) is flagged as scaling badly.
+ * <p>
+ * Default database: H2 in memory (10M visits needs about {@code -Xmx6g}); pass {@code --jdbc-url} for a file
+ * database or a MySQL instance (with {@code --reset}, as its petclinic tables are dropped). Output in {@code --out}
+ * (default {@code target/scale-curve}): {@code report.md} and {@code results.json}.
+ */
+public final class ScaleCurveSuite {
+
+    static final String DEFAULT_URL = "jdbc:h2:mem:scale;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+    private static final int PAGE_SIZE = 20;
+
+    private ScaleCurveSuite() {}
+
+    record Sample(String probe, long rows, int calls, double p50Ms, double p95Ms, double maxMs, String error) {}
+
+    public static void main(String[] argv) throws IOException {
+        Args args = new Args(argv);
+        long[] scales = Arrays.stream(args.get("scales", "10000,100000,1000000,10000000").split(","))
+                .map(String::trim).mapToLong(Long::parseLong).toArray();
+        Path out = Path.of(args.get("out", "target/scale-curve"));
+        Files.createDirectories(out);
+
+        Map<String, Map<Long, Sample>> results = new LinkedHashMap<>();
+        try (HikariDataSource ds = DatasetGenerator.dataSource(DatasetGenerator.jdbcUrl(args, DEFAULT_URL),
+                args.get("user", "sa"), args.get("password", ""))) {
+            for (long rows : scales) {
+                DatasetGenerator.Counts counts = DatasetGenerator.generate(ds, DatasetSpec.from(args, rows));
+                for (Sample s : measure(new JdbcTemplate(ds), counts, args)) {
+                    results.computeIfAbsent(s.probe(), k -> new LinkedHashMap<>()).put(rows, s);
+                    System.out.printf(Locale.ROOT, "[ScaleCurve] %,12d rows  %-42s p50=%9.3f ms p95=%9.3f ms%s%n", rows,
+                            s.probe(), s.p50Ms(), s.p95Ms(), s.error() == null ? "" : "  ERROR " + s.error());
+                }
+                // partial results survive an out-of-memory at the next size
+                write(out, results, scales, args.getDouble("flag-growth", 10));
+            }
+        }
+        System.out.println("[ScaleCurve] Report: " + out.resolve("report.md").toAbsolutePath());
+    }
+
+    static List<Sample> measure(JdbcTemplate jdbc, DatasetGenerator.Counts counts, Args args) {
+        OwnerJdbcRepository owners = new OwnerJdbcRepository(jdbc);
+        JdbcPetRepository pets = new JdbcPetRepository(jdbc);
+        JdbcVisitRepository visits = new JdbcVisitRepository(jdbc);
+        JdbcVetRepository vets = new JdbcVetRepository(jdbc);
+        Random random = new Random(7);
+        long[] seq = {0};
+
+        List<Object[]> petKeys = sampleRows(jdbc, "SELECT id, owner_id, name FROM pets WHERE id = ?", counts.pets(), random);
+        List<Object[]> visitKeys = sampleRows(jdbc,
+                "SELECT v.id, p.owner_id, v.pet_id FROM visits v JOIN pets p ON v.pet_id = p.id WHERE v.id = ?", counts.visits(), random);
+        int ownerPages = (int) Math.max(1, counts.owners() / PAGE_SIZE);
+        int visitPages = (int) Math.max(1, counts.visits() / PAGE_SIZE);
+        int vetPages = (int) Math.max(1, counts.vets() / PAGE_SIZE);
+
+        Map<String, Consumer<Random>> probes = new LinkedHashMap<>();
+        probes.put("owners.findById", r -> owners.findById(1 + nextLong(r, counts.owners())));
+        probes.put("owners.existsById", r -> owners.existsById(1 + nextLong(r, counts.owners())));
+        probes.put("owners.existsByTelephone", r -> owners.existsByTelephone(String.format(Locale.ROOT, "%010d", 1 + nextLong(r, counts.owners()))));
+        probes.put("owners.existsByTelephoneExcludingId", r -> {
+            long id = 1 + nextLong(r, counts.owners());
+            owners.existsByTelephoneExcludingId(String.format(Locale.ROOT, "%010d", id), id);
+        });
+        probes.put("owners.findAll(first page)", r -> owners.findAll(0, PAGE_SIZE));
+        probes.put("owners.findAll(random page)", r -> owners.findAll(r.nextInt(ownerPages), PAGE_SIZE));
+        probes.put("owners.save(insert)", r -> owners.save(Owner.builder().firstName("Scale").lastName("Curve")
+                .address("1 Scale St.").city("Madison").telephone("9" + (++seq[0])).build()));
+        probes.put("pets.findById", r -> pets.findById(((Number) pick(petKeys, r)[0]).intValue()));
+        probes.put("pets.findByOwnerId", r -> pets.findByOwnerId(((Number) pick(petKeys, r)[1]).intValue()));
+        probes.put("pets.findByOwnerIdAndName", r -> {
+            Object[] k = pick(petKeys, r);
+            pets.findByOwnerIdAndName(((Number) k[1]).intValue(), (String) k[2]);
+        });
+        probes.put("pets.save(insert)", r -> {
+            PetType type = new PetType();
+            type.setId(1);
+            pets.save(new Pet(null, "Scaly", LocalDate.of(2020, 1, 1), ((Number) pick(petKeys, r)[1]).intValue(), type));
+        });
+        probes.put("visits.findById", r -> visits.findById(((Number) pick(visitKeys, r)[0]).longValue()));
+        probes.put("visits.findByIdAndOwnerId", r -> {
+            Object[] k = pick(visitKeys, r);
+            visits.findByIdAndOwnerId(((Number) k[0]).longValue(), ((Number) k[1]).longValue());
+        });
+        probes.put("visits.findByOwnerIdAndPetId", r -> {
+            Object[] k = pick(visitKeys, r);
+            visits.findByOwnerIdAndPetId(((Number) k[1]).longValue(), ((Number) k[2]).longValue());
+        });
+        probes.put("visits.findAll(first page)", r -> visits.findAll(0, PAGE_SIZE));
+        probes.put("visits.findAll(random page)", r -> visits.findAll(r.nextInt(visitPages), PAGE_SIZE));
+        probes.put("visits.save(insert)", r -> {
+            Object[] k = pick(visitKeys, r);
+            visits.save(new Visit(((Number) k[1]).longValue(), ((Number) k[2]).longValue(), LocalDate.of(2025, 1, 2), "scale curve"));
+        });
+        probes.put("vets.findAll(first page)", r -> vets.findAll(0, PAGE_SIZE));
+        probes.put("vets.findAll(random page)", r -> vets.findAll(r.nextInt(vetPages), PAGE_SIZE));
+        probes.put("vets.findById", r -> vets.findById(1 + nextLong(r, counts.vets())));
+        probes.put("vets.findSpecialtiesByVetId", r -> vets.findSpecialtiesByVetId(1 + nextLong(r, counts.vets())));
+
+        int warmup = args.getInt("warmup", 20);
+        int samples = args.getInt("samples", 200);
+        long budgetNanos = (long) (args.getDouble("max-probe-seconds", 20) * 1e9);
+        List<Sample> out = new ArrayList<>();
+        probes.forEach((name, probe) -> out.add(time(name, probe, counts.visits(), warmup, samples, budgetNanos)));
+        return out;
+    }
+
+    private static Sample time(String name, Consumer<Random> probe, long rows, int warmup, int samples, long budgetNanos) {
+        Random random = new Random(name.hashCode());
+        long[] nanos = new long[samples];
+        int n = 0;
+        try {
+            long deadline = System.nanoTime() + budgetNanos;
+            for (int i = 0; i < warmup && System.nanoTime() < deadline; i++) probe.accept(random);
+            // at least a few timed calls even when one call blows the budget
+            while (n < samples && (n < 5 || System.nanoTime() < deadline)) {
+                long s = System.nanoTime();
+                probe.accept(random);
+                nanos[n++] = System.nanoTime() - s;
+            }
+        } catch (RuntimeException e) {
+            return new Sample(name, rows, n, 0, 0, 0, e.getClass().getSimpleName() + ": " + e.getMessage());
+        }
+        long[] sorted = Arrays.copyOf(nanos, n);
+        Arrays.sort(sorted);
+        return new Sample(name, rows, n, percentile(sorted, 0.50), percentile(sorted, 0.95), sorted[n - 1] / 1e6, null);
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        int idx = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, idx))] / 1e6;
+    }
+
+    /** Keys of up to 500 random existing rows, read once so probes hit rows that exist. */
+    private static List<Object[]> sampleRows(JdbcTemplate jdbc, String sql, long max, Random random) {
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < 2_000 && rows.size() < 500; i++) {
+            rows.addAll(jdbc.query(sql, (rs, n) -> new Object[]{rs.getObject(1), rs.getObject(2), rs.getObject(3)},
+                    1 + nextLong(random, max)));
+        }
+        if (rows.isEmpty()) throw new IllegalStateException("No rows sampled for " + sql);
+        return rows;
+    }
+
+    private static Object[] pick(List<Object[]> rows, Random random) {
+        return rows.get(random.nextInt(rows.size()));
+    }
+
+    private static long nextLong(Random random, long bound) {
+        return (long) (random.nextDouble() * bound);
+    }
+
+    private static void write(Path out, Map<String, Map<Long, Sample>> results, long[] scales, double flagGrowth) throws IOException {
+        Files.writeString(out.resolve("results.json"), Json.toJson(results));
+        StringBuilder sb = new StringBuilder("# Repository scale curves\n\n");
+        sb.append("p50 / p95 in ms per visit-table size. Growth = p50 at the largest size / p50 at the smallest; ")
+                .append(String.format(Locale.ROOT, "above %.0fx is flagged.%n%n", flagGrowth));
+        sb.append("| Method |");
+        for (long s : scales) sb.append(String.format(Locale.ROOT, " %,d |", s));
+        sb.append(" Growth |\n|---|");
+        for (int i = 0; i <= scales.length; i++) sb.append("---:|");
+        sb.append('\n');
+        results.forEach((probe, byScale) -> {
+            sb.append("| ").append(probe).append(" |");
+            for (long s : scales) {
+                Sample x = byScale.get(s);
+                if (x == null) sb.append(" - |");
+                else if (x.error() != null) sb.append(" error |");
+                else sb.append(String.format(Locale.ROOT, " %.3f / %.3f |", x.p50Ms(), x.p95Ms()));
+            }
+            List<Sample> ok = byScale.values().stream().filter(x -> x.error() == null).toList();
+            if (ok.size() < 2) {
+                sb.append(" - |\n");
+            } else {
+                double growth = ok.get(ok.size() - 1).p50Ms() / Math.max(1e-6, ok.get(0).p50Ms());
+                sb.append(String.format(Locale.ROOT, " %.1fx%s |%n", growth, growth > flagGrowth ? " **scales badly**" : ""));
+            }
+        });
+        Files.writeString(out.resolve("report.md"), sb.toString());
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.petclinic.tools.dataset;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Discrete Zipf distribution over {@code min..max}: P(k) proportional to 1 / (k - min + 1)^skew. Most draws are
+ * {@code min}, a long tail reaches {@code max} (skew 0 = uniform). Sampled by binary search over the CDF.
+ */
+final class Zipf {
+
+    private final int min;
+    private final double[] cdf;
+    private final double mean;
+
+    Zipf(int min, int max, double skew) {
+        if (max < min) throw new IllegalArgumentException("max < min: " + max + " < " + min);
+        this.min = min;
+        int n = max - min + 1;
+        cdf = new double[n];
+        double total = 0;
+        double weighted = 0;
+        for (int i = 0; i < n; i++) {
+            double w = 1.0 / Math.pow(i + 1, skew);
+            total += w;
+            weighted += w * (min + i);
+            cdf[i] = total;
+        }
+        for (int i = 0; i < n; i++) cdf[i] /= total;
+        mean = weighted / total;
+    }
+
+    int sample(Random random) {
+        int i = Arrays.binarySearch(cdf, random.nextDouble());
+        return min + (i >= 0 ? i : Math.min(cdf.length - 1, -i - 1));
+    }
+
+    double mean() {
+        return mean;
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.petclinic.tools.load;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.stream.Collectors;
+
+/** Any deployment reachable over HTTP: API Gateway stage URL, the container module, {@code sam local start-api}. */
+final class HttpTarget implements LoadTarget {
+
+    private final String baseUrl;
+    private final Duration timeout;
+    private final HttpClient client;
+
+    HttpTarget(String baseUrl, Duration timeout) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.timeout = timeout;
+        this.client = HttpClient.newBuilder().connectTimeout(timeout).build();
+    }
+
+    @Override
+    public Response send(LoadRequest request) throws Exception {
+        String uri = baseUrl + request.path();
+        if (request.query() != null && !request.query().isEmpty()) {
+            uri += "?" + request.query().entrySet().stream()
+                    .map(e -> e.getKey() + "=" + URLEncoder.encode(e.getValue(), StandardCharsets.UTF_8))
+                    .collect(Collectors.joining("&"));
+        }
+        HttpRequest.BodyPublisher body = request.body() == null
+                ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(request.body());
+        HttpRequest http = HttpRequest.newBuilder(URI.create(uri)).timeout(timeout)
+                .header("Content-Type", "application/json").header("Accept", "application/json")
+                .method(request.method(), body).build();
+        HttpResponse<String> response = client.send(http, HttpResponse.BodyHandlers.ofString());
+        return new Response(response.statusCode(), response.body());
+    }
+
+    @Override
+    public String describe() {
+        return baseUrl;
+    }
+}
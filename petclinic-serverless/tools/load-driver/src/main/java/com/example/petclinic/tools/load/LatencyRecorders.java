@@ -0,0 +1,89 @@
+package com.example.petclinic.tools.load;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+import org.HdrHistogram.Recorder;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * HDR histograms (microseconds, 3 significant digits) per key, where a key is {@code all}, {@code route:<route>} or
+ * {@code stage:<stage>}. Each request records two values under each of its keys:
+ * <ul>
+ *   <li>{@code latency}: intended start to response. The intended start is the scheduled instant, so time spent
+ *   behind a slow response (driver threads busy, dispatch late) counts: coordinated-omission corrected.</li>
+ *   <li>{@code service}: actual send to response, what a closed-loop tool reports.</li>
+ * </ul>
+ * Recording is wait-free ({@link Recorder}). Every {@link #flushInterval()} moves the interval histograms into the
+ * run totals and appends them to an HdrHistogram log ({@code .hlog}, tag {@code <value>.<key>}), which
+ * HistogramLogProcessor / HdrHistogramVisualizer can plot over time.
+ */
+final class LatencyRecorders {
+
+    static final String ALL = "all";
+
+    private final Map<String, Recorder> recorders = new ConcurrentHashMap<>();
+    private final Map<String, Counts> counts = new ConcurrentHashMap<>();
+    private final Map<String, Histogram> totals = new LinkedHashMap<>();
+    private final HistogramLogWriter log;
+
+    record Counts(LongAdder requests, LongAdder clientErrors, LongAdder errors) {
+        Counts() {
+            this(new LongAdder(), new LongAdder(), new LongAdder());
+        }
+    }
+
+    LatencyRecorders(File hlog, long startMillis) throws FileNotFoundException {
+        log = new HistogramLogWriter(hlog);
+        log.outputLogFormatVersion();
+        log.outputStartTime(startMillis);
+        log.setBaseTime(startMillis);
+        log.outputBaseTime(startMillis);
+        log.outputLegend();
+    }
+
+    /** {@code status} below 0 means the call failed without a response. */
+    void record(String route, String stage, long latencyMicros, long serviceMicros, int status) {
+        for (String key : new String[]{ALL, "route:" + route, "stage:" + stage}) {
+            recorder("latency." + key).recordValue(latencyMicros);
+            recorder("service." + key).recordValue(serviceMicros);
+            Counts c = counts.computeIfAbsent(key, k -> new Counts());
+            c.requests().increment();
+            if (status < 0 || status >= 500) c.errors().increment();
+            else if (status >= 400) c.clientErrors().increment();
+        }
+    }
+
+    private Recorder recorder(String tag) {
+        return recorders.computeIfAbsent(tag, t -> new Recorder(3));
+    }
+
+    synchronized void flushInterval() {
+        recorders.forEach((tag, recorder) -> {
+            Histogram interval = recorder.getIntervalHistogram();
+            if (interval.getTotalCount() == 0) return;
+            interval.setTag(tag);
+            log.outputIntervalHistogram(interval);
+            totals.computeIfAbsent(tag, t -> new Histogram(3)).add(interval);
+        });
+    }
+
+    /** Run total for {@code latency.<key>} / {@code service.<key>}; empty when nothing was recorded. */
+    synchronized Histogram total(String tag) {
+        return totals.getOrDefault(tag, new Histogram(3));
+    }
+
+    Map<String, Counts> counts() {
+        return counts;
+    }
+
+    synchronized void close() {
+        flushInterval();
+        log.close();
+    }
+}
@@ -0,0 +1,183 @@
+package com.example.petclinic.tools.load;
+
+import com.example.petclinic.api.common.Json;
+import com.example.petclinic.tools.common.Args;
+import com.example.petclinic.tools.load.LoadResult.Stats;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-loop load driver. One scheduling thread walks the {@link Scenario} arrival times and hands each request to a
+ * pool of {@code --threads} senders at its due instant, whether or not earlier requests have answered; latency is
+ * recorded from that instant ({@link LatencyRecorders}). When the system slows down, requests queue in the pool
+ * and the queueing shows up in the percentiles instead of silently lowering the offered rate, as it does with the
+ * VU-based k6 / Artillery scripts.
+ * <p>
+ * Options: {@code --scenario} (spike, ramp, soak, cold, constant; default spike), {@code --target} (local or an
+ * http(s) base URL; default local), {@code --rps-per-vu} (5), {@code --rate-scale} (1), {@code --time-scale} (1,
+ * e.g. 0.1 for a six-minute soak), {@code --rate} / {@code --duration-seconds} / {@code --mix} (constant only),
+ * {@code --threads} (256), {@code --seed-owners} (100), {@code --seed} (42), {@code --timeout-ms} (10000),
+ * {@code --pool-size} (local Hikari pool, 16), {@code --interval-ms} (1000), {@code --drain-seconds} (60),
+ * {@code --label} (scenario name), {@code --out-dir} (target/load).
+ */
+public final class LoadDriver {
+
+    private LoadDriver() {}
+
+    public static void main(String[] argv) throws Exception {
+        Args args = new Args(argv);
+        Scenario scenario = scenario(args).scaled(args.getDouble("rate-scale", 1), args.getDouble("time-scale", 1));
+        String label = args.get("label", scenario.name());
+        Path outDir = Path.of(args.get("out-dir", "target/load"));
+        Files.createDirectories(outDir);
+        int threads = args.getInt("threads", 256);
+
+        try (LoadTarget target = target(args)) {
+            PrintStream console = target instanceof LocalTarget local ? local.console() : System.out;
+            console.printf(Locale.ROOT, "[Load] %s against %s: %.0f s, ~%.0f requests, %d threads%n", scenario.name(),
+                    target.describe(), scenario.totalSeconds(), scenario.expectedRequests(), threads);
+
+            List<Long> seeded = seed(target, args.getInt("seed-owners", 100), args.getInt("seed", 42), console);
+            RequestMix mix = new RequestMix(scenario.mix(), seeded, args.getInt("seed", 42));
+            LoadResult result = run(scenario, mix, target, label, outDir, threads, args, console);
+
+            Path json = outDir.resolve(label + ".json");
+            Files.writeString(json, Json.toJson(result));
+            print(result, console);
+            console.println("[Load] results: " + json + " (+ " + label + ".hlog)");
+        }
+        System.exit(0);
+    }
+
+    private static LoadResult run(Scenario scenario, RequestMix mix, LoadTarget target, String label, Path outDir,
+                                  int threads, Args args, PrintStream console) throws Exception {
+        long startMillis = System.currentTimeMillis();
+        LatencyRecorders recorders = new LatencyRecorders(outDir.resolve(label + ".hlog").toFile(), startMillis);
+        ExecutorService senders = Executors.newFixedThreadPool(threads);
+        ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor();
+        AtomicLong sent = new AtomicLong();
+        AtomicLong completed = new AtomicLong();
+        long intervalMs = args.getInt("interval-ms", 1000);
+        flusher.scheduleAtFixedRate(recorders::flushInterval, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+        flusher.scheduleAtFixedRate(() -> console.printf("[Load] %d sent, %d completed, %d in flight%n",
+                sent.get(), completed.get(), sent.get() - completed.get()), 10, 10, TimeUnit.SECONDS);
+
+        Scenario.Arrivals arrivals = scenario.arrivals();
+        long start = System.nanoTime();
+        double t;
+        while ((t = arrivals.next()) >= 0) {
+            long due = start + (long) (t * 1e9);
+            String stage = arrivals.stageName();
+            LoadRequest request = mix.next();
+            long wait;
+            while ((wait = due - System.nanoTime()) > 0) LockSupport.parkNanos(wait);
+            sent.incrementAndGet();
+            senders.execute(() -> {
+                long begin = System.nanoTime();
+                int status;
+                try {
+                    status = target.send(request).status();
+                } catch (Exception e) {
+                    status = -1;
+                }
+                long end = System.nanoTime();
+                recorders.record(request.route(), stage, (end - due) / 1000, (end - begin) / 1000, status);
+                completed.incrementAndGet();
+            });
+        }
+        senders.shutdown();
+        if (!senders.awaitTermination(args.getInt("drain-seconds", 60), TimeUnit.SECONDS)) {
+            console.printf("[Load] %d requests still in flight after the drain timeout%n", sent.get() - completed.get());
+            senders.shutdownNow();
+        }
+        flusher.shutdownNow();
+        recorders.close();
+        double seconds = (System.nanoTime() - start) / 1e9;
+        return result(scenario, target, label, startMillis, seconds, sent.get(), completed.get(), threads, recorders);
+    }
+
+    private static LoadResult result(Scenario scenario, LoadTarget target, String label, long startMillis,
+                                     double seconds, long offered, long completed, int threads,
+                                     LatencyRecorders recorders) {
+        List<Stats> routes = new ArrayList<>();
+        List<Stats> stages = new ArrayList<>();
+        recorders.counts().forEach((key, counts) -> {
+            if (key.startsWith("route:")) routes.add(stats(key.substring(6), key, counts, recorders));
+        });
+        routes.sort(Comparator.comparingLong(Stats::count).reversed());
+        for (Scenario.Stage stage : scenario.stages()) {
+            LatencyRecorders.Counts counts = recorders.counts().get("stage:" + stage.name());
+            if (counts != null) stages.add(stats(stage.name(), "stage:" + stage.name(), counts, recorders));
+        }
+        LatencyRecorders.Counts all = recorders.counts().getOrDefault(LatencyRecorders.ALL, new LatencyRecorders.Counts());
+        return new LoadResult(label, scenario.name(), target.describe(), Instant.ofEpochMilli(startMillis).toString(),
+                seconds, offered, completed, seconds == 0 ? 0 : completed / seconds, threads,
+                stats(LatencyRecorders.ALL, LatencyRecorders.ALL, all, recorders), routes, stages);
+    }
+
+    private static Stats stats(String name, String key, LatencyRecorders.Counts counts, LatencyRecorders recorders) {
+        return Stats.of(name, counts, recorders.total("latency." + key), recorders.total("service." + key));
+    }
+
+    private static Scenario scenario(Args args) {
+        String name = args.get("scenario", "spike");
+        if (name.equals("constant")) {
+            return Scenario.constant(args.getDouble("rate", 50), args.getDouble("duration-seconds", 60),
+                    RequestMix.Kind.valueOf(args.get("mix", "CRUD").toUpperCase(Locale.ROOT)));
+        }
+        return Scenario.named(name, args.getDouble("rps-per-vu", 5));
+    }
+
+    private static LoadTarget target(Args args) {
+        String target = args.get("target", "local");
+        if (target.equals("local")) return new LocalTarget(args.getInt("pool-size", 16));
+        if (target.startsWith("http://") || target.startsWith("https://")) {
+            return new HttpTarget(target, Duration.ofMillis(args.getInt("timeout-ms", 10_000)));
+        }
+        throw new IllegalArgumentException("--target must be 'local' or an http(s) base URL, got '" + target + "'");
+    }
+
+    /** Creates owners for the by-id requests, like the k6 setup(); not part of the measurement. */
+    private static List<Long> seed(LoadTarget target, int owners, long seed, PrintStream console) throws Exception {
+        RequestMix creator = new RequestMix(RequestMix.Kind.CRUD, List.of(), seed);
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < owners; i++) {
+            LoadTarget.Response response = target.send(creator.create());
+            if (response.status() >= 300 || response.body() == null) continue;
+            JsonNode id = Json.mapper().readTree(response.body()).get("id");
+            if (id != null && id.canConvertToLong()) ids.add(id.asLong());
+        }
+        console.printf("[Load] seeded %d/%d owners%n", ids.size(), owners);
+        return ids;
+    }
+
+    private static void print(LoadResult r, PrintStream console) {
+        console.printf(Locale.ROOT, "%n%s (%s): %d/%d completed in %.1f s, %.1f req/s%n", r.label(), r.scenario(),
+                r.completed(), r.offered(), r.durationSeconds(), r.achievedRps());
+        console.printf(Locale.ROOT, "%-22s %8s %6s %6s %9s %9s %9s %9s %9s %12s%n",
+                "", "count", "4xx", "errors", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "svc p99 ms");
+        List<Stats> rows = new ArrayList<>();
+        rows.add(r.all());
+        rows.addAll(r.routes());
+        rows.addAll(r.stages());
+        for (Stats s : rows) {
+            console.printf(Locale.ROOT, "%-22s %8d %6d %6d %9.1f %9.1f %9.1f %9.1f %9.1f %12.1f%n", s.name(), s.count(),
+                    s.clientErrors(), s.errors(), s.p50Ms(), s.p90Ms(), s.p99Ms(), s.p999Ms(), s.maxMs(), s.serviceP99Ms());
+        }
+    }
+}
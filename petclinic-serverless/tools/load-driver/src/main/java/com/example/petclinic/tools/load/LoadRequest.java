@@ -0,0 +1,9 @@
+package com.example.petclinic.tools.load;
+
+import java.util.Map;
+
+/**
+ * One request of the load profile. {@code route} is the metrics-style name results are grouped by
+ * ({@code GET_/owners/{id}}), {@code path} the concrete path.
+ */
+record LoadRequest(String route, String method, String path, Map<String, String> query, String body) {}
@@ -0,0 +1,35 @@
+package com.example.petclinic.tools.load;
+
+import org.HdrHistogram.Histogram;
+
+import java.util.List;
+
+/**
+ * Machine-readable outcome of a run ({@code <label>.json}); the per-interval detail is in {@code <label>.hlog}.
+ * {@code offered} is the number of requests the profile scheduled, {@code completed} how many got an answer or
+ * failed before the drain timeout.
+ */
+record LoadResult(String label, String scenario, String target, String startedAt, double durationSeconds,
+                  long offered, long completed, double achievedRps, int threads,
+                  Stats all, List<Stats> routes, List<Stats> stages) {
+
+    /** Latency (corrected) and service time percentiles in milliseconds for one key. */
+    record Stats(String name, long count, long clientErrors, long errors, double errorRate,
+                 double p50Ms, double p90Ms, double p99Ms, double p999Ms, double maxMs, double meanMs,
+                 double serviceP50Ms, double serviceP99Ms, double serviceMaxMs) {
+
+        static Stats of(String name, LatencyRecorders.Counts counts, Histogram latency, Histogram service) {
+            long count = counts.requests().sum();
+            long errors = counts.errors().sum();
+            return new Stats(name, count, counts.clientErrors().sum(), errors, count == 0 ? 0 : (double) errors / count,
+                    ms(latency.getValueAtPercentile(50)), ms(latency.getValueAtPercentile(90)),
+                    ms(latency.getValueAtPercentile(99)), ms(latency.getValueAtPercentile(99.9)),
+                    ms(latency.getMaxValue()), latency.getMean() / 1000.0,
+                    ms(service.getValueAtPercentile(50)), ms(service.getValueAtPercentile(99)), ms(service.getMaxValue()));
+        }
+
+        private static double ms(long micros) {
+            return micros / 1000.0;
+        }
+    }
+}
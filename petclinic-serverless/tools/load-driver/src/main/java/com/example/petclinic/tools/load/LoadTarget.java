@@ -0,0 +1,16 @@
+package com.example.petclinic.tools.load;
+
+/** System under load. Implementations must be safe to call from many driver threads. */
+interface LoadTarget extends AutoCloseable {
+
+    record Response(int status, String body) {}
+
+    /** Sends one request; transport failures are thrown. */
+    Response send(LoadRequest request) throws Exception;
+
+    /** Short description for the results. */
+    String describe();
+
+    @Override
+    default void close() {}
+}
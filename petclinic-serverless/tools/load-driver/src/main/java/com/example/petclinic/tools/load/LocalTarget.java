@@ -0,0 +1,50 @@
+package com.example.petclinic.tools.load;
+
+import com.amazonaws.services.lambda.runtime.events.APIGatewayV2HTTPResponse;
+import com.example.petclinic.functions.api.ApiRouterFunction;
+import com.example.petclinic.functions.api.PetclinicApiConfig;
+import com.example.petclinic.tools.common.HttpEvents;
+import com.example.petclinic.tools.common.Lambdalith;
+
+import java.io.PrintStream;
+import java.util.Map;
+
+/**
+ * In-process target: the lambdalith's {@link ApiRouterFunction} of this build ({@link Lambdalith}), without the
+ * Lambda runtime or API Gateway, on the configured database or an in-memory H2. While open, stdout (EMF metrics) is
+ * discarded and the metrics namespace defaults to {@code PetclinicLoad}; driver output goes through
+ * {@link #console()}.
+ */
+final class LocalTarget implements LoadTarget {
+
+    private final Lambdalith lambdalith;
+
+    LocalTarget(int poolSize) {
+        lambdalith = Lambdalith.start(PetclinicApiConfig.class, ApiRouterFunction.class, "load",
+                        Map.of("DB_POOL_SIZE", Integer.toString(poolSize)))
+                .discardMetricsOutput("PetclinicLoad");
+    }
+
+    PrintStream console() {
+        return lambdalith.console();
+    }
+
+    @Override
+    public Response send(LoadRequest request) {
+        APIGatewayV2HTTPResponse response = lambdalith.apply(HttpEvents.request(request.method(), request.path())
+                .query(request.query())
+                .body(request.body())
+                .build());
+        return response == null ? new Response(500, null) : new Response(response.getStatusCode(), response.getBody());
+    }
+
+    @Override
+    public String describe() {
+        return "local lambdalith, database " + lambdalith.database();
+    }
+
+    @Override
+    public void close() {
+        lambdalith.close();
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.petclinic.tools.load;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Request mixes of {@code owners_loadtest_v2.js}, drawn from a seeded {@link Random} so two runs of the same
+ * scenario send the same sequence.
+ * <ul>
+ *   <li>{@code CRUD} (spike, soak): 55% list, 20% get by id, 15% create, 10% update. The script's 5% DELETE has
+ *   no route in this API and falls back to a list, as the script does when it has nothing to delete.</li>
+ *   <li>{@code READS} (ramp): 70% list, 30% get by id over the first five seeded owners.</li>
+ *   <li>{@code COLD}: list only.</li>
+ * </ul>
+ * Created owners get a unique 10-digit telephone (unique index) and letters-only names.
+ */
+final class RequestMix {
+
+    enum Kind { CRUD, READS, COLD }
+
+    private static final String LETTERS = "abcdefghijklmnopqrstuvwxyz";
+
+    private final Kind kind;
+    private final List<Long> seededIds;
+    private final Random random;
+    private final long runPrefix;
+    private final AtomicLong seq = new AtomicLong();
+
+    RequestMix(Kind kind, List<Long> seededIds, long seed) {
+        this.kind = kind;
+        this.seededIds = seededIds;
+        this.random = new Random(seed);
+        // keeps telephones of consecutive runs against the same database apart
+        this.runPrefix = System.currentTimeMillis() / 1000 % 1000;
+    }
+
+    /** Called from the single scheduling thread only. */
+    LoadRequest next() {
+        int r = random.nextInt(100);
+        return switch (kind) {
+            case COLD -> list();
+            case READS -> r < 70 || seededIds.isEmpty() ? list() : getById(seededIds.get(random.nextInt(Math.min(5, seededIds.size()))));
+            case CRUD -> {
+                if (r < 55 || seededIds.isEmpty()) yield list();
+                if (r < 75) yield getById(randomSeeded());
+                if (r < 90) yield create();
+                yield update(randomSeeded());
+            }
+        };
+    }
+
+    LoadRequest create() {
+        return new LoadRequest("POST_/owners", "POST", "/owners", null, ownerJson());
+    }
+
+    private LoadRequest list() {
+        return new LoadRequest("GET_/owners", "GET", "/owners", Map.of("page", "0", "size", "20"), null);
+    }
+
+    private LoadRequest getById(long id) {
+        return new LoadRequest("GET_/owners/{id}", "GET", "/owners/" + id, null, null);
+    }
+
+    private LoadRequest update(long id) {
+        return new LoadRequest("PUT_/owners/{id}", "PUT", "/owners/" + id, null, ownerJson());
+    }
+
+    private long randomSeeded() {
+        return seededIds.get(random.nextInt(seededIds.size()));
+    }
+
+    private String ownerJson() {
+        StringBuilder first = new StringBuilder("T");
+        for (int i = 0; i < 6; i++) first.append(LETTERS.charAt(random.nextInt(LETTERS.length())));
+        String telephone = String.format("%03d%07d", runPrefix, seq.incrementAndGet() % 10_000_000);
+        return "{\"firstName\":\"" + first + "\",\"lastName\":\"Load\",\"address\":\"Rua " + (1 + random.nextInt(9999))
+                + "\",\"city\":\"Curitiba\",\"telephone\":\"" + telephone + "\"}";
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.petclinic.tools.load;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Arrival-rate profile of a run: a start rate and stages that move linearly to a target rate (requests per second)
+ * over their duration, like k6's {@code ramping-arrival-rate}. Requests are due at fixed instants derived from the
+ * profile alone, never from how fast the system answers, so a slow response does not delay the next request.
+ * <p>
+ * The named scenarios follow {@code load_tests/owners_loadtest_v2.js}. That script is closed-loop (VUs that sleep
+ * 200 ms between iterations); here each VU becomes {@code rpsPerVu} requests per second, the rate those VUs would
+ * offer if every response were instant.
+ */
+record Scenario(String name, double startRps, List<Stage> stages, RequestMix.Kind mix) {
+
+    record Stage(String name, double seconds, double targetRps) {}
+
+    static Scenario named(String name, double rpsPerVu) {
+        return switch (name.toLowerCase(Locale.ROOT)) {
+            // warm-up, then three 50-VU spikes separated by warm pauses at 10 VUs
+            case "spike" -> vus(name, rpsPerVu, RequestMix.Kind.CRUD,
+                    "warmup-1:30:10", "warmup-2:20:30",
+                    "spike-1:10:50", "drop-1:10:0", "pause-1:40:10",
+                    "spike-2:10:50", "drop-2:10:0", "pause-2:40:10",
+                    "spike-3:10:50", "drop-3:10:0");
+            // ramp with plateaus at 20 and 60 VUs, then up to 100 and cooldown; reads only
+            case "ramp" -> vus(name, rpsPerVu, RequestMix.Kind.READS,
+                    "ramp-20:120:20", "plateau-20:60:20", "ramp-60:180:60", "plateau-60:120:60",
+                    "ramp-100:180:100", "cooldown:120:0");
+            // 30 VUs for one hour
+            case "soak" -> new Scenario(name, 30 * rpsPerVu, List.of(new Stage("soak", 3600, 30 * rpsPerVu)), RequestMix.Kind.CRUD);
+            // five isolated requests 15 minutes apart: every one should land on a cold (or SnapStart-restored) sandbox
+            case "cold" -> new Scenario(name, 1 / 900.0, List.of(new Stage("cold", 5 * 900 - 1, 1 / 900.0)), RequestMix.Kind.COLD);
+            default -> throw new IllegalArgumentException("Unknown scenario '" + name + "' (spike, ramp, soak, cold, constant)");
+        };
+    }
+
+    static Scenario constant(double rps, double seconds, RequestMix.Kind mix) {
+        return new Scenario("constant", rps, List.of(new Stage("constant", seconds, rps)), mix);
+    }
+
+    /** Same shape with rates multiplied by {@code rateScale} and durations by {@code timeScale}. */
+    Scenario scaled(double rateScale, double timeScale) {
+        if (rateScale == 1 && timeScale == 1) return this;
+        List<Stage> s = new ArrayList<>();
+        for (Stage st : stages) s.add(new Stage(st.name(), st.seconds() * timeScale, st.targetRps() * rateScale));
+        return new Scenario(name, startRps * rateScale, s, mix);
+    }
+
+    double totalSeconds() {
+        return stages.stream().mapToDouble(Stage::seconds).sum();
+    }
+
+    /** Requests the profile offers: the area under the rate curve. */
+    double expectedRequests() {
+        double rate = startRps;
+        double total = 0;
+        for (Stage st : stages) {
+            total += (rate + st.targetRps()) / 2 * st.seconds();
+            rate = st.targetRps();
+        }
+        return total;
+    }
+
+    Arrivals arrivals() {
+        return new Arrivals();
+    }
+
+    private static Scenario vus(String name, double rpsPerVu, RequestMix.Kind mix, String... stages) {
+        List<Stage> out = new ArrayList<>();
+        for (String s : stages) {
+            String[] p = s.split(":");
+            out.add(new Stage(p[0], Double.parseDouble(p[1]), Double.parseDouble(p[2]) * rpsPerVu));
+        }
+        return new Scenario(name, 0, out, mix);
+    }
+
+    /**
+     * Due times of the scenario's requests. Request {@code n} (from 0) is due when the integral of the rate reaches
+     * {@code n}, so the first one goes at the start and the spacing follows the instantaneous rate; on a linear
+     * stage that is the root of a quadratic.
+     */
+    final class Arrivals {
+        private int stage;
+        private double stageStartSeconds;
+        private double stageStartRps = startRps;
+        private double countBeforeStage;
+        private long n;
+
+        /** Seconds from the start at which the next request is due, or a negative value when the profile is over. */
+        double next() {
+            while (stage < stages.size()) {
+                Stage st = stages.get(stage);
+                double r0 = stageStartRps;
+                double r1 = st.targetRps();
+                double stageCount = (r0 + r1) / 2 * st.seconds();
+                double k = n - countBeforeStage;
+                if (k < stageCount) {
+                    n++;
+                    return stageStartSeconds + offsetInStage(r0, r1, st.seconds(), k);
+                }
+                countBeforeStage += stageCount;
+                stageStartSeconds += st.seconds();
+                stageStartRps = r1;
+                stage++;
+            }
+            return -1;
+        }
+
+        /** Stage of the request returned by the last {@link #next()}. */
+        String stageName() {
+            return stages.get(Math.min(stage, stages.size() - 1)).name();
+        }
+
+        /** t in [0, seconds) where r0 t + (r1 - r0) t^2 / (2 seconds) = k. */
+        private static double offsetInStage(double r0, double r1, double seconds, double k) {
+            double a = (r1 - r0) / (2 * seconds);
+            if (Math.abs(a) < 1e-12) return k / r0;
+            return (-r0 + Math.sqrt(r0 * r0 + 4 * a * k)) / (2 * a);
+        }
+    }
+}
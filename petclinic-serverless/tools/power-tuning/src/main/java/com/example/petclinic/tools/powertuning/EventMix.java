@@ -0,0 +1,72 @@
+package com.example.petclinic.tools.powertuning;
+
+import com.amazonaws.services.lambda.runtime.events.APIGatewayV2HTTPEvent;
+import com.example.petclinic.api.common.Json;
+import com.example.petclinic.tools.common.HttpEvents;
+import com.fasterxml.jackson.core.type.TypeReference;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Fixed per-function event mix ({@code event-mix.json}). Templates cycle in order; placeholders are filled from a
+ * seeded {@link Random}, so every configuration replays exactly the same sequence:
+ * {@code {owner}} a seeded owner id, {@code {pet}} that owner's seeded pet, {@code {seq}} a per-run counter
+ * (unique names / telephones for creates).
+ */
+final class EventMix {
+
+    /** Owners 1-2 and pets 1-3 come from schema.sql; the worker seeds owner N with pet N + PET_ID_OFFSET. */
+    static final int FIRST_SEEDED_OWNER = 3;
+    static final int PET_ID_OFFSET = 1000;
+
+    record Template(String method, String path, String query, String body) {}
+
+    private final Map<String, List<Template>> templates;
+    private final int seededOwners;
+    private final Random random = new Random(42);
+    private long seq;
+
+    private EventMix(Map<String, List<Template>> templates, int seededOwners) {
+        this.templates = templates;
+        this.seededOwners = seededOwners;
+    }
+
+    static EventMix load(int seededOwners) {
+        try (InputStream in = EventMix.class.getResourceAsStream("/event-mix.json")) {
+            Map<String, List<Template>> t = Json.mapper().readValue(in, new TypeReference<LinkedHashMap<String, List<Template>>>() {});
+            return new EventMix(t, seededOwners);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    List<String> functions() {
+        return List.copyOf(templates.keySet());
+    }
+
+    APIGatewayV2HTTPEvent next(String function, int i) {
+        List<Template> list = templates.get(function);
+        if (list == null) throw new IllegalArgumentException("No events for function '" + function + "' in event-mix.json");
+        Template t = list.get(i % list.size());
+        int owner = FIRST_SEEDED_OWNER + random.nextInt(seededOwners);
+        long n = ++seq;
+        String path = fill(t.path(), owner, n);
+
+        return HttpEvents.request(t.method(), path)
+                .rawQuery(t.query())
+                .body(t.body() == null ? null : fill(t.body(), owner, n))
+                .build();
+    }
+
+    private static String fill(String s, int owner, long seq) {
+        return s.replace("{owner}", Integer.toString(owner))
+                .replace("{pet}", Integer.toString(owner + PET_ID_OFFSET))
+                .replace("{seq}", Long.toString(seq));
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.petclinic.tools.powertuning;
+
+import com.example.petclinic.api.common.cost.CostModel;
+
+import java.util.Arrays;
+
+/**
+ * Result of one worker run: one function at one memory size. Latencies are handler wall times in ms; cost uses
+ * {@link CostModel} on the per-invocation billed duration, like the {@code Invocation*} metrics in production.
+ */
+record Measurement(String function, int memoryMb, double vcpus, int invocations, int errors,
+                   double initMs, double firstInvocationMs,
+                   double p50Ms, double p90Ms, double p95Ms, double p99Ms, double maxMs, double meanMs,
+                   double meanBilledMs) {
+
+    static Measurement of(String function, int memoryMb, int errors, double initMs, double firstInvocationMs,
+                          long[] nanos) {
+        long[] sorted = nanos.clone();
+        Arrays.sort(sorted);
+        double billed = 0;
+        double total = 0;
+        for (long n : sorted) {
+            double ms = n / 1_000_000.0;
+            total += ms;
+            billed += CostModel.billedMillis(ms);
+        }
+        int count = Math.max(1, sorted.length);
+        return new Measurement(function, memoryMb, CostModel.vcpus(memoryMb), sorted.length, errors,
+                initMs, firstInvocationMs,
+                percentile(sorted, 0.50), percentile(sorted, 0.90), percentile(sorted, 0.95), percentile(sorted, 0.99),
+                sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1_000_000.0,
+                total / count, billed / count);
+    }
+
+    double gbSecondsPerInvocation() {
+        return CostModel.gbSeconds(memoryMb, meanBilledMs);
+    }
+
+    /** Lambda compute + request price of one million invocations at the measured mean billed duration. */
+    double usdPerMillion() {
+        return CostModel.invocationUsd(memoryMb, meanBilledMs) * 1_000_000;
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) return 0;
+        int idx = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, idx))] / 1_000_000.0;
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.petclinic.tools.powertuning;
+
+import com.example.petclinic.api.common.Json;
+import com.example.petclinic.api.common.cost.CostModel;
+import com.example.petclinic.tools.common.Args;
+import com.example.petclinic.tools.common.Lambdalith;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Memory / CPU sweep of every function, in the spirit of AWS Lambda Power Tuning but local and against H2.
+ * For each (function, memory) pair a fresh {@link PowerTuningWorker} JVM is started with the heap, RAM and
+ * processor count Lambda would give that size (vCPU share = memory / {@value CostModel#MB_PER_VCPU} MB), so the
+ * cold start (context init + first invocation) is measured per configuration, not amortised across the sweep.
+ * <p>
+ * The processor count only sizes JIT / GC threads; the CPU share itself is not throttled unless
+ * {@code --cpu-limit=systemd} runs each worker in a {@code systemd-run --scope} with {@code CPUQuota} and
+ * {@code MemoryMax}, which is what makes the latency curve meaningful below one vCPU.
+ * <p>
+ * Output ({@code --out}, default {@code target/power-tuning}): {@code report.md} with a latency / cost table
+ * per function and the recommended size, {@code results.json} with every {@link Measurement}, and one worker log
+ * per run. Recommendation: the cheapest error-free size whose p95 is within {@code --tolerance} (default 10%)
+ * of the fastest p95 measured for that function.
+ */
+public final class PowerTuningHarness {
+
+    private static final String DEFAULT_MEMORY = "256,512,1024,1536,2048,3008";
+    private static final String DEFAULT_JVM_OPTS = "-XX:+TieredCompilation -XX:TieredStopAtLevel=1";
+
+    private PowerTuningHarness() {}
+
+    public static void main(String[] argv) throws Exception {
+        Args args = new Args(argv);
+        List<Integer> memories = Arrays.stream(args.get("memory", DEFAULT_MEMORY).split(","))
+                .map(String::trim).map(Integer::parseInt).toList();
+        String functionsArg = args.get("functions", "all");
+        List<String> functions = "all".equals(functionsArg)
+                ? EventMix.load(1).functions()
+                : Arrays.stream(functionsArg.split(",")).map(String::trim).toList();
+        double tolerance = args.getDouble("tolerance", 0.10);
+        Path out = Path.of(args.get("out", "target/power-tuning"));
+        Files.createDirectories(out);
+
+        Map<String, List<Measurement>> results = new LinkedHashMap<>();
+        for (String function : functions) {
+            List<Measurement> perFunction = new ArrayList<>();
+            for (int memoryMb : memories) {
+                System.out.printf(Locale.ROOT, "[PowerTuning] %s @ %d MB ...%n", function, memoryMb);
+                Optional<Measurement> m = runWorker(args, function, memoryMb, out);
+                m.ifPresent(perFunction::add);
+                m.ifPresent(x -> System.out.printf(Locale.ROOT, "[PowerTuning]   p95=%.2f ms, init=%.0f ms, $%.4f / 1M%n",
+                        x.p95Ms(), x.initMs(), x.usdPerMillion()));
+            }
+            results.put(function, perFunction);
+        }
+
+        Files.writeString(out.resolve("results.json"), Json.toJson(results));
+        Files.writeString(out.resolve("report.md"), report(results, tolerance));
+        System.out.println("[PowerTuning] Report: " + out.resolve("report.md").toAbsolutePath());
+    }
+
+    private static Optional<Measurement> runWorker(Args args, String function, int memoryMb, Path out)
+            throws IOException, InterruptedException {
+        Path result = out.resolve(function + "-" + memoryMb + ".json");
+        Path log = out.resolve(function + "-" + memoryMb + ".log");
+        Files.deleteIfExists(result);
+
+        int processors = (int) Math.max(1, Math.ceil(CostModel.vcpus(memoryMb)));
+        long heapMb = Math.round(memoryMb * args.getDouble("heap-ratio", 0.85));
+        List<String> cmd = new ArrayList<>();
+        if ("systemd".equals(args.get("cpu-limit", "none"))) {
+            cmd.addAll(List.of("systemd-run", "--user", "--scope", "--quiet",
+                    "-p", "CPUQuota=" + Math.round(CostModel.vcpus(memoryMb) * 100) + "%",
+                    "-p", "MemoryMax=" + memoryMb + "M"));
+        }
+        cmd.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        cmd.add("-XX:MaxRAM=" + memoryMb + "m");
+        cmd.add("-Xmx" + heapMb + "m");
+        cmd.add("-XX:ActiveProcessorCount=" + processors);
+        for (String opt : args.get("jvm-opts", DEFAULT_JVM_OPTS).split("\\s+")) {
+            if (!opt.isBlank()) cmd.add(opt);
+        }
+        cmd.addAll(List.of("-cp", System.getProperty("java.class.path"), PowerTuningWorker.class.getName(),
+                "--function=" + function,
+                "--memory=" + memoryMb,
+                "--warmup=" + args.getInt("warmup", 200),
+                "--iterations=" + args.getInt("iterations", 300),
+                "--seed-owners=" + args.getInt("seed-owners", 500),
+                "--result=" + result.toAbsolutePath()));
+
+        ProcessBuilder pb = new ProcessBuilder(cmd).redirectErrorStream(true).redirectOutput(log.toFile());
+        Map<String, String> env = pb.environment();
+        env.put("AWS_LAMBDA_FUNCTION_NAME", "power-tuning-" + function);
+        env.put("AWS_LAMBDA_FUNCTION_MEMORY_SIZE", Integer.toString(memoryMb));
+        env.put("POWERTOOLS_METRICS_NAMESPACE", "PowerTuning");
+        env.putIfAbsent("AWS_REGION", "us-east-1");
+        env.put("DB_EMBEDDED_JDBC_URL", Lambdalith.h2Url(PowerTuningWorker.H2_NAME));
+
+        int exit = pb.start().waitFor();
+        if (exit != 0 || !Files.exists(result)) {
+            System.err.printf("[PowerTuning] %s @ %d MB failed (exit %d), see %s%n", function, memoryMb, exit, log);
+            return Optional.empty();
+        }
+        return Optional.of(Json.mapper().readValue(result.toFile(), Measurement.class));
+    }
+
+    static Optional<Measurement> recommend(List<Measurement> measurements, double tolerance) {
+        List<Measurement> ok = measurements.stream().filter(m -> m.errors() == 0).toList();
+        double fastest = ok.stream().mapToDouble(Measurement::p95Ms).min().orElse(Double.NaN);
+        return ok.stream()
+                .filter(m -> m.p95Ms() <= fastest * (1 + tolerance))
+                .min(Comparator.comparingDouble(Measurement::usdPerMillion).thenComparingInt(Measurement::memoryMb));
+    }
+
+    static String report(Map<String, List<Measurement>> results, double tolerance) {
+        StringBuilder sb = new StringBuilder("# Power tuning\n\n");
+        sb.append(String.format(Locale.ROOT,
+                "Prices: $%s per GB-s, $%s per request. Recommendation: cheapest error-free size with p95 within %.0f%% of the fastest.%n%n",
+                BigDecimal.valueOf(CostModel.GB_SECOND_USD).toPlainString(),
+                BigDecimal.valueOf(CostModel.REQUEST_USD).toPlainString(), tolerance * 100));
+        results.forEach((function, list) -> {
+            Optional<Measurement> best = recommend(list, tolerance);
+            sb.append("## ").append(function).append("\n\n");
+            sb.append("| Memory (MB) | vCPU | Init (ms) | 1st inv. (ms) | p50 | p95 | p99 | max | Billed mean (ms) | GB-s / inv. | USD / 1M | Errors |\n");
+            sb.append("|---:|---:|---:|---:|---:|---:|---:|---:|---:|---:|---:|---:|\n");
+            for (Measurement m : list) {
+                boolean mark = best.map(b -> b.memoryMb() == m.memoryMb()).orElse(false);
+                sb.append(String.format(Locale.ROOT,
+                        "| %s%d%s | %.2f | %.0f | %.1f | %.2f | %.2f | %.2f | %.2f | %.2f | %.7f | %.4f | %d |%n",
+                        mark ? "**" : "", m.memoryMb(), mark ? "**" : "", m.vcpus(), m.initMs(), m.firstInvocationMs(),
+                        m.p50Ms(), m.p95Ms(), m.p99Ms(), m.maxMs(), m.meanBilledMs(), m.gbSecondsPerInvocation(),
+                        m.usdPerMillion(), m.errors()));
+            }
+            sb.append('\n').append(best
+                    .map(b -> String.format(Locale.ROOT, "Recommended: **%d MB** (p95 %.2f ms, $%.4f / 1M invocations)",
+                            b.memoryMb(), b.p95Ms(), b.usdPerMillion()))
+                    .orElse("No error-free configuration")).append("\n\n");
+        });
+        return sb.toString();
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.petclinic.tools.powertuning;
+
+import com.amazonaws.services.lambda.runtime.events.APIGatewayV2HTTPEvent;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayV2HTTPResponse;
+import com.example.petclinic.api.common.Json;
+import com.example.petclinic.functions.api.ApiRouterFunction;
+import com.example.petclinic.functions.api.PetclinicApiConfig;
+import com.example.petclinic.tools.common.Args;
+import com.example.petclinic.tools.common.Lambdalith;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Child JVM of {@link PowerTuningHarness}: one function at one memory size, like one Lambda sandbox. Boots the
+ * lambdalith context on H2, seeds it, invokes the function once (first invocation), then {@code --warmup} more
+ * times, then measures {@code --iterations} sequential invocations and writes a {@link Measurement} as JSON to
+ * {@code --result}.
+ */
+public final class PowerTuningWorker {
+
+    static final String H2_NAME = "petclinic";
+
+    private PowerTuningWorker() {}
+
+    public static void main(String[] argv) throws IOException {
+        Args args = new Args(argv);
+        String function = args.get("function", "owners-get");
+        int memoryMb = args.getInt("memory", 512);
+        int warmup = args.getInt("warmup", 200);
+        int iterations = args.getInt("iterations", 300);
+        int seedOwners = args.getInt("seed-owners", 500);
+        Path result = Path.of(args.get("result", "measurement.json"));
+
+        Lambdalith lambdalith = Lambdalith.embedded(PetclinicApiConfig.class, ApiRouterFunction.class, H2_NAME, Map.of());
+        // JVM start to context ready: what INIT would take in a sandbox of this size (minus the runtime bootstrap)
+        double initMs = ManagementFactory.getRuntimeMXBean().getUptime();
+
+        seed(lambdalith.getBean(JdbcTemplate.class), seedOwners);
+        EventMix mix = EventMix.load(seedOwners);
+
+        int errors = 0;
+        long start = System.nanoTime();
+        if (!ok(lambdalith.apply(mix.next(function, 0)))) errors++;
+        double firstMs = (System.nanoTime() - start) / 1_000_000.0;
+        for (int i = 1; i <= warmup; i++) {
+            lambdalith.apply(mix.next(function, i));
+        }
+        long[] nanos = new long[iterations];
+        for (int i = 0; i < iterations; i++) {
+            APIGatewayV2HTTPEvent event = mix.next(function, warmup + 1 + i);
+            long s = System.nanoTime();
+            APIGatewayV2HTTPResponse response = lambdalith.apply(event);
+            nanos[i] = System.nanoTime() - s;
+            if (!ok(response)) errors++;
+        }
+
+        Measurement m = Measurement.of(function, memoryMb, errors, initMs, firstMs, nanos);
+        Files.writeString(result, Json.toJson(m));
+        lambdalith.close();
+        System.exit(0);
+    }
+
+    private static boolean ok(APIGatewayV2HTTPResponse response) {
+        return response != null && response.getStatusCode() < 400;
+    }
+
+    /** Owners 3..N next to the schema.sql rows, each with pet N + PET_ID_OFFSET. */
+    static void seed(JdbcTemplate jdbc, int owners) {
+        List<Object[]> ownerRows = new ArrayList<>(owners);
+        List<Object[]> petRows = new ArrayList<>(owners);
+        for (int id = EventMix.FIRST_SEEDED_OWNER; id < EventMix.FIRST_SEEDED_OWNER + owners; id++) {
+            ownerRows.add(new Object[]{id, "Seed", "Owner" + id, id + " Seed St", "Springfield", "7" + id});
+            petRows.add(new Object[]{id + EventMix.PET_ID_OFFSET, "Pet" + id, Date.valueOf("2020-01-01"), 1 + id % 4, id});
+        }
+        jdbc.batchUpdate("INSERT INTO owners(id, first_name, last_name, address, city, telephone) VALUES (?,?,?,?,?,?)", ownerRows);
+        jdbc.batchUpdate("INSERT INTO pets(id, name, birth_date, type_id, owner_id) VALUES (?,?,?,?,?)", petRows);
+        // explicit ids do not move the identity columns; keep generated ids clear of the seeded ones
+        int next = EventMix.PET_ID_OFFSET * 10 + owners;
+        for (String table : List.of("owners", "pets", "visits")) {
+            jdbc.execute("ALTER TABLE " + table + " ALTER COLUMN id RESTART WITH " + next);
+        }
+    }
+}
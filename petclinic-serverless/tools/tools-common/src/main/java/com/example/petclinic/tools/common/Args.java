@@ -0,0 +1,38 @@
+package com.example.petclinic.tools.common;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/** {@code --name=value} command-line options with defaults; a bare {@code --name} is {@code true}. */
+public final class Args {
+
+    private final Map<String, String> values = new HashMap<>();
+
+    public Args(String[] args) {
+        for (String a : args) {
+            if (!a.startsWith("--")) throw new IllegalArgumentException("Expected --name=value, got '" + a + "'");
+            int eq = a.indexOf('=');
+            if (eq < 0) values.put(a.substring(2), "true");
+            else values.put(a.substring(2, eq), a.substring(eq + 1));
+        }
+    }
+
+    public String get(String name, String def) {
+        return values.getOrDefault(name, def);
+    }
+
+    public int getInt(String name, int def) {
+        String v = values.get(name);
+        return v == null ? def : Integer.parseInt(v);
+    }
+
+    public double getDouble(String name, double def) {
+        String v = values.get(name);
+        return v == null ? def : Double.parseDouble(v);
+    }
+
+    public boolean getBoolean(String name, boolean def) {
+        String v = values.get(name);
+        return v == null ? def : Boolean.parseBoolean(v);
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.petclinic.tools.common;
+
+import com.amazonaws.services.lambda.runtime.events.APIGatewayV2HTTPEvent;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Builds the {@link APIGatewayV2HTTPEvent} API Gateway would send for a JSON request:
+ * <pre>
+ * HttpEvents.request("GET", "/owners").query(Map.of("page", "0", "size", "20")).build();
+ * </pre>
+ * Query parameters set as a map also fill {@code rawQueryString} and the other way round; values are taken as they
+ * are, without URL encoding.
+ */
+public final class HttpEvents {
+
+    private HttpEvents() {}
+
+    public static Builder request(String method, String path) {
+        return new Builder(method, path);
+    }
+
+    public static final class Builder {
+        private final String method;
+        private final String path;
+        private Map<String, String> pathParameters;
+        private Map<String, String> query;
+        private String rawQuery;
+        private String body;
+
+        private Builder(String method, String path) {
+            this.method = method;
+            this.path = path;
+        }
+
+        public Builder pathParameters(Map<String, String> pathParameters) {
+            this.pathParameters = pathParameters;
+            return this;
+        }
+
+        public Builder query(Map<String, String> query) {
+            this.query = query;
+            this.rawQuery = query == null ? null : query.entrySet().stream()
+                    .map(e -> e.getKey() + "=" + e.getValue()).collect(Collectors.joining("&"));
+            return this;
+        }
+
+        /** {@code a=1&b=2}; null or empty means no query string. */
+        public Builder rawQuery(String rawQuery) {
+            if (rawQuery == null || rawQuery.isEmpty()) return query(null);
+            Map<String, String> parsed = new HashMap<>();
+            for (String kv : rawQuery.split("&")) {
+                int eq = kv.indexOf('=');
+                if (eq < 0) parsed.put(kv, "");
+                else parsed.put(kv.substring(0, eq), kv.substring(eq + 1));
+            }
+            this.query = parsed;
+            this.rawQuery = rawQuery;
+            return this;
+        }
+
+        public Builder body(String body) {
+            this.body = body;
+            return this;
+        }
+
+        public APIGatewayV2HTTPEvent build() {
+            APIGatewayV2HTTPEvent.RequestContext.Http http = new APIGatewayV2HTTPEvent.RequestContext.Http();
+            http.setMethod(method);
+            http.setPath(path);
+            APIGatewayV2HTTPEvent.RequestContext requestContext = new APIGatewayV2HTTPEvent.RequestContext();
+            requestContext.setHttp(http);
+            requestContext.setTimeEpoch(System.currentTimeMillis());
+            APIGatewayV2HTTPEvent event = new APIGatewayV2HTTPEvent();
+            event.setRequestContext(requestContext);
+            event.setRawPath(path);
+            event.setHeaders(Map.of("content-type", "application/json"));
+            event.setPathParameters(pathParameters);
+            event.setQueryStringParameters(query);
+            event.setRawQueryString(rawQuery);
+            event.setBody(body);
+            return event;
+        }
+    }
+}
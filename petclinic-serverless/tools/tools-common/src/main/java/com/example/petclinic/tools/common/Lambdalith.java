@@ -0,0 +1,130 @@
+package com.example.petclinic.tools.common;
+
+import com.amazonaws.services.lambda.runtime.events.APIGatewayV2HTTPEvent;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayV2HTTPResponse;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import software.amazon.lambda.powertools.metrics.MetricsFactory;
+
+import javax.sql.DataSource;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * The lambdalith context started in-process, without the Lambda runtime or API Gateway: every handler, service and
+ * repository this build deploys, behind its router. The configuration and router classes are passed in, so this
+ * module does not depend on the lambdalith module (whose tests use {@link HttpEvents}).
+ * <ul>
+ *   <li>{@link #start}: database from the usual environment ({@code DB_EMBEDDED_JDBC_URL},
+ *   {@code DB_HOST}/{@code DB_USER}/{@code DB_PASS} or the RDS Proxy / Secrets Manager variables); with none set,
+ *   an in-memory H2 with schema.sql.</li>
+ *   <li>{@link #embedded}: always the in-memory H2 with schema.sql.</li>
+ * </ul>
+ * Boot's own SQL initialization is off; schema.sql must be on the classpath for the H2 case.
+ */
+public final class Lambdalith implements AutoCloseable {
+
+    private final ConfigurableApplicationContext ctx;
+    private final Function<APIGatewayV2HTTPEvent, APIGatewayV2HTTPResponse> router;
+    private final boolean embeddedDatabase;
+    private PrintStream console;
+
+    private Lambdalith(ConfigurableApplicationContext ctx, Function<APIGatewayV2HTTPEvent, APIGatewayV2HTTPResponse> router,
+                       boolean embeddedDatabase) {
+        this.ctx = ctx;
+        this.router = router;
+        this.embeddedDatabase = embeddedDatabase;
+    }
+
+    /** {@code jdbc:h2:mem:<name>} in MySQL mode, kept open until the JVM exits. */
+    public static String h2Url(String name) {
+        return "jdbc:h2:mem:" + name + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+    }
+
+    /** Whether the environment points at a database. */
+    public static boolean databaseConfigured() {
+        return System.getenv("DB_EMBEDDED_JDBC_URL") != null || System.getenv("DB_SECRET_ARN") != null
+                || System.getenv("DB_HOST") != null;
+    }
+
+    /** Configured database, or H2 {@code h2Name} when there is none. */
+    public static Lambdalith start(Class<?> configuration,
+                                   Class<? extends Function<APIGatewayV2HTTPEvent, APIGatewayV2HTTPResponse>> routerType,
+                                   String h2Name, Map<String, Object> properties) {
+        return run(configuration, routerType, databaseConfigured() ? null : h2Name, properties);
+    }
+
+    /** H2 {@code h2Name} with schema.sql, whatever the environment says. */
+    public static Lambdalith embedded(Class<?> configuration,
+                                      Class<? extends Function<APIGatewayV2HTTPEvent, APIGatewayV2HTTPResponse>> routerType,
+                                      String h2Name, Map<String, Object> properties) {
+        return run(configuration, routerType, h2Name, properties);
+    }
+
+    private static Lambdalith run(Class<?> configuration,
+                                  Class<? extends Function<APIGatewayV2HTTPEvent, APIGatewayV2HTTPResponse>> routerType,
+                                  String h2Name, Map<String, Object> properties) {
+        // the SecretsManagerClient bean is built even when the embedded pool never calls it
+        if (System.getenv("AWS_REGION") == null && System.getProperty("aws.region") == null) {
+            System.setProperty("aws.region", "us-east-1");
+        }
+        Map<String, Object> defaults = new HashMap<>(properties);
+        defaults.put("spring.sql.init.mode", "never");
+        // a default property: an explicit DB_EMBEDDED_JDBC_URL in the environment still wins
+        if (h2Name != null) defaults.put("DB_EMBEDDED_JDBC_URL", h2Url(h2Name));
+
+        SpringApplication app = new SpringApplication(configuration);
+        app.setWebApplicationType(WebApplicationType.NONE);
+        app.setDefaultProperties(defaults);
+        ConfigurableApplicationContext ctx = app.run();
+        if (h2Name != null) {
+            new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).execute(ctx.getBean(DataSource.class));
+        }
+        return new Lambdalith(ctx, ctx.getBean(routerType), h2Name != null);
+    }
+
+    /**
+     * Handlers publish EMF metrics to stdout: sets {@code namespace} when {@code POWERTOOLS_METRICS_NAMESPACE} is
+     * absent and discards stdout until {@link #close()}, so tool output stays readable (print through
+     * {@link #console()}).
+     */
+    public Lambdalith discardMetricsOutput(String namespace) {
+        if (System.getenv("POWERTOOLS_METRICS_NAMESPACE") == null) {
+            MetricsFactory.getMetricsInstance().setNamespace(namespace);
+        }
+        if (console == null) {
+            console = System.out;
+            System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        }
+        return this;
+    }
+
+    /** The stdout in place before {@link #discardMetricsOutput}. */
+    public PrintStream console() {
+        return console == null ? System.out : console;
+    }
+
+    public APIGatewayV2HTTPResponse apply(APIGatewayV2HTTPEvent event) {
+        return router.apply(event);
+    }
+
+    public <T> T getBean(Class<T> type) {
+        return ctx.getBean(type);
+    }
+
+    public String database() {
+        return embeddedDatabase ? "h2 (schema.sql)" : "configured";
+    }
+
+    @Override
+    public void close() {
+        if (console != null) System.setOut(console);
+        ctx.close();
+    }
+}
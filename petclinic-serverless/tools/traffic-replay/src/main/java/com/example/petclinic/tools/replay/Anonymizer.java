@@ -0,0 +1,194 @@
+package com.example.petclinic.tools.replay;
+
+import com.amazonaws.services.lambda.runtime.events.APIGatewayV2HTTPEvent;
+import com.example.petclinic.api.common.Json;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.ByteBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Removes personal data from captured events before they are stored or replayed.
+ * <ul>
+ *   <li>PII fields ({@link #DEFAULT_FIELDS}, {@code --pii-fields}) in the JSON body and the query string are
+ *   pseudonymized: a salted SHA-256 of the value drives a format-preserving replacement (letters stay letters,
+ *   digits stay digits, same length, separators kept). The same value always maps to the same pseudonym within a
+ *   salt, so a replayed create followed by a search for that last name still finds the row, and
+ *   {@code @Size} / telephone rules see the same shape as the original.</li>
+ *   <li>Credentials and client identity are dropped: {@code authorization}, {@code cookie}, {@code x-api-key},
+ *   forwarding headers, the cookies list and the source IP.</li>
+ *   <li>Base64 bodies ({@code isBase64Encoded}) are decoded and treated like any other body; one that does not
+ *   decode to UTF-8 text is dropped.</li>
+ * </ul>
+ * Events are modified in place.
+ */
+final class Anonymizer {
+
+    static final Set<String> DEFAULT_FIELDS = Set.of("firstName", "lastName", "address", "city", "telephone", "description");
+
+    private static final Set<String> DROPPED_HEADERS = Set.of(
+            "authorization", "cookie", "x-api-key", "x-amz-security-token",
+            "x-forwarded-for", "forwarded", "x-real-ip", "true-client-ip");
+    private static final String LETTERS = "abcdefghijklmnopqrstuvwxyz";
+    private static final String MASKED_IP = "0.0.0.0";
+
+    private final byte[] salt;
+    private final Set<String> fields;
+
+    Anonymizer(String salt, Set<String> fields) {
+        this.salt = salt.getBytes(StandardCharsets.UTF_8);
+        this.fields = fields.stream().map(f -> f.toLowerCase(Locale.ROOT)).collect(Collectors.toSet());
+    }
+
+    static Set<String> parseFields(String spec) {
+        if (spec == null || spec.isBlank()) return DEFAULT_FIELDS;
+        Set<String> out = new HashSet<>();
+        for (String f : spec.split(",")) {
+            if (!f.isBlank()) out.add(f.trim());
+        }
+        return out;
+    }
+
+    void anonymize(APIGatewayV2HTTPEvent event) {
+        if (event.getHeaders() != null) {
+            Map<String, String> headers = new LinkedHashMap<>();
+            event.getHeaders().forEach((k, v) -> {
+                if (!DROPPED_HEADERS.contains(k.toLowerCase(Locale.ROOT))) headers.put(k, v);
+            });
+            event.setHeaders(headers);
+        }
+        event.setCookies(null);
+        if (event.getRequestContext() != null && event.getRequestContext().getHttp() != null) {
+            event.getRequestContext().getHttp().setSourceIp(MASKED_IP);
+        }
+        if (event.getQueryStringParameters() != null) {
+            Map<String, String> query = new HashMap<>(event.getQueryStringParameters());
+            query.replaceAll((k, v) -> isPii(k) && v != null ? pseudonym(v) : v);
+            event.setQueryStringParameters(query);
+        }
+        if (event.getRawQueryString() != null && !event.getRawQueryString().isEmpty()) {
+            event.setRawQueryString(anonymizeRawQuery(event.getRawQueryString()));
+        }
+        if (event.getBody() != null) {
+            if (Boolean.TRUE.equals(event.getIsBase64Encoded())) {
+                event.setBody(anonymizeBase64Body(event.getBody()));
+                if (event.getBody() == null) event.setIsBase64Encoded(false);
+            } else {
+                event.setBody(anonymizeBody(event.getBody()));
+            }
+        }
+    }
+
+    /**
+     * Base64 bodies are decoded, anonymized like a plain body and re-encoded. A body that is not valid base64 or not
+     * UTF-8 text cannot be inspected, so it is dropped rather than kept verbatim.
+     */
+    String anonymizeBase64Body(String body) {
+        String text;
+        try {
+            byte[] bytes = Base64.getDecoder().decode(body);
+            text = StandardCharsets.UTF_8.newDecoder()
+                    .onMalformedInput(CodingErrorAction.REPORT)
+                    .onUnmappableCharacter(CodingErrorAction.REPORT)
+                    .decode(ByteBuffer.wrap(bytes))
+                    .toString();
+        } catch (IllegalArgumentException | CharacterCodingException e) {
+            return null;
+        }
+        return Base64.getEncoder().encodeToString(anonymizeBody(text).getBytes(StandardCharsets.UTF_8));
+    }
+
+    String anonymizeBody(String body) {
+        JsonNode root;
+        try {
+            root = Json.mapper().readTree(body);
+        } catch (JsonProcessingException e) {
+            // not JSON: nothing field-addressable, keep the shape but not the content
+            return pseudonym(body);
+        }
+        if (root == null) return body;
+        walk(root);
+        return root.toString();
+    }
+
+    private void walk(JsonNode node) {
+        if (node.isObject()) {
+            ObjectNode obj = (ObjectNode) node;
+            Iterator<Map.Entry<String, JsonNode>> it = obj.fields();
+            while (it.hasNext()) {
+                Map.Entry<String, JsonNode> e = it.next();
+                if (isPii(e.getKey()) && e.getValue().isValueNode() && !e.getValue().isNull()) {
+                    e.setValue(obj.textNode(pseudonym(e.getValue().asText())));
+                } else {
+                    walk(e.getValue());
+                }
+            }
+        } else if (node.isArray()) {
+            node.forEach(this::walk);
+        }
+    }
+
+    private String anonymizeRawQuery(String raw) {
+        return Arrays.stream(raw.split("&")).map(kv -> {
+            int eq = kv.indexOf('=');
+            if (eq < 0) return kv;
+            String key = URLDecoder.decode(kv.substring(0, eq), StandardCharsets.UTF_8);
+            if (!isPii(key)) return kv;
+            String value = URLDecoder.decode(kv.substring(eq + 1), StandardCharsets.UTF_8);
+            return kv.substring(0, eq) + "=" + URLEncoder.encode(pseudonym(value), StandardCharsets.UTF_8);
+        }).collect(Collectors.joining("&"));
+    }
+
+    private boolean isPii(String field) {
+        return fields.contains(field.toLowerCase(Locale.ROOT));
+    }
+
+    /** Deterministic, format-preserving replacement of {@code value}. */
+    String pseudonym(String value) {
+        byte[] digest = digest(value);
+        StringBuilder out = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            // re-hash past the digest length so long values do not repeat with a 32-char period
+            if (i > 0 && i % digest.length == 0) digest = digest(value + i);
+            char c = value.charAt(i);
+            int r = digest[i % digest.length] & 0xff;
+            if (Character.isDigit(c)) {
+                out.append((char) ('0' + r % 10));
+            } else if (Character.isLetter(c)) {
+                char l = LETTERS.charAt(r % LETTERS.length());
+                out.append(Character.isUpperCase(c) ? Character.toUpperCase(l) : l);
+            } else {
+                out.append(c);
+            }
+        }
+        return out.toString();
+    }
+
+    private byte[] digest(String value) {
+        try {
+            MessageDigest sha = MessageDigest.getInstance("SHA-256");
+            sha.update(salt);
+            return sha.digest(value.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.petclinic.tools.replay;
+
+import com.amazonaws.services.lambda.runtime.events.APIGatewayV2HTTPEvent;
+import com.example.petclinic.api.common.Json;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Reads API Gateway v2 events out of captured logs. Handlers run with {@code @Logging(logEvent = true)}, so every
+ * invocation leaves one log line holding the full {@link APIGatewayV2HTTPEvent}. Accepted line shapes:
+ * <ul>
+ *   <li>the bare event JSON (one per line, e.g. a file written by {@code --write-capture});</li>
+ *   <li>a Powertools JSON log line whose {@code message} is the event, as an object or as a JSON string;</li>
+ *   <li>either of the above behind a text prefix ({@code aws logs tail}, CloudWatch exports: timestamp, request id).</li>
+ * </ul>
+ * Other lines are skipped. Directories are walked; {@code .gz} files (CloudWatch export to S3) are decompressed.
+ * The arrival time is {@code requestContext.timeEpoch}, falling back to the log line {@code timestamp}.
+ */
+final class CaptureReader {
+
+    /** One captured invocation: arrival time (epoch ms) and the original event. */
+    record CapturedEvent(long timestampMillis, APIGatewayV2HTTPEvent event) {}
+
+    private int lines;
+    private int skipped;
+
+    /** Every event found in the given files / directories, ordered by arrival time. */
+    List<CapturedEvent> read(List<Path> paths) throws IOException {
+        List<CapturedEvent> events = new ArrayList<>();
+        for (Path path : paths) {
+            List<Path> files;
+            try (Stream<Path> walk = Files.walk(path)) {
+                files = walk.filter(Files::isRegularFile).sorted().toList();
+            }
+            for (Path file : files) {
+                readFile(file, events);
+            }
+        }
+        events.sort(Comparator.comparingLong(CapturedEvent::timestampMillis));
+        return events;
+    }
+
+    int lines() { return lines; }
+
+    int skipped() { return skipped; }
+
+    private void readFile(Path file, List<CapturedEvent> out) throws IOException {
+        InputStream in = Files.newInputStream(file);
+        if (file.getFileName().toString().endsWith(".gz")) in = new GZIPInputStream(in);
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lines++;
+                CapturedEvent event = parse(line);
+                if (event == null) skipped++;
+                else out.add(event);
+            }
+        }
+    }
+
+    static CapturedEvent parse(String line) {
+        int start = line.indexOf('{');
+        if (start < 0) return null;
+        JsonNode root;
+        try {
+            root = Json.mapper().readTree(line.substring(start));
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+        JsonNode event = locateEvent(root);
+        if (event == null) return null;
+        try {
+            APIGatewayV2HTTPEvent parsed = Json.mapper().treeToValue(event, APIGatewayV2HTTPEvent.class);
+            if (method(parsed) == null || parsed.getRawPath() == null) return null;
+            return new CapturedEvent(timestamp(event, root), parsed);
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+
+    private static JsonNode locateEvent(JsonNode root) {
+        if (isEvent(root)) return root;
+        JsonNode message = root.get("message");
+        if (message == null) return null;
+        if (message.isTextual()) {
+            try {
+                message = Json.mapper().readTree(message.asText());
+            } catch (JsonProcessingException e) {
+                return null;
+            }
+        }
+        return isEvent(message) ? message : null;
+    }
+
+    private static boolean isEvent(JsonNode node) {
+        return node != null && node.isObject() && node.has("rawPath")
+                && (node.path("requestContext").has("http") || node.has("routeKey"));
+    }
+
+    private static long timestamp(JsonNode event, JsonNode logLine) {
+        long epoch = event.path("requestContext").path("timeEpoch").asLong(0);
+        if (epoch > 0) return epoch;
+        JsonNode ts = logLine.get("timestamp");
+        if (ts != null) {
+            if (ts.isNumber()) return ts.asLong();
+            try {
+                return Instant.parse(ts.asText()).toEpochMilli();
+            } catch (DateTimeParseException ignored) {
+                // fall through: keep file order
+            }
+        }
+        return 0;
+    }
+
+    /** HTTP method of the event ({@code requestContext.http.method}, else the routeKey prefix). */
+    static String method(APIGatewayV2HTTPEvent event) {
+        if (event.getRequestContext() != null && event.getRequestContext().getHttp() != null
+                && event.getRequestContext().getHttp().getMethod() != null) {
+            return event.getRequestContext().getHttp().getMethod();
+        }
+        String routeKey = event.getRouteKey();
+        if (routeKey != null && routeKey.indexOf(' ') > 0) return routeKey.substring(0, routeKey.indexOf(' '));
+        return null;
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.petclinic.tools.replay;
+
+import com.amazonaws.services.lambda.runtime.events.APIGatewayV2HTTPEvent;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Replays over HTTP against any deployment of the API: API Gateway stage URL, the container module, a local
+ * {@code sam local start-api}. The event is turned back into the request the client sent: method, raw path and
+ * query, headers (minus the ones the client stack sets itself) and body.
+ */
+final class HttpTarget implements ReplayTarget {
+
+    /** Set by HttpClient or invalid to forward (hop-by-hop, or describing the original connection). */
+    private static final Set<String> SKIPPED_HEADERS = Set.of(
+            "host", "content-length", "connection", "expect", "upgrade", "te", "trailer", "transfer-encoding",
+            "keep-alive", "proxy-connection", "x-amzn-trace-id", "x-forwarded-port", "x-forwarded-proto");
+
+    private final String baseUrl;
+    private final Duration timeout;
+    private final HttpClient client;
+
+    HttpTarget(String baseUrl, Duration timeout) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.timeout = timeout;
+        this.client = HttpClient.newBuilder().connectTimeout(timeout).build();
+    }
+
+    @Override
+    public int invoke(APIGatewayV2HTTPEvent event) throws Exception {
+        String uri = baseUrl + event.getRawPath();
+        if (event.getRawQueryString() != null && !event.getRawQueryString().isEmpty()) {
+            uri += "?" + event.getRawQueryString();
+        }
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(uri)).timeout(timeout)
+                .method(CaptureReader.method(event), body(event));
+        if (event.getHeaders() != null) {
+            for (Map.Entry<String, String> h : event.getHeaders().entrySet()) {
+                if (!SKIPPED_HEADERS.contains(h.getKey().toLowerCase(Locale.ROOT))) request.header(h.getKey(), h.getValue());
+            }
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private static HttpRequest.BodyPublisher body(APIGatewayV2HTTPEvent event) {
+        if (event.getBody() == null) return HttpRequest.BodyPublishers.noBody();
+        if (Boolean.TRUE.equals(event.getIsBase64Encoded())) {
+            return HttpRequest.BodyPublishers.ofByteArray(Base64.getDecoder().decode(event.getBody()));
+        }
+        return HttpRequest.BodyPublishers.ofString(event.getBody());
+    }
+
+    @Override
+    public String describe() {
+        return baseUrl;
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.petclinic.tools.replay;
+
+import com.amazonaws.services.lambda.runtime.events.APIGatewayV2HTTPEvent;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayV2HTTPResponse;
+import com.example.petclinic.functions.api.ApiRouterFunction;
+import com.example.petclinic.functions.api.PetclinicApiConfig;
+import com.example.petclinic.tools.common.Lambdalith;
+
+import java.io.PrintStream;
+import java.util.Map;
+
+/**
+ * Replays in-process through the {@link Lambdalith}: the same {@link ApiRouterFunction} (and so every handler, service
+ * and repository) this build deploys, minus the Lambda runtime, on the configured database or an in-memory H2. While
+ * open, stdout (EMF metrics) is discarded and the metrics namespace defaults to {@code PetclinicReplay}; replay output
+ * goes through {@link #console()}.
+ */
+final class LocalTarget implements ReplayTarget {
+
+    private final Lambdalith lambdalith;
+
+    LocalTarget() {
+        lambdalith = Lambdalith.start(PetclinicApiConfig.class, ApiRouterFunction.class, "replay", Map.of())
+                .discardMetricsOutput("PetclinicReplay");
+    }
+
+    PrintStream console() {
+        return lambdalith.console();
+    }
+
+    @Override
+    public int invoke(APIGatewayV2HTTPEvent event) {
+        APIGatewayV2HTTPResponse response = lambdalith.apply(event);
+        return response == null ? 500 : response.getStatusCode();
+    }
+
+    @Override
+    public String describe() {
+        return "local lambdalith, database " + lambdalith.database();
+    }
+
+    @Override
+    public void close() {
+        lambdalith.close();
+    }
+}
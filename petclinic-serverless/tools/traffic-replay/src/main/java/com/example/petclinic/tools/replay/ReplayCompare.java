@@ -0,0 +1,86 @@
+package com.example.petclinic.tools.replay;
+
+import com.example.petclinic.api.common.Json;
+import com.example.petclinic.tools.common.Args;
+import com.example.petclinic.tools.replay.ReplayReport.RouteStats;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Compares two replay reports of the same capture (base build, then candidate build) route by route: p50 / p95 /
+ * p99 latency with relative change, and error rate. A route regresses when its p95 or p99 grows by more than
+ * {@code --threshold} (default 0.10) or its error rate grows by more than {@code --error-threshold} (default
+ * 0.005, i.e. half a percentage point). Routes with fewer than {@code --min-count} (default 20) requests are
+ * listed but never flagged. With {@code --fail} the exit code is 1 when there is at least one regression.
+ * <p>
+ * {@code java -cp tools/traffic-replay/target/traffic-replay.jar com.example.petclinic.tools.replay.ReplayCompare base.json candidate.json}
+ */
+public final class ReplayCompare {
+
+    private ReplayCompare() {}
+
+    public static void main(String[] args) throws IOException {
+        List<String> files = new ArrayList<>();
+        List<String> options = new ArrayList<>();
+        for (String a : args) {
+            if (a.startsWith("--")) options.add(a);
+            else files.add(a);
+        }
+        if (files.size() != 2) {
+            System.err.println("Usage: ReplayCompare <base.json> <candidate.json> [--threshold=0.10] [--error-threshold=0.005] [--min-count=20] [--fail]");
+            System.exit(2);
+        }
+        Args opts = new Args(options.toArray(String[]::new));
+        double threshold = opts.getDouble("threshold", 0.10);
+        double errorThreshold = opts.getDouble("error-threshold", 0.005);
+        int minCount = opts.getInt("min-count", 20);
+        boolean fail = Boolean.parseBoolean(opts.get("fail", "false"));
+
+        ReplayReport base = read(Path.of(files.get(0)));
+        ReplayReport head = read(Path.of(files.get(1)));
+        if (base.events() != head.events() || base.speed() != head.speed() || base.concurrency() != head.concurrency()) {
+            System.out.printf(Locale.ROOT, "[ReplayCompare] warning: runs differ (events %d/%d, speed %s/%s, concurrency %d/%d)%n",
+                    base.events(), head.events(), base.speed(), head.speed(), base.concurrency(), head.concurrency());
+        }
+
+        int regressions = 0;
+        System.out.printf(Locale.ROOT, "%-36s %7s %17s %17s %17s %15s%n", "route", "count", "p50 ms", "p95 ms", "p99 ms", "errors");
+        for (RouteStats h : head.routes()) {
+            RouteStats b = base.route(h.route());
+            if (b == null) {
+                System.out.printf(Locale.ROOT, "%-36s %7d %17.1f %17.1f %17.1f %14.2f%%  new%n",
+                        h.route(), h.count(), h.p50Ms(), h.p95Ms(), h.p99Ms(), h.errorRate() * 100);
+                continue;
+            }
+            boolean latencyWorse = change(b.p95Ms(), h.p95Ms()) > threshold || change(b.p99Ms(), h.p99Ms()) > threshold;
+            boolean errorsWorse = h.errorRate() - b.errorRate() > errorThreshold;
+            boolean flagged = (latencyWorse || errorsWorse) && Math.min(b.count(), h.count()) >= minCount;
+            if (flagged) regressions++;
+            System.out.printf(Locale.ROOT, "%-36s %7d %17s %17s %17s %15s%s%n", h.route(), h.count(),
+                    delta(b.p50Ms(), h.p50Ms()), delta(b.p95Ms(), h.p95Ms()), delta(b.p99Ms(), h.p99Ms()),
+                    String.format(Locale.ROOT, "%.2f->%.2f%%", b.errorRate() * 100, h.errorRate() * 100),
+                    flagged ? "  REGRESSION" : "");
+        }
+        base.routes().stream().filter(r -> head.route(r.route()) == null)
+                .forEach(r -> System.out.printf("%-36s removed%n", r.route()));
+        System.out.printf(Locale.ROOT, "%d regression(s) (latency > %.0f%%, errors > %.2f pp)%n",
+                regressions, threshold * 100, errorThreshold * 100);
+        if (fail && regressions > 0) System.exit(1);
+    }
+
+    static ReplayReport read(Path file) throws IOException {
+        return Json.mapper().readValue(file.toFile(), ReplayReport.class);
+    }
+
+    private static double change(double base, double head) {
+        return base == 0 ? 0 : (head - base) / base;
+    }
+
+    private static String delta(double base, double head) {
+        return String.format(Locale.ROOT, "%.1f->%.1f %+.0f%%", base, head, change(base, head) * 100);
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.petclinic.tools.replay;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Result of one replay run, written as JSON by {@link TrafficReplay} and read back by {@link ReplayCompare}.
+ * {@code routes} starts with the {@link #ALL} aggregate, then one entry per route in descending count.
+ */
+record ReplayReport(String label, String target, double speed, int concurrency, int events,
+                    double wallSeconds, double throughputPerSecond, List<RouteStats> routes) {
+
+    static final String ALL = "ALL";
+
+    RouteStats route(String name) {
+        return routes.stream().filter(r -> r.route().equals(name)).findFirst().orElse(null);
+    }
+
+    /**
+     * Per-route outcome. {@code latency} runs from the captured arrival time (scaled by the speed) to the
+     * response, so time spent waiting for a free replay thread counts, like it would for a real client;
+     * {@code service} is the call alone. {@code errors} are 5xx and failed calls, {@code clientErrors} 4xx.
+     */
+    record RouteStats(String route, int count, int clientErrors, int errors, double errorRate,
+                      double p50Ms, double p95Ms, double p99Ms, double maxMs,
+                      double serviceP50Ms, double serviceP99Ms) {
+
+        static RouteStats of(String route, long[] latencyNanos, long[] serviceNanos, int clientErrors, int errors) {
+            long[] latency = latencyNanos.clone();
+            long[] service = serviceNanos.clone();
+            Arrays.sort(latency);
+            Arrays.sort(service);
+            int count = latency.length;
+            return new RouteStats(route, count, clientErrors, errors, count == 0 ? 0 : (double) errors / count,
+                    percentile(latency, 0.50), percentile(latency, 0.95), percentile(latency, 0.99),
+                    count == 0 ? 0 : latency[count - 1] / 1_000_000.0,
+                    percentile(service, 0.50), percentile(service, 0.99));
+        }
+
+        private static double percentile(long[] sorted, double p) {
+            if (sorted.length == 0) return 0;
+            int idx = (int) Math.ceil(p * sorted.length) - 1;
+            return sorted[Math.max(0, Math.min(sorted.length - 1, idx))] / 1_000_000.0;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.petclinic.tools.replay;
+
+import com.amazonaws.services.lambda.runtime.events.APIGatewayV2HTTPEvent;
+
+/** Where replayed events go. Implementations must be safe to call from several replay threads. */
+interface ReplayTarget extends AutoCloseable {
+
+    /** Sends one event and returns the HTTP status; transport failures are thrown. */
+    int invoke(APIGatewayV2HTTPEvent event) throws Exception;
+
+    /** Short description for the report. */
+    String describe();
+
+    @Override
+    default void close() {}
+}
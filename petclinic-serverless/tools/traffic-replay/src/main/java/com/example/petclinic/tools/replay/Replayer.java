@@ -0,0 +1,162 @@
+package com.example.petclinic.tools.replay;
+
+import com.amazonaws.services.lambda.runtime.events.APIGatewayV2HTTPEvent;
+import com.example.petclinic.tools.replay.CaptureReader.CapturedEvent;
+import com.example.petclinic.tools.replay.ReplayReport.RouteStats;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.regex.Pattern;
+
+/**
+ * Sends captured events to a {@link ReplayTarget} on their original schedule. Event {@code i} is due at
+ * {@code (arrival_i - arrival_0) / speed} after the start; {@code speed = 0} ignores the schedule and sends as fast
+ * as {@code concurrency} threads allow. Idle gaps longer than {@code maxGapMillis} (nights, weekends in a long
+ * capture) are shortened to that length before scaling.
+ * <p>
+ * When every thread is busy, due events wait in the queue and that wait is part of their latency: a slower build
+ * shows up as higher latency rather than as a slower send rate (no coordinated omission).
+ */
+final class Replayer {
+
+    private static final Pattern NUMERIC_SEGMENT = Pattern.compile("/\\d+(?=/|$)");
+    private static final long PROGRESS_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    private final ReplayTarget target;
+    private final double speed;
+    private final int concurrency;
+    private final long maxGapMillis;
+    private final PrintStream console;
+    private final Map<String, Samples> samples = new ConcurrentHashMap<>();
+    private final AtomicInteger done = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+
+    Replayer(ReplayTarget target, double speed, int concurrency, long maxGapMillis, PrintStream console) {
+        this.target = target;
+        this.speed = speed;
+        this.concurrency = Math.max(1, concurrency);
+        this.maxGapMillis = maxGapMillis;
+        this.console = console;
+    }
+
+    ReplayReport run(List<CapturedEvent> events, String label) throws InterruptedException {
+        long[] offsets = schedule(events);
+        ExecutorService pool = Executors.newFixedThreadPool(concurrency);
+        long start = System.nanoTime();
+        long nextProgress = start + PROGRESS_NANOS;
+        for (int i = 0; i < events.size(); i++) {
+            APIGatewayV2HTTPEvent event = events.get(i).event();
+            long due = start + offsets[i];
+            if (speed > 0) {
+                long wait;
+                while ((wait = due - System.nanoTime()) > 0) LockSupport.parkNanos(wait);
+            }
+            if (System.nanoTime() > nextProgress) {
+                console.printf("[Replay] %d/%d sent, %d done, %d errors%n", i, events.size(), done.get(), failed.get());
+                nextProgress += PROGRESS_NANOS;
+            }
+            pool.execute(() -> send(event, due));
+        }
+        pool.shutdown();
+        while (!pool.awaitTermination(10, TimeUnit.SECONDS)) {
+            console.printf("[Replay] draining, %d/%d done%n", done.get(), events.size());
+        }
+        double wallSeconds = (System.nanoTime() - start) / 1e9;
+        return report(label, events.size(), wallSeconds);
+    }
+
+    /** Due time of each event in nanos from the start of the replay. */
+    long[] schedule(List<CapturedEvent> events) {
+        long[] offsets = new long[events.size()];
+        if (speed <= 0) return offsets;
+        double elapsedMillis = 0;
+        for (int i = 1; i < events.size(); i++) {
+            long gap = Math.max(0, events.get(i).timestampMillis() - events.get(i - 1).timestampMillis());
+            if (maxGapMillis > 0) gap = Math.min(gap, maxGapMillis);
+            elapsedMillis += gap / speed;
+            offsets[i] = (long) (elapsedMillis * 1_000_000);
+        }
+        return offsets;
+    }
+
+    private void send(APIGatewayV2HTTPEvent event, long due) {
+        long begin = System.nanoTime();
+        int status;
+        try {
+            status = target.invoke(event);
+        } catch (Exception e) {
+            status = -1;
+        }
+        long end = System.nanoTime();
+        // as fast as possible: there is no schedule to fall behind, latency is the call itself
+        long latency = end - (speed > 0 ? due : begin);
+        boolean error = status < 0 || status >= 500;
+        if (error) failed.incrementAndGet();
+        samples.computeIfAbsent(route(event), r -> new Samples()).add(latency, end - begin, status);
+        done.incrementAndGet();
+    }
+
+    private ReplayReport report(String label, int events, double wallSeconds) {
+        Samples all = new Samples();
+        List<RouteStats> routes = new ArrayList<>();
+        samples.forEach((route, s) -> {
+            routes.add(s.stats(route));
+            all.addAll(s);
+        });
+        routes.sort(Comparator.comparingInt(RouteStats::count).reversed().thenComparing(RouteStats::route));
+        routes.add(0, all.stats(ReplayReport.ALL));
+        return new ReplayReport(label, target.describe(), speed, concurrency, events, wallSeconds,
+                wallSeconds == 0 ? 0 : events / wallSeconds, routes);
+    }
+
+    /** Metrics-style route name with numeric path segments folded: {@code GET_/owners/{id}/pets/{id}}. */
+    static String route(APIGatewayV2HTTPEvent event) {
+        return CaptureReader.method(event) + "_" + NUMERIC_SEGMENT.matcher(event.getRawPath()).replaceAll("/{id}");
+    }
+
+    private static final class Samples {
+        private long[] latency = new long[64];
+        private long[] service = new long[64];
+        private int size;
+        private int clientErrors;
+        private int errors;
+
+        synchronized void add(long latencyNanos, long serviceNanos, int status) {
+            append(latencyNanos, serviceNanos);
+            if (status < 0 || status >= 500) errors++;
+            else if (status >= 400) clientErrors++;
+        }
+
+        synchronized void addAll(Samples other) {
+            synchronized (other) {
+                for (int i = 0; i < other.size; i++) append(other.latency[i], other.service[i]);
+                clientErrors += other.clientErrors;
+                errors += other.errors;
+            }
+        }
+
+        private void append(long latencyNanos, long serviceNanos) {
+            if (size == latency.length) {
+                latency = Arrays.copyOf(latency, size * 2);
+                service = Arrays.copyOf(service, size * 2);
+            }
+            latency[size] = latencyNanos;
+            service[size] = serviceNanos;
+            size++;
+        }
+
+        synchronized RouteStats stats(String route) {
+            return RouteStats.of(route, Arrays.copyOf(latency, size), Arrays.copyOf(service, size), clientErrors, errors);
+        }
+    }
+}
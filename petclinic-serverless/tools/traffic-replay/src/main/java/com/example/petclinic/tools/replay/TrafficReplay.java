@@ -0,0 +1,127 @@
+package com.example.petclinic.tools.replay;
+
+import com.example.petclinic.api.common.Json;
+import com.example.petclinic.tools.common.Args;
+import com.example.petclinic.tools.replay.CaptureReader.CapturedEvent;
+import com.example.petclinic.tools.replay.ReplayReport.RouteStats;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Replays captured production traffic. Reads the events logged by {@code @Logging(logEvent = true)}
+ * ({@link CaptureReader}), anonymizes them ({@link Anonymizer}) and sends them to this build's handlers in-process
+ * ({@code --target=local}, {@link LocalTarget}) or to any deployment ({@code --target=https://...},
+ * {@link HttpTarget}) on the captured schedule ({@link Replayer}). The report goes to stdout and, as JSON, to
+ * {@code --out}; run the same capture against two builds and compare the reports with {@link ReplayCompare}.
+ * <p>
+ * Options: {@code --capture} files or directories (comma separated, required), {@code --target} (local),
+ * {@code --speed} (1 = original timing, 10 = ten times faster, 0 = as fast as possible), {@code --concurrency}
+ * (16), {@code --max-gap-ms} (0 = keep idle gaps), {@code --limit} (0 = all events), {@code --timeout-ms} (10000,
+ * HTTP only), {@code --anonymize} (true), {@code --salt} (random per run, printed), {@code --pii-fields}, {@code --label} (replay),
+ * {@code --out} (target/replay/&lt;label&gt;.json). {@code --write-capture=file} writes the anonymized events, one
+ * per line, and exits without replaying: that file is what gets shared or committed, not the raw logs.
+ */
+public final class TrafficReplay {
+
+    private TrafficReplay() {}
+
+    public static void main(String[] argv) throws Exception {
+        Args args = new Args(argv);
+        String capture = args.get("capture", null);
+        if (capture == null) {
+            System.err.println("Usage: TrafficReplay --capture=<file|dir>[,...] [--target=local|<base url>] [--speed=1] [--concurrency=16] [--label=name] [--write-capture=file]");
+            System.exit(2);
+        }
+        CaptureReader reader = new CaptureReader();
+        List<CapturedEvent> events = reader.read(Arrays.stream(capture.split(",")).map(Path::of).toList());
+        int limit = args.getInt("limit", 0);
+        if (limit > 0 && events.size() > limit) events = events.subList(0, limit);
+        System.out.printf("[Replay] %d events from %d log lines (%d skipped)%n", events.size(), reader.lines(), reader.skipped());
+        if (events.isEmpty()) System.exit(1);
+
+        if (Boolean.parseBoolean(args.get("anonymize", "true"))) {
+            String salt = args.get("salt", null);
+            if (salt == null) {
+                salt = randomSalt();
+                System.out.println("[Replay] anonymizing with random salt " + salt + " (pass --salt=" + salt + " to reproduce the pseudonyms)");
+            }
+            Anonymizer anonymizer = new Anonymizer(salt, Anonymizer.parseFields(args.get("pii-fields", null)));
+            events.forEach(e -> anonymizer.anonymize(e.event()));
+        }
+
+        String writeCapture = args.get("write-capture", null);
+        if (writeCapture != null) {
+            writeCapture(Path.of(writeCapture), events);
+            System.out.printf("[Replay] wrote %d anonymized events to %s%n", events.size(), writeCapture);
+            return;
+        }
+
+        String label = args.get("label", "replay");
+        double speed = args.getDouble("speed", 1);
+        int concurrency = args.getInt("concurrency", 16);
+        double spanSeconds = (events.get(events.size() - 1).timestampMillis() - events.get(0).timestampMillis()) / 1000.0;
+        System.out.printf(Locale.ROOT, "[Replay] capture spans %.0f s, speed %s, concurrency %d%n", spanSeconds, speed, concurrency);
+
+        ReplayReport report;
+        try (ReplayTarget target = target(args)) {
+            PrintStream console = target instanceof LocalTarget local ? local.console() : System.out;
+            console.println("[Replay] target: " + target.describe());
+            report = new Replayer(target, speed, concurrency, args.getInt("max-gap-ms", 0), console).run(events, label);
+        }
+        print(report);
+        Path out = Path.of(args.get("out", "target/replay/" + label + ".json"));
+        if (out.getParent() != null) Files.createDirectories(out.getParent());
+        Files.writeString(out, Json.toJson(report));
+        System.out.println("[Replay] report written to " + out);
+        System.exit(0);
+    }
+
+    /** 128 random bits, hex: pseudonyms of two runs cannot be matched unless the salt is shared on purpose. */
+    private static String randomSalt() {
+        byte[] bytes = new byte[16];
+        new SecureRandom().nextBytes(bytes);
+        return HexFormat.of().formatHex(bytes);
+    }
+
+    private static ReplayTarget target(Args args) {
+        String target = args.get("target", "local");
+        if (target.equals("local")) return new LocalTarget();
+        if (target.startsWith("http://") || target.startsWith("https://")) {
+            return new HttpTarget(target, Duration.ofMillis(args.getInt("timeout-ms", 10_000)));
+        }
+        throw new IllegalArgumentException("--target must be 'local' or an http(s) base URL, got '" + target + "'");
+    }
+
+    /** One event per line, with the arrival time in {@code requestContext.timeEpoch} so timing survives a re-read. */
+    static void writeCapture(Path file, List<CapturedEvent> events) throws IOException {
+        if (file.getParent() != null) Files.createDirectories(file.getParent());
+        try (BufferedWriter w = Files.newBufferedWriter(file)) {
+            for (CapturedEvent e : events) {
+                if (e.event().getRequestContext() != null) e.event().getRequestContext().setTimeEpoch(e.timestampMillis());
+                w.write(Json.toJson(e.event()));
+                w.newLine();
+            }
+        }
+    }
+
+    private static void print(ReplayReport report) {
+        System.out.printf(Locale.ROOT, "%n%s: %d events in %.1f s (%.1f req/s)%n", report.label(), report.events(),
+                report.wallSeconds(), report.throughputPerSecond());
+        System.out.printf(Locale.ROOT, "%-36s %7s %6s %6s %9s %9s %9s %9s %11s%n",
+                "route", "count", "4xx", "errors", "p50 ms", "p95 ms", "p99 ms", "max ms", "svc p99 ms");
+        for (RouteStats r : report.routes()) {
+            System.out.printf(Locale.ROOT, "%-36s %7d %6d %6d %9.1f %9.1f %9.1f %9.1f %11.1f%n", r.route(), r.count(),
+                    r.clientErrors(), r.errors(), r.p50Ms(), r.p95Ms(), r.p99Ms(), r.maxMs(), r.serviceP99Ms());
+        }
+    }
+}